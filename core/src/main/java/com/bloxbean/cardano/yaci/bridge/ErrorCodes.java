@@ -10,6 +10,7 @@ public final class ErrorCodes {
     public static final int YACI_ERROR_SESSION_NOT_FOUND = -6;
     public static final int YACI_ERROR_SESSION_ALREADY_STARTED = -7;
     public static final int YACI_ERROR_SESSION_NOT_STARTED = -8;
+    public static final int YACI_ERROR_NOT_FOUND = -9;
 
     private ErrorCodes() {}
 }
@@ -4,6 +4,7 @@ import com.bloxbean.cardano.yaci.bridge.util.ErrorState;
 import com.bloxbean.cardano.yaci.bridge.util.NativeString;
 import com.bloxbean.cardano.yaci.bridge.util.ResultState;
 import com.bloxbean.cardano.yaci.core.config.YaciConfig;
+import org.graalvm.nativeimage.Isolate;
 import org.graalvm.nativeimage.IsolateThread;
 import org.graalvm.nativeimage.UnmanagedMemory;
 import org.graalvm.nativeimage.c.function.CEntryPoint;
@@ -27,6 +28,20 @@ public final class YaciBridge {
         return ErrorCodes.YACI_SUCCESS;
     }
 
+    /**
+     * Attach the calling OS thread to the isolate and return its own IsolateThread.
+     * Every host thread that calls into the library should use its own attachment;
+     * result and error state are kept per attached thread.
+     */
+    @CEntryPoint(name = "yaci_attach_thread", builtin = CEntryPoint.Builtin.ATTACH_THREAD)
+    public static native IsolateThread attachThread(Isolate isolate);
+
+    /**
+     * Detach the calling OS thread. Must be called from the thread that attached.
+     */
+    @CEntryPoint(name = "yaci_detach_thread", builtin = CEntryPoint.Builtin.DETACH_THREAD)
+    public static native int detachThread(IsolateThread thread);
+
     @CEntryPoint(name = "yaci_get_result")
     public static CCharPointer getResult(IsolateThread thread) {
         String result = ResultState.get();
@@ -1,14 +1,21 @@
 package com.bloxbean.cardano.yaci.bridge.api;
 
 import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.PointIndex;
 import com.bloxbean.cardano.yaci.bridge.internal.RangeSyncSession;
 import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
 import com.bloxbean.cardano.yaci.bridge.util.*;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.graalvm.nativeimage.IsolateThread;
 import org.graalvm.nativeimage.c.function.CEntryPoint;
 import org.graalvm.nativeimage.c.type.CCharPointer;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 public final class BlockRangeSyncApi {
 
     private BlockRangeSyncApi() {}
@@ -52,7 +59,7 @@ public final class BlockRangeSyncApi {
                 return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
             }
             if (!session.hasCallback()) {
-                ErrorState.set("Callback must be set before starting session: " + sessionId);
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
                 return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
             }
 
@@ -103,6 +110,166 @@ public final class BlockRangeSyncApi {
         }
     }
 
+    /**
+     * Fetches many ranges at once. {@code rangesJson} is an array of
+     * {@code {"from": {"slot", "hash"}, "to": {"slot", "hash"}}}. Ranges that overlap, or are at most
+     * {@code maxGapSlots} apart, share one block-fetch request. Blocks are delivered in input order
+     * with a {@code ranges} field, each input is closed by a {@code range_done} event, and the whole
+     * request by {@code fetch_many_done}. Result: the number of block-fetch requests issued.
+     */
+    @CEntryPoint(name = "yaci_block_range_sync_fetch_many")
+    public static int fetchMany(IsolateThread thread, int sessionId,
+                                CCharPointer rangesJsonPtr, long maxGapSlots) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            RangeSyncSession session = SessionRegistry.getRange(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (!session.isStarted()) {
+                ErrorState.set("Session not started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_STARTED;
+            }
+            if (maxGapSlots < 0) {
+                ErrorState.set("Max gap slots must be >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            String rangesJson = NativeString.toJavaString(rangesJsonPtr);
+            if (rangesJson == null || rangesJson.isEmpty()) {
+                ErrorState.set("Ranges are required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            List<RangeSyncSession.FetchRange> ranges = new ArrayList<>();
+            JsonNode root = JsonHelper.mapper().readTree(rangesJson);
+            if (!root.isArray() || root.isEmpty()) {
+                ErrorState.set("Ranges must be a non-empty JSON array");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            for (JsonNode node : root) {
+                Point from = toPoint(node.get("from"));
+                Point to = toPoint(node.get("to"));
+                if (from == null || to == null) {
+                    ErrorState.set("Range " + ranges.size() + " needs from and to points with slot and hash");
+                    return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+                }
+                if (from.getSlot() > to.getSlot()) {
+                    ErrorState.set("Range " + ranges.size() + ": from slot is after to slot");
+                    return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+                }
+                ranges.add(new RangeSyncSession.FetchRange(from, to));
+            }
+
+            int fetches = session.fetchMany(ranges, maxGapSlots);
+            ResultState.set(String.valueOf(fetches));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to fetch block ranges: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Fetches a large range as a series of block-fetch requests sized to the measured throughput,
+     * with {@code range_progress} events (blocks, bytes, percent, rates, ETA) every
+     * {@code progressEveryMillis} and once at the end. Chunk boundaries are looked up in the point
+     * index at {@code indexPath}; with no index (null or empty) the range is one request. The fetch
+     * is closed by {@code batch_done}, or {@code fetch_cancelled} after
+     * {@code yaci_block_range_sync_cancel}. Zero sizing arguments select the defaults.
+     */
+    @CEntryPoint(name = "yaci_block_range_sync_fetch_chunked")
+    public static int fetchChunked(IsolateThread thread, int sessionId,
+                                   long fromSlot, CCharPointer fromHashPtr,
+                                   long toSlot, CCharPointer toHashPtr,
+                                   CCharPointer indexPathPtr, long initialChunkBlocks,
+                                   long targetChunkMillis, long progressEveryMillis) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            RangeSyncSession session = SessionRegistry.getRange(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (!session.isStarted()) {
+                ErrorState.set("Session not started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_STARTED;
+            }
+
+            String fromHash = NativeString.toJavaString(fromHashPtr);
+            String toHash = NativeString.toJavaString(toHashPtr);
+            if (fromHash == null || fromHash.isEmpty()) {
+                ErrorState.set("From hash is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (toHash == null || toHash.isEmpty()) {
+                ErrorState.set("To hash is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (fromSlot > toSlot) {
+                ErrorState.set("From slot is after to slot");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (initialChunkBlocks < 0 || targetChunkMillis < 0 || progressEveryMillis < 0) {
+                ErrorState.set("Chunk sizing arguments must be >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            PointIndex index = null;
+            String indexPath = NativeString.toJavaString(indexPathPtr);
+            if (indexPath != null && !indexPath.isEmpty()) {
+                if (!Files.exists(Path.of(indexPath))) {
+                    ErrorState.set("Point index file not found: " + indexPath);
+                    return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+                }
+                index = PointIndex.open(Path.of(indexPath));
+            }
+
+            session.fetchChunked(new Point(fromSlot, fromHash), new Point(toSlot, toHash), index,
+                    initialChunkBlocks, targetChunkMillis, progressEveryMillis);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to fetch block range: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Cancels the chunked fetch in progress once the chunk in flight completes; its remaining
+     * blocks are not delivered. The session stays connected.
+     */
+    @CEntryPoint(name = "yaci_block_range_sync_cancel")
+    public static int cancel(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            RangeSyncSession session = SessionRegistry.getRange(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (!session.cancelChunked()) {
+                ErrorState.set("No chunked fetch in progress: " + sessionId);
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to cancel fetch: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    private static Point toPoint(JsonNode node) {
+        if (node == null || !node.hasNonNull("slot") || !node.hasNonNull("hash")) {
+            return null;
+        }
+        String hash = node.get("hash").asText();
+        return hash.isEmpty() ? null : new Point(node.get("slot").asLong(), hash);
+    }
+
     @CEntryPoint(name = "yaci_block_range_sync_set_callback")
     public static int setCallback(IsolateThread thread, int sessionId,
                                   EventCallback callback) {
@@ -132,6 +299,39 @@ public final class BlockRangeSyncApi {
         }
     }
 
+    /**
+     * Alternative to the JSON-only callback: block and tx body CBOR are delivered as raw
+     * bytes in a separate buffer instead of hex strings inside the event JSON.
+     */
+    @CEntryPoint(name = "yaci_block_range_sync_set_payload_callback")
+    public static int setPayloadCallback(IsolateThread thread, int sessionId,
+                                         PayloadEventCallback callback) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            RangeSyncSession session = SessionRegistry.getRange(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set callback after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            if (callback.isNull()) {
+                ErrorState.set("Callback is null");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setPayloadCallback(callback);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set payload callback: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
     @CEntryPoint(name = "yaci_block_range_sync_stop")
     public static int stop(IsolateThread thread, int sessionId) {
         ErrorState.clear();
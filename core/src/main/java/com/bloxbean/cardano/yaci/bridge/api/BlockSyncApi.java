@@ -61,7 +61,7 @@ public final class BlockSyncApi {
                 return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
             }
             if (!session.hasCallback()) {
-                ErrorState.set("Callback must be set before starting session: " + sessionId);
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
                 return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
             }
 
@@ -95,7 +95,7 @@ public final class BlockSyncApi {
                 return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
             }
             if (!session.hasCallback()) {
-                ErrorState.set("Callback must be set before starting session: " + sessionId);
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
                 return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
             }
 
@@ -107,6 +107,49 @@ public final class BlockSyncApi {
         }
     }
 
+    /**
+     * Backfills from the given point to the current tip with a block-fetch range, then continues
+     * with chain-sync from the last fetched block. Emits {@code catch_up_progress} events.
+     */
+    @CEntryPoint(name = "yaci_block_sync_start_with_catch_up")
+    public static int startWithCatchUp(IsolateThread thread, int sessionId,
+                                       long fromSlot, CCharPointer fromHashPtr,
+                                       long tipTimeoutMs, long progressEvery) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            SyncSession session = SessionRegistry.getSync(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Session already started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (!session.hasCallback()) {
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            String fromHash = NativeString.toJavaString(fromHashPtr);
+            if (fromHash == null || fromHash.isEmpty()) {
+                ErrorState.set("From hash is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (progressEvery < 0) {
+                ErrorState.set("Progress interval must be >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.startWithCatchUp(new Point(fromSlot, fromHash), tipTimeoutMs, progressEvery);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to start BlockSync with catch-up: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
     @CEntryPoint(name = "yaci_block_sync_stop")
     public static int stop(IsolateThread thread, int sessionId) {
         ErrorState.clear();
@@ -155,6 +198,39 @@ public final class BlockSyncApi {
         }
     }
 
+    /**
+     * Alternative to the JSON-only callback: block and tx body CBOR are delivered as raw
+     * bytes in a separate buffer instead of hex strings inside the event JSON.
+     */
+    @CEntryPoint(name = "yaci_block_sync_set_payload_callback")
+    public static int setPayloadCallback(IsolateThread thread, int sessionId,
+                                         PayloadEventCallback callback) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            SyncSession session = SessionRegistry.getSync(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set callback after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            if (callback.isNull()) {
+                ErrorState.set("Callback is null");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setPayloadCallback(callback);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set payload callback: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
     @CEntryPoint(name = "yaci_block_sync_set_keep_alive_interval")
     public static int setKeepAliveInterval(IsolateThread thread, int sessionId, long intervalMs) {
         ErrorState.clear();
@@ -182,6 +258,69 @@ public final class BlockSyncApi {
         }
     }
 
+    /**
+     * Values above 1 buffer up to {@code window} headers ahead of delivered blocks, with bodies
+     * fetched in batched block-fetch ranges.
+     */
+    @CEntryPoint(name = "yaci_block_sync_set_follower_window")
+    public static int setFollowerWindow(IsolateThread thread, int sessionId, int window) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            SyncSession session = SessionRegistry.getSync(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set follower window after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (window < 1) {
+                ErrorState.set("Follower window must be >= 1");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setFollowerWindow(window);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set follower window: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Reconnect in place when the follow phase stalls for {@code stallTimeoutMs}, a keep-alive
+     * fails or the connection drops, intersecting on the last {@code resumePoints} delivered
+     * blocks. A {@code reconnected} event replaces the {@code disconnect} event. 0 disables.
+     */
+    @CEntryPoint(name = "yaci_block_sync_set_watchdog")
+    public static int setWatchdog(IsolateThread thread, int sessionId, long stallTimeoutMs, int resumePoints) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            SyncSession session = SessionRegistry.getSync(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set watchdog after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (stallTimeoutMs < 0 || resumePoints < 1) {
+                ErrorState.set("Stall timeout must be >= 0 and resume points >= 1");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setWatchdog(stallTimeoutMs, resumePoints);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set watchdog: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
     @CEntryPoint(name = "yaci_block_sync_destroy")
     public static int destroy(IsolateThread thread, int sessionId) {
         ErrorState.clear();
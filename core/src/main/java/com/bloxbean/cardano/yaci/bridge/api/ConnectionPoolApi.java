@@ -0,0 +1,54 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.ConnectionPool;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+
+/**
+ * Pool of handshaken relay connections reused by {@code yaci_tip_find}. Off by default.
+ */
+public final class ConnectionPoolApi {
+
+    private ConnectionPoolApi() {}
+
+    /**
+     * Enable the pool with up to {@code maxIdle} idle connections, each closed after
+     * {@code idleTimeoutMs} unused (0 = never) and kept open with a keep-alive every
+     * {@code keepAliveIntervalMs}. {@code maxIdle} = 0 disables the pool and closes its connections.
+     */
+    @CEntryPoint(name = "yaci_connection_pool_configure")
+    public static int configure(IsolateThread thread, int maxIdle, long idleTimeoutMs, long keepAliveIntervalMs) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            if (maxIdle < 0 || idleTimeoutMs < 0 || keepAliveIntervalMs <= 0) {
+                ErrorState.set("maxIdle and idleTimeoutMs must be >= 0 and keepAliveIntervalMs > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ConnectionPool.configure(maxIdle, idleTimeoutMs, keepAliveIntervalMs);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to configure connection pool: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"enabled", "maxIdle", "idle", "hits", "misses", "evictions",
+     * "handshakes", "handshakeMillis", "handshakeMillisSaved"}}.
+     */
+    @CEntryPoint(name = "yaci_connection_pool_stats")
+    public static int stats(IsolateThread thread) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ResultState.set(JsonHelper.toJson(ConnectionPool.stats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get connection pool stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.PayloadDecoder;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+import org.graalvm.nativeimage.c.type.CLongPointer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stateless decoding of raw CBOR kept from payload delivery. Results use the same JSON model as
+ * session events; {@code rawPayload} = 1 leaves CBOR hex out, as for payload-callback sessions.
+ * Batch variants take {@code count} payloads back to back in {@code data}, with their lengths in
+ * {@code lengths}, and return a JSON array in input order.
+ */
+public final class DecodeApi {
+
+    private DecodeApi() {}
+
+    /**
+     * Result JSON: a block event, {@code {"type": "block", "era", "slot", "hash", ...}}.
+     */
+    @CEntryPoint(name = "yaci_block_decode")
+    public static int decodeBlock(IsolateThread thread, CCharPointer data, long length, int rawPayload) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            if (data.isNull() || length <= 0 || length > Integer.MAX_VALUE) {
+                ErrorState.set("Block CBOR is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            byte[] cbor = NativeBytes.toByteArray(data, 0, (int) length);
+            ResultState.set(PayloadDecoder.decodeBlock(cbor, rawPayload != 0));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to decode block: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_SERIALIZATION;
+        }
+    }
+
+    /**
+     * Result JSON: a transaction body, {@code {"txHash", "inputs", "outputs", "fee", ...}}.
+     */
+    @CEntryPoint(name = "yaci_tx_decode")
+    public static int decodeTx(IsolateThread thread, CCharPointer data, long length, int rawPayload) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            if (data.isNull() || length <= 0 || length > Integer.MAX_VALUE) {
+                ErrorState.set("Transaction body CBOR is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            byte[] cbor = NativeBytes.toByteArray(data, 0, (int) length);
+            ResultState.set(PayloadDecoder.decodeTx(cbor, rawPayload != 0));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to decode transaction: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_SERIALIZATION;
+        }
+    }
+
+    /**
+     * Result JSON: array of block events; a failed entry is {@code {"error": "..."}}.
+     */
+    @CEntryPoint(name = "yaci_block_decode_batch")
+    public static int decodeBlockBatch(IsolateThread thread, CCharPointer data, CLongPointer lengths,
+                                       int count, int rawPayload) {
+        return decodeBatch(data, lengths, count, true, rawPayload != 0);
+    }
+
+    /**
+     * Result JSON: array of transaction bodies; a failed entry is {@code {"error": "..."}}.
+     */
+    @CEntryPoint(name = "yaci_tx_decode_batch")
+    public static int decodeTxBatch(IsolateThread thread, CCharPointer data, CLongPointer lengths,
+                                    int count, int rawPayload) {
+        return decodeBatch(data, lengths, count, false, rawPayload != 0);
+    }
+
+    private static int decodeBatch(CCharPointer data, CLongPointer lengths, int count,
+                                   boolean blocks, boolean rawPayload) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            if (count < 0 || (count > 0 && (data.isNull() || lengths.isNull()))) {
+                ErrorState.set("Payload data and lengths are required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            List<byte[]> payloads = new ArrayList<>(count);
+            long offset = 0;
+            for (int i = 0; i < count; i++) {
+                long length = lengths.read(i);
+                if (length < 0 || length > Integer.MAX_VALUE) {
+                    ErrorState.set("Invalid payload length at index " + i + ": " + length);
+                    return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+                }
+                payloads.add(NativeBytes.toByteArray(data, offset, (int) length));
+                offset += length;
+            }
+            ResultState.set(PayloadDecoder.decodeBatch(payloads, blocks, rawPayload));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to decode batch: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
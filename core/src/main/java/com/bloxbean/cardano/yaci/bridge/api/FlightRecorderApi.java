@@ -0,0 +1,70 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.FlightRecording;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * JDK Flight Recorder recordings of the per-block pipeline events ({@code yaci.BlockReceived},
+ * {@code yaci.Serialize}, {@code yaci.NativeCopy}, {@code yaci.Callback}, ...). Requires a library
+ * built with {@code --enable-monitoring=jfr}.
+ */
+public final class FlightRecorderApi {
+
+    private FlightRecorderApi() {}
+
+    /**
+     * Start recording to {@code pathPtr}; {@code jvmEvents} = 1 also records the JDK's default
+     * event set. Result JSON: {@code {"path", "startMillis", "startNanos"}}.
+     */
+    @CEntryPoint(name = "yaci_flight_recording_start")
+    public static int start(IsolateThread thread, CCharPointer pathPtr, int jvmEvents) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Recording path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (FlightRecording.isRunning()) {
+                ErrorState.set("A flight recording is already running");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            Map<String, Object> result = FlightRecording.start(Path.of(path), jvmEvents != 0);
+            ResultState.set(JsonHelper.toJson(result));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to start flight recording: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Stop the recording and write its file. Result: the file path.
+     * Returns {@code YACI_ERROR_NOT_FOUND} if no recording is running.
+     */
+    @CEntryPoint(name = "yaci_flight_recording_stop")
+    public static int stop(IsolateThread thread) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            Path written = FlightRecording.stop();
+            if (written == null) {
+                ErrorState.set("No flight recording is running");
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+            ResultState.set(written.toString());
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to stop flight recording: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
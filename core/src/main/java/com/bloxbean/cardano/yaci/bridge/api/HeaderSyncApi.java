@@ -0,0 +1,209 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.HeaderSyncSession;
+import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+/**
+ * Header-only chain follow: chain-sync without block-fetch.
+ * Events: {"type":"header","era":..,"slot":N,"hash":..,"blockNumber":N,"prevHash":..,
+ * "bodySize":N,"issuerVkeyHash":..}, plus rollback / disconnect / intersect_not_found.
+ */
+public final class HeaderSyncApi {
+
+    private HeaderSyncApi() {}
+
+    @CEntryPoint(name = "yaci_header_sync_create")
+    public static int create(IsolateThread thread,
+                             CCharPointer hostPtr, int port, long protocolMagic,
+                             long wellKnownSlot, CCharPointer wellKnownHashPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            String host = NativeString.toJavaString(hostPtr);
+            String wellKnownHash = NativeString.toJavaString(wellKnownHashPtr);
+
+            if (host == null || host.isEmpty()) {
+                ErrorState.set("Host is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (wellKnownHash == null || wellKnownHash.isEmpty()) {
+                ErrorState.set("Well-known hash is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            int id = SessionRegistry.nextId();
+            HeaderSyncSession session = new HeaderSyncSession(id, host, port, protocolMagic,
+                    wellKnownSlot, wellKnownHash);
+            SessionRegistry.putHeader(id, session);
+
+            ResultState.set(String.valueOf(id));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to create HeaderSync session: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_start")
+    public static int start(IsolateThread thread, int sessionId,
+                            long fromSlot, CCharPointer fromHashPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.getHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Session already started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (!session.hasCallback()) {
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            String fromHash = NativeString.toJavaString(fromHashPtr);
+            if (fromHash == null || fromHash.isEmpty()) {
+                ErrorState.set("From hash is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.start(new Point(fromSlot, fromHash));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to start HeaderSync: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_start_from_tip")
+    public static int startFromTip(IsolateThread thread, int sessionId, long timeoutMs) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.getHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Session already started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (!session.hasCallback()) {
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.startFromTip(timeoutMs);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to start HeaderSync from tip: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_set_callback")
+    public static int setCallback(IsolateThread thread, int sessionId,
+                                  EventCallback callback) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.getHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set callback after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            if (callback.isNull()) {
+                ErrorState.set("Callback is null");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setCallback(callback);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set callback: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_set_keep_alive_interval")
+    public static int setKeepAliveInterval(IsolateThread thread, int sessionId, long intervalMs) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.getHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set keep-alive interval after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (intervalMs <= 0) {
+                ErrorState.set("Keep-alive interval must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setKeepAliveInterval(intervalMs);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set keep-alive interval: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_stop")
+    public static int stop(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.getHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+
+            session.stop();
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to stop HeaderSync: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_header_sync_destroy")
+    public static int destroy(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            HeaderSyncSession session = SessionRegistry.removeHeader(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+
+            if (session.isStarted()) {
+                session.stop();
+            }
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to destroy HeaderSync session: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import org.graalvm.nativeimage.c.function.CFunctionPointer;
+import org.graalvm.nativeimage.c.function.InvokeCFunctionPointer;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+/**
+ * C function pointer interface for event delivery with a raw binary side-channel.
+ * Block and transaction body CBOR travel as bytes in {@code payload}; the event JSON
+ * carries only metadata plus the offsets of each CBOR segment within the payload.
+ * Both buffers are freed once the callback returns.
+ */
+public interface PayloadEventCallback extends CFunctionPointer {
+    @InvokeCFunctionPointer
+    void invoke(int sessionId, CCharPointer eventJson, CCharPointer payload, long payloadLength);
+}
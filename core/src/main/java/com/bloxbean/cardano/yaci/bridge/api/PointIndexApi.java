@@ -0,0 +1,105 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.PointIndex;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Lookups against a point index written by {@code yaci_session_set_point_index}.
+ * Result JSON: {@code {"slot", "blockNumber", "hash"}}; {@code YACI_ERROR_NOT_FOUND} if no match.
+ * Mode: 0 = exact, 1 = nearest at or before, 2 = nearest at or after.
+ */
+public final class PointIndexApi {
+
+    private PointIndexApi() {}
+
+    @CEntryPoint(name = "yaci_point_lookup_by_slot")
+    public static int lookupBySlot(IsolateThread thread, CCharPointer pathPtr, long slot, int mode) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            PointIndex index = openIndex(pathPtr, mode);
+            if (index == null) {
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            return setResult(index.lookupBySlot(slot, mode), "slot " + slot);
+        } catch (Exception e) {
+            ErrorState.set("Failed to look up slot: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_point_lookup_by_block_number")
+    public static int lookupByBlockNumber(IsolateThread thread, CCharPointer pathPtr,
+                                          long blockNumber, int mode) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            PointIndex index = openIndex(pathPtr, mode);
+            if (index == null) {
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            return setResult(index.lookupByBlockNumber(blockNumber, mode), "block " + blockNumber);
+        } catch (Exception e) {
+            ErrorState.set("Failed to look up block number: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Flushes and unmaps an index. Sessions still writing to it must be stopped first.
+     */
+    @CEntryPoint(name = "yaci_point_index_close")
+    public static int close(IsolateThread thread, CCharPointer pathPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Index path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (!PointIndex.closeIndex(Path.of(path))) {
+                ErrorState.set("Point index not open: " + path);
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to close point index: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    private static PointIndex openIndex(CCharPointer pathPtr, int mode) throws Exception {
+        String path = NativeString.toJavaString(pathPtr);
+        if (path == null || path.isEmpty()) {
+            ErrorState.set("Index path is required");
+            return null;
+        }
+        if (mode < PointIndex.MODE_EXACT || mode > PointIndex.MODE_AT_OR_AFTER) {
+            ErrorState.set("Unknown lookup mode: " + mode);
+            return null;
+        }
+        if (!Files.exists(Path.of(path))) {
+            ErrorState.set("Point index file not found: " + path);
+            return null;
+        }
+        return PointIndex.open(Path.of(path));
+    }
+
+    private static int setResult(Map<String, Object> point, String what) throws Exception {
+        if (point == null) {
+            ErrorState.set("No indexed point for " + what);
+            return ErrorCodes.YACI_ERROR_NOT_FOUND;
+        }
+        ResultState.set(JsonHelper.toJson(point));
+        return ErrorCodes.YACI_SUCCESS;
+    }
+}
@@ -0,0 +1,191 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.internal.ReplaySession;
+import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Replay sessions: recorded block CBOR dispatched through the normal delivery path, for
+ * benchmarks and offline tests. All {@code yaci_session_*} options apply.
+ */
+public final class ReplayApi {
+
+    private ReplayApi() {}
+
+    /**
+     * Result: the session id. The recording is a file of 4-byte big-endian length-prefixed block
+     * CBOR records; every block is decoded here, before the session starts.
+     */
+    @CEntryPoint(name = "yaci_replay_create")
+    public static int create(IsolateThread thread, CCharPointer pathPtr, long protocolMagic) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Recording path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (!Files.isRegularFile(Path.of(path))) {
+                ErrorState.set("Recording not found: " + path);
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+
+            List<BlockEvent> blocks;
+            try {
+                blocks = ReplaySession.load(Path.of(path));
+            } catch (Exception e) {
+                ErrorState.set("Failed to read recording: " + e.getMessage());
+                return ErrorCodes.YACI_ERROR_SERIALIZATION;
+            }
+
+            int id = SessionRegistry.nextId();
+            SessionRegistry.putReplay(id, new ReplaySession(id, protocolMagic, blocks));
+
+            ResultState.set(String.valueOf(id));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to create replay session: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Dispatch the recording {@code repeat} times from a bridge thread; returns immediately.
+     * A {@code replay_done} event with the block count and elapsed millis follows the last block.
+     */
+    @CEntryPoint(name = "yaci_replay_start")
+    public static int start(IsolateThread thread, int sessionId, int repeat) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ReplaySession session = SessionRegistry.getReplay(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Session already started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (!session.hasCallback()) {
+                ErrorState.set("Callback or file sink must be set before starting session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (repeat <= 0) {
+                ErrorState.set("Repeat count must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.start(repeat);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to start replay: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_replay_set_callback")
+    public static int setCallback(IsolateThread thread, int sessionId, EventCallback callback) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ReplaySession session = SessionRegistry.getReplay(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set callback after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (callback.isNull()) {
+                ErrorState.set("Callback is null");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setCallback(callback);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set callback: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_replay_set_payload_callback")
+    public static int setPayloadCallback(IsolateThread thread, int sessionId,
+                                         PayloadEventCallback callback) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ReplaySession session = SessionRegistry.getReplay(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set callback after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (callback.isNull()) {
+                ErrorState.set("Callback is null");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.setPayloadCallback(callback);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set payload callback: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_replay_stop")
+    public static int stop(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ReplaySession session = SessionRegistry.getReplay(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+
+            session.stop();
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to stop replay: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    @CEntryPoint(name = "yaci_replay_destroy")
+    public static int destroy(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            ReplaySession session = SessionRegistry.removeReplay(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+
+            if (session.isStarted()) {
+                session.stop();
+            }
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to destroy replay session: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
@@ -0,0 +1,601 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.BridgeSession;
+import com.bloxbean.cardano.yaci.bridge.internal.EncodedEventCache;
+import com.bloxbean.cardano.yaci.bridge.internal.EventQueue;
+import com.bloxbean.cardano.yaci.bridge.internal.EventServer;
+import com.bloxbean.cardano.yaci.bridge.internal.PointIndex;
+import com.bloxbean.cardano.yaci.bridge.internal.RingPublisher;
+import com.bloxbean.cardano.yaci.bridge.internal.SegmentFileSink;
+import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
+import com.bloxbean.cardano.yaci.bridge.internal.UtxoTracker;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry points that apply to any session type (BlockSync, BlockRangeSync or HeaderSync).
+ */
+public final class SessionApi {
+
+    private SessionApi() {}
+
+    /**
+     * Persist events straight to rotating segment files instead of calling back per event.
+     * The host callback (optional) then only receives "segment_closed", "sink_error" and "disconnect" events.
+     * Boolean params use int (0=false, non-zero=true) for C ABI compatibility.
+     *
+     * @param format     0 = NDJSON, 1 = length-prefixed binary
+     * @param fsyncEvery fsync after this many events (0 = default 1000); segments are always
+     *                   fsynced when closed
+     */
+    @CEntryPoint(name = "yaci_session_set_file_sink")
+    public static int setFileSink(IsolateThread thread, int sessionId,
+                                  CCharPointer directoryPtr, long maxSegmentBytes,
+                                  int format, int compress, int fsyncEvery) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set file sink after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String directory = NativeString.toJavaString(directoryPtr);
+            if (directory == null || directory.isEmpty()) {
+                ErrorState.set("Sink directory is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (maxSegmentBytes <= 0) {
+                ErrorState.set("Max segment size must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (format != SegmentFileSink.FORMAT_NDJSON && format != SegmentFileSink.FORMAT_BINARY) {
+                ErrorState.set("Unknown sink format: " + format);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setFileSink(Path.of(directory), maxSegmentBytes,
+                    format, compress != 0, fsyncEvery);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set file sink: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Maintain a slot / block number to point index while the session runs. Blocks (or headers)
+     * extend it and rollbacks truncate it. Query it with {@code yaci_point_lookup_by_slot} /
+     * {@code yaci_point_lookup_by_block_number} using the same path.
+     */
+    @CEntryPoint(name = "yaci_session_set_point_index")
+    public static int setPointIndex(IsolateThread thread, int sessionId, CCharPointer pathPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set point index after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Index path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setPointIndex(PointIndex.open(Path.of(path)));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set point index: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Encode events on a shared worker pool instead of the network thread, with up to
+     * {@code maxInFlight} events in progress; delivery order is unchanged. Large blocks also
+     * have their transactions encoded in parallel. 0 = synchronous (default).
+     */
+    @CEntryPoint(name = "yaci_session_set_parallel_encoding")
+    public static int setParallelEncoding(IsolateThread thread, int sessionId, int maxInFlight) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set parallel encoding after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (maxInFlight < 0) {
+                ErrorState.set("Max in-flight events must be >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setParallelEncoding(maxInFlight);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set parallel encoding: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Publish a session's events into a memory-mapped ring file of {@code capacityBytes} (64 KiB to
+     * 2 GiB minus the 4 KiB header) that other processes read with independent cursors. The host callback then only receives disconnects
+     * and {@code ring_lag} reports for overrun consumers.
+     */
+    @CEntryPoint(name = "yaci_session_set_ring_publisher")
+    public static int setRingPublisher(IsolateThread thread, int sessionId, CCharPointer pathPtr,
+                                       long capacityBytes) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set ring publisher after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Ring path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (capacityBytes < RingPublisher.MIN_CAPACITY || capacityBytes > RingPublisher.MAX_CAPACITY) {
+                ErrorState.set(RingPublisher.CAPACITY_RANGE);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setRingPublisher(Path.of(path), capacityBytes);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set ring publisher: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"writePosition", "tailPosition", "sequence", "capacity", "consumers"}},
+     * each consumer with slot, pid, position, lagBytes, overrun, lastSeenMillis and drops.
+     */
+    @CEntryPoint(name = "yaci_session_ring_stats")
+    public static int ringStats(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            RingPublisher ring = session.dispatcher().ringPublisher();
+            if (ring == null) {
+                ErrorState.set("No ring publisher on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ResultState.set(JsonHelper.toJson(ring.stats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get ring stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Serve a session's events to local processes over a Unix domain socket at {@code path}.
+     * Subscribers get length-prefixed frames under credit-based flow control and may resume after
+     * a block still held in the last {@code backlogBytes} of framed events. The host callback then
+     * only receives disconnects.
+     */
+    @CEntryPoint(name = "yaci_session_set_event_server")
+    public static int setEventServer(IsolateThread thread, int sessionId, CCharPointer pathPtr,
+                                     long backlogBytes) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set event server after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Socket path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (backlogBytes <= 0) {
+                ErrorState.set("Backlog size must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setEventServer(Path.of(path), backlogBytes);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set event server: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"nextSeq", "backlogEvents", "backlogBytes", "subscribers"}}, each
+     * subscriber with id, cursor, credits, lag and gaps.
+     */
+    @CEntryPoint(name = "yaci_session_event_server_stats")
+    public static int eventServerStats(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            EventServer server = session.dispatcher().eventServer();
+            if (server == null) {
+                ErrorState.set("No event server on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ResultState.set(JsonHelper.toJson(server.stats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get event server stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Queue a session's events for {@link #pollBatch} instead of calling back. The session waits
+     * (and so stops reading from the relay) while {@code maxEvents} events or {@code maxBytes} of
+     * event JSON are queued, which bounds memory when the host falls behind.
+     */
+    @CEntryPoint(name = "yaci_session_set_event_queue")
+    public static int setEventQueue(IsolateThread thread, int sessionId, int maxEvents, long maxBytes) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set event queue after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (maxEvents <= 0 || maxBytes <= 0) {
+                ErrorState.set("Queue bounds must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setEventQueue(maxEvents, maxBytes);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set event queue: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Take up to {@code maxEvents} queued events, waiting up to {@code timeoutMillis} for the first.
+     * Result JSON: {@code {"events": [...], "closed": bool}}, where closed means the session stopped
+     * and the queue is drained.
+     */
+    @CEntryPoint(name = "yaci_session_poll_batch")
+    public static int pollBatch(IsolateThread thread, int sessionId, int maxEvents, long timeoutMillis) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            EventQueue queue = session.dispatcher().eventQueue();
+            if (queue == null) {
+                ErrorState.set("No event queue on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (maxEvents <= 0 || timeoutMillis < 0) {
+                ErrorState.set("Max events must be > 0 and timeout >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            ResultState.set(queue.poll(maxEvents, timeoutMillis));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to poll events: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"queued", "queuedBytes", "maxEvents", "maxBytes", "delivered",
+     * "producerWaitMillis"}}.
+     */
+    @CEntryPoint(name = "yaci_session_event_queue_stats")
+    public static int eventQueueStats(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            EventQueue queue = session.dispatcher().eventQueue();
+            if (queue == null) {
+                ErrorState.set("No event queue on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ResultState.set(JsonHelper.toJson(queue.stats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get event queue stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Deliver host-bound events (callback or event queue) from a separate thread, so a stalled
+     * consumer does not stop the session reading from the relay. Up to {@code memoryEvents} events
+     * wait in memory; the rest overflow into spool files in {@code directory}, and the session only
+     * waits when they reach {@code maxDiskBytes}. Spool files are deleted as soon as each callback
+     * for their events returns; each event is delivered once and never redelivered.
+     */
+    @CEntryPoint(name = "yaci_session_set_spool")
+    public static int setSpool(IsolateThread thread, int sessionId, CCharPointer directoryPtr,
+                               int memoryEvents, long maxDiskBytes) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set spool after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String directory = NativeString.toJavaString(directoryPtr);
+            if (directory == null || directory.isEmpty()) {
+                ErrorState.set("Spool directory is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            if (memoryEvents <= 0 || maxDiskBytes <= 0) {
+                ErrorState.set("Spool bounds must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setSpool(Path.of(directory), memoryEvents, maxDiskBytes);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set spool: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"delivered", "pending", "memoryEvents", "spooledEvents",
+     * "spooledTotal", "segments", "diskBytes", "peakDiskBytes", "maxDiskBytes", "producerWaitMillis"}}.
+     */
+    @CEntryPoint(name = "yaci_session_spool_stats")
+    public static int spoolStats(IsolateThread thread, int sessionId) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (!session.dispatcher().hasSpool()) {
+                ErrorState.set("No spool on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ResultState.set(JsonHelper.toJson(session.dispatcher().spoolStats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get spool stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Replace block events with one {@code window} event per window of {@code windowSlots} slots:
+     * block, transaction and script counts, fees, output lovelace, block bytes and distinct output
+     * addresses. Window n starts at {@code firstSlot + (n - firstWindow) * windowSlots}, so epochs
+     * are the epoch length with the network's Shelley start slot and epoch, and plain slot buckets
+     * are 0 / 0.
+     */
+    @CEntryPoint(name = "yaci_session_set_window_aggregation")
+    public static int setWindowAggregation(IsolateThread thread, int sessionId, long windowSlots,
+                                           long firstSlot, long firstWindow) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set window aggregation after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (windowSlots <= 0 || firstSlot < 0) {
+                ErrorState.set("Window size must be > 0 and first slot >= 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setWindowAggregation(windowSlots, firstSlot, firstWindow);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set window aggregation: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Stream blocks transaction by transaction: {@code block_begin}, one {@code tx} event per
+     * transaction, then {@code block_end}. Bounds per-event memory by the largest transaction.
+     */
+    @CEntryPoint(name = "yaci_session_set_tx_streaming")
+    public static int setTxStreaming(IsolateThread thread, int sessionId, int enabled) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set tx streaming after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            session.dispatcher().setTxStreaming(enabled != 0);
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set tx streaming: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Reuse encoded block events across sessions of the same network. The cache is shared per
+     * protocol magic and bounded by {@code maxBytes}; a later call with another size resizes it.
+     */
+    @CEntryPoint(name = "yaci_session_set_event_cache")
+    public static int setEventCache(IsolateThread thread, int sessionId, long maxBytes) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set event cache after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+            if (maxBytes <= 0) {
+                ErrorState.set("Cache size must be > 0");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+
+            session.dispatcher().setEventCache(
+                    EncodedEventCache.forNetwork(session.getProtocolMagic(), maxBytes));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set event cache: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: {@code {"entries", "bytes", "maxBytes", "hits", "misses", "evictions"}}.
+     */
+    @CEntryPoint(name = "yaci_event_cache_stats")
+    public static int eventCacheStats(IsolateThread thread, long protocolMagic) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            EncodedEventCache cache = EncodedEventCache.existing(protocolMagic);
+            if (cache == null) {
+                ErrorState.set("No event cache for protocol magic: " + protocolMagic);
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+            ResultState.set(JsonHelper.toJson(cache.stats()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to get event cache stats: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Track the UTxOs of the addresses in {@code addressesJson} (a JSON array of bech32 strings).
+     * Block events are replaced by {@code utxo_delta} events. If {@code snapshotPathPtr} is given,
+     * state is loaded from it when the file exists and saved to it when the session stops.
+     * Result JSON: the snapshot point to resume from ({@code {"slot", "hash", "blockNumber"}}), or
+     * {@code null} when starting fresh.
+     */
+    @CEntryPoint(name = "yaci_session_set_utxo_tracker")
+    public static int setUtxoTracker(IsolateThread thread, int sessionId,
+                                     CCharPointer addressesJsonPtr, CCharPointer snapshotPathPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            if (session.isStarted()) {
+                ErrorState.set("Cannot set UTxO tracker after session started: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_ALREADY_STARTED;
+            }
+
+            String addressesJson = NativeString.toJavaString(addressesJsonPtr);
+            JsonNode root = addressesJson != null ? JsonHelper.mapper().readTree(addressesJson) : null;
+            if (root == null || !root.isArray() || root.isEmpty()) {
+                ErrorState.set("Addresses must be a non-empty JSON array");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            List<String> addresses = new ArrayList<>();
+            for (JsonNode node : root) {
+                addresses.add(node.asText());
+            }
+
+            String snapshot = NativeString.toJavaString(snapshotPathPtr);
+            Path snapshotFile = snapshot != null && !snapshot.isEmpty() ? Path.of(snapshot) : null;
+            UtxoTracker tracker = snapshotFile != null && Files.exists(snapshotFile)
+                    ? UtxoTracker.load(snapshotFile, addresses)
+                    : new UtxoTracker(addresses);
+
+            session.dispatcher().setUtxoTracker(tracker, snapshotFile);
+            ResultState.set(JsonHelper.toJson(tracker.point()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to set UTxO tracker: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
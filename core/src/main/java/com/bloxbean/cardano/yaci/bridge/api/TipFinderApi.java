@@ -1,6 +1,7 @@
 package com.bloxbean.cardano.yaci.bridge.api;
 
 import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.ConnectionPool;
 import com.bloxbean.cardano.yaci.bridge.util.*;
 import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
@@ -19,7 +20,8 @@ public final class TipFinderApi {
     private TipFinderApi() {}
 
     /**
-     * Blocking one-shot: connect, find current tip, disconnect.
+     * Blocking one-shot: connect, find current tip, disconnect. With the connection pool enabled
+     * ({@code yaci_connection_pool_configure}) the query runs on a pooled, already handshaken connection.
      * Result JSON: {"slot": N, "hash": "...", "block": N}
      */
     @CEntryPoint(name = "yaci_tip_find")
@@ -42,10 +44,14 @@ public final class TipFinderApi {
             }
 
             Point wellKnownPoint = new Point(wellKnownSlot, wellKnownHash);
-            tipFinder = new TipFinder(host, port, wellKnownPoint, protocolMagic);
-
             Duration timeout = Duration.ofMillis(timeoutMs > 0 ? timeoutMs : 30000);
-            Tip tip = tipFinder.find().block(timeout);
+            Tip tip;
+            if (ConnectionPool.isEnabled()) {
+                tip = ConnectionPool.findTip(host, port, protocolMagic, wellKnownPoint, timeout);
+            } else {
+                tipFinder = new TipFinder(host, port, wellKnownPoint, protocolMagic);
+                tip = tipFinder.find().block(timeout);
+            }
 
             if (tip == null) {
                 ErrorState.set("Tip finder returned null");
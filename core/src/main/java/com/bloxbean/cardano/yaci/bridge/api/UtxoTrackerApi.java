@@ -0,0 +1,109 @@
+package com.bloxbean.cardano.yaci.bridge.api;
+
+import com.bloxbean.cardano.yaci.bridge.ErrorCodes;
+import com.bloxbean.cardano.yaci.bridge.internal.BridgeSession;
+import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
+import com.bloxbean.cardano.yaci.bridge.internal.UtxoTracker;
+import com.bloxbean.cardano.yaci.bridge.util.*;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.function.CEntryPoint;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Queries and snapshots of a session's UTxO tracker, set with {@code yaci_session_set_utxo_tracker}.
+ */
+public final class UtxoTrackerApi {
+
+    private UtxoTrackerApi() {}
+
+    /**
+     * Result JSON: array of {@code {"txHash", "index", "address", "lovelace", "assets"}} for one
+     * address, or for every watched address when {@code addressPtr} is null.
+     */
+    @CEntryPoint(name = "yaci_utxo_tracker_utxos")
+    public static int utxos(IsolateThread thread, int sessionId, CCharPointer addressPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            UtxoTracker tracker = session.dispatcher().utxoTracker();
+            if (tracker == null) {
+                ErrorState.set("No UTxO tracker on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            ResultState.set(JsonHelper.toJson(tracker.utxos(NativeString.toJavaString(addressPtr))));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to list UTxOs: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Save the tracker state now. Result JSON: the point the snapshot was taken at.
+     */
+    @CEntryPoint(name = "yaci_utxo_tracker_snapshot")
+    public static int snapshot(IsolateThread thread, int sessionId, CCharPointer pathPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            BridgeSession session = SessionRegistry.get(sessionId);
+            if (session == null) {
+                ErrorState.set("Session not found: " + sessionId);
+                return ErrorCodes.YACI_ERROR_SESSION_NOT_FOUND;
+            }
+            UtxoTracker tracker = session.dispatcher().utxoTracker();
+            if (tracker == null) {
+                ErrorState.set("No UTxO tracker on session: " + sessionId);
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Snapshot path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            tracker.snapshot(Path.of(path));
+            ResultState.set(JsonHelper.toJson(tracker.point()));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to write UTxO snapshot: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+
+    /**
+     * Result JSON: the point a snapshot file was taken at, to resume a session from;
+     * {@code YACI_ERROR_NOT_FOUND} if the file does not exist or holds no point yet.
+     */
+    @CEntryPoint(name = "yaci_utxo_snapshot_point")
+    public static int snapshotPoint(IsolateThread thread, CCharPointer pathPtr) {
+        ErrorState.clear();
+        ResultState.clear();
+        try {
+            String path = NativeString.toJavaString(pathPtr);
+            if (path == null || path.isEmpty()) {
+                ErrorState.set("Snapshot path is required");
+                return ErrorCodes.YACI_ERROR_INVALID_ARGUMENT;
+            }
+            Path file = Path.of(path);
+            Map<String, Object> point = Files.exists(file) ? UtxoTracker.snapshotPoint(file) : null;
+            if (point == null) {
+                ErrorState.set("No snapshot point in: " + path);
+                return ErrorCodes.YACI_ERROR_NOT_FOUND;
+            }
+            ResultState.set(JsonHelper.toJson(point));
+            return ErrorCodes.YACI_SUCCESS;
+        } catch (Exception e) {
+            ErrorState.set("Failed to read UTxO snapshot: " + e.getMessage());
+            return ErrorCodes.YACI_ERROR_GENERAL;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * Start of a block in transaction streaming mode; {@code txCount} tx events and a
+ * {@code block_end} follow.
+ */
+public class BlockBeginEvent extends SyncEvent {
+    private final String era;
+    private final long slot;
+    private final String hash;
+    private final long blockNumber;
+    private final int txCount;
+
+    public BlockBeginEvent(String era, long slot, String hash, long blockNumber, int txCount) {
+        super("block_begin");
+        this.era = era;
+        this.slot = slot;
+        this.hash = hash;
+        this.blockNumber = blockNumber;
+        this.txCount = txCount;
+    }
+
+    public String getEra() { return era; }
+    public long getSlot() { return slot; }
+    public String getHash() { return hash; }
+    public long getBlockNumber() { return blockNumber; }
+    public int getTxCount() { return txCount; }
+}
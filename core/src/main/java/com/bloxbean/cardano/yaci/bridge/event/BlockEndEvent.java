@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * End of a block in transaction streaming mode.
+ */
+public class BlockEndEvent extends SyncEvent {
+    private final long slot;
+    private final String hash;
+    private final long blockNumber;
+    private final int txCount;
+
+    public BlockEndEvent(long slot, String hash, long blockNumber, int txCount) {
+        super("block_end");
+        this.slot = slot;
+        this.hash = hash;
+        this.blockNumber = blockNumber;
+        this.txCount = txCount;
+    }
+
+    public long getSlot() { return slot; }
+    public String getHash() { return hash; }
+    public long getBlockNumber() { return blockNumber; }
+    public int getTxCount() { return txCount; }
+}
@@ -3,6 +3,7 @@ package com.bloxbean.cardano.yaci.bridge.event;
 import com.bloxbean.cardano.yaci.helper.model.Transaction;
 
 import java.util.List;
+import java.util.Map;
 
 public class BlockEvent extends SyncEvent {
     private final String era;
@@ -11,9 +12,19 @@ public class BlockEvent extends SyncEvent {
     private final long blockNumber;
     private final String blockCbor;
     private final List<Transaction> transactions;
+    // Segment offsets into the binary side-channel; set only when CBOR travels as raw bytes
+    private final Map<String, Object> payload;
+    // Input range indexes this block satisfies; set only for fetch-many requests
+    private final List<Integer> ranges;
 
     public BlockEvent(String era, long slot, String hash, long blockNumber,
                       String blockCbor, List<Transaction> transactions) {
+        this(era, slot, hash, blockNumber, blockCbor, transactions, null, null);
+    }
+
+    private BlockEvent(String era, long slot, String hash, long blockNumber,
+                       String blockCbor, List<Transaction> transactions,
+                       Map<String, Object> payload, List<Integer> ranges) {
         super("block");
         this.era = era;
         this.slot = slot;
@@ -21,6 +32,29 @@ public class BlockEvent extends SyncEvent {
         this.blockNumber = blockNumber;
         this.blockCbor = blockCbor;
         this.transactions = transactions;
+        this.payload = payload;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Copy of this event for binary delivery: hex block CBOR dropped, payload layout attached.
+     */
+    public BlockEvent withPayload(BlockPayload blockPayload) {
+        return new BlockEvent(era, slot, hash, blockNumber, null, transactions, blockPayload.getLayout(), ranges);
+    }
+
+    /**
+     * Copy of this event without its transactions, for splicing separately encoded ones back in.
+     */
+    public BlockEvent withoutTransactions() {
+        return new BlockEvent(era, slot, hash, blockNumber, blockCbor, null, payload, ranges);
+    }
+
+    /**
+     * Copy of this event tagged with the fetch-many input ranges it belongs to.
+     */
+    public BlockEvent withRanges(List<Integer> rangeIndexes) {
+        return new BlockEvent(era, slot, hash, blockNumber, blockCbor, transactions, payload, rangeIndexes);
     }
 
     public String getEra() { return era; }
@@ -29,4 +63,6 @@ public class BlockEvent extends SyncEvent {
     public long getBlockNumber() { return blockNumber; }
     public String getBlockCbor() { return blockCbor; }
     public List<Transaction> getTransactions() { return transactions; }
+    public Map<String, Object> getPayload() { return payload; }
+    public List<Integer> getRanges() { return ranges; }
 }
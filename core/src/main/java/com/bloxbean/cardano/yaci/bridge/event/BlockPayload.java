@@ -0,0 +1,105 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw CBOR segments of a block laid out back to back: the block CBOR first,
+ * then each transaction body CBOR in transaction order.
+ */
+public final class BlockPayload {
+    private final List<String> hexSegments;
+    private final Map<String, Object> layout;
+    private final long length;
+
+    private BlockPayload(List<String> hexSegments, Map<String, Object> layout, long length) {
+        this.hexSegments = hexSegments;
+        this.layout = layout;
+        this.length = length;
+    }
+
+    public static BlockPayload of(BlockEvent event) {
+        List<String> segments = new ArrayList<>();
+        long offset = 0;
+
+        String blockCbor = event.getBlockCbor();
+        long blockLen = hexLength(blockCbor);
+        segments.add(blockCbor);
+        long[] blockSegment = {offset, blockLen};
+        offset += blockLen;
+
+        List<long[]> txSegments = new ArrayList<>(event.getTransactions().size());
+        for (Transaction tx : event.getTransactions()) {
+            String txCbor = tx.getBody() != null ? tx.getBody().getCbor() : null;
+            long txLen = hexLength(txCbor);
+            segments.add(txCbor);
+            txSegments.add(new long[]{offset, txLen});
+            offset += txLen;
+        }
+
+        Map<String, Object> layout = new LinkedHashMap<>();
+        layout.put("blockCbor", blockSegment);
+        layout.put("txBodyCbor", txSegments);
+        return new BlockPayload(segments, layout, offset);
+    }
+
+    /**
+     * Payload of a single streamed transaction: just its body CBOR, as the one {@code txBodyCbor} segment.
+     */
+    public static BlockPayload ofTransaction(Transaction tx) {
+        String txCbor = tx.getBody() != null ? tx.getBody().getCbor() : null;
+        long txLen = hexLength(txCbor);
+        List<String> segments = new ArrayList<>();
+        segments.add(txCbor);
+        List<long[]> txSegments = new ArrayList<>(1);
+        txSegments.add(new long[]{0, txLen});
+        Map<String, Object> layout = new LinkedHashMap<>();
+        layout.put("txBodyCbor", txSegments);
+        return new BlockPayload(segments, layout, txLen);
+    }
+
+    /** Hex CBOR segments in payload order; null entries are empty segments. */
+    public List<String> getHexSegments() { return hexSegments; }
+
+    /** Offsets/lengths of each segment, serialized into the event as {@code payload}. */
+    public Map<String, Object> getLayout() { return layout; }
+
+    public long getLength() { return length; }
+
+    /** The whole payload decoded into one array, in the same layout as the native buffer. */
+    public byte[] toBytes() {
+        byte[] out = new byte[Math.toIntExact(length)];
+        writeTo(ByteBuffer.wrap(out));
+        return out;
+    }
+
+    /**
+     * Decodes the whole payload into {@code out} at its position, advancing it by {@link #getLength()}.
+     *
+     * @throws IllegalArgumentException if a segment is not valid hex
+     */
+    public void writeTo(ByteBuffer out) {
+        for (String hex : hexSegments) {
+            if (hex == null) continue;
+            int n = hex.length() / 2;
+            for (int i = 0; i < n; i++) {
+                int hi = Character.digit(hex.charAt(2 * i), 16);
+                int lo = Character.digit(hex.charAt(2 * i + 1), 16);
+                if (hi < 0 || lo < 0) {
+                    throw new IllegalArgumentException("Invalid hex at offset " + (2 * i) + ": "
+                            + hex.substring(2 * i, 2 * i + 2));
+                }
+                out.put((byte) ((hi << 4) | lo));
+            }
+        }
+    }
+
+    private static long hexLength(String hex) {
+        return hex != null ? hex.length() / 2 : 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * Progress of a catch-up session. {@code phase} is one of {@code started}, {@code backfill},
+ * {@code handoff} (range fetch finished, switching to chain-sync) or {@code following}.
+ */
+public class CatchUpProgressEvent extends SyncEvent {
+    private final String phase;
+    private final long blocksFetched;
+    private final long slot;
+    private final long blockNumber;
+    private final long tipSlot;
+    private final long tipBlockNumber;
+
+    public CatchUpProgressEvent(String phase, long blocksFetched, long slot, long blockNumber,
+                                long tipSlot, long tipBlockNumber) {
+        super("catch_up_progress");
+        this.phase = phase;
+        this.blocksFetched = blocksFetched;
+        this.slot = slot;
+        this.blockNumber = blockNumber;
+        this.tipSlot = tipSlot;
+        this.tipBlockNumber = tipBlockNumber;
+    }
+
+    public String getPhase() { return phase; }
+    public long getBlocksFetched() { return blocksFetched; }
+    public long getSlot() { return slot; }
+    public long getBlockNumber() { return blockNumber; }
+    public long getTipSlot() { return tipSlot; }
+    public long getTipBlockNumber() { return tipBlockNumber; }
+}
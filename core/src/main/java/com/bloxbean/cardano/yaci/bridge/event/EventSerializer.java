@@ -14,6 +14,13 @@ public final class EventSerializer {
         return JsonHelper.toJson(event);
     }
 
+    /**
+     * Serialize a block event whose CBOR travels in the binary side-channel.
+     */
+    public static String serializeWithoutCbor(BlockEvent event) throws JsonProcessingException {
+        return JsonHelper.toJsonWithoutCbor(event);
+    }
+
     public static String timeoutEvent() throws JsonProcessingException {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("type", "timeout");
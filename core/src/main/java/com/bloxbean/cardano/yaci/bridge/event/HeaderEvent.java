@@ -0,0 +1,31 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+public class HeaderEvent extends SyncEvent {
+    private final String era;
+    private final long slot;
+    private final String hash;
+    private final long blockNumber;
+    private final String prevHash;
+    private final long bodySize;
+    private final String issuerVkeyHash;
+
+    public HeaderEvent(String era, long slot, String hash, long blockNumber,
+                       String prevHash, long bodySize, String issuerVkeyHash) {
+        super("header");
+        this.era = era;
+        this.slot = slot;
+        this.hash = hash;
+        this.blockNumber = blockNumber;
+        this.prevHash = prevHash;
+        this.bodySize = bodySize;
+        this.issuerVkeyHash = issuerVkeyHash;
+    }
+
+    public String getEra() { return era; }
+    public long getSlot() { return slot; }
+    public String getHash() { return hash; }
+    public long getBlockNumber() { return blockNumber; }
+    public String getPrevHash() { return prevHash; }
+    public long getBodySize() { return bodySize; }
+    public String getIssuerVkeyHash() { return issuerVkeyHash; }
+}
@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * All blocks of one fetch-many input range have been delivered.
+ */
+public class RangeDoneEvent extends SyncEvent {
+    private final int rangeIndex;
+    private final long blocks;
+
+    public RangeDoneEvent(int rangeIndex, long blocks) {
+        super("range_done");
+        this.rangeIndex = rangeIndex;
+        this.blocks = blocks;
+    }
+
+    public int getRangeIndex() { return rangeIndex; }
+    public long getBlocks() { return blocks; }
+}
@@ -0,0 +1,63 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * Progress of a chunked range fetch, sent periodically and once more when the fetch ends.
+ */
+public class RangeProgressEvent extends SyncEvent {
+    private final long blocks;
+    private final long bytes;
+    private final long slot;
+    private final long fromSlot;
+    private final long toSlot;
+    private final long totalBlocks;
+    private final double percent;
+    private final double blocksPerSec;
+    private final double bytesPerSec;
+    private final long etaMillis;
+    private final int chunks;
+    private final long chunkBlocks;
+    private final boolean done;
+    private final boolean cancelled;
+
+    public RangeProgressEvent(long blocks, long bytes, long slot, long fromSlot, long toSlot,
+                              long totalBlocks, double percent, double blocksPerSec, double bytesPerSec,
+                              long etaMillis, int chunks, long chunkBlocks, boolean done, boolean cancelled) {
+        super("range_progress");
+        this.blocks = blocks;
+        this.bytes = bytes;
+        this.slot = slot;
+        this.fromSlot = fromSlot;
+        this.toSlot = toSlot;
+        this.totalBlocks = totalBlocks;
+        this.percent = percent;
+        this.blocksPerSec = blocksPerSec;
+        this.bytesPerSec = bytesPerSec;
+        this.etaMillis = etaMillis;
+        this.chunks = chunks;
+        this.chunkBlocks = chunkBlocks;
+        this.done = done;
+        this.cancelled = cancelled;
+    }
+
+    public long getBlocks() { return blocks; }
+    /** Block CBOR bytes received so far. */
+    public long getBytes() { return bytes; }
+    /** Slot of the last block delivered. */
+    public long getSlot() { return slot; }
+    public long getFromSlot() { return fromSlot; }
+    public long getToSlot() { return toSlot; }
+    /** Blocks in the whole range, or -1 if the point index does not cover both ends. */
+    public long getTotalBlocks() { return totalBlocks; }
+    /** By block count when the total is known, otherwise by slot. */
+    public double getPercent() { return percent; }
+    public double getBlocksPerSec() { return blocksPerSec; }
+    public double getBytesPerSec() { return bytesPerSec; }
+    /** Estimated time to the end of the range at the average rate so far; -1 before any block. */
+    public long getEtaMillis() { return etaMillis; }
+    /** Block-fetch requests issued so far. */
+    public int getChunks() { return chunks; }
+    /** Target size of the current chunk. */
+    public long getChunkBlocks() { return chunkBlocks; }
+    public boolean isDone() { return done; }
+    public boolean isCancelled() { return cancelled; }
+}
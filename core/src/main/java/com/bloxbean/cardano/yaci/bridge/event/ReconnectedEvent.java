@@ -0,0 +1,32 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * The session's watchdog replaced a stalled or dropped connection and chain-sync found an
+ * intersection again. Delivery continues after the last block delivered before the outage; if
+ * the relay no longer has that block, a rollback to the intersection follows this event.
+ */
+public class ReconnectedEvent extends SyncEvent {
+    private final String reason;
+    private final long millis;
+    private final int attempts;
+    private final long slot;
+    private final String hash;
+
+    public ReconnectedEvent(String reason, long millis, int attempts, long slot, String hash) {
+        super("reconnected");
+        this.reason = reason;
+        this.millis = millis;
+        this.attempts = attempts;
+        this.slot = slot;
+        this.hash = hash;
+    }
+
+    /** {@code stall}, {@code keep_alive} or {@code disconnect}. */
+    public String getReason() { return reason; }
+    /** From detecting the problem to the new intersection. */
+    public long getMillis() { return millis; }
+    public int getAttempts() { return attempts; }
+    /** Intersection point the session resumed from. */
+    public long getSlot() { return slot; }
+    public String getHash() { return hash; }
+}
@@ -0,0 +1,29 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * The session's watchdog is replacing a stalled or dropped connection. Sent once per attempt,
+ * before the new connection is opened; a {@link ReconnectedEvent} follows once chain-sync has
+ * found an intersection again.
+ */
+public class ReconnectingEvent extends SyncEvent {
+    private final String reason;
+    private final int attempt;
+    private final long slot;
+    private final String hash;
+
+    public ReconnectingEvent(String reason, int attempt, long slot, String hash) {
+        super("reconnecting");
+        this.reason = reason;
+        this.attempt = attempt;
+        this.slot = slot;
+        this.hash = hash;
+    }
+
+    /** {@code stall}, {@code keep_alive} or {@code disconnect}. */
+    public String getReason() { return reason; }
+    /** 1 for the first attempt after an outage, counting up while attempts fail. */
+    public int getAttempt() { return attempt; }
+    /** Newest point chain-sync will try to intersect on. */
+    public long getSlot() { return slot; }
+    public String getHash() { return hash; }
+}
@@ -0,0 +1,18 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * A replay session has dispatched all of its recorded blocks.
+ */
+public class ReplayDoneEvent extends SyncEvent {
+    private final long blocks;
+    private final long millis;
+
+    public ReplayDoneEvent(long blocks, long millis) {
+        super("replay_done");
+        this.blocks = blocks;
+        this.millis = millis;
+    }
+
+    public long getBlocks() { return blocks; }
+    public long getMillis() { return millis; }
+}
@@ -0,0 +1,25 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * A ring consumer fell more than the ring's capacity behind and lost events; it resumes at the
+ * tail. Reported to the publishing session once per overrun.
+ */
+public class RingLagEvent extends SyncEvent {
+    private final int consumer;
+    private final long position;
+    private final long tailPosition;
+    private final long lostBytes;
+
+    public RingLagEvent(int consumer, long position, long tailPosition, long lostBytes) {
+        super("ring_lag");
+        this.consumer = consumer;
+        this.position = position;
+        this.tailPosition = tailPosition;
+        this.lostBytes = lostBytes;
+    }
+
+    public int getConsumer() { return consumer; }
+    public long getPosition() { return position; }
+    public long getTailPosition() { return tailPosition; }
+    public long getLostBytes() { return lostBytes; }
+}
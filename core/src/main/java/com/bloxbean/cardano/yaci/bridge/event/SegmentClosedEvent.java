@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+public class SegmentClosedEvent extends SyncEvent {
+    private final String path;
+    private final long events;
+    private final long bytes;
+    private final Long firstSlot;
+    private final Long lastSlot;
+
+    public SegmentClosedEvent(String path, long events, long bytes, Long firstSlot, Long lastSlot) {
+        super("segment_closed");
+        this.path = path;
+        this.events = events;
+        this.bytes = bytes;
+        this.firstSlot = firstSlot;
+        this.lastSlot = lastSlot;
+    }
+
+    public String getPath() { return path; }
+    public long getEvents() { return events; }
+    public long getBytes() { return bytes; }
+    public Long getFirstSlot() { return firstSlot; }
+    public Long getLastSlot() { return lastSlot; }
+}
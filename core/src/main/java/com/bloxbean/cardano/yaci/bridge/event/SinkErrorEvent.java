@@ -0,0 +1,30 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * The file sink failed to write a segment. The segment is abandoned: it stays on disk as
+ * {@code .part}, is never reported as closed, and the next event starts a new one. The events and
+ * slot range it held (including the event being written) are what is missing from the segments.
+ */
+public class SinkErrorEvent extends SyncEvent {
+    private final String message;
+    private final String path;
+    private final long events;
+    private final Long firstSlot;
+    private final Long lastSlot;
+
+    public SinkErrorEvent(String message, String path, long events, Long firstSlot, Long lastSlot) {
+        super("sink_error");
+        this.message = message;
+        this.path = path;
+        this.events = events;
+        this.firstSlot = firstSlot;
+        this.lastSlot = lastSlot;
+    }
+
+    public String getMessage() { return message; }
+    /** The abandoned {@code .part} file. */
+    public String getPath() { return path; }
+    public long getEvents() { return events; }
+    public Long getFirstSlot() { return firstSlot; }
+    public Long getLastSlot() { return lastSlot; }
+}
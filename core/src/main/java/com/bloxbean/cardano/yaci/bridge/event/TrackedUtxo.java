@@ -0,0 +1,58 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.helper.model.Utxo;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An unspent output of a watched address: lovelace plus native assets by unit.
+ */
+public class TrackedUtxo {
+    private final String txHash;
+    private final int index;
+    private final String address;
+    private final long lovelace;
+    private final Map<String, BigInteger> assets;
+
+    public TrackedUtxo(String txHash, int index, String address, long lovelace, Map<String, BigInteger> assets) {
+        this.txHash = txHash;
+        this.index = index;
+        this.address = address;
+        this.lovelace = lovelace;
+        this.assets = assets;
+    }
+
+    public static TrackedUtxo of(Utxo utxo) {
+        long lovelace = 0;
+        Map<String, BigInteger> assets = new LinkedHashMap<>();
+        if (utxo.getAmounts() != null) {
+            for (Amount amount : utxo.getAmounts()) {
+                if ("lovelace".equals(amount.getUnit())) {
+                    lovelace += amount.getQuantity().longValueExact();
+                } else {
+                    assets.merge(amount.getUnit(), amount.getQuantity(), BigInteger::add);
+                }
+            }
+        }
+        return new TrackedUtxo(utxo.getTxHash(), utxo.getIndex(), utxo.getAddress(), lovelace,
+                assets.isEmpty() ? Collections.emptyMap() : assets);
+    }
+
+    public static String key(String txHash, int index) {
+        return txHash + "#" + index;
+    }
+
+    public String key() {
+        return key(txHash, index);
+    }
+
+    public String getTxHash() { return txHash; }
+    public int getIndex() { return index; }
+    public String getAddress() { return address; }
+    public long getLovelace() { return lovelace; }
+    public Map<String, BigInteger> getAssets() { return assets; }
+}
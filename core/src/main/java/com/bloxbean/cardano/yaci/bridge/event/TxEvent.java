@@ -0,0 +1,43 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+
+import java.util.Map;
+
+/**
+ * One transaction of a block in transaction streaming mode, in block order.
+ */
+public class TxEvent extends SyncEvent {
+    private final long slot;
+    private final String blockHash;
+    private final int index;
+    private final Transaction transaction;
+    // Segment offsets into the binary side-channel; set only when CBOR travels as raw bytes
+    private final Map<String, Object> payload;
+
+    public TxEvent(long slot, String blockHash, int index, Transaction transaction) {
+        this(slot, blockHash, index, transaction, null);
+    }
+
+    private TxEvent(long slot, String blockHash, int index, Transaction transaction, Map<String, Object> payload) {
+        super("tx");
+        this.slot = slot;
+        this.blockHash = blockHash;
+        this.index = index;
+        this.transaction = transaction;
+        this.payload = payload;
+    }
+
+    /**
+     * Copy of this event for binary delivery, with the payload layout attached.
+     */
+    public TxEvent withPayload(BlockPayload txPayload) {
+        return new TxEvent(slot, blockHash, index, transaction, txPayload.getLayout());
+    }
+
+    public long getSlot() { return slot; }
+    public String getBlockHash() { return blockHash; }
+    public int getIndex() { return index; }
+    public Transaction getTransaction() { return transaction; }
+    public Map<String, Object> getPayload() { return payload; }
+}
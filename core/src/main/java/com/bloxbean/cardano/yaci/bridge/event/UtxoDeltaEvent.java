@@ -0,0 +1,81 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes to the watched addresses' UTxOs caused by one block, or undone by a rollback
+ * ({@code rollback} = true, with the rollback point as slot / hash).
+ */
+public class UtxoDeltaEvent extends SyncEvent {
+    private final long slot;
+    private final long blockNumber;
+    private final String blockHash;
+    private final boolean rollback;
+    private final List<AddressDelta> addresses;
+
+    private UtxoDeltaEvent(long slot, long blockNumber, String blockHash, boolean rollback,
+                           List<AddressDelta> addresses) {
+        super("utxo_delta");
+        this.slot = slot;
+        this.blockNumber = blockNumber;
+        this.blockHash = blockHash;
+        this.rollback = rollback;
+        this.addresses = addresses;
+    }
+
+    /**
+     * Groups created and spent outputs by address, with the net lovelace and asset change of each.
+     */
+    public static UtxoDeltaEvent of(long slot, long blockNumber, String blockHash, boolean rollback,
+                                    List<TrackedUtxo> created, List<TrackedUtxo> spent) {
+        Map<String, AddressDelta> byAddress = new LinkedHashMap<>();
+        for (TrackedUtxo utxo : created) {
+            byAddress.computeIfAbsent(utxo.getAddress(), AddressDelta::new).add(utxo, true);
+        }
+        for (TrackedUtxo utxo : spent) {
+            byAddress.computeIfAbsent(utxo.getAddress(), AddressDelta::new).add(utxo, false);
+        }
+        return new UtxoDeltaEvent(slot, blockNumber, blockHash, rollback, new ArrayList<>(byAddress.values()));
+    }
+
+    public long getSlot() { return slot; }
+    public long getBlockNumber() { return blockNumber; }
+    public String getBlockHash() { return blockHash; }
+    public boolean isRollback() { return rollback; }
+    public List<AddressDelta> getAddresses() { return addresses; }
+
+    public static class AddressDelta {
+        private final String address;
+        private long lovelace;
+        private final Map<String, BigInteger> assets = new LinkedHashMap<>();
+        private final List<TrackedUtxo> created = new ArrayList<>();
+        private final List<TrackedUtxo> spent = new ArrayList<>();
+
+        AddressDelta(String address) {
+            this.address = address;
+        }
+
+        private void add(TrackedUtxo utxo, boolean isCreated) {
+            (isCreated ? created : spent).add(utxo);
+            lovelace += isCreated ? utxo.getLovelace() : -utxo.getLovelace();
+            utxo.getAssets().forEach((unit, qty) -> {
+                BigInteger sum = assets.getOrDefault(unit, BigInteger.ZERO).add(isCreated ? qty : qty.negate());
+                if (sum.signum() == 0) {
+                    assets.remove(unit);
+                } else {
+                    assets.put(unit, sum);
+                }
+            });
+        }
+
+        public String getAddress() { return address; }
+        public long getLovelace() { return lovelace; }
+        public Map<String, BigInteger> getAssets() { return assets; }
+        public List<TrackedUtxo> getCreated() { return created; }
+        public List<TrackedUtxo> getSpent() { return spent; }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bloxbean.cardano.yaci.bridge.event;
+
+/**
+ * Rollup of the blocks of one slot window (or epoch). A window re-emitted after a rollback
+ * reached into it has a higher {@code revision} and replaces the earlier one; {@code partial}
+ * marks the still-open window flushed when the session stops.
+ */
+public class WindowEvent extends SyncEvent {
+    private final long window;
+    private final long startSlot;
+    private final long endSlot;
+    private final int revision;
+    private final boolean partial;
+    private final long blocks;
+    private final long txCount;
+    private final long fees;
+    private final long outputLovelace;
+    private final long blockBytes;
+    private final long scripts;
+    private final long activeAddresses;
+
+    public WindowEvent(long window, long startSlot, long endSlot, int revision, boolean partial,
+                       long blocks, long txCount, long fees, long outputLovelace, long blockBytes,
+                       long scripts, long activeAddresses) {
+        super("window");
+        this.window = window;
+        this.startSlot = startSlot;
+        this.endSlot = endSlot;
+        this.revision = revision;
+        this.partial = partial;
+        this.blocks = blocks;
+        this.txCount = txCount;
+        this.fees = fees;
+        this.outputLovelace = outputLovelace;
+        this.blockBytes = blockBytes;
+        this.scripts = scripts;
+        this.activeAddresses = activeAddresses;
+    }
+
+    public long getWindow() { return window; }
+    public long getStartSlot() { return startSlot; }
+    public long getEndSlot() { return endSlot; }
+    public int getRevision() { return revision; }
+    public boolean isPartial() { return partial; }
+    public long getBlocks() { return blocks; }
+    public long getTxCount() { return txCount; }
+    public long getFees() { return fees; }
+    public long getOutputLovelace() { return outputLovelace; }
+    public long getBlockBytes() { return blockBytes; }
+    public long getScripts() { return scripts; }
+    public long getActiveAddresses() { return activeAddresses; }
+}
@@ -0,0 +1,14 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+/**
+ * Operations common to every session type, used by the {@code yaci_session_*} entry points.
+ */
+public interface BridgeSession {
+    int getId();
+
+    long getProtocolMagic();
+
+    EventDispatcher dispatcher();
+
+    boolean isStarted();
+}
@@ -0,0 +1,225 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RangeProgressEvent;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+
+import java.util.Map;
+
+/**
+ * A large range split into block-fetch requests issued one after another on the session's
+ * connection. Block-fetch needs both ends of a request as points on the chain, so chunk boundaries
+ * are looked up in a point index covering the range; a chunk spans any hole in the index, and
+ * without coverage the rest of the range is requested as one chunk.
+ * <p>
+ * After each chunk the next one is sized to take about {@code targetChunkMillis} at the block rate
+ * just measured, capped at {@link #MAX_CHUNK_BYTES} at the measured block size and at four times
+ * the previous size. Cancelling stops further requests; blocks of the chunk in flight are dropped.
+ */
+final class ChunkedFetch {
+    static final long DEFAULT_INITIAL_CHUNK_BLOCKS = 500;
+    static final long DEFAULT_TARGET_CHUNK_MILLIS = 2000;
+    static final long DEFAULT_PROGRESS_EVERY_MILLIS = 1000;
+    static final long MAX_CHUNK_BLOCKS = 100_000;
+    static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+
+    static final class Chunk {
+        final Point from;
+        final Point to;
+
+        Chunk(Point from, Point to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final Point from;
+    private final Point to;
+    private final PointIndex index;
+    private final long targetChunkMillis;
+    private final long progressEveryNanos;
+    private final long totalBlocks;
+    private final long startNanos = System.nanoTime();
+
+    // Next chunk's start and its block number in the index; -1 when the index cannot place it
+    private Point nextFrom;
+    private long nextFromBlockNumber;
+    // Hash of a block requested again because the next start could not be located
+    private String skipHash;
+    // Block number the next chunk must reach to span a hole in the index; -1 if none
+    private long gapEndBlockNumber = -1;
+    private Chunk current;
+    private long chunkBlocks;
+    private int chunks;
+    private long chunkStartNanos;
+    private long chunkStartBlocks;
+    private long chunkStartBytes;
+
+    private long blocks;
+    private long bytes;
+    private long slot;
+    private long lastProgressNanos = startNanos;
+    private volatile boolean cancelled;
+
+    ChunkedFetch(Point from, Point to, PointIndex index, long initialChunkBlocks,
+                 long targetChunkMillis, long progressEveryMillis) {
+        if (from.getSlot() > to.getSlot()) {
+            throw new IllegalArgumentException("From slot is after to slot");
+        }
+        this.from = from;
+        this.to = to;
+        this.index = index;
+        this.chunkBlocks = initialChunkBlocks > 0 ? initialChunkBlocks : DEFAULT_INITIAL_CHUNK_BLOCKS;
+        this.targetChunkMillis = targetChunkMillis > 0 ? targetChunkMillis : DEFAULT_TARGET_CHUNK_MILLIS;
+        this.progressEveryNanos = (progressEveryMillis > 0 ? progressEveryMillis : DEFAULT_PROGRESS_EVERY_MILLIS)
+                * 1_000_000L;
+        this.slot = from.getSlot();
+        this.nextFrom = from;
+
+        Map<String, Object> first = index != null ? index.lookupBySlot(from.getSlot(), PointIndex.MODE_AT_OR_AFTER) : null;
+        Map<String, Object> last = index != null ? index.lookupBySlot(to.getSlot(), PointIndex.MODE_EXACT) : null;
+        this.nextFromBlockNumber = first != null ? blockNumber(first) : -1;
+        this.totalBlocks = first != null && last != null && hash(last).equals(to.getHash())
+                && from.getSlot() == (long) first.get("slot")
+                ? blockNumber(last) - blockNumber(first) + 1 : -1;
+    }
+
+    /** The next chunk to request, or null when the range is done or the fetch was cancelled. */
+    Chunk nextChunk() {
+        if (cancelled || nextFrom == null) {
+            return null;
+        }
+        Point chunkTo = to;
+        if (nextFromBlockNumber >= 0) {
+            long endBlockNumber = Math.max(nextFromBlockNumber + chunkBlocks - 1, gapEndBlockNumber);
+            gapEndBlockNumber = -1;
+            Map<String, Object> end = index.lookupByBlockNumber(endBlockNumber, PointIndex.MODE_AT_OR_BEFORE);
+            if (end != null && (long) end.get("slot") >= nextFrom.getSlot()
+                    && (long) end.get("slot") < to.getSlot()) {
+                chunkTo = new Point((long) end.get("slot"), hash(end));
+                Map<String, Object> after = index.lookupByBlockNumber(blockNumber(end) + 1, PointIndex.MODE_AT_OR_AFTER);
+                if (after != null && (long) after.get("slot") <= to.getSlot()) {
+                    current = new Chunk(nextFrom, chunkTo);
+                    if (blockNumber(after) == blockNumber(end) + 1) {
+                        nextFrom = new Point((long) after.get("slot"), hash(after));
+                        nextFromBlockNumber = blockNumber(after);
+                    } else {
+                        // A hole in the index: the next chunk starts at this chunk's last block again
+                        // and runs at least to the next indexed block, so nothing in between is skipped
+                        nextFrom = chunkTo;
+                        nextFromBlockNumber = blockNumber(end);
+                        gapEndBlockNumber = blockNumber(after);
+                        skipHash = chunkTo.getHash();
+                    }
+                    return started(current);
+                }
+                // The index ends here: continue from this chunk's last block and drop it when it repeats
+                current = new Chunk(nextFrom, chunkTo);
+                nextFrom = chunkTo;
+                nextFromBlockNumber = -1;
+                skipHash = chunkTo.getHash();
+                return started(current);
+            }
+        }
+        current = new Chunk(nextFrom, chunkTo);
+        nextFrom = null;
+        return started(current);
+    }
+
+    /**
+     * True if the block belongs to the fetch and should be delivered; false for blocks of a
+     * cancelled fetch and the one block repeated at an index gap.
+     */
+    boolean accept(BlockEvent block) {
+        if (cancelled) {
+            return false;
+        }
+        if (skipHash != null && skipHash.equals(block.getHash())) {
+            if (current != null && current.from.getHash().equals(skipHash)) {
+                skipHash = null;
+                return false;
+            }
+        }
+        blocks++;
+        String cbor = block.getBlockCbor();
+        bytes += cbor != null ? cbor.length() / 2 : 0;
+        slot = block.getSlot();
+        return true;
+    }
+
+    /** A periodic progress event, or null if one is not due yet. */
+    RangeProgressEvent progressIfDue() {
+        long now = System.nanoTime();
+        if (now - lastProgressNanos < progressEveryNanos) {
+            return null;
+        }
+        lastProgressNanos = now;
+        return progress(false);
+    }
+
+    /** Sizes the next chunk from the one just served. */
+    void chunkDone() {
+        long served = blocks - chunkStartBlocks;
+        long elapsedNanos = System.nanoTime() - chunkStartNanos;
+        if (served <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double blocksPerMilli = served / (elapsedNanos / 1_000_000.0);
+        long next = (long) (blocksPerMilli * targetChunkMillis);
+        long avgBytes = Math.max(1, (bytes - chunkStartBytes) / served);
+        next = Math.min(next, MAX_CHUNK_BYTES / avgBytes);
+        next = Math.min(next, chunkBlocks * 4);
+        chunkBlocks = Math.max(1, Math.min(next, MAX_CHUNK_BLOCKS));
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    RangeProgressEvent progress(boolean done) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        double blocksPerSec = seconds > 0 ? blocks / seconds : 0;
+        double bytesPerSec = seconds > 0 ? bytes / seconds : 0;
+        double fraction;
+        if (totalBlocks > 0) {
+            fraction = Math.min(1.0, (double) blocks / totalBlocks);
+        } else {
+            long span = to.getSlot() - from.getSlot();
+            fraction = span > 0 ? Math.min(1.0, (double) (slot - from.getSlot()) / span) : (blocks > 0 ? 1.0 : 0.0);
+        }
+        if (done && !cancelled) {
+            fraction = 1.0;
+        }
+        long eta;
+        if (done) {
+            eta = 0;
+        } else if (fraction > 0) {
+            eta = (long) (seconds * 1000 * (1 - fraction) / fraction);
+        } else {
+            eta = -1;
+        }
+        return new RangeProgressEvent(blocks, bytes, slot, from.getSlot(), to.getSlot(), totalBlocks,
+                Math.round(fraction * 10000) / 100.0, blocksPerSec, bytesPerSec, eta,
+                chunks, chunkBlocks, done, cancelled);
+    }
+
+    private Chunk started(Chunk chunk) {
+        chunks++;
+        chunkStartNanos = System.nanoTime();
+        chunkStartBlocks = blocks;
+        chunkStartBytes = bytes;
+        return chunk;
+    }
+
+    private static long blockNumber(Map<String, Object> record) {
+        return (long) record.get("blockNumber");
+    }
+
+    private static String hash(Map<String, Object> record) {
+        return (String) record.get("hash");
+    }
+}
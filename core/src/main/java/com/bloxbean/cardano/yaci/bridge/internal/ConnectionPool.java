@@ -0,0 +1,375 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
+import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional pool of handshaken node-to-node connections for one-shot tip queries, keyed by host,
+ * port and protocol magic. A pooled query skips the TCP connect and Ouroboros handshake: it sends
+ * one chain-sync request on an open connection and reads the tip from the reply.
+ * <p>
+ * Idle connections are kept open with keep-alives and closed after {@code idleTimeoutMs}, on a
+ * failed keep-alive, or (oldest first) when more than {@code maxIdle} are idle. Each request moves
+ * the connection's chain-sync cursor one block forward from the well-known point; a connection whose
+ * cursor reaches the tip is closed instead of pooled, since the next request would wait for a block.
+ * The pool is off until {@link #configure} is called with {@code maxIdle > 0}.
+ */
+public final class ConnectionPool {
+    // Idle connections, least recently used first; guarded by the class monitor
+    private static final LinkedList<PooledConnection> idle = new LinkedList<>();
+    private static int maxIdle;
+    private static long idleTimeoutMs;
+    private static long keepAliveIntervalMs;
+    private static Thread maintainer;
+
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+    private static long handshakes;
+    private static long handshakeMillis;
+    private static long handshakeMillisSaved;
+
+    private ConnectionPool() {}
+
+    /**
+     * Enables the pool, or with {@code maxIdle == 0} disables it and closes every idle connection.
+     */
+    public static void configure(int maxIdle, long idleTimeoutMs, long keepAliveIntervalMs) {
+        List<PooledConnection> closing = new ArrayList<>();
+        synchronized (ConnectionPool.class) {
+            ConnectionPool.maxIdle = maxIdle;
+            ConnectionPool.idleTimeoutMs = idleTimeoutMs;
+            ConnectionPool.keepAliveIntervalMs = keepAliveIntervalMs;
+            while (idle.size() > maxIdle) {
+                closing.add(idle.removeFirst());
+                evictions++;
+            }
+            if (maxIdle > 0 && maintainer == null) {
+                maintainer = new Thread(ConnectionPool::maintain, "yaci-connection-pool");
+                maintainer.setDaemon(true);
+                maintainer.start();
+            } else if (maxIdle == 0 && maintainer != null) {
+                maintainer.interrupt();
+                maintainer = null;
+            }
+        }
+        closing.forEach(PooledConnection::close);
+    }
+
+    public static synchronized boolean isEnabled() {
+        return maxIdle > 0;
+    }
+
+    /**
+     * Queries the current tip on a pooled connection, opening one if none is idle. A pooled
+     * connection that turns out to be dead is discarded and the query retried on a new one.
+     */
+    public static Tip findTip(String host, int port, long protocolMagic, Point wellKnownPoint,
+                              Duration timeout) throws Exception {
+        String key = host + ":" + port + ":" + protocolMagic;
+        while (true) {
+            PooledConnection conn = borrow(key);
+            boolean pooled = conn != null;
+            if (!pooled) {
+                conn = PooledConnection.open(key, host, port, protocolMagic, wellKnownPoint, timeout);
+                synchronized (ConnectionPool.class) {
+                    misses++;
+                    handshakes++;
+                    handshakeMillis += conn.handshakeMillis;
+                }
+            }
+            Tip tip;
+            try {
+                tip = conn.findTip(timeout);
+            } catch (IOException e) {
+                conn.close();
+                if (pooled) {
+                    synchronized (ConnectionPool.class) {
+                        evictions++;
+                    }
+                    continue;
+                }
+                throw e;
+            } catch (Exception e) {
+                conn.close();
+                throw e;
+            }
+            if (pooled) {
+                synchronized (ConnectionPool.class) {
+                    hits++;
+                    handshakeMillisSaved += conn.handshakeMillis;
+                }
+            }
+            release(conn);
+            return tip;
+        }
+    }
+
+    /**
+     * Pool counters: {@code enabled}, {@code idle}, {@code hits}, {@code misses}, {@code evictions},
+     * {@code handshakes}, {@code handshakeMillis} (time spent connecting and handshaking) and
+     * {@code handshakeMillisSaved} (the handshake time of each reused connection, summed per hit).
+     */
+    public static synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", maxIdle > 0);
+        stats.put("maxIdle", maxIdle);
+        stats.put("idle", idle.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        stats.put("handshakes", handshakes);
+        stats.put("handshakeMillis", handshakeMillis);
+        stats.put("handshakeMillisSaved", handshakeMillisSaved);
+        return stats;
+    }
+
+    private static synchronized PooledConnection borrow(String key) {
+        // Most recently used first: its keep-alive is freshest
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection conn = it.next();
+            if (conn.key.equals(key)) {
+                it.remove();
+                return conn;
+            }
+        }
+        return null;
+    }
+
+    private static void release(PooledConnection conn) {
+        List<PooledConnection> closing = new ArrayList<>();
+        synchronized (ConnectionPool.class) {
+            if (maxIdle == 0 || conn.atTip || !conn.isOpen()) {
+                closing.add(conn);
+            } else {
+                conn.idleSinceNanos = System.nanoTime();
+                idle.addLast(conn);
+                while (idle.size() > maxIdle) {
+                    closing.add(idle.removeFirst());
+                    evictions++;
+                }
+            }
+        }
+        closing.forEach(PooledConnection::close);
+    }
+
+    private static void maintain() {
+        Random random = new Random();
+        while (true) {
+            long intervalMs;
+            long sleepMs;
+            synchronized (ConnectionPool.class) {
+                if (maxIdle == 0) return;
+                intervalMs = keepAliveIntervalMs > 0 ? keepAliveIntervalMs : 5000;
+                // Wake for evictions only when idle eviction is on
+                sleepMs = idleTimeoutMs > 0 ? Math.min(intervalMs, Math.max(idleTimeoutMs, 100)) : intervalMs;
+            }
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            List<PooledConnection> closing = new ArrayList<>();
+            List<PooledConnection> pinging = new ArrayList<>();
+            synchronized (ConnectionPool.class) {
+                long now = System.nanoTime();
+                Iterator<PooledConnection> it = idle.iterator();
+                while (it.hasNext()) {
+                    PooledConnection conn = it.next();
+                    long idleMs = (now - conn.idleSinceNanos) / 1_000_000L;
+                    if (!conn.isOpen() || (idleTimeoutMs > 0 && idleMs >= idleTimeoutMs)) {
+                        it.remove();
+                        closing.add(conn);
+                        evictions++;
+                    } else if ((now - conn.lastKeepAliveNanos) / 1_000_000L >= intervalMs) {
+                        pinging.add(conn);
+                    }
+                }
+            }
+            for (PooledConnection conn : pinging) {
+                try {
+                    conn.sendKeepAlive(random.nextInt(60001));
+                } catch (Exception e) {
+                    synchronized (ConnectionPool.class) {
+                        if (idle.remove(conn)) {
+                            closing.add(conn);
+                            evictions++;
+                        }
+                    }
+                }
+            }
+            closing.forEach(PooledConnection::close);
+        }
+    }
+
+    /** One connection with chain-sync and keep-alive, used by one query at a time. */
+    private static final class PooledConnection {
+        final String key;
+        final TCPNodeClient client;
+        final ChainsyncAgent chainSyncAgent;
+        final KeepAliveAgent keepAliveAgent;
+        final CompletableFuture<Void> handshake = new CompletableFuture<>();
+        long handshakeMillis;
+        long idleSinceNanos;
+        volatile long lastKeepAliveNanos = System.nanoTime();
+        volatile boolean closed;
+        // Set once the chain-sync cursor has reached the tip
+        volatile boolean atTip;
+        // Reply the current query waits for; null between queries
+        volatile CompletableFuture<Tip> pending;
+
+        private PooledConnection(String key, String host, int port, long protocolMagic, Point wellKnownPoint) {
+            this.key = key;
+            HandshakeAgent handshakeAgent = new HandshakeAgent(N2NVersionTableConstant.v4AndAbove(protocolMagic));
+            chainSyncAgent = new ChainsyncAgent(new Point[]{wellKnownPoint});
+            keepAliveAgent = new KeepAliveAgent();
+            handshakeAgent.addListener(new HandshakeAgentListener() {
+                @Override
+                public void handshakeOk() {
+                    handshake.complete(null);
+                }
+            });
+            chainSyncAgent.addListener(createListener());
+            client = new TCPNodeClient(host, port, handshakeAgent, keepAliveAgent, chainSyncAgent);
+        }
+
+        static PooledConnection open(String key, String host, int port, long protocolMagic,
+                                     Point wellKnownPoint, Duration timeout) throws Exception {
+            PooledConnection conn = new PooledConnection(key, host, port, protocolMagic, wellKnownPoint);
+            long start = System.nanoTime();
+            try {
+                conn.client.start();
+                conn.handshake.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                conn.close();
+                throw new TimeoutException("Handshake timeout after " + timeout.toMillis() + "ms");
+            } catch (ExecutionException e) {
+                conn.close();
+                throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+            } catch (Exception e) {
+                conn.close();
+                throw e;
+            }
+            conn.handshakeMillis = (System.nanoTime() - start) / 1_000_000L;
+            return conn;
+        }
+
+        Tip findTip(Duration timeout) throws Exception {
+            CompletableFuture<Tip> reply = new CompletableFuture<>();
+            pending = reply;
+            try {
+                // The first request finds the intersection; later ones read the tip off the next reply
+                chainSyncAgent.sendNextMessage();
+                return reply.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new TimeoutException("Tip query timeout after " + timeout.toMillis() + "ms");
+            } catch (ExecutionException e) {
+                throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+            } finally {
+                pending = null;
+            }
+        }
+
+        void sendKeepAlive(int cookie) {
+            keepAliveAgent.sendKeepAlive(cookie);
+            lastKeepAliveNanos = System.nanoTime();
+        }
+
+        boolean isOpen() {
+            return !closed && client.isRunning();
+        }
+
+        void close() {
+            closed = true;
+            try {
+                client.shutdown();
+            } catch (Exception ignored) {
+            }
+        }
+
+        private void reply(Tip tip) {
+            CompletableFuture<Tip> reply = pending;
+            if (reply != null) {
+                reply.complete(tip);
+            }
+        }
+
+        private ChainSyncAgentListener createListener() {
+            return new ChainSyncAgentListener() {
+                @Override
+                public void intersactFound(Tip tip, Point point) {
+                    reply(tip);
+                }
+
+                @Override
+                public void intersactNotFound(Tip tip) {
+                    closed = true;
+                    CompletableFuture<Tip> reply = pending;
+                    if (reply != null) {
+                        reply.completeExceptionally(new IllegalStateException(
+                                "Well-known point not found on the node"));
+                    }
+                }
+
+                @Override
+                public void rollforward(Tip tip, BlockHeader blockHeader) {
+                    if (blockHeader.getHeaderBody().getSlot() >= tip.getPoint().getSlot()) {
+                        atTip = true;
+                    }
+                    reply(tip);
+                }
+
+                @Override
+                public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
+                    reply(tip);
+                }
+
+                @Override
+                public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
+                    reply(tip);
+                }
+
+                @Override
+                public void rollbackward(Tip tip, Point toPoint) {
+                    reply(tip);
+                }
+
+                @Override
+                public void onDisconnect() {
+                    closed = true;
+                    IOException lost = new IOException("Connection lost");
+                    handshake.completeExceptionally(lost);
+                    CompletableFuture<Tip> reply = pending;
+                    if (reply != null) {
+                        reply.completeExceptionally(lost);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockPayload;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Byte-bounded LRU of encoded block events, so blocks seen again after a reconnect, short fork
+ * or overlapping range fetch are not serialized twice. Entries live in direct buffers, off the
+ * Java heap, and are keyed by block hash and encoding settings. One cache is shared by all sessions of a
+ * network (protocol magic).
+ */
+public final class EncodedEventCache {
+    private static final Map<Long, EncodedEventCache> BY_NETWORK = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long maxBytes;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    static final class Entry {
+        final ByteBuffer json;
+        // Raw CBOR for the payload callback; null for JSON-only encodings
+        final ByteBuffer raw;
+
+        Entry(ByteBuffer json, ByteBuffer raw) {
+            this.json = json;
+            this.raw = raw;
+        }
+
+        long size() {
+            return json.capacity() + (raw != null ? raw.capacity() : 0);
+        }
+    }
+
+    private EncodedEventCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cache for a network, created on first use. A later call with a different size resizes it.
+     */
+    public static EncodedEventCache forNetwork(long protocolMagic, long maxBytes) {
+        EncodedEventCache cache = BY_NETWORK.computeIfAbsent(protocolMagic, m -> new EncodedEventCache(maxBytes));
+        cache.resize(maxBytes);
+        return cache;
+    }
+
+    /** The cache for a network, or null if no session of that network enabled one. */
+    public static EncodedEventCache existing(long protocolMagic) {
+        return BY_NETWORK.get(protocolMagic);
+    }
+
+    /**
+     * Everything that changes the encoded form of a block besides its hash: the encoding, and
+     * which optional parts (block CBOR, transactions) the event carries.
+     */
+    static String key(BlockEvent block, boolean rawPayload) {
+        return block.getHash() + (rawPayload ? ":raw" : ":json")
+                + (block.getBlockCbor() != null ? "+cbor" : "")
+                + (block.getTransactions() != null ? "+txs" : "");
+    }
+
+    synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the encoder's JSON bytes and decodes the payload hex straight into the entry.
+     * Returns null if the entry is larger than the whole cache.
+     */
+    synchronized Entry put(String key, byte[] json, BlockPayload payload) {
+        long size = json.length + (payload != null ? payload.getLength() : 0L);
+        if (size > maxBytes) {
+            return null;
+        }
+        ByteBuffer raw = null;
+        if (payload != null) {
+            raw = ByteBuffer.allocateDirect(Math.toIntExact(payload.getLength()));
+            payload.writeTo(raw);
+            raw.flip();
+        }
+        Entry entry = new Entry(toDirect(json), raw);
+        Entry old = entries.put(key, entry);
+        if (old != null) {
+            bytes -= old.size();
+        }
+        bytes += entry.size();
+        evict();
+        return entry;
+    }
+
+    public synchronized void resize(long newMaxBytes) {
+        this.maxBytes = newMaxBytes;
+        evict();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("bytes", bytes);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    private void evict() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().size();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static ByteBuffer toDirect(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        return buffer;
+    }
+}
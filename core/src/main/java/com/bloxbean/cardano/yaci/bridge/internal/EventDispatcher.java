@@ -0,0 +1,657 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.api.EventCallback;
+import com.bloxbean.cardano.yaci.bridge.api.PayloadEventCallback;
+import com.bloxbean.cardano.yaci.bridge.event.BlockBeginEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockEndEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockPayload;
+import com.bloxbean.cardano.yaci.bridge.event.DisconnectEvent;
+import com.bloxbean.cardano.yaci.bridge.event.HeaderEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RangeDoneEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RollbackEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.event.TxEvent;
+import com.bloxbean.cardano.yaci.bridge.event.UtxoDeltaEvent;
+import com.bloxbean.cardano.yaci.bridge.event.WindowEvent;
+import com.bloxbean.cardano.yaci.bridge.util.NativeBytes;
+import com.bloxbean.cardano.yaci.bridge.util.NativeString;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jdk.jfr.Event;
+import org.graalvm.nativeimage.UnmanagedMemory;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+import org.graalvm.word.WordFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers a session's events to the host callback. Shared by all session types.
+ */
+public class EventDispatcher {
+    private final int sessionId;
+
+    // Synchronous callback — invoked directly from Yaci's Netty thread (or the sequencer thread
+    // when parallel encoding is on)
+    private EventCallback callback;
+    // Alternative callback with CBOR delivered as raw bytes next to the event JSON
+    private PayloadEventCallback payloadCallback;
+    private volatile boolean callbackSet;
+    // In-process JVM consumer — receives event objects directly, with no encoding step
+    private volatile Consumer<SyncEvent> consumer;
+
+    // When set, events are persisted here and the host only sees segment notifications
+    private volatile SegmentFileSink fileSink;
+    // When set, events are published to a memory-mapped ring read by other processes
+    private volatile RingPublisher ring;
+    // When set, events are served to local processes over a Unix domain socket
+    private volatile EventServer server;
+    // When set, events wait in a bounded queue drained by the host instead of calling back
+    private volatile EventQueue queue;
+    // When set, host-bound events are handed over on a delivery thread, overflowing to disk
+    private volatile OverflowSpool spool;
+    // When set, every block/header extends the index and rollbacks truncate it
+    private volatile PointIndex pointIndex;
+    // When set, block events are replaced by the watched addresses' UTxO changes
+    private volatile UtxoTracker utxoTracker;
+    // Where the tracker state is saved when the session closes; may be null
+    private volatile Path utxoSnapshot;
+    // When set, block events are encoded once per network and reused when seen again
+    private volatile EncodedEventCache eventCache;
+    // When set, block events are replaced by per-window rollups
+    private volatile WindowAggregator windowAggregator;
+    // When set, blocks go out as block_begin, one tx event per transaction, then block_end
+    private volatile boolean txStreaming;
+    // When set, encoding runs on worker threads and delivery moves to a sequencer thread
+    private volatile ParallelStage parallel;
+
+    public EventDispatcher(int sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public void setCallback(EventCallback cb) {
+        this.callback = cb;
+        this.payloadCallback = null;
+        this.callbackSet = true;
+    }
+
+    public void setPayloadCallback(PayloadEventCallback cb) {
+        this.payloadCallback = cb;
+        this.callback = null;
+        this.callbackSet = true;
+    }
+
+    /**
+     * Hand events to a JVM consumer as objects instead of encoding them. Derived events (window,
+     * UTxO delta, tx streaming) still apply; sinks, rings, servers, queues and host callbacks are
+     * bypassed. The consumer runs on the dispatching thread, so blocking in it holds back the
+     * session's chain-sync and block-fetch reads.
+     */
+    public void setEventConsumer(Consumer<SyncEvent> consumer) {
+        this.consumer = consumer;
+    }
+
+    public void setFileSink(Path directory, long maxSegmentBytes, int format,
+                            boolean compress, int fsyncEvery) throws IOException {
+        this.fileSink = new SegmentFileSink(directory, "session-" + sessionId,
+                maxSegmentBytes, format, compress, fsyncEvery, this::deliver);
+    }
+
+    public void setRingPublisher(Path file, long capacity) throws IOException {
+        this.ring = new RingPublisher(file, capacity, this::deliver);
+    }
+
+    public RingPublisher ringPublisher() {
+        return ring;
+    }
+
+    public void setEventServer(Path socketPath, long backlogBytes) throws IOException {
+        this.server = new EventServer(socketPath, backlogBytes);
+    }
+
+    public EventServer eventServer() {
+        return server;
+    }
+
+    /**
+     * Queue events for the host to poll in batches. The queue replaces the callback; the session
+     * waits for the host when it holds {@code maxEvents} events or {@code maxBytes} of JSON.
+     */
+    public void setEventQueue(int maxEvents, long maxBytes) {
+        this.queue = new EventQueue(maxEvents, maxBytes);
+    }
+
+    public EventQueue eventQueue() {
+        return queue;
+    }
+
+    /**
+     * Hand host-bound events (callback or queue) over on a separate delivery thread so a slow
+     * consumer does not hold back the session. Beyond {@code memoryEvents} waiting events, they
+     * overflow into spool files in {@code directory}, up to {@code maxDiskBytes}. CBOR stays hex in
+     * the event JSON. Spool files are deleted once their events are delivered; events are not
+     * acknowledged or redelivered.
+     */
+    public void setSpool(Path directory, int memoryEvents, long maxDiskBytes) throws IOException {
+        this.spool = new OverflowSpool(directory, "session-" + sessionId, memoryEvents, maxDiskBytes,
+                this::deliverSpooled);
+    }
+
+    public boolean hasSpool() {
+        return spool != null;
+    }
+
+    public Map<String, Object> spoolStats() {
+        OverflowSpool s = spool;
+        return s != null ? s.stats() : null;
+    }
+
+    public void setPointIndex(PointIndex index) {
+        this.pointIndex = index;
+    }
+
+    /**
+     * Track the UTxOs of watched addresses. Block events are no longer delivered; each block that
+     * touches a watched address yields a {@code utxo_delta} event instead, and rollbacks yield the
+     * reverted changes ahead of the rollback event itself.
+     */
+    public void setUtxoTracker(UtxoTracker tracker, Path snapshotFile) {
+        this.utxoTracker = tracker;
+        this.utxoSnapshot = snapshotFile;
+    }
+
+    public UtxoTracker utxoTracker() {
+        return utxoTracker;
+    }
+
+    /**
+     * Replace block events with one {@code window} rollup per window of {@code windowSlots} slots,
+     * numbered from {@code firstWindow} at {@code firstSlot}. The open window is flushed as a
+     * partial rollup when the session closes.
+     */
+    public void setWindowAggregation(long windowSlots, long firstSlot, long firstWindow) {
+        this.windowAggregator = new WindowAggregator(windowSlots, firstSlot, firstWindow);
+    }
+
+    /**
+     * True if events have somewhere to go: a host callback, queue or JVM consumer, a file sink, a
+     * ring or a socket server.
+     */
+    public boolean hasTarget() {
+        return callbackSet || consumer != null || queue != null || fileSink != null || ring != null || server != null;
+    }
+
+    /**
+     * Deliver each block as a {@code block_begin} event, one {@code tx} event per transaction and a
+     * {@code block_end} event, each encoded and freed before the next. The block CBOR itself is not
+     * delivered, so the largest buffer handed out is one transaction rather than one block.
+     */
+    public void setTxStreaming(boolean enabled) {
+        this.txStreaming = enabled;
+    }
+
+    public void setEventCache(EncodedEventCache cache) {
+        this.eventCache = cache;
+    }
+
+    /**
+     * Encode events on the shared worker pool, with up to {@code maxInFlight} events in progress
+     * at once. Delivery stays in dispatch order on a per-session sequencer thread. Large blocks
+     * also have their transactions encoded in parallel. 0 restores synchronous delivery.
+     */
+    public void setParallelEncoding(int maxInFlight) {
+        ParallelStage old = parallel;
+        parallel = maxInFlight > 0 ? new ParallelStage(maxInFlight) : null;
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    public void close() {
+        WindowAggregator aggregator = windowAggregator;
+        if (aggregator != null) {
+            WindowEvent partial = aggregator.flush();
+            if (partial != null) {
+                forward(partial);
+            }
+        }
+        ParallelStage stage = parallel;
+        if (stage != null) {
+            // Deliver what is already encoding before the sink and callback go away
+            stage.close();
+        }
+        SegmentFileSink sink = fileSink;
+        if (sink != null) {
+            // Flushes the open segment and reports it before the callback is disabled
+            sink.close();
+        }
+        RingPublisher publisher = ring;
+        if (publisher != null) {
+            try {
+                publisher.close();
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to close ring: " + e.getMessage());
+            }
+        }
+        EventServer eventServer = server;
+        if (eventServer != null) {
+            eventServer.close();
+        }
+        PointIndex index = pointIndex;
+        if (index != null) {
+            try {
+                index.force();
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to write point index: " + e.getMessage());
+            }
+        }
+        UtxoTracker tracker = utxoTracker;
+        Path snapshot = utxoSnapshot;
+        if (tracker != null && snapshot != null) {
+            try {
+                tracker.snapshot(snapshot);
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to write UTxO snapshot: " + e.getMessage());
+            }
+        }
+        OverflowSpool s = spool;
+        if (s != null) {
+            // Hands over what is already spooled while the callback and queue are still there
+            s.close();
+        }
+        callbackSet = false;
+        consumer = null;
+        EventQueue q = queue;
+        if (q != null) {
+            // Everything dispatched so far stays pollable; the poller then sees the end of the stream
+            q.close();
+        }
+    }
+
+    public void dispatch(SyncEvent event) {
+        Event span = PipelineEvents.dispatchStarted(sessionId, event);
+        try {
+            route(event);
+        } finally {
+            PipelineEvents.end(span);
+        }
+    }
+
+    private void route(SyncEvent event) {
+        PointIndex index = pointIndex;
+        if (index != null) {
+            updateIndex(index, event);
+        }
+        UtxoTracker tracker = utxoTracker;
+        WindowAggregator aggregator = windowAggregator;
+        if (event instanceof BlockEvent && (tracker != null || aggregator != null)) {
+            // Derived events replace the block
+            BlockEvent block = (BlockEvent) event;
+            if (aggregator != null) {
+                for (WindowEvent window : aggregator.apply(block)) {
+                    forward(window);
+                }
+            }
+            if (tracker != null) {
+                UtxoDeltaEvent delta = tracker.apply(block);
+                if (delta != null) {
+                    forward(delta);
+                }
+            }
+            return;
+        }
+        if (event instanceof RollbackEvent) {
+            if (aggregator != null) {
+                try {
+                    aggregator.rollback(slotOf(event));
+                } catch (IllegalStateException e) {
+                    // The aggregator stays failed and emits no more windows
+                    System.err.println("[yaci] Window aggregation failed: " + e.getMessage());
+                }
+            }
+            if (tracker != null) {
+                Object hash = ((RollbackEvent) event).getPoint().get("hash");
+                try {
+                    UtxoDeltaEvent reverted = tracker.rollback(slotOf(event), hash != null ? hash.toString() : null);
+                    if (reverted != null) {
+                        forward(reverted);
+                    }
+                } catch (IllegalStateException e) {
+                    // The tracker stays failed: its queries and snapshots report the error from now on
+                    System.err.println("[yaci] UTxO tracker failed: " + e.getMessage());
+                }
+            }
+        }
+        forward(event);
+    }
+
+    private void forward(SyncEvent event) {
+        if (txStreaming && event instanceof BlockEvent) {
+            streamBlock((BlockEvent) event);
+            return;
+        }
+        forwardOne(event);
+    }
+
+    private void streamBlock(BlockEvent block) {
+        List<Transaction> txs = block.getTransactions() != null ? block.getTransactions() : List.of();
+        forwardOne(new BlockBeginEvent(block.getEra(), block.getSlot(), block.getHash(),
+                block.getBlockNumber(), txs.size()));
+        for (int i = 0; i < txs.size(); i++) {
+            forwardOne(new TxEvent(block.getSlot(), block.getHash(), i, txs.get(i)));
+        }
+        forwardOne(new BlockEndEvent(block.getSlot(), block.getHash(), block.getBlockNumber(), txs.size()));
+    }
+
+    private void forwardOne(SyncEvent event) {
+        Consumer<SyncEvent> c = consumer;
+        if (c != null) {
+            c.accept(event);
+            return;
+        }
+        ParallelStage stage = parallel;
+        if (stage != null) {
+            stage.submit(event);
+            return;
+        }
+        try {
+            emit(encode(event, false));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // IllegalArgumentException: CBOR hex that cannot be laid out as a raw payload
+            System.err.println("[yaci] Failed to serialize event: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sink-, ring-, socket- and queue-bound events keep their CBOR as hex; callback-bound ones
+     * follow the callback type.
+     */
+    private EventEncoder.Encoded encode(SyncEvent event, boolean splitTxs) throws JsonProcessingException {
+        boolean rawPayload = fileSink == null && ring == null && server == null && queue == null
+                && spool == null && payloadCallback != null;
+        EncodedEventCache cache = eventCache;
+        PipelineEvents.Serialize span = PipelineEvents.serializeStarted(sessionId, event);
+        // Fetch-many events carry request-specific range tags, so they are never shared
+        if (cache == null || !(event instanceof BlockEvent) || ((BlockEvent) event).getRanges() != null) {
+            EventEncoder.Encoded encoded = EventEncoder.encode(event, rawPayload, splitTxs);
+            PipelineEvents.serializeDone(span, encoded, false);
+            return encoded;
+        }
+
+        String key = EncodedEventCache.key((BlockEvent) event, rawPayload);
+        EncodedEventCache.Entry hit = cache.get(key);
+        if (hit != null) {
+            EventEncoder.Encoded encoded = EventEncoder.Encoded.cached(event, hit.json, hit.raw);
+            PipelineEvents.serializeDone(span, encoded, true);
+            return encoded;
+        }
+        EventEncoder.Encoded encoded = EventEncoder.encode(event, rawPayload, splitTxs);
+        EncodedEventCache.Entry entry = cache.put(key, encoded.utf8Bytes(), encoded.payload);
+        PipelineEvents.serializeDone(span, encoded, false);
+        // The payload hex was just decoded into the entry; deliver from there instead of decoding it again
+        return entry != null && entry.raw != null ? encoded.withRaw(entry.raw) : encoded;
+    }
+
+    private void emit(EventEncoder.Encoded encoded) {
+        boolean hostBound = true;
+        SegmentFileSink sink = fileSink;
+        if (sink != null) {
+            writeToSink(sink, encoded);
+            hostBound = false;
+        }
+        RingPublisher publisher = ring;
+        EventServer eventServer = server;
+        if (publisher != null || eventServer != null) {
+            byte[] json = encoded.utf8Bytes();
+            if (publisher != null) {
+                publisher.publish(json);
+            }
+            if (eventServer != null) {
+                eventServer.publish(encoded.event, json);
+            }
+            hostBound = false;
+        }
+        // Disconnects still reach the host so it can react; everything else goes to the outlets
+        if (!hostBound && !(encoded.event instanceof DisconnectEvent)) return;
+        deliverEncoded(encoded);
+    }
+
+    private void deliver(SyncEvent event) {
+        Consumer<SyncEvent> c = consumer;
+        if (c != null) {
+            c.accept(event);
+            return;
+        }
+        try {
+            deliverEncoded(EventEncoder.encode(event, false, false));
+        } catch (JsonProcessingException e) {
+            System.err.println("[yaci] Failed to serialize event: " + e.getMessage());
+        }
+    }
+
+    private void deliverEncoded(EventEncoder.Encoded encoded) {
+        OverflowSpool s = spool;
+        if (s != null) {
+            s.put(encoded.json());
+            return;
+        }
+        EventQueue q = queue;
+        if (q != null) {
+            q.put(encoded.json());
+            return;
+        }
+        if (!callbackSet) return;
+
+        if (payloadCallback != null) {
+            invokePayloadCallback(encoded);
+        } else {
+            invokeCallback(encoded);
+        }
+    }
+
+    /** Runs on the spool's delivery thread. */
+    private void deliverSpooled(String json) {
+        EventQueue q = queue;
+        if (q != null) {
+            q.put(json);
+            return;
+        }
+        if (!callbackSet) return;
+
+        CCharPointer ptr = WordFactory.nullPointer();
+        try {
+            PipelineEvents.NativeCopy copy = PipelineEvents.spooledCopyStarted(sessionId, json);
+            ptr = NativeString.toCString(json);
+            PipelineEvents.copyDone(copy, json.length());
+            Event span = PipelineEvents.spooledCallbackEntered(sessionId, json, json.length());
+            if (payloadCallback != null) {
+                payloadCallback.invoke(sessionId, ptr, WordFactory.nullPointer(), 0);
+            } else {
+                callback.invoke(sessionId, ptr);
+            }
+            PipelineEvents.end(span);
+        } finally {
+            if (ptr.isNonNull()) {
+                UnmanagedMemory.free(ptr);
+            }
+        }
+    }
+
+    /** Write failures reach the host as sink_error events, through {@link #deliver}. */
+    private void writeToSink(SegmentFileSink sink, EventEncoder.Encoded encoded) {
+        sink.write(encoded.utf8Bytes(), slotOf(encoded.event));
+    }
+
+    private static void updateIndex(PointIndex index, SyncEvent event) {
+        try {
+            if (event instanceof BlockEvent) {
+                BlockEvent block = (BlockEvent) event;
+                index.append(block.getSlot(), block.getBlockNumber(), block.getHash());
+            } else if (event instanceof HeaderEvent) {
+                HeaderEvent header = (HeaderEvent) event;
+                index.append(header.getSlot(), header.getBlockNumber(), header.getHash());
+            } else if (event instanceof RollbackEvent) {
+                index.rollbackTo(slotOf(event));
+            } else if (event instanceof RangeDoneEvent) {
+                // A finished range is merged in one pass rather than per block
+                index.mergePending();
+            }
+        } catch (Exception e) {
+            System.err.println("[yaci] Failed to update point index: " + e.getMessage());
+        }
+    }
+
+    static long slotOf(SyncEvent event) {
+        if (event instanceof BlockEvent) {
+            return ((BlockEvent) event).getSlot();
+        }
+        if (event instanceof HeaderEvent) {
+            return ((HeaderEvent) event).getSlot();
+        }
+        if (event instanceof UtxoDeltaEvent) {
+            return ((UtxoDeltaEvent) event).getSlot();
+        }
+        if (event instanceof WindowEvent) {
+            return ((WindowEvent) event).getEndSlot();
+        }
+        if (event instanceof BlockBeginEvent) {
+            return ((BlockBeginEvent) event).getSlot();
+        }
+        if (event instanceof TxEvent) {
+            return ((TxEvent) event).getSlot();
+        }
+        if (event instanceof BlockEndEvent) {
+            return ((BlockEndEvent) event).getSlot();
+        }
+        if (event instanceof RollbackEvent) {
+            Object slot = ((RollbackEvent) event).getPoint().get("slot");
+            return slot instanceof Number ? ((Number) slot).longValue() : -1;
+        }
+        return -1;
+    }
+
+    private void invokeCallback(EventEncoder.Encoded encoded) {
+        CCharPointer ptr = WordFactory.nullPointer();
+        try {
+            PipelineEvents.NativeCopy copy = PipelineEvents.copyStarted(sessionId, encoded.event);
+            ByteBuffer json = encoded.utf8();
+            ptr = NativeString.toCString(json);
+            PipelineEvents.copyDone(copy, json.remaining());
+            Event span = PipelineEvents.callbackEntered(sessionId, encoded.event, json.remaining());
+            callback.invoke(sessionId, ptr);
+            PipelineEvents.end(span);
+        } finally {
+            if (ptr.isNonNull()) {
+                UnmanagedMemory.free(ptr);
+            }
+        }
+    }
+
+    private void invokePayloadCallback(EventEncoder.Encoded encoded) {
+        CCharPointer ptr = WordFactory.nullPointer();
+        CCharPointer data = WordFactory.nullPointer();
+        try {
+            PipelineEvents.NativeCopy copy = PipelineEvents.copyStarted(sessionId, encoded.event);
+            BlockPayload payload = encoded.payload;
+            long length = 0;
+            if (encoded.raw != null) {
+                data = NativeBytes.fromBuffer(encoded.raw);
+                length = encoded.raw.remaining();
+            } else if (payload != null) {
+                data = NativeBytes.fromHexSegments(payload.getHexSegments(), payload.getLength());
+                length = payload.getLength();
+            }
+            ByteBuffer json = encoded.utf8();
+            ptr = NativeString.toCString(json);
+            long bytes = json.remaining() + length;
+            PipelineEvents.copyDone(copy, bytes);
+            Event span = PipelineEvents.callbackEntered(sessionId, encoded.event, bytes);
+            payloadCallback.invoke(sessionId, ptr, data, length);
+            PipelineEvents.end(span);
+        } finally {
+            if (ptr.isNonNull()) {
+                UnmanagedMemory.free(ptr);
+            }
+            if (data.isNonNull()) {
+                UnmanagedMemory.free(data);
+            }
+        }
+    }
+
+    /**
+     * Encodes on the shared pool and delivers in submission order on one sequencer thread.
+     * The dispatching (network) thread blocks once {@code maxInFlight} events are pending,
+     * so a slow consumer still slows the connection down.
+     */
+    private final class ParallelStage {
+        private final Semaphore permits;
+        private final ExecutorService sequencer;
+        private volatile Thread sequencerThread;
+
+        ParallelStage(int maxInFlight) {
+            this.permits = new Semaphore(maxInFlight);
+            this.sequencer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "yaci-deliver-" + sessionId);
+                t.setDaemon(true);
+                sequencerThread = t;
+                return t;
+            });
+        }
+
+        void submit(SyncEvent event) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<EventEncoder.Encoded> encoded = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return encode(event, true);
+                } catch (JsonProcessingException e) {
+                    throw new CompletionException(e);
+                }
+            }, EventEncoder.pool());
+            try {
+                sequencer.execute(() -> {
+                    try {
+                        emit(encoded.join());
+                    } catch (CompletionException e) {
+                        System.err.println("[yaci] Failed to serialize event: " + e.getCause().getMessage());
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("[yaci] Failed to serialize event: " + e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+            }
+        }
+
+        void close() {
+            if (Thread.currentThread() == sequencerThread) {
+                // stop() from a listener: the sequencer cannot wait for itself, so events queued behind
+                // this one are dropped, releasing their permits for a producer blocked in submit()
+                permits.release(sequencer.shutdownNow().size());
+                return;
+            }
+            sequencer.shutdown();
+            try {
+                if (!sequencer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    sequencer.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sequencer.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockPayload;
+import com.bloxbean.cardano.yaci.bridge.event.EventSerializer;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.event.TxEvent;
+import com.bloxbean.cardano.yaci.bridge.util.JsonHelper;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Turns events into their wire form (JSON, plus the raw CBOR layout for payload delivery).
+ * Pure Java with no native memory, so it can run on any thread.
+ */
+final class EventEncoder {
+    // Blocks with at least this many transactions have their transactions serialized in parallel
+    static final int TX_SPLIT_THRESHOLD = 64;
+
+    private static volatile ForkJoinPool pool;
+
+    private EventEncoder() {}
+
+    /**
+     * An encoded event. The JSON is held as a String, as UTF-8 bytes or both: each form is
+     * derived from the other once, on first use. Used by one thread at a time.
+     */
+    static final class Encoded {
+        final SyncEvent event;
+        private String json;
+        private ByteBuffer utf8;
+        // Non-null only for block events encoded for the raw payload callback
+        final BlockPayload payload;
+        // Already decoded raw CBOR (from the event cache); replaces payload when set
+        final ByteBuffer raw;
+
+        Encoded(SyncEvent event, String json, BlockPayload payload) {
+            this(event, json, null, payload, null);
+        }
+
+        private Encoded(SyncEvent event, String json, ByteBuffer utf8, BlockPayload payload, ByteBuffer raw) {
+            this.event = event;
+            this.json = json;
+            this.utf8 = utf8;
+            this.payload = payload;
+            this.raw = raw;
+        }
+
+        /** An event served from the cache: JSON and raw CBOR are the cached buffers, not copies. */
+        static Encoded cached(SyncEvent event, ByteBuffer utf8, ByteBuffer raw) {
+            return new Encoded(event, null, utf8, null, raw);
+        }
+
+        /** The same event with its payload replaced by already decoded CBOR. */
+        Encoded withRaw(ByteBuffer decoded) {
+            return new Encoded(event, json, utf8, null, decoded);
+        }
+
+        String json() {
+            if (json == null) {
+                json = StandardCharsets.UTF_8.decode(utf8.duplicate()).toString();
+            }
+            return json;
+        }
+
+        /** The UTF-8 JSON as a view of its own; reading it does not affect other callers. */
+        ByteBuffer utf8() {
+            if (utf8 == null) {
+                utf8 = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+            }
+            return utf8.duplicate();
+        }
+
+        /** The UTF-8 JSON as an array, shared rather than copied when it already is one. */
+        byte[] utf8Bytes() {
+            ByteBuffer bytes = utf8();
+            if (bytes.hasArray() && bytes.arrayOffset() == 0 && bytes.remaining() == bytes.array().length) {
+                return bytes.array();
+            }
+            byte[] out = new byte[bytes.remaining()];
+            bytes.get(out);
+            return out;
+        }
+    }
+
+    /** Shared worker pool for parallel encoding, one thread per core. */
+    static ForkJoinPool pool() {
+        ForkJoinPool p = pool;
+        if (p == null) {
+            synchronized (EventEncoder.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /**
+     * @param rawPayload leave CBOR out of the JSON and lay it out for the binary side-channel
+     * @param splitTxs   serialize the transactions of large blocks across the worker pool
+     */
+    static Encoded encode(SyncEvent event, boolean rawPayload, boolean splitTxs) throws JsonProcessingException {
+        if (event instanceof TxEvent && rawPayload) {
+            TxEvent tx = (TxEvent) event;
+            BlockPayload payload = BlockPayload.ofTransaction(tx.getTransaction());
+            return new Encoded(event, JsonHelper.toJsonWithoutCbor(tx.withPayload(payload)), payload);
+        }
+        if (!(event instanceof BlockEvent)) {
+            return new Encoded(event, EventSerializer.serialize(event), null);
+        }
+        BlockEvent block = (BlockEvent) event;
+        BlockPayload payload = rawPayload ? BlockPayload.of(block) : null;
+        BlockEvent shaped = payload != null ? block.withPayload(payload) : block;
+
+        List<Transaction> txs = block.getTransactions();
+        if (!splitTxs || txs == null || txs.size() < TX_SPLIT_THRESHOLD) {
+            String json = rawPayload ? EventSerializer.serializeWithoutCbor(shaped) : EventSerializer.serialize(shaped);
+            return new Encoded(event, json, payload);
+        }
+
+        // Serialize the block without its transactions, then splice the parallel-encoded list in
+        BlockEvent head = shaped.withoutTransactions();
+        String headJson = rawPayload ? EventSerializer.serializeWithoutCbor(head) : EventSerializer.serialize(head);
+        String txJson = encodeTransactions(txs, rawPayload);
+        String json = headJson.substring(0, headJson.length() - 1) + ",\"transactions\":[" + txJson + "]}";
+        return new Encoded(event, json, payload);
+    }
+
+    /**
+     * Callers on a worker of {@link #pool()} (the parallel delivery stage) split the stream across
+     * that pool directly, helping with their own subtasks; blocking on a task submitted to the same
+     * pool would tie up the workers the stage needs.
+     */
+    private static String encodeTransactions(List<Transaction> txs, boolean rawPayload) throws JsonProcessingException {
+        try {
+            if (ForkJoinTask.getPool() == pool()) {
+                return joinTransactions(txs, rawPayload);
+            }
+            return pool().invoke(ForkJoinTask.adapt(() -> joinTransactions(txs, rawPayload)));
+        } catch (UncheckedIOException e) {
+            // A rethrow across threads may wrap the original exception in a copy of itself
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof JsonProcessingException) {
+                    throw (JsonProcessingException) cause;
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static String joinTransactions(List<Transaction> txs, boolean rawPayload) {
+        return txs.parallelStream()
+                .map(tx -> {
+                    try {
+                        return rawPayload ? JsonHelper.toJsonWithoutCbor(tx) : JsonHelper.toJson(tx);
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of encoded events that the host drains in batches instead of receiving callbacks.
+ * <p>
+ * When the queue is full (by event count or bytes) the dispatching thread waits, so a slow
+ * consumer stops the session reading from the relay rather than growing memory. A single event
+ * larger than the byte bound is still accepted once the queue is empty.
+ */
+public final class EventQueue {
+    private final int maxEvents;
+    private final long maxBytes;
+    private final ArrayDeque<String> events = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private long bytes;
+    private boolean closed;
+    private long producerWaitNanos;
+    private long delivered;
+
+    public EventQueue(int maxEvents, long maxBytes) {
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends an event, waiting while the queue is full. Dropped if the queue is closed meanwhile.
+     */
+    void put(String json) {
+        long size = json.length();
+        lock.lock();
+        try {
+            long waitStart = 0;
+            while (!closed && !events.isEmpty()
+                    && (events.size() >= maxEvents || bytes + size > maxBytes)) {
+                if (waitStart == 0) waitStart = System.nanoTime();
+                notFull.awaitUninterruptibly();
+            }
+            if (waitStart != 0) {
+                producerWaitNanos += System.nanoTime() - waitStart;
+            }
+            if (closed) return;
+            events.addLast(json);
+            bytes += size;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes up to {@code max} events, waiting up to {@code timeoutMillis} for the first one.
+     *
+     * @return {@code {"events": [...], "closed": bool}}; closed is true once the session stopped
+     * and every queued event has been taken
+     */
+    public String poll(int max, long timeoutMillis) throws InterruptedException {
+        StringBuilder out = new StringBuilder("{\"events\":[");
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (events.isEmpty() && !closed && remaining > 0) {
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            int n = 0;
+            while (n < max && !events.isEmpty()) {
+                String json = events.removeFirst();
+                bytes -= json.length();
+                if (n++ > 0) out.append(',');
+                out.append(json);
+            }
+            delivered += n;
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            out.append("],\"closed\":").append(closed && events.isEmpty()).append('}');
+        } finally {
+            lock.unlock();
+        }
+        return out.toString();
+    }
+
+    /** Ends the stream: waiting producers give up and pollers see closed once drained. */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("queued", events.size());
+            stats.put("queuedBytes", bytes);
+            stats.put("maxEvents", maxEvents);
+            stats.put("maxBytes", maxBytes);
+            stats.put("delivered", delivered);
+            stats.put("producerWaitMillis", TimeUnit.NANOSECONDS.toMillis(producerWaitNanos));
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEndEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.HeaderEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.util.JsonHelper;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves a session's events to local processes over a Unix domain socket.
+ * <p>
+ * Every frame is {@code [u32 length][u8 type][body]}, big-endian, where length counts type and
+ * body. Client frames: {@code SUBSCRIBE} with JSON {@code {"credits": n, "resumeFrom": {"slot",
+ * "hash"}}} (resumeFrom optional), then {@code CREDIT} with a u32 to grant more events. Server
+ * frames: {@code SUBSCRIBED} with JSON {@code {"fromSeq", "resumed"}}, {@code EVENT} with a u64
+ * sequence and the event JSON, and {@code GAP} with a u64 count of events the subscriber missed.
+ * <p>
+ * Each event is framed once into a byte-bounded backlog that all subscribers read with their own
+ * cursor; a subscriber is sent at most as many events as it has credits for, and the producer
+ * never waits for it. A subscriber that falls out of the backlog gets a {@code GAP} and continues
+ * at the oldest retained event. {@code resumeFrom} continues after that block if it is still in
+ * the backlog; otherwise {@code resumed} is false and delivery starts with new events. A client
+ * that sends a malformed frame is logged and disconnected.
+ */
+public final class EventServer implements Closeable {
+    public static final byte FRAME_SUBSCRIBE = 1;
+    public static final byte FRAME_CREDIT = 2;
+    public static final byte FRAME_SUBSCRIBED = 16;
+    public static final byte FRAME_EVENT = 17;
+    public static final byte FRAME_GAP = 18;
+
+    private static final int MAX_CLIENT_FRAME = 64 * 1024;
+
+    private final Path socketPath;
+    private final long backlogBytes;
+    private final ServerSocketChannel server;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextSubscriberId = new AtomicInteger();
+
+    // Guarded by this: framed events, oldest first from index head
+    private final List<Entry> backlog = new ArrayList<>();
+    private int head;
+    private long retainedBytes;
+    private long nextSeq;
+    private volatile boolean closed;
+
+    private static final class Entry {
+        final long seq;
+        final byte[] frame;
+        // Point of block-like events, for resume; null otherwise
+        final Long slot;
+        final String hash;
+
+        Entry(long seq, byte[] frame, Long slot, String hash) {
+            this.seq = seq;
+            this.frame = frame;
+            this.slot = slot;
+            this.hash = hash;
+        }
+    }
+
+    public EventServer(Path socketPath, long backlogBytes) throws IOException {
+        this.socketPath = socketPath;
+        this.backlogBytes = backlogBytes;
+        Files.deleteIfExists(socketPath);
+        Path parent = socketPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socketPath));
+        Thread acceptor = new Thread(this::acceptLoop, "yaci-server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    /**
+     * Frames one encoded event into the backlog and wakes the subscribers.
+     */
+    public void publish(SyncEvent event, byte[] json) {
+        if (closed) return;
+        ByteBuffer frame = ByteBuffer.allocate(4 + 1 + 8 + json.length);
+        synchronized (this) {
+            long seq = nextSeq++;
+            frame.putInt(1 + 8 + json.length).put(FRAME_EVENT).putLong(seq).put(json);
+            Entry entry = new Entry(seq, frame.array(), slotOf(event), hashOf(event));
+            backlog.add(entry);
+            retainedBytes += entry.frame.length;
+            while (retainedBytes > backlogBytes && backlog.size() - head > 1) {
+                retainedBytes -= backlog.get(head).frame.length;
+                backlog.set(head++, null);
+            }
+            if (head > 1024 && head > backlog.size() / 2) {
+                backlog.subList(0, head).clear();
+                head = 0;
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * {@code {"subscribers": [{"id", "cursor", "credits", "lag", "gaps"}], "nextSeq", "backlogEvents"}}.
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nextSeq", nextSeq);
+        stats.put("backlogEvents", backlog.size() - head);
+        stats.put("backlogBytes", retainedBytes);
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Subscriber s : subscribers) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", s.id);
+            m.put("cursor", s.cursor);
+            m.put("credits", s.credits);
+            m.put("lag", nextSeq - s.cursor);
+            m.put("gaps", s.gaps);
+            list.add(m);
+        }
+        stats.put("subscribers", list);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException ignored) {
+        }
+        for (Subscriber s : subscribers) {
+            s.close();
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+        try {
+            Files.deleteIfExists(socketPath);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel channel = server.accept();
+                Subscriber subscriber = new Subscriber(nextSubscriberId.incrementAndGet(), channel);
+                subscribers.add(subscriber);
+                subscriber.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("[yaci] Event server accept failed: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private static Long slotOf(SyncEvent event) {
+        if (event instanceof BlockEvent || event instanceof HeaderEvent || event instanceof BlockEndEvent) {
+            return EventDispatcher.slotOf(event);
+        }
+        return null;
+    }
+
+    private static String hashOf(SyncEvent event) {
+        if (event instanceof BlockEvent) return ((BlockEvent) event).getHash();
+        if (event instanceof HeaderEvent) return ((HeaderEvent) event).getHash();
+        if (event instanceof BlockEndEvent) return ((BlockEndEvent) event).getHash();
+        return null;
+    }
+
+    /**
+     * One client connection: a reader thread for subscribe / credit frames and a writer thread
+     * that sends backlog entries while credits last.
+     */
+    private final class Subscriber {
+        final int id;
+        final SocketChannel channel;
+        // Guarded by EventServer.this
+        long cursor = -1;
+        long credits;
+        long gaps;
+        boolean subscribed;
+        volatile boolean done;
+
+        Subscriber(int id, SocketChannel channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        void start() {
+            Thread reader = new Thread(this::readLoop, "yaci-server-read-" + id);
+            reader.setDaemon(true);
+            reader.start();
+            Thread writer = new Thread(this::writeLoop, "yaci-server-write-" + id);
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        void close() {
+            done = true;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            subscribers.remove(this);
+            synchronized (EventServer.this) {
+                EventServer.this.notifyAll();
+            }
+        }
+
+        private void readLoop() {
+            try {
+                ByteBuffer header = ByteBuffer.allocate(5);
+                while (!done) {
+                    header.clear();
+                    readFully(header);
+                    int length = header.getInt(0);
+                    byte type = header.get(4);
+                    if (length < 1 || length > MAX_CLIENT_FRAME) {
+                        throw new ProtocolException("Bad frame length " + length);
+                    }
+                    if (type == FRAME_CREDIT && length != 5) {
+                        throw new ProtocolException("CREDIT frame length must be 5, got " + length);
+                    }
+                    ByteBuffer body = ByteBuffer.allocate(length - 1);
+                    readFully(body);
+                    body.flip();
+                    if (type == FRAME_SUBSCRIBE) {
+                        subscribe(new String(body.array(), StandardCharsets.UTF_8));
+                    } else if (type == FRAME_CREDIT) {
+                        synchronized (EventServer.this) {
+                            credits += Integer.toUnsignedLong(body.getInt());
+                            EventServer.this.notifyAll();
+                        }
+                    }
+                }
+            } catch (ProtocolException e) {
+                System.err.println("[yaci] Event server client " + id + " sent a bad frame: " + e.getMessage());
+            } catch (IOException e) {
+                // Client went away
+            } finally {
+                close();
+            }
+        }
+
+        private void subscribe(String json) throws IOException {
+            JsonNode request;
+            try {
+                request = JsonHelper.mapper().readTree(json);
+            } catch (IOException e) {
+                throw new ProtocolException("SUBSCRIBE body is not JSON: " + e.getMessage());
+            }
+            JsonNode resume = request.get("resumeFrom");
+            long initialCredits = request.path("credits").asLong(0);
+            if (initialCredits < 1) {
+                throw new ProtocolException("SUBSCRIBE credits must be >= 1, got " + initialCredits);
+            }
+            boolean resumed = false;
+            long from;
+            synchronized (EventServer.this) {
+                if (subscribed) {
+                    throw new ProtocolException("Duplicate SUBSCRIBE");
+                }
+                from = nextSeq;
+                if (resume != null && !resume.isNull()) {
+                    long slot = resume.path("slot").asLong(-1);
+                    String hash = resume.path("hash").asText("");
+                    for (int i = backlog.size() - 1; i >= head; i--) {
+                        Entry entry = backlog.get(i);
+                        if (entry.slot != null && entry.slot == slot && hash.equals(entry.hash)) {
+                            from = entry.seq + 1;
+                            resumed = true;
+                            break;
+                        }
+                    }
+                }
+                cursor = from;
+                credits += initialCredits;
+            }
+            Map<String, Object> reply = new LinkedHashMap<>();
+            reply.put("fromSeq", from);
+            reply.put("resumed", resumed);
+            byte[] body = JsonHelper.toJson(reply).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer frame = ByteBuffer.allocate(5 + body.length);
+            frame.putInt(1 + body.length).put(FRAME_SUBSCRIBED).put(body).flip();
+            synchronized (channel) {
+                writeFully(frame);
+            }
+            // Only now let the writer run, so SUBSCRIBED is always the first frame
+            synchronized (EventServer.this) {
+                subscribed = true;
+                EventServer.this.notifyAll();
+            }
+        }
+
+        private void writeLoop() {
+            try {
+                while (!done && !closed) {
+                    byte[] frame = null;
+                    long missed = 0;
+                    synchronized (EventServer.this) {
+                        while (!done && !closed && (!subscribed || credits == 0 || cursor >= nextSeq)) {
+                            EventServer.this.wait();
+                        }
+                        if (done || closed) break;
+                        long oldest = head < backlog.size() ? backlog.get(head).seq : nextSeq;
+                        if (cursor < oldest) {
+                            missed = oldest - cursor;
+                            gaps += missed;
+                            cursor = oldest;
+                        } else {
+                            frame = backlog.get(head + (int) (cursor - oldest)).frame;
+                            cursor++;
+                            credits--;
+                        }
+                    }
+                    synchronized (channel) {
+                        if (missed > 0) {
+                            ByteBuffer gap = ByteBuffer.allocate(13);
+                            gap.putInt(9).put(FRAME_GAP).putLong(missed).flip();
+                            writeFully(gap);
+                        } else {
+                            writeFully(ByteBuffer.wrap(frame));
+                        }
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // Client went away or server closing
+            } finally {
+                close();
+            }
+        }
+
+        private void readFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The library's one JDK Flight Recorder recording, started and stopped by the host. A shared
+ * library has no command line for {@code -XX:StartFlightRecording}, so recordings are controlled
+ * through the API instead.
+ */
+public final class FlightRecording {
+    private static Recording recording;
+    private static Path destination;
+
+    private FlightRecording() {}
+
+    public static synchronized boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Starts recording the pipeline events (every occurrence, no stack traces) to {@code file}.
+     *
+     * @param jvmEvents also record the JDK's default event set (GC, threads, allocation, ...)
+     * @return {@code path}, and {@code startMillis} / {@code startNanos} (wall clock and
+     *         monotonic) for lining the recording up with host-side traces
+     */
+    public static synchronized Map<String, Object> start(Path file, boolean jvmEvents)
+            throws IOException, ParseException {
+        if (recording != null) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        Recording r = jvmEvents ? new Recording(Configuration.getConfiguration("default")) : new Recording();
+        r.setName("yaci-pipeline");
+        for (Class<? extends Event> type : PipelineEvents.TYPES) {
+            r.enable(type).withThreshold(Duration.ZERO).withoutStackTrace();
+        }
+        r.setToDisk(true);
+        r.setDestination(file);
+        r.start();
+        recording = r;
+        destination = file;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("path", file.toString());
+        result.put("startMillis", System.currentTimeMillis());
+        result.put("startNanos", System.nanoTime());
+        return result;
+    }
+
+    /**
+     * Stops the recording and writes it to its file.
+     *
+     * @return the file written, or null if no recording was running
+     */
+    public static synchronized Path stop() {
+        Recording r = recording;
+        if (r == null) {
+            return null;
+        }
+        recording = null;
+        try {
+            r.stop();
+        } finally {
+            r.close();
+        }
+        return destination;
+    }
+}
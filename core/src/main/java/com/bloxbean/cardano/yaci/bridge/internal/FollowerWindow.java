@@ -0,0 +1,237 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Ordering state of {@link WindowedChainFollower}: headers received from chain-sync, the bodies
+ * requested for them and rollbacks, released to the consumer strictly in chain-sync order.
+ * <p>
+ * A rollback drops every undelivered header past its point; headers up to the point stay queued
+ * and are delivered before the rollback itself. A range that comes back short (NoBlocks, or a fork
+ * inside the range) keeps its missing headers and requests them again once chain-sync has moved
+ * on, normally with the rollback that trims the range. {@link #MAX_SHORT_RANGES} short ranges in a
+ * row fail the window rather than skip a block.
+ * <p>
+ * Not thread-safe; the follower calls it under its lock.
+ *
+ * @param <T> a delivered block body
+ */
+final class FollowerWindow<T> {
+    static final int MAX_SHORT_RANGES = 3;
+
+    /** Effects of the window on the connection and the consumer. */
+    interface Io<T> {
+        void requestRange(Point from, Point to);
+
+        void resumeChainSync();
+
+        void deliver(T body);
+
+        void rollback(Point point);
+
+        void fail(String reason);
+    }
+
+    private final int maxHeaders;
+    private final Io<T> io;
+    // Undelivered blocks and rollbacks, in chain-sync order
+    private final Deque<Entry> pending = new ArrayDeque<>();
+    // Headers whose bodies have not been requested yet, in chain-sync order
+    private final List<Body<T>> unrequested = new ArrayList<>();
+    private boolean rangeInFlight;
+    private boolean chainSyncPaused;
+    // Set after a short range; missing bodies are requested again after the next chain-sync message
+    private boolean retryBlocked;
+    private int shortRanges;
+    private boolean failed;
+
+    FollowerWindow(int maxHeaders, Io<T> io) {
+        this.maxHeaders = maxHeaders;
+        this.io = io;
+    }
+
+    /** The connection (re)completed its handshake; re-requests bodies lost with the old one. */
+    void onConnected() {
+        if (failed) return;
+        chainSyncPaused = false;
+        retryBlocked = false;
+        requestBodies();
+    }
+
+    /** Returns true if chain-sync should ask for the next header now. */
+    boolean onHeader(Point point) {
+        if (failed) return false;
+        Body<T> body = new Body<>(point);
+        pending.addLast(body);
+        unrequested.add(body);
+        retryBlocked = false;
+        requestBodies();
+        if (outstanding() >= maxHeaders) {
+            chainSyncPaused = true;
+            return false;
+        }
+        return true;
+    }
+
+    void onRollback(Point point) {
+        if (failed) return;
+        // Nothing past the point has been delivered from the queue, so it can simply be dropped
+        Iterator<Entry> it = pending.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry instanceof Body && ((Body<?>) entry).point.getSlot() > point.getSlot()) {
+                it.remove();
+            }
+        }
+        unrequested.removeIf(body -> body.point.getSlot() > point.getSlot());
+        pending.addLast(new Rollback(point));
+        retryBlocked = false;
+        drain();
+        requestBodies();
+    }
+
+    void onBody(String hash, T block) {
+        if (failed) return;
+        for (Entry entry : pending) {
+            if (entry instanceof Body) {
+                @SuppressWarnings("unchecked")
+                Body<T> body = (Body<T>) entry;
+                if (body.requested && body.block == null && body.point.getHash().equals(hash)) {
+                    body.block = block;
+                    break;
+                }
+            }
+        }
+        drain();
+    }
+
+    /** The range in flight completed, with all, some or none (NoBlocks) of its bodies. */
+    void onRangeDone() {
+        if (failed) return;
+        rangeInFlight = false;
+        List<Body<T>> missing = new ArrayList<>();
+        for (Entry entry : pending) {
+            if (entry instanceof Body && ((Body<?>) entry).requested && ((Body<?>) entry).block == null) {
+                @SuppressWarnings("unchecked")
+                Body<T> body = (Body<T>) entry;
+                body.requested = false;
+                missing.add(body);
+            }
+        }
+        if (missing.isEmpty()) {
+            shortRanges = 0;
+        } else {
+            if (++shortRanges > MAX_SHORT_RANGES) {
+                failed = true;
+                io.fail(shortRanges + " block-fetch ranges in a row came back without "
+                        + missing.get(0).point + "; chain-sync reported no rollback for it");
+                return;
+            }
+            unrequested.addAll(0, missing);
+            // Wait for chain-sync to report the rollback that trims the range; it must not stay paused
+            retryBlocked = true;
+            if (chainSyncPaused) {
+                chainSyncPaused = false;
+                io.resumeChainSync();
+            }
+        }
+        drain();
+        requestBodies();
+        resumeIfRoom();
+    }
+
+    /** Bodies in flight on the old connection are re-requested after the next handshake. */
+    void onDisconnected() {
+        if (failed) return;
+        rangeInFlight = false;
+        retryBlocked = false;
+        shortRanges = 0;
+        unrequested.clear();
+        for (Entry entry : pending) {
+            if (entry instanceof Body && ((Body<?>) entry).block == null) {
+                @SuppressWarnings("unchecked")
+                Body<T> body = (Body<T>) entry;
+                body.requested = false;
+                unrequested.add(body);
+            }
+        }
+    }
+
+    int outstanding() {
+        int n = 0;
+        for (Entry entry : pending) {
+            if (entry instanceof Body) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /** Issues one range for all unrequested headers if block-fetch is idle. */
+    private void requestBodies() {
+        if (rangeInFlight || retryBlocked || unrequested.isEmpty()) {
+            return;
+        }
+        Point from = unrequested.get(0).point;
+        Point to = unrequested.get(unrequested.size() - 1).point;
+        for (Body<T> body : unrequested) {
+            body.requested = true;
+        }
+        unrequested.clear();
+        rangeInFlight = true;
+        io.requestRange(from, to);
+    }
+
+    /** Delivers everything at the head of the queue that is ready. */
+    private void drain() {
+        while (!pending.isEmpty()) {
+            Entry head = pending.peekFirst();
+            if (head instanceof Body) {
+                @SuppressWarnings("unchecked")
+                Body<T> body = (Body<T>) head;
+                if (body.block == null) {
+                    return;
+                }
+                pending.pollFirst();
+                io.deliver(body.block);
+            } else {
+                pending.pollFirst();
+                io.rollback(((Rollback) head).point);
+            }
+        }
+    }
+
+    /** Resumes chain-sync once the outstanding window has room again. */
+    private void resumeIfRoom() {
+        if (chainSyncPaused && outstanding() < maxHeaders) {
+            chainSyncPaused = false;
+            io.resumeChainSync();
+        }
+    }
+
+    private interface Entry {}
+
+    private static final class Body<T> implements Entry {
+        final Point point;
+        boolean requested;
+        T block;
+
+        Body(Point point) {
+            this.point = point;
+        }
+    }
+
+    private static final class Rollback implements Entry {
+        final Point point;
+
+        Rollback(Point point) {
+            this.point = point;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.api.EventCallback;
+import com.bloxbean.cardano.yaci.bridge.event.*;
+import com.bloxbean.cardano.yaci.bridge.util.Hashes;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
+import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+import com.bloxbean.cardano.yaci.helper.TipFinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Chain-sync only session: follows the chain header by header and never fetches block bodies.
+ * Byron-era headers are skipped (sessions start from Shelley-era well-known points or later).
+ */
+public class HeaderSyncSession implements BridgeSession {
+    private final int id;
+    private final String host;
+    private final int port;
+    private final long protocolMagic;
+    private final Point wellKnownPoint;
+    private volatile boolean started;
+    // Suppresses disconnect events fired during agent initialization (before handshake)
+    private volatile boolean initialized;
+    // Ensures only one DisconnectEvent per connection loss; reset when data flows again
+    private final AtomicBoolean disconnectSent = new AtomicBoolean(false);
+
+    private final EventDispatcher dispatcher;
+
+    private TCPNodeClient client;
+    private KeepAliveAgent keepAliveAgent;
+
+    // Keep-alive fields
+    private long keepAliveIntervalMs = 5000;
+    private KeepAliveLoop keepAlive;
+
+    public HeaderSyncSession(int id, String host, int port, long protocolMagic,
+                             long wellKnownSlot, String wellKnownHash) {
+        this.id = id;
+        this.dispatcher = new EventDispatcher(id);
+        this.host = host;
+        this.port = port;
+        this.protocolMagic = protocolMagic;
+        this.wellKnownPoint = new Point(wellKnownSlot, wellKnownHash);
+        this.started = false;
+        this.initialized = false;
+    }
+
+    public void setCallback(EventCallback cb) {
+        dispatcher.setCallback(cb);
+    }
+
+    public boolean hasCallback() {
+        return dispatcher.hasTarget();
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public long getProtocolMagic() {
+        return protocolMagic;
+    }
+
+    @Override
+    public EventDispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    public void setKeepAliveInterval(long ms) {
+        if (ms <= 0) {
+            throw new IllegalArgumentException("Keep-alive interval must be > 0");
+        }
+        this.keepAliveIntervalMs = ms;
+    }
+
+    public void start(Point fromPoint) {
+        started = true;
+        connect(fromPoint);
+        initialized = true;
+        startKeepAlive();
+    }
+
+    public void startFromTip(long timeoutMs) {
+        started = true;
+        TipFinder tipFinder = new TipFinder(host, port, wellKnownPoint, protocolMagic);
+        try {
+            Tip tip = tipFinder.find().block(Duration.ofMillis(timeoutMs > 0 ? timeoutMs : 30000));
+            if (tip == null) {
+                throw new IllegalStateException("Tip finder returned null");
+            }
+            connect(tip.getPoint());
+        } finally {
+            tipFinder.shutdown();
+        }
+        initialized = true;
+        startKeepAlive();
+    }
+
+    public void stop() {
+        started = false;
+        dispatcher.close();
+        stopKeepAlive();
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    public boolean isRunning() {
+        return client != null && client.isRunning();
+    }
+
+    private void connect(Point fromPoint) {
+        HandshakeAgent handshakeAgent = new HandshakeAgent(N2NVersionTableConstant.v4AndAbove(protocolMagic));
+        ChainsyncAgent chainSyncAgent = new ChainsyncAgent(new Point[]{fromPoint});
+        keepAliveAgent = new KeepAliveAgent();
+
+        handshakeAgent.addListener(new HandshakeAgentListener() {
+            @Override
+            public void handshakeOk() {
+                chainSyncAgent.sendNextMessage();
+            }
+        });
+        chainSyncAgent.addListener(createListener(chainSyncAgent));
+
+        client = new TCPNodeClient(host, port, handshakeAgent, keepAliveAgent, chainSyncAgent);
+        client.start();
+    }
+
+    private void invokeCallback(SyncEvent event) {
+        dispatcher.dispatch(event);
+    }
+
+    private void startKeepAlive() {
+        keepAlive = new KeepAliveLoop("yaci-keepalive-" + id, keepAliveIntervalMs,
+                cookie -> keepAliveAgent.sendKeepAlive(cookie));
+        keepAlive.start();
+    }
+
+    private void stopKeepAlive() {
+        if (keepAlive != null) {
+            keepAlive.stop();
+            keepAlive = null;
+        }
+    }
+
+    static HeaderEvent toHeaderEvent(BlockHeader blockHeader) {
+        HeaderBody body = blockHeader.getHeaderBody();
+        return new HeaderEvent(
+                eraOf(body).name(), body.getSlot(), body.getBlockHash(), body.getBlockNumber(),
+                body.getPrevHash(), body.getBlockBodySize(), Hashes.blake2b224Hex(body.getIssuerVkey()));
+    }
+
+    /**
+     * Era from the header's protocol major version (chain-sync headers carry no era tag here).
+     */
+    static Era eraOf(HeaderBody body) {
+        long major = body.getProtocolVersion() != null ? body.getProtocolVersion().get_1() : 0;
+        if (major <= 2) return Era.Shelley;
+        if (major == 3) return Era.Allegra;
+        if (major == 4) return Era.Mary;
+        if (major <= 6) return Era.Alonzo;
+        if (major <= 8) return Era.Babbage;
+        return Era.Conway;
+    }
+
+    private ChainSyncAgentListener createListener(ChainsyncAgent chainSyncAgent) {
+        return new ChainSyncAgentListener() {
+            @Override
+            public void intersactFound(Tip tip, Point point) {
+                disconnectSent.set(false);
+            }
+
+            @Override
+            public void intersactNotFound(Tip tip) {
+                invokeCallback(new SyncEvent("intersect_not_found"));
+            }
+
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                disconnectSent.set(false);
+                invokeCallback(toHeaderEvent(blockHeader));
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                disconnectSent.set(false);
+                invokeCallback(new RollbackEvent(toPoint.getSlot(), toPoint.getHash()));
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void onDisconnect() {
+                // Ignore disconnect events during agent initialization;
+                // deduplicate: yaci fires onDisconnect once per internal agent
+                if (initialized && disconnectSent.compareAndSet(false, true)) {
+                    invokeCallback(new DisconnectEvent());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Daemon thread that periodically sends a keep-alive message with a random cookie,
+ * preventing the node from dropping connections that are idle at the tip.
+ */
+class KeepAliveLoop {
+    private final String name;
+    private final long intervalMs;
+    private final IntConsumer sender;
+    // Called when a send fails; may be null
+    private final Runnable onFailure;
+    private Thread thread;
+    private volatile boolean running;
+
+    KeepAliveLoop(String name, long intervalMs, IntConsumer sender) {
+        this(name, intervalMs, sender, null);
+    }
+
+    KeepAliveLoop(String name, long intervalMs, IntConsumer sender, Runnable onFailure) {
+        this.name = name;
+        this.intervalMs = intervalMs;
+        this.sender = sender;
+        this.onFailure = onFailure;
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(() -> {
+            Random random = new Random();
+            while (running) {
+                try {
+                    Thread.sleep(intervalMs);
+                    if (running) {
+                        sender.accept(random.nextInt(60001));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    System.err.println("[yaci] Keep-alive error: " + e.getMessage());
+                    if (onFailure != null) {
+                        onFailure.run();
+                    }
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Moves host delivery off the session's dispatching thread so a slow consumer does not hold back
+ * the relay connection.
+ * <p>
+ * Encoded events are handed to the host on a delivery thread. Up to {@code memoryEvents} wait in
+ * memory; beyond that, events are appended to spool segment files ({@code <prefix>-<seq>.spool},
+ * each event a 4-byte big-endian length and the UTF-8 JSON) and read back in order once the host
+ * catches up. The dispatching thread only waits when the spool files reach {@code maxDiskBytes}
+ * with events the host has not been handed yet.
+ * <p>
+ * Every event is handed to the host exactly once, and a segment is deleted as soon as the host call
+ * for its last event returns. There is no acknowledgement or redelivery: a host that fails must
+ * resume from its own last stored point. Spool files are scratch space: they are not fsynced, and
+ * whatever is left is deleted on close.
+ */
+final class OverflowSpool {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final String prefix;
+    private final int memoryEvents;
+    private final long maxDiskBytes;
+    private final long segmentBytes;
+    private final Consumer<String> deliver;
+    private final Thread thread;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Condition space = lock.newCondition();
+    // Events waiting in memory; all older than any event on disk while spooling
+    private final ArrayDeque<String> memory = new ArrayDeque<>();
+    // Spool segments, oldest first; the last one is being written while spooling
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private boolean spooling;
+    private boolean closing;
+    private long sequence;
+    private long accepted;
+    private long delivered;
+    private long diskBytes;
+    private long peakDiskBytes;
+    private long spooledEvents;
+    private long producerWaitNanos;
+
+    OverflowSpool(Path directory, String prefix, int memoryEvents, long maxDiskBytes,
+                  Consumer<String> deliver) throws IOException {
+        if (memoryEvents <= 0 || maxDiskBytes <= 0) {
+            throw new IllegalArgumentException("Spool bounds must be > 0");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.prefix = prefix;
+        this.memoryEvents = memoryEvents;
+        this.maxDiskBytes = maxDiskBytes;
+        // Small enough relative to the cap that delivered segments free space steadily
+        this.segmentBytes = Math.max(1024 * 1024, Math.min(64L * 1024 * 1024, maxDiskBytes / 8));
+        this.deliver = deliver;
+        this.thread = new Thread(this::run, "yaci-spool-" + prefix);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Accepts an event from the dispatching thread. Returns at once unless the spool files are at
+     * {@code maxDiskBytes}; dropped if the spool is closing.
+     */
+    void put(String json) {
+        lock.lock();
+        try {
+            if (closing) return;
+            if (!spooling && memory.size() < memoryEvents) {
+                accepted++;
+                memory.addLast(json);
+                available.signal();
+                return;
+            }
+            spooling = true;
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            long size = 4L + bytes.length;
+            long waitStart = 0;
+            // A single event larger than the cap is still spooled once the disk is empty
+            while (!closing && diskBytes > 0 && diskBytes + size > maxDiskBytes) {
+                if (waitStart == 0) waitStart = System.nanoTime();
+                space.awaitUninterruptibly();
+            }
+            if (waitStart != 0) {
+                producerWaitNanos += System.nanoTime() - waitStart;
+            }
+            if (closing) return;
+            // The delivery thread may have drained the disk and left spooling while we waited;
+            // this event goes behind what is spooled, and so must every event after it
+            spooling = true;
+            try {
+                append(bytes);
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to write spool: " + e.getMessage());
+                // Keep order and lose nothing: wait for the reader to drain the disk, then queue in memory
+                while (!closing && spooling) {
+                    space.awaitUninterruptibly();
+                }
+                if (closing) return;
+                accepted++;
+                memory.addLast(json);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting events and waits up to 10 seconds for the delivery thread to hand over what
+     * is already spooled, then deletes the spool files.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closing = true;
+            available.signalAll();
+            space.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread.interrupt();
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.discard();
+                diskBytes -= segment.bytes;
+            }
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, Object> stats() {
+        lock.lock();
+        try {
+            long unread = 0;
+            for (Segment segment : segments) {
+                unread += segment.events - segment.read;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("delivered", delivered);
+            stats.put("pending", accepted - delivered);
+            stats.put("memoryEvents", memory.size());
+            stats.put("spooledEvents", unread);
+            stats.put("spooledTotal", spooledEvents);
+            stats.put("segments", segments.size());
+            stats.put("diskBytes", diskBytes);
+            stats.put("peakDiskBytes", peakDiskBytes);
+            stats.put("maxDiskBytes", maxDiskBytes);
+            stats.put("producerWaitMillis", TimeUnit.NANOSECONDS.toMillis(producerWaitNanos));
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            String json;
+            lock.lock();
+            try {
+                while ((json = next()) == null) {
+                    if (closing) return;
+                    available.await();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                deliver.accept(json);
+            } catch (Exception e) {
+                System.err.println("[yaci] Spooled delivery failed: " + e.getMessage());
+            }
+            lock.lock();
+            try {
+                delivered++;
+                deleteDelivered();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Must hold {@link #lock}. The next event in order, or null if none is ready. */
+    private String next() {
+        if (!memory.isEmpty()) {
+            return memory.pollFirst();
+        }
+        for (Segment segment : segments) {
+            if (segment.read < segment.events) {
+                try {
+                    return segment.readNext();
+                } catch (IOException e) {
+                    // Unreadable spool data cannot be recovered; skip the rest of the segment
+                    System.err.println("[yaci] Failed to read spool: " + e.getMessage());
+                    delivered += segment.events - segment.read;
+                    segment.read = segment.events;
+                }
+            }
+        }
+        if (spooling) {
+            // Caught up with the disk: close the open segment and go back to memory
+            Segment last = segments.peekLast();
+            if (last != null && !last.closed) {
+                last.closeWriter();
+            }
+            spooling = false;
+            deleteDelivered();
+            space.signalAll();
+        }
+        return null;
+    }
+
+    /** Must hold {@link #lock}. */
+    private void append(byte[] json) throws IOException {
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.closed) {
+            segment = new Segment(directory.resolve(String.format("%s-%08d.spool", prefix, ++sequence)),
+                    accepted + 1);
+            segments.addLast(segment);
+        }
+        segment.write(json);
+        accepted++;
+        spooledEvents++;
+        diskBytes += 4L + json.length;
+        peakDiskBytes = Math.max(peakDiskBytes, diskBytes);
+        if (segment.bytes >= segmentBytes) {
+            segment.closeWriter();
+        }
+    }
+
+    /** Must hold {@link #lock}. Deletes closed segments whose events have all been delivered. */
+    private void deleteDelivered() {
+        boolean freed = false;
+        while (!segments.isEmpty()) {
+            Segment segment = segments.peekFirst();
+            if (!segment.closed || segment.read < segment.events
+                    || segment.firstOffset + segment.events - 1 > delivered) {
+                break;
+            }
+            segments.pollFirst();
+            segment.discard();
+            diskBytes -= segment.bytes;
+            freed = true;
+        }
+        if (freed) {
+            space.signalAll();
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long firstOffset;
+        long events;
+        long bytes;
+        long read;
+        boolean closed;
+        private DataOutputStream out;
+        private DataInputStream in;
+
+        Segment(Path path, long firstOffset) throws IOException {
+            this.path = path;
+            this.firstOffset = firstOffset;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path.toFile()), BUFFER_SIZE));
+        }
+
+        void write(byte[] json) throws IOException {
+            out.writeInt(json.length);
+            out.write(json);
+            // Readable by the delivery thread as soon as it is counted
+            out.flush();
+            events++;
+            bytes += 4L + json.length;
+        }
+
+        String readNext() throws IOException {
+            if (in == null) {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(path.toFile()), BUFFER_SIZE));
+            }
+            byte[] json = new byte[in.readInt()];
+            in.readFully(json);
+            read++;
+            return new String(json, StandardCharsets.UTF_8);
+        }
+
+        void closeWriter() {
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to close spool segment: " + e.getMessage());
+            }
+        }
+
+        void discard() {
+            if (!closed) {
+                closeWriter();
+            }
+            try {
+                if (in != null) {
+                    in.close();
+                }
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("[yaci] Failed to delete spool segment: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.EventSerializer;
+import com.bloxbean.cardano.yaci.bridge.util.JsonHelper;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.TransactionBodySerializer;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes raw CBOR kept from payload delivery back into the JSON the bridge emits for it, so a
+ * consumer can ingest raw bytes only and decode selected blocks or transactions later.
+ */
+public final class PayloadDecoder {
+
+    private PayloadDecoder() {}
+
+    /**
+     * Block CBOR (as delivered in {@code blockCbor}) to a block event JSON.
+     *
+     * @param rawPayload leave CBOR hex out, as for sessions using the payload callback
+     */
+    public static String decodeBlock(byte[] cbor, boolean rawPayload) throws JsonProcessingException {
+        BlockEvent event = decode(cbor, rawPayload);
+        return rawPayload ? EventSerializer.serializeWithoutCbor(event) : EventSerializer.serialize(event);
+    }
+
+    /**
+     * Block CBOR to the block event a session would dispatch for it, CBOR included.
+     */
+    static BlockEvent blockEvent(byte[] cbor) {
+        return decode(cbor, false);
+    }
+
+    /**
+     * Transaction body CBOR (as delivered in {@code txBodyCbor}) to a transaction body JSON.
+     */
+    public static String decodeTx(byte[] cbor, boolean rawPayload) throws JsonProcessingException {
+        PipelineEvents.Decode span = PipelineEvents.decodeStarted("tx", cbor.length);
+        TransactionBody body = TransactionBodySerializer.INSTANCE.deserialize(cbor);
+        PipelineEvents.decodeDone(span, -1);
+        return rawPayload ? JsonHelper.toJsonWithoutCbor(body) : JsonHelper.toJson(body);
+    }
+
+    /**
+     * Decodes many payloads on the shared worker pool. The result is a JSON array in input order;
+     * a payload that fails to decode yields {@code {"error": "..."}} in its place.
+     */
+    public static String decodeBatch(List<byte[]> payloads, boolean blocks, boolean rawPayload) {
+        try {
+            return EventEncoder.pool().submit(() -> payloads.parallelStream()
+                    .map(cbor -> decodeOrError(cbor, blocks, rawPayload))
+                    .collect(Collectors.joining(",", "[", "]"))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch decode failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while decoding", e);
+        }
+    }
+
+    private static String decodeOrError(byte[] cbor, boolean blocks, boolean rawPayload) {
+        try {
+            return blocks ? decodeBlock(cbor, rawPayload) : decodeTx(cbor, rawPayload);
+        } catch (Exception e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            try {
+                return JsonHelper.toJson(error);
+            } catch (JsonProcessingException jpe) {
+                return "{\"error\":\"decode failed\"}";
+            }
+        }
+    }
+
+    private static BlockEvent decode(byte[] cbor, boolean rawPayload) {
+        PipelineEvents.Decode span = PipelineEvents.decodeStarted("block", cbor.length);
+        BlockEvent event = toBlockEvent(BlockSerializer.INSTANCE.deserialize(cbor), rawPayload);
+        PipelineEvents.decodeDone(span, event.getSlot());
+        return event;
+    }
+
+    /**
+     * Builds transactions exactly as block-fetch delivery does, by running the block through
+     * Yaci's block-fetch adapter.
+     */
+    private static BlockEvent toBlockEvent(Block block, boolean rawPayload) {
+        BlockEvent[] result = new BlockEvent[1];
+        BlockChainDataListener capture = new BlockChainDataListener() {
+            @Override
+            public void onBlock(Era era, Block b, List<Transaction> transactions) {
+                long slot = b.getHeader().getHeaderBody().getSlot();
+                String hash = b.getHeader().getHeaderBody().getBlockHash();
+                long blockNumber = b.getHeader().getHeaderBody().getBlockNumber();
+                List<Transaction> txList = transactions != null ? transactions : Collections.emptyList();
+                result[0] = new BlockEvent(era.name(), slot, hash, blockNumber,
+                        rawPayload ? null : b.getCbor(), txList);
+            }
+        };
+        new BlockFetchAgentListenerAdapter(capture).blockFound(block);
+        if (result[0] == null) {
+            throw new IllegalArgumentException("Not a decodable Shelley-or-later block");
+        }
+        return result[0];
+    }
+}
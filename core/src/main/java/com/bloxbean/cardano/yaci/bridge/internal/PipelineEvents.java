@@ -0,0 +1,282 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.HeaderEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RollbackEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.util.JsonHelper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * JDK Flight Recorder events for each stage a block passes through inside the library. Every
+ * event carries the session id and slot, and its JFR duration is the time spent in the stage.
+ * Events are only filled in when a recording has them enabled; otherwise each stage costs one
+ * {@code isEnabled()} check.
+ */
+final class PipelineEvents {
+
+    static final List<Class<? extends Event>> TYPES = List.of(
+            BlockReceived.class, Decode.class, Serialize.class, NativeCopy.class, Callback.class, Rollback.class);
+
+    private PipelineEvents() {}
+
+    @Name("yaci.BlockReceived")
+    @Label("Block Received")
+    @Category({"Yaci", "Pipeline"})
+    @Description("A block or header handed to the session dispatcher; the duration covers all delivery work on the dispatching thread")
+    @StackTrace(false)
+    static final class BlockReceived extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Event Type")
+        String eventType;
+        @Label("Slot")
+        long slot;
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("yaci.Decode")
+    @Label("CBOR Decode")
+    @Category({"Yaci", "Pipeline"})
+    @Description("Raw block or transaction CBOR decoded by the library (recording replay, decode API); session id is 0")
+    @StackTrace(false)
+    static final class Decode extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Event Type")
+        String eventType;
+        @Label("Slot")
+        long slot;
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("yaci.Serialize")
+    @Label("Event Serialized")
+    @Category({"Yaci", "Pipeline"})
+    @Description("An event encoded to JSON, plus the raw CBOR layout for payload delivery")
+    @StackTrace(false)
+    static final class Serialize extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Event Type")
+        String eventType;
+        @Label("Slot")
+        long slot;
+        @Label("Payload Size")
+        @Description("JSON plus raw CBOR bytes")
+        @DataAmount
+        long payloadSize;
+        @Label("Cache Hit")
+        boolean cacheHit;
+    }
+
+    @Name("yaci.NativeCopy")
+    @Label("Native Copy")
+    @Category({"Yaci", "Pipeline"})
+    @Description("Event JSON and raw CBOR copied into unmanaged memory for the host callback")
+    @StackTrace(false)
+    static final class NativeCopy extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Event Type")
+        String eventType;
+        @Label("Slot")
+        long slot;
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("yaci.Callback")
+    @Label("Host Callback")
+    @Category({"Yaci", "Pipeline"})
+    @Description("Host callback invocation; starts when the callback is entered and ends when it returns")
+    @StackTrace(false)
+    static final class Callback extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Event Type")
+        String eventType;
+        @Label("Slot")
+        long slot;
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+    }
+
+    @Name("yaci.Rollback")
+    @Label("Rollback Handled")
+    @Category({"Yaci", "Pipeline"})
+    @Description("A rollback applied to the session's point index and derived state and delivered")
+    @StackTrace(false)
+    static final class Rollback extends Event {
+        @Label("Session Id")
+        int sessionId;
+        @Label("Slot")
+        long slot;
+    }
+
+    /**
+     * Starts the receive or rollback span for a dispatched event, or returns null when the event
+     * type is not traced or no recording wants it. End it with {@link #end(Event)}.
+     */
+    static Event dispatchStarted(int sessionId, SyncEvent event) {
+        if (event instanceof BlockEvent || event instanceof HeaderEvent) {
+            BlockReceived received = new BlockReceived();
+            if (!received.isEnabled()) return null;
+            received.sessionId = sessionId;
+            received.eventType = event.getType();
+            received.slot = EventDispatcher.slotOf(event);
+            received.payloadSize = event instanceof BlockEvent ? cborSize((BlockEvent) event) : 0;
+            received.begin();
+            return received;
+        }
+        if (event instanceof RollbackEvent) {
+            Rollback rollback = new Rollback();
+            if (!rollback.isEnabled()) return null;
+            rollback.sessionId = sessionId;
+            rollback.slot = EventDispatcher.slotOf(event);
+            rollback.begin();
+            return rollback;
+        }
+        return null;
+    }
+
+    static Decode decodeStarted(String eventType, long payloadSize) {
+        Decode decode = new Decode();
+        if (!decode.isEnabled()) return null;
+        decode.eventType = eventType;
+        decode.slot = -1;
+        decode.payloadSize = payloadSize;
+        decode.begin();
+        return decode;
+    }
+
+    static void decodeDone(Decode decode, long slot) {
+        if (decode == null) return;
+        decode.slot = slot;
+        decode.commit();
+    }
+
+    static Serialize serializeStarted(int sessionId, SyncEvent event) {
+        Serialize serialize = new Serialize();
+        if (!serialize.isEnabled()) return null;
+        serialize.sessionId = sessionId;
+        serialize.eventType = event.getType();
+        serialize.slot = EventDispatcher.slotOf(event);
+        serialize.begin();
+        return serialize;
+    }
+
+    static void serializeDone(Serialize serialize, EventEncoder.Encoded encoded, boolean cacheHit) {
+        if (serialize == null) return;
+        long raw = encoded.raw != null ? encoded.raw.remaining()
+                : encoded.payload != null ? encoded.payload.getLength() : 0;
+        serialize.payloadSize = encoded.utf8().remaining() + raw;
+        serialize.cacheHit = cacheHit;
+        serialize.commit();
+    }
+
+    static NativeCopy copyStarted(int sessionId, SyncEvent event) {
+        NativeCopy copy = new NativeCopy();
+        if (!copy.isEnabled()) return null;
+        copy.sessionId = sessionId;
+        copy.eventType = event.getType();
+        copy.slot = EventDispatcher.slotOf(event);
+        copy.begin();
+        return copy;
+    }
+
+    static void copyDone(NativeCopy copy, long bytes) {
+        if (copy == null) return;
+        copy.payloadSize = bytes;
+        copy.commit();
+    }
+
+    static Callback callbackEntered(int sessionId, SyncEvent event, long bytes) {
+        Callback callback = new Callback();
+        if (!callback.isEnabled()) return null;
+        callback.sessionId = sessionId;
+        callback.eventType = event.getType();
+        callback.slot = EventDispatcher.slotOf(event);
+        callback.payloadSize = bytes;
+        callback.begin();
+        return callback;
+    }
+
+    /**
+     * Spooled events only exist as JSON by the time they are delivered; their type and slot are
+     * read from the top-level fields, and only when a recording has the event enabled.
+     */
+    static NativeCopy spooledCopyStarted(int sessionId, String json) {
+        NativeCopy copy = new NativeCopy();
+        if (!copy.isEnabled()) return null;
+        copy.sessionId = sessionId;
+        copy.slot = -1;
+        copy.eventType = scanTypeAndSlot(json, slot -> copy.slot = slot);
+        copy.begin();
+        return copy;
+    }
+
+    static Callback spooledCallbackEntered(int sessionId, String json, long bytes) {
+        Callback callback = new Callback();
+        if (!callback.isEnabled()) return null;
+        callback.sessionId = sessionId;
+        callback.slot = -1;
+        callback.eventType = scanTypeAndSlot(json, slot -> callback.slot = slot);
+        callback.payloadSize = bytes;
+        callback.begin();
+        return callback;
+    }
+
+    static void end(Event event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /** The top-level {@code type} of an event's JSON, passing a top-level {@code slot} to {@code onSlot}. */
+    private static String scanTypeAndSlot(String json, LongConsumer onSlot) {
+        String type = null;
+        boolean slotSeen = false;
+        try (JsonParser parser = JsonHelper.mapper().getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while ((type == null || !slotSeen) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if ("slot".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    onSlot.accept(parser.getLongValue());
+                    slotSeen = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            // Leave what was found; the span is still recorded
+        }
+        return type;
+    }
+
+    private static long cborSize(BlockEvent block) {
+        String cbor = block.getBlockCbor();
+        return cbor != null ? cbor.length() / 2 : 0;
+    }
+}
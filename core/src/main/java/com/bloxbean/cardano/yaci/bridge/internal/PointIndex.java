@@ -0,0 +1,356 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Slot / block number to point index, kept in a memory-mapped file of fixed-size records
+ * (slot, block number, 32-byte hash) in chain order. Slots and block numbers both increase along
+ * the chain, so either can be binary searched.
+ * <p>
+ * Appends that do not extend the chain (e.g. an older range fetched later) replace a record at the
+ * same slot in place; otherwise they are held in a sorted side segment that lookups consult, and
+ * merged into the file in one pass on {@link #mergePending()}, {@link #force()}, a rollback, or
+ * when {@value #MAX_PENDING} records are waiting. Rollbacks truncate. Instances are shared per
+ * file so a syncing session and lookups see the same mapping.
+ */
+public final class PointIndex implements Closeable {
+    public static final int MODE_EXACT = 0;
+    public static final int MODE_AT_OR_BEFORE = 1;
+    public static final int MODE_AT_OR_AFTER = 2;
+
+    private static final int MAGIC = 0x59504958; // "YPIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;   // magic, version, record count
+    private static final int RECORD_SIZE = 48;   // slot, block number, hash
+    private static final int HASH_SIZE = 32;
+    private static final long GROW_RECORDS = 1 << 18;
+    private static final int MOVE_CHUNK = 1024 * RECORD_SIZE;
+    static final int MAX_PENDING = 1 << 16;
+
+    private static final Map<Path, PointIndex> OPEN = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer map;
+    private long count;
+    // Out-of-order records not yet in the file, by slot and by block number; their slots are
+    // below the file's last slot and not in the file
+    private final TreeMap<Long, Pending> pendingBySlot = new TreeMap<>();
+    private final TreeMap<Long, Pending> pendingByBlockNumber = new TreeMap<>();
+
+    private static final class Pending {
+        final long slot;
+        final long blockNumber;
+        final byte[] hash;
+
+        Pending(long slot, long blockNumber, byte[] hash) {
+            this.slot = slot;
+            this.blockNumber = blockNumber;
+            this.hash = hash;
+        }
+    }
+
+    private PointIndex(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(size, HEADER_SIZE + GROW_RECORDS * RECORD_SIZE));
+        if (size == 0) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putLong(8, 0);
+        } else if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a point index file: " + file);
+        }
+        this.count = map.getLong(8);
+    }
+
+    /**
+     * Opens (or creates) the index at {@code file}, returning the already open instance if any.
+     */
+    public static PointIndex open(Path file) throws IOException {
+        try {
+            return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), p -> {
+                try {
+                    return new PointIndex(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Closes the shared instance for {@code file}, if open. */
+    public static boolean closeIndex(Path file) throws IOException {
+        PointIndex index = OPEN.remove(file.toAbsolutePath().normalize());
+        if (index == null) {
+            return false;
+        }
+        index.close();
+        return true;
+    }
+
+    public void append(long slot, long blockNumber, String hash) throws IOException {
+        byte[] hashBytes = HexUtil.decodeHexString(hash);
+        if (hashBytes.length != HASH_SIZE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (count == 0 || slot > slotAt(count - 1)) {
+                ensureCapacity(count + 1);
+                write(count, slot, blockNumber, hashBytes);
+                count++;
+                map.putLong(8, count);
+                return;
+            }
+            long i = lowerBound(0, slot);
+            if (slotAt(i) == slot) {
+                write(i, slot, blockNumber, hashBytes);
+                return;
+            }
+            Pending replaced = pendingBySlot.put(slot, new Pending(slot, blockNumber, hashBytes));
+            if (replaced != null) {
+                pendingByBlockNumber.remove(replaced.blockNumber);
+            }
+            pendingByBlockNumber.put(blockNumber, pendingBySlot.get(slot));
+            if (pendingBySlot.size() >= MAX_PENDING) {
+                merge();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops every record after {@code slot}. */
+    public void rollbackTo(long slot) throws IOException {
+        lock.writeLock().lock();
+        try {
+            merge();
+            long keep = lowerBound(0, slot + 1);
+            if (keep < count) {
+                count = keep;
+                map.putLong(8, count);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code {"slot", "blockNumber", "hash"}}, or null if nothing matches
+     */
+    public Map<String, Object> lookupBySlot(long slot, int mode) {
+        return lookup(0, slot, mode);
+    }
+
+    public Map<String, Object> lookupByBlockNumber(long blockNumber, int mode) {
+        return lookup(8, blockNumber, mode);
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return count + pendingBySlot.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Writes the out-of-order records held aside into the file. */
+    public void mergePending() throws IOException {
+        lock.writeLock().lock();
+        try {
+            merge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void force() throws IOException {
+        lock.writeLock().lock();
+        try {
+            merge();
+            map.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            merge();
+            map.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Object> lookup(int field, long key, int mode) {
+        lock.readLock().lock();
+        try {
+            long i = lowerBound(field, key);
+            boolean exact = i < count && map.getLong(offset(i) + field) == key;
+            long match;
+            if (exact) {
+                match = i;
+            } else if (mode == MODE_AT_OR_AFTER) {
+                match = i < count ? i : -1;
+            } else if (mode == MODE_AT_OR_BEFORE) {
+                match = i - 1;
+            } else {
+                match = -1;
+            }
+            NavigableMap<Long, Pending> pending = field == 0 ? pendingBySlot : pendingByBlockNumber;
+            Map.Entry<Long, Pending> side = pending.isEmpty() ? null
+                    : mode == MODE_AT_OR_AFTER ? pending.ceilingEntry(key)
+                    : mode == MODE_AT_OR_BEFORE ? pending.floorEntry(key)
+                    : pending.containsKey(key) ? Map.entry(key, pending.get(key)) : null;
+            if (side != null && (match < 0 || closer(side.getKey(), map.getLong(offset(match) + field), key))) {
+                Pending p = side.getValue();
+                return record(p.slot, p.blockNumber, p.hash);
+            }
+            return match >= 0 ? record(match) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** True if {@code candidate} is nearer to {@code key} than {@code current}, both on the same side. */
+    private static boolean closer(long candidate, long current, long key) {
+        return Math.abs(candidate - key) < Math.abs(current - key);
+    }
+
+    /** First record whose field at {@code field} is >= {@code key}. */
+    private long lowerBound(int field, long key) {
+        return lowerBound(field, key, count);
+    }
+
+    private long lowerBound(int field, long key, long limit) {
+        long lo = 0;
+        long hi = limit;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (map.getLong(offset(mid) + field) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private Map<String, Object> record(long i) {
+        int pos = offset(i);
+        byte[] hash = new byte[HASH_SIZE];
+        map.get(pos + 16, hash);
+        return record(map.getLong(pos), map.getLong(pos + 8), hash);
+    }
+
+    private static Map<String, Object> record(long slot, long blockNumber, byte[] hash) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slot", slot);
+        result.put("blockNumber", blockNumber);
+        result.put("hash", HexUtil.encodeHexString(hash));
+        return result;
+    }
+
+    private void write(long i, long slot, long blockNumber, byte[] hash) {
+        int pos = offset(i);
+        map.putLong(pos, slot);
+        map.putLong(pos + 8, blockNumber);
+        map.put(pos + 16, hash);
+    }
+
+    /**
+     * Merges the pending records into the file from the end backwards, so each file record moves
+     * at most once, by the number of pending records below it.
+     */
+    private void merge() throws IOException {
+        if (pendingBySlot.isEmpty()) {
+            return;
+        }
+        long total = count + pendingBySlot.size();
+        ensureCapacity(total);
+        byte[] chunk = new byte[MOVE_CHUNK];
+        long end = count;
+        long shift = pendingBySlot.size();
+        Iterator<Pending> it = pendingBySlot.descendingMap().values().iterator();
+        while (it.hasNext()) {
+            Pending p = it.next();
+            long start = lowerBound(0, p.slot, end);
+            moveUp(start, end, shift, chunk);
+            shift--;
+            write(start + shift, p.slot, p.blockNumber, p.hash);
+            end = start;
+        }
+        pendingBySlot.clear();
+        pendingByBlockNumber.clear();
+        count = total;
+        map.putLong(8, count);
+    }
+
+    /** Moves records {@code [start, end)} up by {@code shift}, last chunk first so nothing is overwritten. */
+    private void moveUp(long start, long end, long shift, byte[] chunk) {
+        int first = offset(start);
+        int distance = (int) (shift * RECORD_SIZE);
+        for (int to = offset(end); to > first; ) {
+            int from = Math.max(first, to - chunk.length);
+            int length = to - from;
+            map.get(from, chunk, 0, length);
+            map.put(from + distance, chunk, 0, length);
+            to = from;
+        }
+    }
+
+    private long slotAt(long i) {
+        return map.getLong(offset(i));
+    }
+
+    private void ensureCapacity(long records) throws IOException {
+        long needed = HEADER_SIZE + records * RECORD_SIZE;
+        if (needed <= map.capacity()) {
+            return;
+        }
+        long grown = HEADER_SIZE + (records + GROW_RECORDS) * RECORD_SIZE;
+        if (grown > Integer.MAX_VALUE) {
+            throw new IOException("Point index is full: " + file);
+        }
+        map.force();
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+    }
+
+    private static int offset(long i) {
+        return (int) (HEADER_SIZE + i * RECORD_SIZE);
+    }
+}
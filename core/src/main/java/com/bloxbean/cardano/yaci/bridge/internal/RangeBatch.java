@@ -0,0 +1,215 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RangeDoneEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fetch-many request. Input ranges are merged into as few block-fetch ranges as possible, fetched
+ * one after another, and handed back in input order with each block tagged with the input ranges
+ * it falls in. A block shared by several inputs is delivered once, with the first of them.
+ *
+ * <p>Blocks of the input range next in line are passed straight through as they arrive; only blocks
+ * that belong to later inputs are buffered until those inputs come up.
+ */
+final class RangeBatch {
+
+    static final class Range {
+        final int index;
+        final Point from;
+        final Point to;
+
+        Range(int index, Point from, Point to) {
+            if (from.getSlot() > to.getSlot()) {
+                throw new IllegalArgumentException("Range " + index + ": from slot is after to slot");
+            }
+            this.index = index;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean contains(long slot) {
+            return slot >= from.getSlot() && slot <= to.getSlot();
+        }
+    }
+
+    static final class Fetch {
+        final Point from;
+        Point to;
+        final List<Range> members = new ArrayList<>();
+        // Blocks received but not yet delivered, in slot order
+        final List<BlockEvent> blocks = new ArrayList<>();
+        // Blocks received per member input, by input index
+        final Map<Integer, Long> counts = new HashMap<>();
+        // Slot of the newest block received; blocks arrive in slot order
+        long highSlot = Long.MIN_VALUE;
+        boolean done;
+
+        Fetch(Point from, Point to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        int firstIndex() {
+            return members.stream().mapToInt(r -> r.index).min().orElse(Integer.MAX_VALUE);
+        }
+
+        int lastIndex() {
+            return members.stream().mapToInt(r -> r.index).max().orElse(-1);
+        }
+    }
+
+    private final List<Range> inputs;
+    private final List<Fetch> fetches;
+    // Merged fetch serving each input range, by input index
+    private final Fetch[] fetchOf;
+    private int nextFetch;
+    private Fetch current;
+    private int nextInput;
+
+    RangeBatch(List<Range> inputs, long maxGapSlots) {
+        this.inputs = inputs;
+        this.fetches = merge(inputs, maxGapSlots);
+        this.fetchOf = new Fetch[inputs.size()];
+        for (Fetch fetch : fetches) {
+            for (Range range : fetch.members) {
+                fetchOf[range.index] = fetch;
+            }
+        }
+    }
+
+    /**
+     * Merges overlapping ranges, and ranges separated by at most {@code maxGapSlots}, after sorting
+     * by start slot. The result is ordered by the earliest input each fetch serves so delivery in
+     * input order can begin as soon as possible.
+     */
+    static List<Fetch> merge(List<Range> inputs, long maxGapSlots) {
+        List<Range> sorted = new ArrayList<>(inputs);
+        sorted.sort(Comparator.<Range>comparingLong(r -> r.from.getSlot()).thenComparingLong(r -> r.to.getSlot()));
+
+        List<Fetch> merged = new ArrayList<>();
+        Fetch current = null;
+        for (Range range : sorted) {
+            if (current != null && range.from.getSlot() <= current.to.getSlot() + maxGapSlots) {
+                if (range.to.getSlot() > current.to.getSlot()) {
+                    current.to = range.to;
+                }
+            } else {
+                current = new Fetch(range.from, range.to);
+                merged.add(current);
+            }
+            current.members.add(range);
+        }
+        merged.sort(Comparator.comparingInt(Fetch::firstIndex));
+        return merged;
+    }
+
+    int fetchCount() {
+        return fetches.size();
+    }
+
+    /** Advances to the next block-fetch range, or returns null when all have been issued. */
+    Fetch nextFetch() {
+        current = nextFetch < fetches.size() ? fetches.get(nextFetch++) : null;
+        return current;
+    }
+
+    /**
+     * Takes a block of the fetch in flight and returns the events that can be delivered now: the
+     * block itself when it falls in the input next in line, preceded by {@code range_done} for
+     * inputs this block has moved past. Blocks of later inputs are buffered; blocks in a merge gap
+     * are dropped.
+     */
+    List<SyncEvent> onBlock(BlockEvent event) {
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        long slot = event.getSlot();
+        List<Integer> ranges = rangesOf(current, slot);
+        if (ranges.isEmpty()) {
+            return Collections.emptyList();
+        }
+        current.highSlot = slot;
+        for (Integer index : ranges) {
+            current.counts.merge(index, 1L, Long::sum);
+        }
+        List<SyncEvent> events = new ArrayList<>();
+        if (isHead(current) && inputs.get(nextInput).to.getSlot() < slot) {
+            drainInto(events);
+        }
+        if (isHead(current) && inputs.get(nextInput).contains(slot)) {
+            events.add(event.withRanges(ranges));
+        } else {
+            current.blocks.add(event);
+        }
+        return events;
+    }
+
+    void onFetchDone() {
+        if (current != null) {
+            current.done = true;
+        }
+    }
+
+    /** Events for every input range that can now be delivered in order. */
+    List<SyncEvent> drain() {
+        List<SyncEvent> events = new ArrayList<>();
+        drainInto(events);
+        // Release buffered blocks once every input they serve has been delivered
+        for (Fetch fetch : fetches) {
+            if (fetch.done && fetch.lastIndex() < nextInput) {
+                fetch.blocks.clear();
+            }
+        }
+        return events;
+    }
+
+    /** Whether the next input in line is served by {@code fetch}. */
+    private boolean isHead(Fetch fetch) {
+        return nextInput < inputs.size() && fetchOf[inputs.get(nextInput).index] == fetch;
+    }
+
+    /**
+     * Delivers the buffered blocks of each input in line and closes it with {@code range_done} once
+     * its fetch is done or has moved past its last slot.
+     */
+    private void drainInto(List<SyncEvent> events) {
+        while (nextInput < inputs.size()) {
+            Range range = inputs.get(nextInput);
+            Fetch fetch = fetchOf[range.index];
+            if (!fetch.done && fetch != current) {
+                break;
+            }
+            for (BlockEvent block : fetch.blocks) {
+                if (range.contains(block.getSlot())) {
+                    events.add(block.withRanges(rangesOf(fetch, block.getSlot())));
+                }
+            }
+            fetch.blocks.removeIf(block -> range.contains(block.getSlot()));
+            if (!fetch.done && range.to.getSlot() >= fetch.highSlot) {
+                break;
+            }
+            events.add(new RangeDoneEvent(range.index, fetch.counts.getOrDefault(range.index, 0L)));
+            nextInput++;
+        }
+    }
+
+    private static List<Integer> rangesOf(Fetch fetch, long slot) {
+        List<Integer> indexes = new ArrayList<>();
+        for (Range range : fetch.members) {
+            if (range.contains(slot)) {
+                indexes.add(range.index);
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+}
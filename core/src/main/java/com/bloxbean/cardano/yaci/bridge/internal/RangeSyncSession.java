@@ -1,46 +1,81 @@
 package com.bloxbean.cardano.yaci.bridge.internal;
 
 import com.bloxbean.cardano.yaci.bridge.api.EventCallback;
+import com.bloxbean.cardano.yaci.bridge.api.PayloadEventCallback;
 import com.bloxbean.cardano.yaci.bridge.event.*;
-import com.bloxbean.cardano.yaci.bridge.util.NativeString;
 import com.bloxbean.cardano.yaci.core.model.Block;
 import com.bloxbean.cardano.yaci.core.model.Era;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
 import com.bloxbean.cardano.yaci.helper.BlockRangeSync;
 import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
 import com.bloxbean.cardano.yaci.helper.model.Transaction;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import org.graalvm.nativeimage.UnmanagedMemory;
-import org.graalvm.nativeimage.c.type.CCharPointer;
-import org.graalvm.word.WordFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class RangeSyncSession {
+public class RangeSyncSession implements BridgeSession {
+
+    /** One from/to pair of a fetch-many request. */
+    public static final class FetchRange {
+        final Point from;
+        final Point to;
+
+        public FetchRange(Point from, Point to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
     private final int id;
+    private final long protocolMagic;
     private final BlockRangeSync blockRangeSync;
     private volatile boolean started;
     private volatile boolean initialized;
 
-    // Synchronous callback — invoked directly from Yaci's Netty thread
-    private EventCallback callback;
-    private volatile boolean callbackSet;
+    private final EventDispatcher dispatcher;
+
+    // Active fetch-many request; single-range fetches bypass it
+    private volatile RangeBatch batch;
+    // Active chunked fetch
+    private volatile ChunkedFetch chunked;
+    // Single-range fetches requested but not yet answered with batch_done or no_block_found
+    private int plainFetches;
 
     public RangeSyncSession(int id, String host, int port, long protocolMagic) {
         this.id = id;
+        this.protocolMagic = protocolMagic;
+        this.dispatcher = new EventDispatcher(id);
         this.blockRangeSync = new BlockRangeSync(host, port, protocolMagic);
         this.started = false;
         this.initialized = false;
     }
 
     public void setCallback(EventCallback cb) {
-        this.callback = cb;
-        this.callbackSet = true;
+        dispatcher.setCallback(cb);
+    }
+
+    public void setPayloadCallback(PayloadEventCallback cb) {
+        dispatcher.setPayloadCallback(cb);
     }
 
     public boolean hasCallback() {
-        return callbackSet;
+        return dispatcher.hasTarget();
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public long getProtocolMagic() {
+        return protocolMagic;
+    }
+
+    @Override
+    public EventDispatcher dispatcher() {
+        return dispatcher;
     }
 
     public void start() {
@@ -49,16 +84,100 @@ public class RangeSyncSession {
         initialized = true;
     }
 
-    public void fetch(Point from, Point to) {
+    public synchronized void fetch(Point from, Point to) {
+        checkNoBatch();
         blockRangeSync.fetch(from, to);
+        plainFetches++;
+    }
+
+    /**
+     * Fetches {@code from} to {@code to} as a series of block-fetch requests sized to the measured
+     * throughput; see {@link ChunkedFetch}. Chunk boundaries come from {@code index}, which may be
+     * null. The fetch is framed by {@code batch_started} and {@code batch_done} (or
+     * {@code fetch_cancelled}), with {@code range_progress} events every {@code progressEveryMillis}
+     * and once at the end. A chunk boundary that is not on the chain (a stale index) ends the fetch
+     * with {@code no_block_found} before the final progress and {@code fetch_cancelled}. Zero
+     * arguments select the defaults.
+     */
+    public synchronized void fetchChunked(Point from, Point to, PointIndex index, long initialChunkBlocks,
+                                          long targetChunkMillis, long progressEveryMillis) {
+        checkIdle();
+        ChunkedFetch fetch = new ChunkedFetch(from, to, index, initialChunkBlocks, targetChunkMillis,
+                progressEveryMillis);
+        chunked = fetch;
+        invokeCallback(new SyncEvent("batch_started"));
+        ChunkedFetch.Chunk first = fetch.nextChunk();
+        try {
+            blockRangeSync.fetch(first.from, first.to);
+        } catch (RuntimeException e) {
+            // Nothing was requested: free the session and close the batch_started already sent
+            fetch.cancel();
+            finishChunked(fetch);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops a chunked fetch after the chunk in flight, whose remaining blocks are dropped. The
+     * connection stays open for further fetches.
+     *
+     * @return false if no chunked fetch is in progress
+     */
+    public boolean cancelChunked() {
+        ChunkedFetch current = chunked;
+        if (current == null) {
+            return false;
+        }
+        current.cancel();
+        return true;
+    }
+
+    private void checkIdle() {
+        if (plainFetches > 0) {
+            throw new IllegalStateException("A fetch is in progress");
+        }
+        checkNoBatch();
+    }
+
+    private void checkNoBatch() {
+        if (batch != null) {
+            throw new IllegalStateException("A fetch-many request is in progress");
+        }
+        if (chunked != null) {
+            throw new IllegalStateException("A chunked fetch is in progress");
+        }
+    }
+
+    /**
+     * Fetches many ranges with as few block-fetch requests as possible; see {@link RangeBatch}.
+     *
+     * @return the number of block-fetch requests the ranges were merged into
+     */
+    public synchronized int fetchMany(List<FetchRange> ranges, long maxGapSlots) {
+        checkIdle();
+        List<RangeBatch.Range> inputs = new ArrayList<>(ranges.size());
+        for (FetchRange range : ranges) {
+            inputs.add(new RangeBatch.Range(inputs.size(), range.from, range.to));
+        }
+        RangeBatch newBatch = new RangeBatch(inputs, maxGapSlots);
+        batch = newBatch;
+        RangeBatch.Fetch first = newBatch.nextFetch();
+        try {
+            blockRangeSync.fetch(first.from, first.to);
+        } catch (RuntimeException e) {
+            batch = null;
+            throw e;
+        }
+        return newBatch.fetchCount();
     }
 
     public void stop() {
         started = false;
-        callbackSet = false;
+        dispatcher.close();
         blockRangeSync.stop();
     }
 
+    @Override
     public boolean isStarted() {
         return started;
     }
@@ -68,22 +187,75 @@ public class RangeSyncSession {
     }
 
     private void invokeCallback(SyncEvent event) {
-        if (!callbackSet) return;
+        dispatcher.dispatch(event);
+    }
 
-        CCharPointer ptr = WordFactory.nullPointer();
-        try {
-            String json = EventSerializer.serialize(event);
-            ptr = NativeString.toCString(json);
-            callback.invoke(id, ptr);
-        } catch (JsonProcessingException e) {
-            System.err.println("[yaci] Failed to serialize event: " + e.getMessage());
-        } finally {
-            if (ptr.isNonNull()) {
-                UnmanagedMemory.free(ptr);
-            }
+    /** Called when one merged range of a fetch-many request has been served. */
+    private synchronized void completeFetch(RangeBatch current) {
+        current.onFetchDone();
+        for (SyncEvent event : current.drain()) {
+            invokeCallback(event);
+        }
+        RangeBatch.Fetch next = current.nextFetch();
+        if (next != null) {
+            blockRangeSync.fetch(next.from, next.to);
+        } else {
+            batch = null;
+            invokeCallback(new SyncEvent("fetch_many_done"));
         }
     }
 
+    /** Called when one chunk of a chunked fetch has been served. */
+    private synchronized void completeChunk(ChunkedFetch current) {
+        current.chunkDone();
+        ChunkedFetch.Chunk next = current.nextChunk();
+        if (next != null) {
+            blockRangeSync.fetch(next.from, next.to);
+            return;
+        }
+        finishChunked(current);
+    }
+
+    /** Called when a chunk boundary is not on the chain; the rest of the range cannot be requested. */
+    private synchronized void chunkNotFound(ChunkedFetch current) {
+        invokeCallback(new SyncEvent("no_block_found"));
+        current.cancel();
+        finishChunked(current);
+    }
+
+    /** Called when a single-range fetch has been answered. */
+    private synchronized void completePlainFetch(SyncEvent event) {
+        if (plainFetches > 0) {
+            plainFetches--;
+        }
+        invokeCallback(event);
+    }
+
+    /**
+     * Requests still pending are abandoned with the connection. An unfinished fetch-many or chunked
+     * fetch is closed with {@code fetch_cancelled} (a chunked fetch after its final progress).
+     */
+    private synchronized void abandonFetches() {
+        RangeBatch current = batch;
+        ChunkedFetch fetch = chunked;
+        batch = null;
+        plainFetches = 0;
+        if (current != null) {
+            invokeCallback(new SyncEvent("fetch_cancelled"));
+        }
+        if (fetch != null) {
+            fetch.cancel();
+            finishChunked(fetch);
+        }
+    }
+
+    /** Ends a chunked fetch, closing its {@code batch_started} with the final progress. */
+    private void finishChunked(ChunkedFetch current) {
+        chunked = null;
+        invokeCallback(current.progress(true));
+        invokeCallback(new SyncEvent(current.isCancelled() ? "fetch_cancelled" : "batch_done"));
+    }
+
     private BlockChainDataListener createListener() {
         return new BlockChainDataListener() {
             @Override
@@ -94,8 +266,24 @@ public class RangeSyncSession {
                 String blockCbor = block.getCbor();
 
                 List<Transaction> txList = transactions != null ? transactions : Collections.emptyList();
-                invokeCallback(new BlockEvent(
-                        era.name(), slot, hash, blockNumber, blockCbor, txList));
+                BlockEvent event = new BlockEvent(era.name(), slot, hash, blockNumber, blockCbor, txList);
+                RangeBatch current = batch;
+                ChunkedFetch fetch = chunked;
+                if (current != null) {
+                    for (SyncEvent ready : current.onBlock(event)) {
+                        invokeCallback(ready);
+                    }
+                } else if (fetch != null) {
+                    if (fetch.accept(event)) {
+                        invokeCallback(event);
+                        RangeProgressEvent progress = fetch.progressIfDue();
+                        if (progress != null) {
+                            invokeCallback(progress);
+                        }
+                    }
+                } else {
+                    invokeCallback(event);
+                }
             }
 
             @Override
@@ -107,23 +295,43 @@ public class RangeSyncSession {
             public void onDisconnect() {
                 // Ignore disconnect events during agent initialization
                 if (initialized) {
+                    abandonFetches();
                     invokeCallback(new DisconnectEvent());
                 }
             }
 
             @Override
             public void batchStarted() {
-                invokeCallback(new SyncEvent("batch_started"));
+                if (batch == null && chunked == null) {
+                    invokeCallback(new SyncEvent("batch_started"));
+                }
             }
 
             @Override
             public void batchDone() {
-                invokeCallback(new SyncEvent("batch_done"));
+                RangeBatch current = batch;
+                ChunkedFetch fetch = chunked;
+                if (current != null) {
+                    completeFetch(current);
+                } else if (fetch != null) {
+                    completeChunk(fetch);
+                } else {
+                    completePlainFetch(new SyncEvent("batch_done"));
+                }
             }
 
             @Override
             public void noBlockFound(Point from, Point to) {
-                invokeCallback(new SyncEvent("no_block_found"));
+                RangeBatch current = batch;
+                ChunkedFetch fetch = chunked;
+                if (current != null) {
+                    completeFetch(current);
+                } else if (fetch != null) {
+                    // A chunk boundary from a stale index is not on the chain; the chunked fetch ends here
+                    chunkNotFound(fetch);
+                } else {
+                    completePlainFetch(new SyncEvent("no_block_found"));
+                }
             }
         };
     }
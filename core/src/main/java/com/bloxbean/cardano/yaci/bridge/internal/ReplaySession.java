@@ -0,0 +1,143 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.api.EventCallback;
+import com.bloxbean.cardano.yaci.bridge.api.PayloadEventCallback;
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.ReplayDoneEvent;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Replays recorded blocks through a session's dispatcher without a relay connection, so the
+ * delivery path (encoding, callbacks, queues, sinks) can be exercised and measured offline.
+ * <p>
+ * The recording is a file of block CBOR records, each prefixed with its 4-byte big-endian length.
+ * Blocks are decoded when the session is created; {@link #start} dispatches them from a bridge
+ * thread, like events from the network, and finishes with a {@code replay_done} event.
+ */
+public class ReplaySession implements BridgeSession {
+    private static final int MAX_RECORD = 64 * 1024 * 1024;
+
+    private final int id;
+    private final long protocolMagic;
+    private final List<BlockEvent> blocks;
+    private final EventDispatcher dispatcher;
+    private volatile boolean started;
+    private volatile boolean stopRequested;
+    private Thread worker;
+
+    public ReplaySession(int id, long protocolMagic, List<BlockEvent> blocks) {
+        this.id = id;
+        this.protocolMagic = protocolMagic;
+        this.blocks = blocks;
+        this.dispatcher = new EventDispatcher(id);
+    }
+
+    /**
+     * Reads and decodes a recording.
+     */
+    public static List<BlockEvent> load(Path file) throws IOException {
+        List<BlockEvent> blocks = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD) {
+                    throw new IOException("Bad record length " + length + " at block " + blocks.size());
+                }
+                byte[] cbor = new byte[length];
+                in.readFully(cbor);
+                blocks.add(PayloadDecoder.blockEvent(cbor));
+            }
+        }
+        return Collections.unmodifiableList(blocks);
+    }
+
+    public int blockCount() {
+        return blocks.size();
+    }
+
+    public void setCallback(EventCallback cb) {
+        dispatcher.setCallback(cb);
+    }
+
+    public void setPayloadCallback(PayloadEventCallback cb) {
+        dispatcher.setPayloadCallback(cb);
+    }
+
+    public boolean hasCallback() {
+        return dispatcher.hasTarget();
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public long getProtocolMagic() {
+        return protocolMagic;
+    }
+
+    @Override
+    public EventDispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Dispatches the recording {@code repeat} times on a new thread and returns immediately.
+     */
+    public synchronized void start(int repeat) {
+        started = true;
+        worker = new Thread(() -> replay(repeat), "yaci-replay-" + id);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        stopRequested = true;
+        // Releases a worker waiting on a full event queue
+        dispatcher.close();
+        if (worker != null) {
+            try {
+                worker.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        started = false;
+    }
+
+    private void replay(int repeat) {
+        long startNanos = System.nanoTime();
+        long dispatched = 0;
+        for (int r = 0; r < repeat && !stopRequested; r++) {
+            for (BlockEvent block : blocks) {
+                if (stopRequested) break;
+                dispatcher.dispatch(block);
+                dispatched++;
+            }
+        }
+        if (!stopRequested) {
+            dispatcher.dispatch(new ReplayDoneEvent(dispatched, (System.nanoTime() - startNanos) / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.RingLagEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Publishes encoded events into a memory-mapped ring file that other processes read with their
+ * own cursors. One producer, any number of consumers; the producer never waits for them.
+ * <p>
+ * Layout (little-endian): a 4096-byte header, then {@code capacity} bytes of records.
+ * Header: magic, version, capacity, write position, tail position, next sequence, heartbeat
+ * millis, closed flag, generation, then {@value #MAX_CONSUMERS} consumer slots of (pid, position, last seen
+ * millis, drops). Positions are monotonic byte offsets; a record at position p lives at
+ * {@code p % capacity}. Records are {@code [int length][int flags][long seq][JSON]}, padded to 8 bytes;
+ * a length of -1 means "continue at the start of the ring". An event too large for the ring is
+ * replaced by a record with flag {@value #FLAG_SKIPPED} and no JSON, so it still takes its sequence
+ * number and readers count it as lost.
+ * <p>
+ * Before overwriting, the producer moves the tail past every record it is about to destroy, so a
+ * reader whose cursor is below the tail (before or after copying a record) knows it was overrun.
+ * The producer reports such consumers once per overrun with a {@code ring_lag} event.
+ */
+public final class RingPublisher implements Closeable {
+    static final int MAX_CONSUMERS = 64;
+
+    private static final int MAGIC = 0x59524E47; // "YRNG"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4096;
+    public static final long MIN_CAPACITY = 64 * 1024;
+    // Header and records share one mapping, which is limited to Integer.MAX_VALUE bytes
+    public static final long MAX_CAPACITY = Integer.MAX_VALUE - HEADER_SIZE;
+    public static final String CAPACITY_RANGE = "Ring capacity must be between 64 KiB and 2 GiB minus 4 KiB";
+    private static final int RECORD_HEADER = 16;
+    private static final int WRAP = -1;
+    static final int FLAG_SKIPPED = 1;
+
+    private static final int OFF_CAPACITY = 8;
+    private static final int OFF_WRITE = 16;
+    private static final int OFF_TAIL = 24;
+    private static final int OFF_SEQ = 32;
+    private static final int OFF_HEARTBEAT = 40;
+    private static final int OFF_CLOSED = 48;
+    private static final int OFF_GENERATION = 56;
+    private static final int OFF_CONSUMERS = 64;
+    private static final int CONSUMER_SIZE = 32;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final long capacity;
+    private final Consumer<RingLagEvent> onLag;
+    // Last overrun position reported per consumer slot, so each overrun is reported once
+    private final long[] reported = new long[MAX_CONSUMERS];
+    private long writePos;
+    private long tailPos;
+    private long seq;
+    private long skipped;
+    private boolean closed;
+
+    public RingPublisher(Path file, long capacity, Consumer<RingLagEvent> onLag) throws IOException {
+        if (capacity < MIN_CAPACITY || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(CAPACITY_RANGE);
+        }
+        this.file = file;
+        this.capacity = capacity & ~7L;
+        this.onLag = onLag;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // The file is reused rather than truncated, so readers that still map it are never cut off;
+        // a new generation tells them the ring restarted
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean existing = channel.size() >= HEADER_SIZE;
+        this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + this.capacity);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        long generation = existing && map.getInt(0) == MAGIC ? map.getLong(OFF_GENERATION) + 1 : 1;
+        map.putInt(4, VERSION);
+        map.putLong(OFF_CAPACITY, this.capacity);
+        LONGS.setRelease(map, OFF_WRITE, 0L);
+        LONGS.setRelease(map, OFF_TAIL, 0L);
+        LONGS.setRelease(map, OFF_SEQ, 0L);
+        LONGS.setRelease(map, OFF_CLOSED, 0L);
+        LONGS.setRelease(map, OFF_HEARTBEAT, System.currentTimeMillis());
+        LONGS.setRelease(map, OFF_GENERATION, generation);
+        map.putInt(0, MAGIC);
+        Arrays.fill(reported, -1);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends one encoded event. An event larger than half the ring is replaced by a skipped record.
+     */
+    public synchronized void publish(byte[] json) {
+        if (closed) return;
+        if (align(RECORD_HEADER + json.length) > capacity / 2) {
+            System.err.println("[yaci] Event of " + json.length + " bytes does not fit ring " + file
+                    + ", publishing it as skipped");
+            skipped++;
+            append(FLAG_SKIPPED, new byte[0]);
+        } else {
+            append(0, json);
+        }
+        checkConsumers();
+    }
+
+    private void append(int flags, byte[] json) {
+        long need = align(RECORD_HEADER + json.length);
+        long offset = writePos % capacity;
+        long wrapSkip = offset + need > capacity ? capacity - offset : 0;
+        long end = writePos + wrapSkip + need;
+
+        // Destroying [writePos, end - capacity) of the previous lap: move the tail past it first
+        advanceTail(end - capacity);
+        if (wrapSkip > 0) {
+            if (wrapSkip >= 4) {
+                map.putInt(HEADER_SIZE + (int) offset, WRAP);
+            }
+            writePos += wrapSkip;
+            offset = 0;
+        }
+        int base = HEADER_SIZE + (int) offset;
+        map.putInt(base, json.length);
+        map.putInt(base + 4, flags);
+        map.putLong(base + 8, seq);
+        map.put(base + RECORD_HEADER, json);
+        writePos += need;
+        seq++;
+        LONGS.setRelease(map, OFF_SEQ, seq);
+        LONGS.setRelease(map, OFF_WRITE, writePos);
+        LONGS.setRelease(map, OFF_HEARTBEAT, System.currentTimeMillis());
+    }
+
+    /**
+     * Per-consumer cursors: {@code {"writePosition", "tailPosition", "sequence", "skipped", "consumers": [...]}}
+     * where each attached consumer has slot, pid, position, lagBytes, overrun and drops.
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("writePosition", writePos);
+        stats.put("tailPosition", tailPos);
+        stats.put("sequence", seq);
+        stats.put("skipped", skipped);
+        stats.put("capacity", capacity);
+        List<Map<String, Object>> consumers = new ArrayList<>();
+        for (int i = 0; i < MAX_CONSUMERS; i++) {
+            int slot = OFF_CONSUMERS + i * CONSUMER_SIZE;
+            long pid = (long) LONGS.getAcquire(map, slot);
+            if (pid == 0) continue;
+            long position = (long) LONGS.getAcquire(map, slot + 8);
+            Map<String, Object> c = new LinkedHashMap<>();
+            c.put("slot", i);
+            c.put("pid", pid);
+            c.put("position", position);
+            c.put("lagBytes", writePos - position);
+            c.put("overrun", position < tailPos);
+            c.put("lastSeenMillis", (long) LONGS.getAcquire(map, slot + 16));
+            c.put("drops", (long) LONGS.getAcquire(map, slot + 24));
+            consumers.add(c);
+        }
+        stats.put("consumers", consumers);
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        LONGS.setRelease(map, OFF_CLOSED, 1L);
+        map.force();
+        channel.close();
+    }
+
+    private void advanceTail(long limit) {
+        while (tailPos < limit && tailPos < writePos) {
+            long offset = tailPos % capacity;
+            int length = capacity - offset >= 4 ? map.getInt(HEADER_SIZE + (int) offset) : WRAP;
+            tailPos += length == WRAP ? capacity - offset : align(RECORD_HEADER + length);
+        }
+        if (tailPos < limit) {
+            tailPos = limit;
+        }
+        LONGS.setRelease(map, OFF_TAIL, tailPos);
+    }
+
+    private void checkConsumers() {
+        for (int i = 0; i < MAX_CONSUMERS; i++) {
+            int slot = OFF_CONSUMERS + i * CONSUMER_SIZE;
+            if ((long) LONGS.getAcquire(map, slot) == 0) continue;
+            long position = (long) LONGS.getAcquire(map, slot + 8);
+            if (position < tailPos && position != reported[i]) {
+                reported[i] = position;
+                onLag.accept(new RingLagEvent(i, position, tailPos, tailPos - position));
+            }
+        }
+    }
+
+    private static long align(long n) {
+        return (n + 7) & ~7L;
+    }
+}
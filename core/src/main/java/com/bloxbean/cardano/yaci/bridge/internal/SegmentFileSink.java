@@ -0,0 +1,189 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.SegmentClosedEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SinkErrorEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes encoded events into rotating, size-bounded segment files.
+ * <p>
+ * A segment is written as {@code <prefix>-<seq>.<ext>.part} and renamed once closed, so readers
+ * only ever see complete segments. Segments rotate when the uncompressed bytes written reach
+ * {@code maxSegmentBytes}; data is fsynced every {@code fsyncEvery} events and on every rotation.
+ * <p>
+ * A segment that fails to write is abandoned and reported with a {@code sink_error} event; it keeps
+ * its {@code .part} name and the next event starts a new segment.
+ */
+public class SegmentFileSink {
+    public static final int FORMAT_NDJSON = 0;
+    // Each event as a 4-byte big-endian length followed by the UTF-8 JSON bytes
+    public static final int FORMAT_BINARY = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxSegmentBytes;
+    private final int format;
+    private final boolean compress;
+    private final int fsyncEvery;
+    // Receives segment_closed and sink_error events
+    private final Consumer<SyncEvent> onSegmentEvent;
+
+    private long sequence;
+    private FileOutputStream fileOut;
+    private OutputStream out;
+    private Path partPath;
+    private long segmentEvents;
+    private long segmentBytes;
+    private long unsyncedEvents;
+    private Long firstSlot;
+    private Long lastSlot;
+    private boolean closed;
+
+    public SegmentFileSink(Path directory, String prefix, long maxSegmentBytes, int format,
+                           boolean compress, int fsyncEvery,
+                           Consumer<SyncEvent> onSegmentEvent) throws IOException {
+        if (format != FORMAT_NDJSON && format != FORMAT_BINARY) {
+            throw new IllegalArgumentException("Unknown sink format: " + format);
+        }
+        if (maxSegmentBytes <= 0) {
+            throw new IllegalArgumentException("Max segment size must be > 0");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.format = format;
+        this.compress = compress;
+        this.fsyncEvery = fsyncEvery > 0 ? fsyncEvery : 1000;
+        this.onSegmentEvent = onSegmentEvent;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Append one encoded event. {@code slot} is negative for events without a chain position.
+     * Write failures are reported as {@code sink_error}, not thrown.
+     */
+    public synchronized void write(byte[] json, long slot) {
+        if (closed) return;
+        if (out == null) {
+            nextSegment();
+        }
+        // Counted up front so a failure below reports this event as lost too
+        segmentEvents++;
+        if (slot >= 0) {
+            if (firstSlot == null) firstSlot = slot;
+            lastSlot = slot;
+        }
+        try {
+            append(json);
+        } catch (IOException e) {
+            abandonSegment(e);
+        }
+    }
+
+    private void append(byte[] json) throws IOException {
+        if (out == null) {
+            openSegment();
+        }
+        if (format == FORMAT_BINARY) {
+            out.write(json.length >>> 24);
+            out.write(json.length >>> 16);
+            out.write(json.length >>> 8);
+            out.write(json.length);
+            out.write(json);
+            segmentBytes += 4 + json.length;
+        } else {
+            out.write(json);
+            out.write('\n');
+            segmentBytes += json.length + 1;
+        }
+
+        if (segmentBytes >= maxSegmentBytes) {
+            closeSegment();
+        } else if (++unsyncedEvents >= fsyncEvery) {
+            sync();
+        }
+    }
+
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            abandonSegment(e);
+        }
+    }
+
+    /** Starts the bookkeeping for a new segment; its file is opened by the first write. */
+    private void nextSegment() {
+        sequence++;
+        String ext = (format == FORMAT_BINARY ? ".bin" : ".ndjson") + (compress ? ".gz" : "");
+        partPath = directory.resolve(String.format("%s-%08d%s.part", prefix, sequence, ext));
+        segmentEvents = 0;
+        segmentBytes = 0;
+        unsyncedEvents = 0;
+        firstSlot = null;
+        lastSlot = null;
+    }
+
+    private void openSegment() throws IOException {
+        fileOut = new FileOutputStream(partPath.toFile());
+        OutputStream buffered = new BufferedOutputStream(fileOut, BUFFER_SIZE);
+        out = compress ? new GZIPOutputStream(buffered, BUFFER_SIZE, true) : buffered;
+    }
+
+    /**
+     * Gives up on the current segment after a failed write. Its file is closed without being
+     * renamed, so readers never take it for complete, and the next write starts a new segment.
+     */
+    private void abandonSegment(IOException e) {
+        try {
+            if (out != null) {
+                out.close();
+            } else if (fileOut != null) {
+                fileOut.close();
+            }
+        } catch (IOException ignored) {
+            // Already failing; the sink_error below reports the segment
+        }
+        out = null;
+        fileOut = null;
+        onSegmentEvent.accept(new SinkErrorEvent(String.valueOf(e.getMessage()), partPath.toString(),
+                segmentEvents, firstSlot, lastSlot));
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        fileOut.getChannel().force(false);
+        unsyncedEvents = 0;
+    }
+
+    private void closeSegment() throws IOException {
+        if (out == null) return;
+        if (out instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) out).finish();
+        }
+        sync();
+        out.close();
+        out = null;
+        fileOut = null;
+
+        String name = partPath.getFileName().toString();
+        Path finalPath = partPath.resolveSibling(name.substring(0, name.length() - ".part".length()));
+        Files.move(partPath, finalPath, StandardCopyOption.ATOMIC_MOVE);
+        onSegmentEvent.accept(new SegmentClosedEvent(finalPath.toString(),
+                segmentEvents, segmentBytes, firstSlot, lastSlot));
+    }
+}
@@ -8,6 +8,8 @@ public final class SessionRegistry {
     private static final AtomicInteger nextId = new AtomicInteger(1);
     private static final ConcurrentHashMap<Integer, SyncSession> syncSessions = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Integer, RangeSyncSession> rangeSessions = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, HeaderSyncSession> headerSessions = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Integer, ReplaySession> replaySessions = new ConcurrentHashMap<>();
 
     private SessionRegistry() {}
 
@@ -38,4 +40,42 @@ public final class SessionRegistry {
     public static RangeSyncSession removeRange(int id) {
         return rangeSessions.remove(id);
     }
+
+    public static void putHeader(int id, HeaderSyncSession session) {
+        headerSessions.put(id, session);
+    }
+
+    public static HeaderSyncSession getHeader(int id) {
+        return headerSessions.get(id);
+    }
+
+    public static HeaderSyncSession removeHeader(int id) {
+        return headerSessions.remove(id);
+    }
+
+    public static void putReplay(int id, ReplaySession session) {
+        replaySessions.put(id, session);
+    }
+
+    public static ReplaySession getReplay(int id) {
+        return replaySessions.get(id);
+    }
+
+    public static ReplaySession removeReplay(int id) {
+        return replaySessions.remove(id);
+    }
+
+    /**
+     * Look up a session of any type.
+     */
+    public static BridgeSession get(int id) {
+        BridgeSession session = syncSessions.get(id);
+        if (session == null) {
+            session = rangeSessions.get(id);
+        }
+        if (session == null) {
+            session = headerSessions.get(id);
+        }
+        return session != null ? session : replaySessions.get(id);
+    }
 }
@@ -0,0 +1,102 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Daemon thread that reports a stalled connection: no progress for {@code stallTimeoutMs}, or
+ * an explicit {@link #trigger} from a disconnect or failed keep-alive. Time spent while
+ * {@code busy} (the consumer still handling an event) does not count as a stall. The handler
+ * runs on the watchdog thread, so it may block while it reconnects; the stall clock restarts
+ * afterwards.
+ */
+class StallWatchdog {
+    private final String name;
+    private final long stallTimeoutMs;
+    private final BooleanSupplier busy;
+    private final Consumer<String> onStall;
+    private final Object lock = new Object();
+    private Thread thread;
+    private volatile boolean running;
+    private volatile long lastProgressNanos;
+    // Guarded by lock; reason passed to the next handler run, null if none is pending
+    private String triggered;
+
+    StallWatchdog(String name, long stallTimeoutMs, BooleanSupplier busy, Consumer<String> onStall) {
+        this.name = name;
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.busy = busy;
+        this.onStall = onStall;
+    }
+
+    void start() {
+        running = true;
+        lastProgressNanos = System.nanoTime();
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Called whenever chain-sync makes progress. */
+    void progress() {
+        lastProgressNanos = System.nanoTime();
+    }
+
+    void trigger(String reason) {
+        synchronized (lock) {
+            if (triggered == null) {
+                triggered = reason;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null && t != Thread.currentThread()) {
+            t.interrupt();
+            try {
+                t.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+
+    private void run() {
+        long timeoutNanos = stallTimeoutMs * 1_000_000L;
+        while (running) {
+            String reason;
+            synchronized (lock) {
+                try {
+                    while (running && triggered == null) {
+                        if (busy.getAsBoolean()) {
+                            progress();
+                        }
+                        long idle = System.nanoTime() - lastProgressNanos;
+                        if (idle >= timeoutNanos) {
+                            triggered = "stall";
+                            break;
+                        }
+                        long waitMs = Math.max(1, (timeoutNanos - idle) / 1_000_000L);
+                        lock.wait(waitMs);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                reason = triggered;
+                triggered = null;
+            }
+            if (!running || reason == null) return;
+            try {
+                onStall.accept(reason);
+            } catch (Exception e) {
+                System.err.println("[yaci] Watchdog reconnect failed: " + e.getMessage());
+            }
+            progress();
+        }
+    }
+}
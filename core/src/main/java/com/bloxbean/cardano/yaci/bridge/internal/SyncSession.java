@@ -1,26 +1,35 @@
 package com.bloxbean.cardano.yaci.bridge.internal;
 
 import com.bloxbean.cardano.yaci.bridge.api.EventCallback;
+import com.bloxbean.cardano.yaci.bridge.api.PayloadEventCallback;
 import com.bloxbean.cardano.yaci.bridge.event.*;
-import com.bloxbean.cardano.yaci.bridge.util.NativeString;
 import com.bloxbean.cardano.yaci.core.model.Block;
 import com.bloxbean.cardano.yaci.core.model.Era;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.helper.BlockRangeSync;
 import com.bloxbean.cardano.yaci.helper.BlockSync;
+import com.bloxbean.cardano.yaci.helper.TipFinder;
 import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
 import com.bloxbean.cardano.yaci.helper.model.Transaction;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import org.graalvm.nativeimage.UnmanagedMemory;
-import org.graalvm.nativeimage.c.type.CCharPointer;
-import org.graalvm.word.WordFactory;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class SyncSession {
+public class SyncSession implements BridgeSession {
     private final int id;
+    private final String host;
+    private final int port;
+    private final long protocolMagic;
+    private final Point wellKnownPoint;
     private final BlockSync blockSync;
     private volatile boolean started;
     // Suppresses disconnect events fired during agent initialization (before handshake)
@@ -28,31 +37,74 @@ public class SyncSession {
     // Ensures only one DisconnectEvent per connection loss; reset when data flows again
     private final AtomicBoolean disconnectSent = new AtomicBoolean(false);
 
-    // Synchronous callback — invoked directly from Yaci's Netty thread
-    private EventCallback callback;
-    private volatile boolean callbackSet;
+    private final EventDispatcher dispatcher;
 
     // Keep-alive fields
     private long keepAliveIntervalMs = 5000;
-    private Thread keepAliveThread;
-    private volatile boolean keepAliveRunning;
+    private KeepAliveLoop keepAlive;
+
+    // Follower window: > 1 switches following to the header-first WindowedChainFollower
+    private int followerWindow = 1;
+    private volatile WindowedChainFollower follower;
+
+    // Catch-up fields: bulk range fetch used before switching to chain-sync
+    private volatile BlockRangeSync catchUpSync;
+    // Point the follow phase resumed from; the chain-sync rollback to it is not forwarded
+    private volatile Point seamPoint;
+
+    // Watchdog fields: 0 disables; otherwise stalls and drops are repaired in place
+    private long stallTimeoutMs;
+    private int resumePointCount = 8;
+    private volatile StallWatchdog watchdog;
+    // Recently delivered block points, newest last; guards generation changes too
+    private final Deque<Point> recentPoints = new ArrayDeque<>();
+    // Point following started from; the oldest intersection candidate on reconnect
+    private volatile Point followPoint;
+    // Bumped by every reconnect; callbacks from replaced connections are ignored
+    private volatile int generation;
+    // Set while a reconnect waits for chain-sync to find the intersection
+    private volatile Reconnect reconnecting;
+    // Follow-phase events being handled by the consumer; a slow consumer is not a stalled relay
+    private final AtomicInteger delivering = new AtomicInteger();
 
     public SyncSession(int id, String host, int port, long protocolMagic,
                        long wellKnownSlot, String wellKnownHash) {
         this.id = id;
-        Point wellKnownPoint = new Point(wellKnownSlot, wellKnownHash);
+        this.host = host;
+        this.port = port;
+        this.protocolMagic = protocolMagic;
+        this.dispatcher = new EventDispatcher(id);
+        this.wellKnownPoint = new Point(wellKnownSlot, wellKnownHash);
         this.blockSync = new BlockSync(host, port, protocolMagic, wellKnownPoint);
         this.started = false;
         this.initialized = false;
     }
 
     public void setCallback(EventCallback cb) {
-        this.callback = cb;
-        this.callbackSet = true;
+        dispatcher.setCallback(cb);
+    }
+
+    public void setPayloadCallback(PayloadEventCallback cb) {
+        dispatcher.setPayloadCallback(cb);
     }
 
     public boolean hasCallback() {
-        return callbackSet;
+        return dispatcher.hasTarget();
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public long getProtocolMagic() {
+        return protocolMagic;
+    }
+
+    @Override
+    public EventDispatcher dispatcher() {
+        return dispatcher;
     }
 
     public void setKeepAliveInterval(long ms) {
@@ -62,111 +114,468 @@ public class SyncSession {
         this.keepAliveIntervalMs = ms;
     }
 
+    /**
+     * Maximum number of headers buffered ahead of delivered blocks while their bodies are fetched
+     * in batched ranges. 1 keeps the default one-block-at-a-time BlockSync behaviour.
+     */
+    public void setFollowerWindow(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Follower window must be >= 1");
+        }
+        this.followerWindow = window;
+    }
+
+    /**
+     * Watch the follow phase for stalls: no chain-sync progress for {@code stallTimeoutMs}, a
+     * failed keep-alive or a dropped connection. The connection is then replaced in place,
+     * intersecting on the last {@code resumePoints} delivered blocks, and a {@code reconnected}
+     * event reports the outage instead of a {@code disconnect}. Delivery resumes after the last
+     * delivered block, so no block is repeated or skipped. 0 disables the watchdog.
+     */
+    public void setWatchdog(long stallTimeoutMs, int resumePoints) {
+        if (stallTimeoutMs < 0) {
+            throw new IllegalArgumentException("Stall timeout must be >= 0");
+        }
+        if (resumePoints < 1) {
+            throw new IllegalArgumentException("Resume points must be >= 1");
+        }
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.resumePointCount = resumePoints;
+    }
+
     public void start(Point fromPoint) {
         started = true;
-        // startSync blocks until handshake completes; agent.disconnected() fires during init
-        blockSync.startSync(fromPoint, createListener());
-        initialized = true;
-        startKeepAlive();
+        follow(fromPoint);
     }
 
     public void startFromTip() {
         started = true;
-        blockSync.startSyncFromTip(createListener());
+        if (followerWindow > 1) {
+            follow(findTip(30000).getPoint());
+            return;
+        }
+        blockSync.startSyncFromTip(createListener(generation));
         initialized = true;
         startKeepAlive();
+        startWatchdog();
+    }
+
+    /**
+     * Backfills from {@code fromPoint} to the current tip with a single block-fetch range, then
+     * switches to chain-sync from the last fetched block. Blocks after {@code fromPoint} are
+     * delivered exactly once across the seam.
+     *
+     * @param progressEvery emit a {@code backfill} progress event every N blocks (0 to disable)
+     */
+    public void startWithCatchUp(Point fromPoint, long tipTimeoutMs, long progressEvery) {
+        started = true;
+        Tip tip = findTip(tipTimeoutMs);
+        Point tipPoint = tip.getPoint();
+        if (tipPoint.getSlot() <= fromPoint.getSlot()) {
+            // Already at (or past) the tip — nothing to backfill
+            follow(fromPoint);
+            return;
+        }
+
+        CatchUp catchUp = new CatchUp(fromPoint, tip, progressEvery);
+        invokeCallback(catchUp.progress("started"));
+        BlockRangeSync rangeSync = new BlockRangeSync(host, port, protocolMagic);
+        catchUpSync = rangeSync;
+        rangeSync.start(createCatchUpListener(catchUp));
+        initialized = true;
+        rangeSync.fetch(fromPoint, tipPoint);
     }
 
     public void stop() {
         started = false;
-        callbackSet = false;
-        stopKeepAlive();
-        blockSync.stop();
+        // Outside the monitor: a reconnect in progress holds it
+        StallWatchdog w = watchdog;
+        watchdog = null;
+        if (w != null) {
+            w.stop();
+        }
+        synchronized (this) {
+            dispatcher.close();
+            stopKeepAlive();
+            stopCatchUp();
+            if (follower != null) {
+                follower.stop();
+            }
+            blockSync.stop();
+        }
     }
 
+    @Override
     public boolean isStarted() {
         return started;
     }
 
     public boolean isRunning() {
-        return blockSync.isRunning();
+        return follower != null ? follower.isRunning() : blockSync.isRunning();
     }
 
-    private void invokeCallback(SyncEvent event) {
-        if (!callbackSet) return;
+    private void follow(Point fromPoint) {
+        followPoint = fromPoint;
+        connect(fromPoint, generation);
+        initialized = true;
+        startKeepAlive();
+        startWatchdog();
+    }
+
+    /** Starts chain-sync from {@code fromPoint}; blocks until the handshake completes. */
+    private void connect(Point fromPoint, int gen) {
+        if (followerWindow > 1) {
+            WindowedChainFollower f = new WindowedChainFollower(host, port, protocolMagic, followerWindow,
+                    createListener(gen));
+            follower = f;
+            f.start(fromPoint);
+        } else {
+            // startSync blocks until handshake completes; agent.disconnected() fires during init
+            blockSync.startSync(fromPoint, createListener(gen));
+        }
+    }
+
+    private void startWatchdog() {
+        if (stallTimeoutMs > 0 && watchdog == null) {
+            StallWatchdog w = new StallWatchdog("yaci-watchdog-" + id, stallTimeoutMs,
+                    () -> delivering.get() > 0, this::reconnect);
+            watchdog = w;
+            w.start();
+        }
+    }
+
+    /**
+     * Runs on the watchdog thread. Replaces the connection with a windowed follower that
+     * intersects on the recent points, newest first; the first rollback it reports is the
+     * intersection and completes the reconnect.
+     */
+    private void reconnect(String reason) {
+        synchronized (this) {
+            if (!started) {
+                return;
+            }
+            List<Point> points;
+            synchronized (recentPoints) {
+                generation++;
+                points = new ArrayList<>(recentPoints);
+            }
+            Collections.reverse(points);
+            Point start = followPoint;
+            if (start != null && !points.contains(start)) {
+                points.add(start);
+            }
+            if (points.isEmpty()) {
+                // Followed from the tip and nothing delivered yet
+                points.add(findTip(30000).getPoint());
+            }
+
+            Reconnect previous = reconnecting;
+            Reconnect current = previous != null
+                    ? new Reconnect(previous.reason, previous.startNanos, previous.attempts + 1)
+                    : new Reconnect(reason, System.nanoTime(), 1);
+            reconnecting = current;
+            Point newest = points.get(0);
+            invokeCallback(new ReconnectingEvent(current.reason, current.attempts, newest.getSlot(), newest.getHash()));
 
-        CCharPointer ptr = WordFactory.nullPointer();
+            stopKeepAlive();
+            WindowedChainFollower old = follower;
+            if (old != null) {
+                old.stop();
+            } else {
+                blockSync.stop();
+            }
+            seamPoint = points.get(0);
+            follower = new WindowedChainFollower(host, port, protocolMagic, followerWindow,
+                    createListener(generation));
+            follower.start(points.toArray(new Point[0]));
+            startKeepAlive();
+        }
+    }
+
+    /** Records a delivered block unless its connection has been replaced. */
+    private boolean acceptBlock(int gen, BlockEvent event) {
+        synchronized (recentPoints) {
+            if (gen != generation) {
+                return false;
+            }
+            if (stallTimeoutMs > 0) {
+                recentPoints.addLast(new Point(event.getSlot(), event.getHash()));
+                while (recentPoints.size() > resumePointCount) {
+                    recentPoints.removeFirst();
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Drops recent points undone by a rollback unless its connection has been replaced. */
+    private boolean acceptRollback(int gen, Point point) {
+        synchronized (recentPoints) {
+            if (gen != generation) {
+                return false;
+            }
+            for (Iterator<Point> it = recentPoints.iterator(); it.hasNext(); ) {
+                if (it.next().getSlot() > point.getSlot()) {
+                    it.remove();
+                }
+            }
+            return true;
+        }
+    }
+
+    private void progress() {
+        StallWatchdog w = watchdog;
+        if (w != null) {
+            w.progress();
+        }
+    }
+
+    private void deliverFollowed(SyncEvent event) {
+        delivering.incrementAndGet();
         try {
-            String json = EventSerializer.serialize(event);
-            ptr = NativeString.toCString(json);
-            callback.invoke(id, ptr);
-        } catch (JsonProcessingException e) {
-            System.err.println("[yaci] Failed to serialize event: " + e.getMessage());
+            invokeCallback(event);
         } finally {
-            if (ptr.isNonNull()) {
-                UnmanagedMemory.free(ptr);
+            delivering.decrementAndGet();
+            progress();
+        }
+    }
+
+    private Tip findTip(long timeoutMs) {
+        TipFinder tipFinder = new TipFinder(host, port, wellKnownPoint, protocolMagic);
+        try {
+            Tip tip = tipFinder.find().block(Duration.ofMillis(timeoutMs > 0 ? timeoutMs : 30000));
+            if (tip == null) {
+                throw new IllegalStateException("Tip finder returned null");
             }
+            return tip;
+        } finally {
+            tipFinder.shutdown();
         }
     }
 
-    private void startKeepAlive() {
-        keepAliveRunning = true;
-        keepAliveThread = new Thread(() -> {
-            Random random = new Random();
-            while (keepAliveRunning) {
-                try {
-                    Thread.sleep(keepAliveIntervalMs);
-                    if (keepAliveRunning) {
-                        blockSync.sendKeepAliveMessage(random.nextInt(60001));
+    private void invokeCallback(SyncEvent event) {
+        dispatcher.dispatch(event);
+    }
+
+    private void stopCatchUp() {
+        BlockRangeSync rangeSync = catchUpSync;
+        catchUpSync = null;
+        if (rangeSync != null) {
+            rangeSync.stop();
+        }
+    }
+
+    /**
+     * Called on a yaci I/O thread when the backfill range completes; the switch runs on its own
+     * thread because starting chain-sync blocks until the handshake is done. The handshake runs
+     * outside the session monitor so {@link #stop()} and listener calls are not held up by it.
+     */
+    private void handOff(CatchUp catchUp) {
+        if (!catchUp.handedOff.compareAndSet(false, true)) {
+            return;
+        }
+        Point resumePoint = catchUp.lastPoint;
+        invokeCallback(catchUp.progress("handoff"));
+
+        Thread handoffThread = new Thread(() -> {
+            int gen;
+            synchronized (this) {
+                stopCatchUp();
+                if (!started) {
+                    return;
+                }
+                seamPoint = resumePoint;
+                followPoint = resumePoint;
+                gen = generation;
+            }
+            try {
+                connect(resumePoint, gen);
+            } catch (Exception e) {
+                if (started) {
+                    System.err.println("[yaci] Catch-up handoff failed: " + e.getMessage());
+                    if (disconnectSent.compareAndSet(false, true)) {
+                        invokeCallback(new DisconnectEvent());
                     }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Exception e) {
-                    System.err.println("[yaci] Keep-alive error: " + e.getMessage());
                 }
+                return;
             }
-        }, "yaci-keepalive-" + id);
-        keepAliveThread.setDaemon(true);
-        keepAliveThread.start();
+            synchronized (this) {
+                if (!started) {
+                    // stop() ran during the handshake, possibly before this connection existed
+                    WindowedChainFollower f = follower;
+                    if (f != null) {
+                        f.stop();
+                    }
+                    blockSync.stop();
+                    return;
+                }
+                if (gen != generation) {
+                    // Already replaced by a reconnect
+                    return;
+                }
+                startKeepAlive();
+                startWatchdog();
+            }
+            invokeCallback(catchUp.progress("following"));
+        }, "yaci-catchup-" + id);
+        handoffThread.setDaemon(true);
+        handoffThread.start();
     }
 
-    private void stopKeepAlive() {
-        keepAliveRunning = false;
-        if (keepAliveThread != null) {
-            keepAliveThread.interrupt();
-            try {
-                keepAliveThread.join(5000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            keepAliveThread = null;
+    private static BlockEvent toBlockEvent(Era era, Block block, List<Transaction> transactions) {
+        long slot = block.getHeader().getHeaderBody().getSlot();
+        String hash = block.getHeader().getHeaderBody().getBlockHash();
+        long blockNumber = block.getHeader().getHeaderBody().getBlockNumber();
+        String blockCbor = block.getCbor();
+
+        List<Transaction> txList = transactions != null ? transactions : Collections.emptyList();
+        return new BlockEvent(era.name(), slot, hash, blockNumber, blockCbor, txList);
+    }
+
+    private static final class Reconnect {
+        final String reason;
+        final long startNanos;
+        final int attempts;
+
+        Reconnect(String reason, long startNanos, int attempts) {
+            this.reason = reason;
+            this.startNanos = startNanos;
+            this.attempts = attempts;
         }
     }
 
-    private BlockChainDataListener createListener() {
+    private static final class CatchUp {
+        final Point fromPoint;
+        final Tip tip;
+        final long progressEvery;
+        final AtomicBoolean handedOff = new AtomicBoolean(false);
+        volatile Point lastPoint;
+        volatile long lastBlockNumber = -1;
+        volatile long blocksFetched;
+
+        CatchUp(Point fromPoint, Tip tip, long progressEvery) {
+            this.fromPoint = fromPoint;
+            this.tip = tip;
+            this.progressEvery = progressEvery;
+            this.lastPoint = fromPoint;
+        }
+
+        CatchUpProgressEvent progress(String phase) {
+            return new CatchUpProgressEvent(phase, blocksFetched, lastPoint.getSlot(), lastBlockNumber,
+                    tip.getPoint().getSlot(), tip.getBlock());
+        }
+    }
+
+    private BlockChainDataListener createCatchUpListener(CatchUp catchUp) {
         return new BlockChainDataListener() {
             @Override
             public void onBlock(Era era, Block block, List<Transaction> transactions) {
                 disconnectSent.set(false);
-                long slot = block.getHeader().getHeaderBody().getSlot();
-                String hash = block.getHeader().getHeaderBody().getBlockHash();
-                long blockNumber = block.getHeader().getHeaderBody().getBlockNumber();
-                String blockCbor = block.getCbor();
+                BlockEvent event = toBlockEvent(era, block, transactions);
+                // Block-fetch ranges are inclusive; the start point itself was already seen by the caller
+                if (event.getSlot() == catchUp.fromPoint.getSlot()
+                        && event.getHash().equals(catchUp.fromPoint.getHash())) {
+                    return;
+                }
+                acceptBlock(generation, event);
+                invokeCallback(event);
+                catchUp.lastPoint = new Point(event.getSlot(), event.getHash());
+                catchUp.lastBlockNumber = event.getBlockNumber();
+                catchUp.blocksFetched++;
+                if (catchUp.progressEvery > 0 && catchUp.blocksFetched % catchUp.progressEvery == 0) {
+                    invokeCallback(catchUp.progress("backfill"));
+                }
+            }
+
+            @Override
+            public void onRollback(Point point) {
+                invokeCallback(new RollbackEvent(point.getSlot(), point.getHash()));
+            }
 
-                List<Transaction> txList = transactions != null ? transactions : Collections.emptyList();
-                invokeCallback(new BlockEvent(
-                        era.name(), slot, hash, blockNumber, blockCbor, txList));
+            @Override
+            public void onDisconnect() {
+                // The range connection is closed on purpose during handoff
+                if (initialized && !catchUp.handedOff.get() && disconnectSent.compareAndSet(false, true)) {
+                    invokeCallback(new DisconnectEvent());
+                }
+            }
+
+            @Override
+            public void batchDone() {
+                handOff(catchUp);
+            }
+
+            @Override
+            public void noBlockFound(Point from, Point to) {
+                // The tip was rolled back before the range was served; chain-sync resolves it
+                handOff(catchUp);
+            }
+        };
+    }
+
+    private void startKeepAlive() {
+        WindowedChainFollower f = follower;
+        keepAlive = new KeepAliveLoop("yaci-keepalive-" + id, keepAliveIntervalMs,
+                f != null ? f::sendKeepAlive : blockSync::sendKeepAliveMessage, () -> {
+                    StallWatchdog w = watchdog;
+                    if (w != null) {
+                        w.trigger("keep_alive");
+                    }
+                });
+        keepAlive.start();
+    }
+
+    private void stopKeepAlive() {
+        if (keepAlive != null) {
+            keepAlive.stop();
+            keepAlive = null;
+        }
+    }
+
+    private BlockChainDataListener createListener(int gen) {
+        return new BlockChainDataListener() {
+            @Override
+            public void onBlock(Era era, Block block, List<Transaction> transactions) {
+                BlockEvent event = toBlockEvent(era, block, transactions);
+                if (!acceptBlock(gen, event)) return;
+                disconnectSent.set(false);
+                progress();
+                deliverFollowed(event);
             }
 
             @Override
             public void onRollback(Point point) {
+                if (gen != generation) return;
                 disconnectSent.set(false);
-                invokeCallback(new RollbackEvent(point.getSlot(), point.getHash()));
+                progress();
+                Reconnect reconnect = reconnecting;
+                if (reconnect != null) {
+                    reconnecting = null;
+                    deliverFollowed(new ReconnectedEvent(reconnect.reason,
+                            (System.nanoTime() - reconnect.startNanos) / 1_000_000, reconnect.attempts,
+                            point.getSlot(), point.getHash()));
+                }
+                Point seam = seamPoint;
+                if (seam != null) {
+                    seamPoint = null;
+                    // Chain-sync first rolls back to the intersection we resumed from; nothing to undo
+                    if (seam.getSlot() == point.getSlot() && Objects.equals(seam.getHash(), point.getHash())) {
+                        return;
+                    }
+                }
+                if (!acceptRollback(gen, point)) return;
+                deliverFollowed(new RollbackEvent(point.getSlot(), point.getHash()));
             }
 
             @Override
             public void onDisconnect() {
+                if (gen != generation) return;
+                StallWatchdog w = watchdog;
+                if (w != null && initialized) {
+                    // Repaired in place; the host sees a reconnected event instead
+                    w.trigger("disconnect");
+                    return;
+                }
                 // Ignore disconnect events during agent initialization;
                 // deduplicate: yaci fires onDisconnect once per internal agent
                 if (initialized && disconnectSent.compareAndSet(false, true)) {
@@ -0,0 +1,362 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.TrackedUtxo;
+import com.bloxbean.cardano.yaci.bridge.event.UtxoDeltaEvent;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.helper.model.Utxo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unspent outputs of a set of watched addresses, kept up to date from a session's blocks.
+ * Each block's changes go to an undo log so rollbacks within the last {@value #MAX_UNDO} blocks
+ * restore the exact previous set. A deeper rollback cannot be undone: the tracker then fails, and
+ * queries and snapshots throw until it is rebuilt. State, including the undo log, can be
+ * snapshotted to disk and reloaded to resume from the snapshot's point.
+ */
+public final class UtxoTracker {
+    // Cardano's security parameter k: rollbacks never go deeper than this
+    static final int MAX_UNDO = 2160;
+
+    private static final int MAGIC = 0x59555458; // "YUTX"
+    private static final int VERSION = 2;
+
+    private final Set<String> addresses;
+    private final Map<String, TrackedUtxo> utxos = new HashMap<>();
+    private final Deque<Undo> undoLog = new ArrayDeque<>();
+    private long slot = -1;
+    private long blockNumber = -1;
+    private String hash;
+    // Oldest slot the undo log can restore: the point before its first entry
+    private long floorSlot = -1;
+    // Set once a rollback went past the undo log; the set is no longer exact
+    private String failure;
+
+    private static final class Undo {
+        final long slot;
+        final long blockNumber;
+        final String hash;
+        final List<TrackedUtxo> created;
+        final List<TrackedUtxo> spent;
+
+        Undo(long slot, long blockNumber, String hash, List<TrackedUtxo> created, List<TrackedUtxo> spent) {
+            this.slot = slot;
+            this.blockNumber = blockNumber;
+            this.hash = hash;
+            this.created = created;
+            this.spent = spent;
+        }
+    }
+
+    public UtxoTracker(Collection<String> addresses) {
+        this.addresses = new HashSet<>(addresses);
+    }
+
+    /**
+     * Loads a snapshot written by {@link #snapshot(Path)}. The snapshot must have been taken for
+     * the same watched addresses, otherwise outputs of newly added ones would be missing.
+     */
+    public static UtxoTracker load(Path file, Collection<String> addresses) throws IOException {
+        UtxoTracker tracker = new UtxoTracker(addresses);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int version = readHeader(in, file);
+            tracker.slot = in.readLong();
+            tracker.blockNumber = in.readLong();
+            tracker.hash = readNullable(in);
+            long floor = version >= 2 ? in.readLong() : Long.MIN_VALUE;
+            int addressCount = in.readInt();
+            Set<String> snapshotAddresses = new HashSet<>();
+            for (int i = 0; i < addressCount; i++) {
+                snapshotAddresses.add(in.readUTF());
+            }
+            if (!snapshotAddresses.equals(tracker.addresses)) {
+                throw new IOException("Watched addresses differ from snapshot: " + file);
+            }
+            for (TrackedUtxo utxo : readUtxos(in)) {
+                tracker.utxos.put(utxo.key(), utxo);
+            }
+            int undoCount = in.readInt();
+            for (int i = 0; i < undoCount; i++) {
+                long s = in.readLong();
+                long b = in.readLong();
+                String h = readNullable(in);
+                tracker.undoLog.addLast(new Undo(s, b, h, readUtxos(in), readUtxos(in)));
+            }
+            // Version 1 did not record the floor; a full log may have been trimmed, so only its own entries count
+            tracker.floorSlot = floor != Long.MIN_VALUE ? floor
+                    : undoCount >= MAX_UNDO ? tracker.undoLog.peekFirst().slot : -1;
+        }
+        return tracker;
+    }
+
+    /**
+     * Applies a block. Blocks at or before the current point (e.g. an older range fetched later)
+     * are ignored.
+     *
+     * @return the watched addresses' changes, or null if the block touched none of them
+     */
+    public synchronized UtxoDeltaEvent apply(BlockEvent block) {
+        if (failure != null || block.getSlot() <= slot) {
+            return null;
+        }
+        List<TrackedUtxo> created = new ArrayList<>();
+        List<TrackedUtxo> spent = new ArrayList<>();
+        if (block.getTransactions() != null) {
+            for (Transaction tx : block.getTransactions()) {
+                applyTransaction(tx, created, spent);
+            }
+        }
+
+        slot = block.getSlot();
+        blockNumber = block.getBlockNumber();
+        hash = block.getHash();
+        undoLog.addLast(new Undo(slot, blockNumber, hash, created, spent));
+        while (undoLog.size() > MAX_UNDO) {
+            floorSlot = undoLog.removeFirst().slot;
+        }
+        if (created.isEmpty() && spent.isEmpty()) {
+            return null;
+        }
+        return UtxoDeltaEvent.of(slot, blockNumber, hash, false, created, spent);
+    }
+
+    /**
+     * Undoes every block after {@code toSlot}.
+     *
+     * @return the reverted changes (outputs restored as created, removed ones as spent), or null
+     * if none of the undone blocks touched a watched address
+     * @throws IllegalStateException if {@code toSlot} is older than the undo log reaches; the
+     * tracker is left failed
+     */
+    public synchronized UtxoDeltaEvent rollback(long toSlot, String toHash) {
+        if (failure != null || toSlot >= slot) {
+            return null;
+        }
+        if (toSlot < floorSlot) {
+            failure = "Rollback to slot " + toSlot + " is deeper than the UTxO undo log (oldest slot "
+                    + floorSlot + "); rebuild the tracker from a snapshot or a resync";
+            throw new IllegalStateException(failure);
+        }
+        List<TrackedUtxo> restored = new ArrayList<>();
+        List<TrackedUtxo> removed = new ArrayList<>();
+        while (!undoLog.isEmpty() && undoLog.peekLast().slot > toSlot) {
+            Undo undo = undoLog.removeLast();
+            // Within a block, created and spent never share an output (see applyTransaction)
+            for (TrackedUtxo utxo : undo.created) {
+                if (utxos.remove(utxo.key()) != null) {
+                    removed.add(utxo);
+                }
+            }
+            for (TrackedUtxo utxo : undo.spent) {
+                utxos.put(utxo.key(), utxo);
+                restored.add(utxo);
+            }
+        }
+        Undo last = undoLog.peekLast();
+        slot = toSlot;
+        hash = toHash;
+        blockNumber = last != null && last.slot == toSlot ? last.blockNumber : -1;
+        if (restored.isEmpty() && removed.isEmpty()) {
+            return null;
+        }
+        return UtxoDeltaEvent.of(toSlot, blockNumber, toHash, true, restored, removed);
+    }
+
+    /** Current UTxOs, of one address or (when null) of all watched addresses. */
+    public synchronized List<TrackedUtxo> utxos(String address) {
+        checkHealthy();
+        List<TrackedUtxo> result = new ArrayList<>();
+        for (TrackedUtxo utxo : utxos.values()) {
+            if (address == null || address.equals(utxo.getAddress())) {
+                result.add(utxo);
+            }
+        }
+        return result;
+    }
+
+    /** The last applied point: {@code {"slot", "hash", "blockNumber"}}, or null before any block. */
+    public synchronized Map<String, Object> point() {
+        checkHealthy();
+        return pointMap(slot, hash, blockNumber);
+    }
+
+    /**
+     * Writes the tracker state to {@code file}, atomically replacing an older snapshot.
+     */
+    public synchronized void snapshot(Path file) throws IOException {
+        checkHealthy();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(slot);
+            out.writeLong(blockNumber);
+            writeNullable(out, hash);
+            out.writeLong(floorSlot);
+            out.writeInt(addresses.size());
+            for (String address : addresses) {
+                out.writeUTF(address);
+            }
+            writeUtxos(out, utxos.values());
+            out.writeInt(undoLog.size());
+            for (Undo undo : undoLog) {
+                out.writeLong(undo.slot);
+                out.writeLong(undo.blockNumber);
+                writeNullable(out, undo.hash);
+                writeUtxos(out, undo.created);
+                writeUtxos(out, undo.spent);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The point a snapshot was taken at, for resuming a session, or null if it has none.
+     */
+    public static Map<String, Object> snapshotPoint(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            readHeader(in, file);
+            long s = in.readLong();
+            long b = in.readLong();
+            return pointMap(s, readNullable(in), b);
+        }
+    }
+
+    private void applyTransaction(Transaction tx, List<TrackedUtxo> created, List<TrackedUtxo> spent) {
+        TransactionBody body = tx.getBody();
+        if (body == null) {
+            return;
+        }
+        // A failed script validation consumes collateral instead and only creates the collateral return
+        Collection<TransactionInput> inputs = tx.isInvalid() ? body.getCollateralInputs() : body.getInputs();
+        if (inputs != null) {
+            for (TransactionInput input : inputs) {
+                TrackedUtxo utxo = utxos.remove(TrackedUtxo.key(input.getTransactionId(), input.getIndex()));
+                // An output created earlier in the same block never existed at a block boundary
+                if (utxo != null && !removeByKey(created, utxo.key())) {
+                    spent.add(utxo);
+                }
+            }
+        }
+        List<Utxo> outputs = tx.isInvalid()
+                ? (tx.getCollateralReturnUtxo() != null ? List.of(tx.getCollateralReturnUtxo()) : Collections.emptyList())
+                : tx.getUtxos();
+        if (outputs != null) {
+            for (Utxo output : outputs) {
+                if (addresses.contains(output.getAddress())) {
+                    TrackedUtxo utxo = TrackedUtxo.of(output);
+                    utxos.put(utxo.key(), utxo);
+                    created.add(utxo);
+                }
+            }
+        }
+    }
+
+    private static boolean removeByKey(List<TrackedUtxo> list, String key) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i).key().equals(key)) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkHealthy() {
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private static int readHeader(DataInputStream in, Path file) throws IOException {
+        int version;
+        if (in.readInt() != MAGIC || (version = in.readInt()) < 1 || version > VERSION) {
+            throw new IOException("Not a UTxO snapshot file: " + file);
+        }
+        return version;
+    }
+
+    private static Map<String, Object> pointMap(long slot, String hash, long blockNumber) {
+        if (slot < 0 || hash == null) {
+            return null;
+        }
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("slot", slot);
+        point.put("hash", hash);
+        point.put("blockNumber", blockNumber);
+        return point;
+    }
+
+    private static void writeUtxos(DataOutputStream out, Collection<TrackedUtxo> list) throws IOException {
+        out.writeInt(list.size());
+        for (TrackedUtxo utxo : list) {
+            out.writeUTF(utxo.getTxHash());
+            out.writeInt(utxo.getIndex());
+            out.writeUTF(utxo.getAddress());
+            out.writeLong(utxo.getLovelace());
+            out.writeInt(utxo.getAssets().size());
+            for (Map.Entry<String, BigInteger> asset : utxo.getAssets().entrySet()) {
+                out.writeUTF(asset.getKey());
+                byte[] qty = asset.getValue().toByteArray();
+                out.writeShort(qty.length);
+                out.write(qty);
+            }
+        }
+    }
+
+    private static List<TrackedUtxo> readUtxos(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<TrackedUtxo> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String txHash = in.readUTF();
+            int index = in.readInt();
+            String address = in.readUTF();
+            long lovelace = in.readLong();
+            int assetCount = in.readInt();
+            Map<String, BigInteger> assets = assetCount == 0 ? Collections.emptyMap() : new LinkedHashMap<>();
+            for (int a = 0; a < assetCount; a++) {
+                String unit = in.readUTF();
+                byte[] qty = new byte[in.readUnsignedShort()];
+                in.readFully(qty);
+                assets.put(unit, new BigInteger(qty));
+            }
+            list.add(new TrackedUtxo(txHash, index, address, lovelace, assets));
+        }
+        return list;
+    }
+
+    private static void writeNullable(DataOutputStream out, String s) throws IOException {
+        out.writeUTF(s != null ? s : "");
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        String s = in.readUTF();
+        return s.isEmpty() ? null : s;
+    }
+}
@@ -0,0 +1,237 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.WindowEvent;
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
+import com.bloxbean.cardano.yaci.core.model.Witnesses;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Rolls blocks up into fixed slot windows: block, transaction and script counts, fees, output
+ * lovelace, block bytes and distinct output addresses. A window is emitted once the first block
+ * of a later window arrives.
+ * <p>
+ * The last {@value UtxoTracker#MAX_UNDO} blocks stay individually undoable. A rollback subtracts
+ * them from their windows; windows that had already been emitted are emitted again, with a higher
+ * revision, when they close the next time. A deeper rollback cannot be undone: the aggregator then
+ * fails and emits nothing more, as its totals are no longer exact.
+ */
+final class WindowAggregator {
+    private final long windowSlots;
+    private final long firstSlot;
+    private final long firstWindow;
+
+    // Windows that can still change: the current one and any with undoable blocks
+    private final NavigableMap<Long, Window> windows = new TreeMap<>();
+    private final Deque<BlockStats> undoLog = new ArrayDeque<>();
+    private long lastSlot = -1;
+    private long current = Long.MIN_VALUE;
+    // Oldest slot the undo log can restore: the point before its first entry
+    private long floorSlot = -1;
+    // Set once a rollback went past the undo log
+    private String failure;
+
+    private static final class BlockStats {
+        final long slot;
+        final long window;
+        long txCount;
+        long fees;
+        long outputLovelace;
+        long blockBytes;
+        long scripts;
+        final Set<String> addresses = new HashSet<>();
+
+        BlockStats(long slot, long window) {
+            this.slot = slot;
+            this.window = window;
+        }
+    }
+
+    private static final class Window {
+        final long number;
+        long blocks;
+        long txCount;
+        long fees;
+        long outputLovelace;
+        long blockBytes;
+        long scripts;
+        // Address -> number of the window's blocks it appears in, so undo keeps the distinct count right
+        final Map<String, Integer> addresses = new HashMap<>();
+        int emitted;
+
+        Window(long number) {
+            this.number = number;
+        }
+
+        void add(BlockStats s, int sign) {
+            blocks += sign;
+            txCount += sign * s.txCount;
+            fees += sign * s.fees;
+            outputLovelace += sign * s.outputLovelace;
+            blockBytes += sign * s.blockBytes;
+            scripts += sign * s.scripts;
+            for (String address : s.addresses) {
+                addresses.merge(address, sign, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+    }
+
+    /**
+     * Window n covers slots {@code [firstSlot + (n - firstWindow) * windowSlots, ... + windowSlots)};
+     * e.g. epochs with the network's Shelley start slot and epoch, or plain slot buckets with 0 / 0.
+     */
+    WindowAggregator(long windowSlots, long firstSlot, long firstWindow) {
+        this.windowSlots = windowSlots;
+        this.firstSlot = firstSlot;
+        this.firstWindow = firstWindow;
+    }
+
+    /**
+     * @return windows closed by this block (usually none, or the previous window)
+     */
+    synchronized List<WindowEvent> apply(BlockEvent block) {
+        List<WindowEvent> closed = new ArrayList<>();
+        if (failure != null || block.getSlot() <= lastSlot) {
+            return closed;
+        }
+        BlockStats stats = stats(block);
+        if (current != Long.MIN_VALUE && stats.window > current) {
+            // The current window, and any emitted one between that a rollback has emptied, are final
+            for (Window w : new ArrayList<>(windows.subMap(current, true, stats.window, false).values())) {
+                if (w.number == current || w.emitted > 0) {
+                    closed.add(emit(w, false));
+                }
+            }
+        }
+        windows.computeIfAbsent(stats.window, Window::new).add(stats, 1);
+        undoLog.addLast(stats);
+        while (undoLog.size() > UtxoTracker.MAX_UNDO) {
+            floorSlot = undoLog.removeFirst().slot;
+        }
+        lastSlot = stats.slot;
+        current = stats.window;
+        prune();
+        return closed;
+    }
+
+    /**
+     * @throws IllegalStateException if {@code toSlot} is older than the undo log reaches; the
+     * aggregator is left failed
+     */
+    synchronized void rollback(long toSlot) {
+        if (failure != null || toSlot >= lastSlot) {
+            return;
+        }
+        if (toSlot < floorSlot) {
+            failure = "Rollback to slot " + toSlot + " is deeper than the window undo log (oldest slot "
+                    + floorSlot + "); window rollups stop here";
+            throw new IllegalStateException(failure);
+        }
+        while (!undoLog.isEmpty() && undoLog.peekLast().slot > toSlot) {
+            BlockStats stats = undoLog.removeLast();
+            Window w = windows.get(stats.window);
+            if (w != null) {
+                w.add(stats, -1);
+            }
+        }
+        // Windows emptied before they were ever emitted have nothing to report again
+        windows.values().removeIf(w -> w.blocks == 0 && w.emitted == 0);
+        lastSlot = toSlot;
+        current = windowOf(toSlot);
+    }
+
+    /** The open window as a partial rollup, or null if nothing has been aggregated or the aggregator failed. */
+    synchronized WindowEvent flush() {
+        if (failure != null) {
+            return null;
+        }
+        Window w = windows.get(current);
+        return w != null && w.blocks > 0 ? emit(w, true) : null;
+    }
+
+    private WindowEvent emit(Window w, boolean partial) {
+        long start = firstSlot + (w.number - firstWindow) * windowSlots;
+        WindowEvent event = new WindowEvent(w.number, start, start + windowSlots - 1, w.emitted, partial,
+                w.blocks, w.txCount, w.fees, w.outputLovelace, w.blockBytes, w.scripts, w.addresses.size());
+        if (!partial) {
+            w.emitted++;
+        }
+        return event;
+    }
+
+    /** Drops emitted windows that no undoable block belongs to any more. */
+    private void prune() {
+        long oldest = undoLog.isEmpty() ? current : undoLog.peekFirst().window;
+        windows.headMap(Math.min(oldest, current), false).values().removeIf(w -> w.emitted > 0);
+    }
+
+    private long windowOf(long slot) {
+        return firstWindow + Math.floorDiv(slot - firstSlot, windowSlots);
+    }
+
+    private BlockStats stats(BlockEvent block) {
+        BlockStats s = new BlockStats(block.getSlot(), windowOf(block.getSlot()));
+        s.blockBytes = block.getBlockCbor() != null ? block.getBlockCbor().length() / 2 : 0;
+        List<Transaction> txs = block.getTransactions();
+        if (txs == null) {
+            return s;
+        }
+        s.txCount = txs.size();
+        for (Transaction tx : txs) {
+            TransactionBody body = tx.getBody();
+            if (body != null) {
+                // A script-invalid transaction pays with its collateral instead of the fee
+                BigInteger fee = tx.isInvalid() && body.getTotalCollateral() != null
+                        ? body.getTotalCollateral() : body.getFee();
+                s.fees += fee != null ? fee.longValue() : 0;
+                if (!tx.isInvalid() && body.getOutputs() != null) {
+                    for (TransactionOutput output : body.getOutputs()) {
+                        s.outputLovelace += lovelaceOf(output.getAmounts());
+                        s.addresses.add(output.getAddress());
+                    }
+                }
+            }
+            s.scripts += scriptCount(tx.getWitnesses());
+        }
+        return s;
+    }
+
+    private static long lovelaceOf(List<Amount> amounts) {
+        long sum = 0;
+        if (amounts != null) {
+            for (Amount amount : amounts) {
+                if ("lovelace".equals(amount.getUnit()) && amount.getQuantity() != null) {
+                    sum += amount.getQuantity().longValue();
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long scriptCount(Witnesses witnesses) {
+        if (witnesses == null) {
+            return 0;
+        }
+        return sizeOf(witnesses.getNativeScripts()) + sizeOf(witnesses.getPlutusV1Scripts())
+                + sizeOf(witnesses.getPlutusV2Scripts()) + sizeOf(witnesses.getPlutusV3Scripts());
+    }
+
+    private static long sizeOf(Collection<?> c) {
+        return c != null ? c.size() : 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
+import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Header-first chain follower: chain-sync keeps requesting headers while block bodies are fetched
+ * in batched block-fetch ranges on the same connection, instead of one header + one body round
+ * trip per block. Chain-sync itself is not pipelined: it has one request in flight, and the next
+ * one goes out as soon as a header arrives rather than after its body is delivered.
+ * <p>
+ * Up to {@code window} headers may be buffered (received but not yet delivered). While a range
+ * is streaming, new headers accumulate and are requested as the next range, so batches grow when
+ * far behind and shrink to a single block at the tip. Blocks and rollbacks reach the listener in
+ * chain-sync order; see {@link FollowerWindow} for how rollbacks and short ranges are handled. If
+ * the window fails, the connection is closed and the listener sees a disconnect.
+ */
+class WindowedChainFollower {
+    private final String host;
+    private final int port;
+    private final long protocolMagic;
+    private final BlockChainDataListener listener;
+
+    private final Object lock = new Object();
+    private final FollowerWindow<Fetched> window;
+
+    private TCPNodeClient client;
+    private ChainsyncAgent chainSyncAgent;
+    private BlockfetchAgent blockFetchAgent;
+    private KeepAliveAgent keepAliveAgent;
+
+    WindowedChainFollower(String host, int port, long protocolMagic, int window,
+                          BlockChainDataListener listener) {
+        this.host = host;
+        this.port = port;
+        this.protocolMagic = protocolMagic;
+        this.listener = listener;
+        this.window = new FollowerWindow<>(window, new FollowerWindow.Io<Fetched>() {
+            @Override
+            public void requestRange(Point from, Point to) {
+                blockFetchAgent.resetPoints(from, to);
+                blockFetchAgent.sendNextMessage();
+            }
+
+            @Override
+            public void resumeChainSync() {
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void deliver(Fetched body) {
+                listener.onBlock(body.era, body.block, body.transactions);
+            }
+
+            @Override
+            public void rollback(Point point) {
+                listener.onRollback(point);
+            }
+
+            @Override
+            public void fail(String reason) {
+                System.err.println("[yaci] Windowed follower failed: " + reason);
+                stop();
+                listener.onDisconnect();
+            }
+        });
+    }
+
+    /**
+     * Connects and intersects on the first of {@code fromPoints} the node knows; pass several
+     * points, newest first, to survive rollbacks of the newest ones.
+     */
+    void start(Point... fromPoints) {
+        HandshakeAgent handshakeAgent = new HandshakeAgent(N2NVersionTableConstant.v4AndAbove(protocolMagic));
+        chainSyncAgent = new ChainsyncAgent(fromPoints);
+        blockFetchAgent = new BlockfetchAgent();
+        keepAliveAgent = new KeepAliveAgent();
+
+        handshakeAgent.addListener(new HandshakeAgentListener() {
+            @Override
+            public void handshakeOk() {
+                // Also runs after a reconnect: re-request bodies that were lost with the old connection
+                synchronized (lock) {
+                    window.onConnected();
+                }
+                chainSyncAgent.sendNextMessage();
+            }
+        });
+        chainSyncAgent.addListener(createChainSyncListener());
+        blockFetchAgent.addListener(new BlockFetchAgentListenerAdapter(createBodyListener()));
+
+        client = new TCPNodeClient(host, port, handshakeAgent, keepAliveAgent, chainSyncAgent, blockFetchAgent);
+        client.start();
+    }
+
+    void sendKeepAlive(int cookie) {
+        keepAliveAgent.sendKeepAlive(cookie);
+    }
+
+    void stop() {
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    boolean isRunning() {
+        return client != null && client.isRunning();
+    }
+
+    private ChainSyncAgentListener createChainSyncListener() {
+        return new ChainSyncAgentListener() {
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                boolean next;
+                synchronized (lock) {
+                    next = window.onHeader(new Point(blockHeader.getHeaderBody().getSlot(),
+                            blockHeader.getHeaderBody().getBlockHash()));
+                }
+                if (next) {
+                    chainSyncAgent.sendNextMessage();
+                }
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                synchronized (lock) {
+                    window.onRollback(toPoint);
+                }
+                chainSyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void onDisconnect() {
+                synchronized (lock) {
+                    window.onDisconnected();
+                }
+                listener.onDisconnect();
+            }
+        };
+    }
+
+    private BlockChainDataListener createBodyListener() {
+        return new BlockChainDataListener() {
+            @Override
+            public void onBlock(Era era, Block block, List<Transaction> transactions) {
+                String hash = block.getHeader().getHeaderBody().getBlockHash();
+                synchronized (lock) {
+                    window.onBody(hash, new Fetched(era, block, transactions));
+                }
+            }
+
+            @Override
+            public void batchDone() {
+                synchronized (lock) {
+                    window.onRangeDone();
+                }
+            }
+
+            @Override
+            public void noBlockFound(Point from, Point to) {
+                synchronized (lock) {
+                    // The range was rolled back on the node; its missing bodies are requested again
+                    window.onRangeDone();
+                }
+            }
+        };
+    }
+
+    private static final class Fetched {
+        final Era era;
+        final Block block;
+        final List<Transaction> transactions;
+
+        Fetched(Era era, Block block, List<Transaction> transactions) {
+            this.era = era;
+            this.block = block;
+            this.transactions = transactions;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.yaci.bridge.util;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+public final class Hashes {
+
+    private Hashes() {}
+
+    /**
+     * Blake2b-224 of hex-encoded bytes, as hex. Used for key hashes (e.g. pool ids).
+     */
+    public static String blake2b224Hex(String hex) {
+        if (hex == null || hex.isEmpty()) {
+            return null;
+        }
+        byte[] input = HexUtil.decodeHexString(hex);
+        Blake2bDigest digest = new Blake2bDigest(224);
+        digest.update(input, 0, input.length);
+        byte[] out = new byte[digest.getDigestSize()];
+        digest.doFinal(out, 0);
+        return HexUtil.encodeHexString(out);
+    }
+}
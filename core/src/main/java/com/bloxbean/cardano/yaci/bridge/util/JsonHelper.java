@@ -1,6 +1,7 @@
 package com.bloxbean.cardano.yaci.bridge.util;
 
 import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -12,11 +13,16 @@ import java.util.Map;
 public final class JsonHelper {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Same as MAPPER but leaves out hex tx body CBOR (delivered as raw bytes instead)
+    private static final ObjectMapper CBORLESS_MAPPER;
 
     static {
         MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         MAPPER.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
         MAPPER.addMixIn(Amount.class, AmountMixin.class);
+
+        CBORLESS_MAPPER = MAPPER.copy();
+        CBORLESS_MAPPER.addMixIn(TransactionBody.class, CborlessTransactionBodyMixin.class);
     }
 
     private JsonHelper() {}
@@ -33,8 +39,17 @@ public final class JsonHelper {
         return MAPPER.writeValueAsString(map);
     }
 
+    public static String toJsonWithoutCbor(Object obj) throws JsonProcessingException {
+        return CBORLESS_MAPPER.writeValueAsString(obj);
+    }
+
     private abstract static class AmountMixin {
         @JsonIgnore
         abstract byte[] getAssetNameBytes();
     }
+
+    private abstract static class CborlessTransactionBodyMixin {
+        @JsonIgnore
+        abstract String getCbor();
+    }
 }
@@ -0,0 +1,100 @@
+package com.bloxbean.cardano.yaci.bridge.util;
+
+import org.graalvm.nativeimage.UnmanagedMemory;
+import org.graalvm.nativeimage.c.type.CCharPointer;
+import org.graalvm.word.WordFactory;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public final class NativeBytes {
+
+    private NativeBytes() {}
+
+    /**
+     * Decode hex segments straight into one unmanaged buffer, without an
+     * intermediate byte[]. Caller must free the returned pointer.
+     *
+     * @throws IllegalArgumentException if a segment is not valid hex or the segments do not add
+     *                                  up to {@code totalLength} bytes; nothing is left allocated
+     */
+    public static CCharPointer fromHexSegments(List<String> hexSegments, long totalLength) {
+        checkHexSegments(hexSegments, totalLength);
+        if (totalLength == 0) {
+            return WordFactory.nullPointer();
+        }
+        CCharPointer ptr = UnmanagedMemory.malloc(WordFactory.unsigned(totalLength));
+        try {
+            long pos = 0;
+            for (String hex : hexSegments) {
+                if (hex == null) continue;
+                int n = hex.length() / 2;
+                for (int i = 0; i < n; i++) {
+                    ptr.write(WordFactory.signed(pos + i), hexByte(hex, 2 * i));
+                }
+                pos += n;
+            }
+        } catch (IllegalArgumentException e) {
+            UnmanagedMemory.free(ptr);
+            throw e;
+        }
+        return ptr;
+    }
+
+    /**
+     * Check that every segment holds whole bytes and that together they hold {@code totalLength}.
+     */
+    static void checkHexSegments(List<String> hexSegments, long totalLength) {
+        long bytes = 0;
+        for (String hex : hexSegments) {
+            if (hex == null) continue;
+            if (hex.length() % 2 != 0) {
+                throw new IllegalArgumentException("Hex segment has an odd length: " + hex.length());
+            }
+            bytes += hex.length() / 2;
+        }
+        if (bytes != totalLength) {
+            throw new IllegalArgumentException("Hex segments hold " + bytes + " bytes, expected " + totalLength);
+        }
+    }
+
+    /**
+     * Decode the byte whose two hex digits start at {@code index}.
+     */
+    static byte hexByte(String hex, int index) {
+        int hi = Character.digit(hex.charAt(index), 16);
+        int lo = Character.digit(hex.charAt(index + 1), 16);
+        if (hi < 0 || lo < 0) {
+            throw new IllegalArgumentException("Invalid hex at offset " + index + ": "
+                    + hex.substring(index, index + 2));
+        }
+        return (byte) ((hi << 4) | lo);
+    }
+
+    /**
+     * Copy a buffer's remaining bytes into unmanaged memory. Caller must free the returned pointer.
+     */
+    public static CCharPointer fromBuffer(ByteBuffer buffer) {
+        int n = buffer.remaining();
+        if (n == 0) {
+            return WordFactory.nullPointer();
+        }
+        CCharPointer ptr = UnmanagedMemory.malloc(WordFactory.unsigned(n));
+        int base = buffer.position();
+        for (int i = 0; i < n; i++) {
+            ptr.write(i, buffer.get(base + i));
+        }
+        return ptr;
+    }
+
+    /**
+     * Copy {@code length} bytes at {@code offset} from unmanaged memory into a new array.
+     */
+    public static byte[] toByteArray(CCharPointer ptr, long offset, int length) {
+        byte[] out = new byte[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = ptr.read(WordFactory.signed(offset + i));
+        }
+        return out;
+    }
+}
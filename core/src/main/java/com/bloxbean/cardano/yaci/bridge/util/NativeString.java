@@ -5,6 +5,7 @@ import org.graalvm.nativeimage.c.type.CCharPointer;
 import org.graalvm.nativeimage.c.type.CTypeConversion;
 import org.graalvm.word.WordFactory;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 public final class NativeString {
@@ -24,6 +25,21 @@ public final class NativeString {
         return ptr;
     }
 
+    /**
+     * Copy a buffer's remaining UTF-8 bytes into a NUL-terminated C string, without going through
+     * a Java String. The buffer's position is left unchanged. Caller must free the returned pointer.
+     */
+    public static CCharPointer toCString(ByteBuffer utf8) {
+        int n = utf8.remaining();
+        CCharPointer ptr = UnmanagedMemory.malloc(n + 1);
+        int base = utf8.position();
+        for (int i = 0; i < n; i++) {
+            ptr.write(i, utf8.get(base + i));
+        }
+        ptr.write(n, (byte) 0);
+        return ptr;
+    }
+
     public static String toJavaString(CCharPointer ptr) {
         if (ptr.isNull()) {
             return null;
@@ -0,0 +1,144 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RangeProgressEvent;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for chunk boundaries, the repeated block at an index gap, cancel and progress,
+ * using a point index of synthetic blocks (block n at slot 10 * n).
+ */
+class ChunkedFetchTest {
+
+    @TempDir
+    Path dir;
+
+    private static String hash(long n) {
+        return String.format("%064x", n + 1);
+    }
+
+    private static Point point(long n) {
+        return new Point(10 * n, hash(n));
+    }
+
+    private static BlockEvent block(long n) {
+        return new BlockEvent("Babbage", 10 * n, hash(n), n, "8201", List.of());
+    }
+
+    private PointIndex index(String name, long blocks) throws Exception {
+        PointIndex index = PointIndex.open(dir.resolve(name));
+        for (long n = 0; n < blocks; n++) {
+            index.append(10 * n, n, hash(n));
+        }
+        return index;
+    }
+
+    private static String range(ChunkedFetch.Chunk chunk) {
+        return chunk.from.getSlot() + ".." + chunk.to.getSlot();
+    }
+
+    @Test
+    void chunksFollowIndexAndCoverRange() throws Exception {
+        ChunkedFetch fetch = new ChunkedFetch(point(0), point(9), index("full.idx", 10), 4, 0, 0);
+        // No blocks are served between chunks, so the chunk size stays at 4
+        assertEquals("0..30", range(fetch.nextChunk()));
+        fetch.chunkDone();
+        assertEquals("40..70", range(fetch.nextChunk()));
+        fetch.chunkDone();
+        assertEquals("80..90", range(fetch.nextChunk()));
+        fetch.chunkDone();
+        assertNull(fetch.nextChunk());
+
+        RangeProgressEvent progress = fetch.progress(true);
+        assertEquals(10, progress.getTotalBlocks());
+        assertEquals(3, progress.getChunks());
+        assertEquals(100.0, progress.getPercent());
+        assertFalse(progress.isCancelled());
+    }
+
+    @Test
+    void indexGapContinuesFromLastIndexedBlockAndDeliversItOnce() throws Exception {
+        ChunkedFetch fetch = new ChunkedFetch(point(0), point(9), index("short.idx", 5), 4, 0, 0);
+        assertEquals("0..30", range(fetch.nextChunk()));
+        for (long n = 0; n <= 3; n++) {
+            assertTrue(fetch.accept(block(n)));
+        }
+        assertEquals("40..40", range(fetch.nextChunk()));
+        int delivered = fetch.accept(block(4)) ? 1 : 0;
+
+        // Past the index the rest goes as one chunk that starts at the last indexed block again
+        assertEquals("40..90", range(fetch.nextChunk()));
+        delivered += fetch.accept(block(4)) ? 1 : 0;
+        assertEquals(1, delivered, "block 4 is delivered once");
+        for (long n = 5; n <= 9; n++) {
+            assertTrue(fetch.accept(block(n)));
+        }
+        assertNull(fetch.nextChunk());
+        assertEquals(10, fetch.progress(true).getBlocks());
+    }
+
+    @Test
+    void holeInIndexIsSpannedByTheNextChunk() throws Exception {
+        // Blocks 4 and 5 are missing from the index, as after a backfill that never completed
+        PointIndex index = PointIndex.open(dir.resolve("holed.idx"));
+        for (long n = 0; n < 10; n++) {
+            if (n != 4 && n != 5) {
+                index.append(10 * n, n, hash(n));
+            }
+        }
+        ChunkedFetch fetch = new ChunkedFetch(point(0), point(9), index, 4, 0, 0);
+        assertEquals("0..30", range(fetch.nextChunk()));
+        for (long n = 0; n <= 3; n++) {
+            assertTrue(fetch.accept(block(n)));
+        }
+
+        // Restarts at block 3 and reaches at least block 6, the next indexed one
+        assertEquals("30..60", range(fetch.nextChunk()));
+        assertFalse(fetch.accept(block(3)), "block 3 is delivered once");
+        for (long n = 4; n <= 6; n++) {
+            assertTrue(fetch.accept(block(n)));
+        }
+        assertEquals("70..90", range(fetch.nextChunk()));
+        for (long n = 7; n <= 9; n++) {
+            assertTrue(fetch.accept(block(n)));
+        }
+        assertNull(fetch.nextChunk());
+        assertEquals(10, fetch.progress(true).getBlocks());
+    }
+
+    @Test
+    void withoutIndexTheRangeIsOneChunk() {
+        ChunkedFetch fetch = new ChunkedFetch(point(0), point(9), null, 4, 0, 0);
+        assertEquals("0..90", range(fetch.nextChunk()));
+        assertNull(fetch.nextChunk());
+        assertEquals(-1, fetch.progress(false).getTotalBlocks());
+    }
+
+    @Test
+    void cancelDropsBlocksAndStopsChunks() throws Exception {
+        ChunkedFetch fetch = new ChunkedFetch(point(0), point(9), index("cancel.idx", 10), 4, 0, 0);
+        fetch.nextChunk();
+        assertTrue(fetch.accept(block(0)));
+        fetch.cancel();
+        assertFalse(fetch.accept(block(1)));
+        assertNull(fetch.nextChunk());
+
+        RangeProgressEvent progress = fetch.progress(true);
+        assertTrue(progress.isCancelled());
+        assertTrue(progress.isDone());
+        assertEquals(1, progress.getBlocks());
+        assertTrue(progress.getPercent() < 100.0);
+    }
+
+    @Test
+    void rejectsReversedRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedFetch(point(9), point(0), null, 0, 0, 0));
+    }
+}
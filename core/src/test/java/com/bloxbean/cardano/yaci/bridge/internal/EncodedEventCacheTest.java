@@ -0,0 +1,92 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.BlockPayload;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the encoded event cache: hit/miss accounting, keys and the byte bound.
+ */
+class EncodedEventCacheTest {
+
+    // Each test gets its own network so the shared per-network caches do not interfere
+    private static long magic = 0x7e570000L;
+
+    private static EncodedEventCache cache(long maxBytes) {
+        return EncodedEventCache.forNetwork(magic++, maxBytes);
+    }
+
+    private static BlockEvent block(long slot) {
+        Transaction tx = Transaction.builder()
+                .txHash("t" + slot)
+                .body(TransactionBody.builder().cbor("a0").build())
+                .build();
+        return new BlockEvent("Babbage", slot, "h" + slot, slot, "820102", List.of(tx));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] out = new byte[buffer.remaining()];
+        buffer.duplicate().get(out);
+        return out;
+    }
+
+    @Test
+    void missThenHitServesStoredBytes() {
+        EncodedEventCache cache = cache(1024 * 1024);
+        BlockEvent block = block(10);
+        String key = EncodedEventCache.key(block, true);
+        byte[] json = "{\"type\":\"block\"}".getBytes(StandardCharsets.UTF_8);
+        BlockPayload payload = BlockPayload.of(block);
+
+        assertNull(cache.get(key));
+        EncodedEventCache.Entry stored = cache.put(key, json, payload);
+        assertNotNull(stored);
+        assertArrayEquals(payload.toBytes(), bytes(stored.raw));
+
+        EncodedEventCache.Entry hit = cache.get(key);
+        assertSame(stored, hit);
+        assertArrayEquals(json, bytes(hit.json));
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+        assertEquals(1, cache.stats().get("entries"));
+    }
+
+    @Test
+    void keySeparatesEncodingsAndEventShapes() {
+        EncodedEventCache cache = cache(1024 * 1024);
+        BlockEvent block = block(10);
+        cache.put(EncodedEventCache.key(block, false), new byte[]{'{', '}'}, null);
+
+        assertNull(cache.get(EncodedEventCache.key(block, true)), "raw payload encoding");
+        assertNull(cache.get(EncodedEventCache.key(block.withoutTransactions(), false)), "no transactions");
+        assertNull(cache.get(EncodedEventCache.key(block(11), false)), "other block");
+        assertNotNull(cache.get(EncodedEventCache.key(block(10), false)), "same block seen again");
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(3L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPastByteBound() {
+        EncodedEventCache cache = cache(20);
+        cache.put("a", new byte[8], null);
+        cache.put("b", new byte[8], null);
+        assertNotNull(cache.get("a"));
+        cache.put("c", new byte[8], null);
+
+        assertNull(cache.get("b"), "least recently used goes first");
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1L, cache.stats().get("evictions"));
+
+        assertNull(cache.put("big", new byte[21], null), "larger than the cache");
+        assertEquals(16L, cache.stats().get("bytes"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the bounded event queue: batching, producer back-pressure and close.
+ */
+class EventQueueTest {
+
+    private static String event(int n) {
+        return "{\"n\":" + n + "}";
+    }
+
+    private static Thread producer(EventQueue queue, int from, int count, CountDownLatch done) {
+        Thread t = new Thread(() -> {
+            for (int i = from; i < from + count; i++) {
+                queue.put(event(i));
+            }
+            done.countDown();
+        });
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    @Test
+    void pollReturnsBatchesInOrder() throws Exception {
+        EventQueue queue = new EventQueue(100, 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            queue.put(event(i));
+        }
+        assertEquals("{\"events\":[{\"n\":0},{\"n\":1},{\"n\":2}],\"closed\":false}", queue.poll(3, 0));
+        assertEquals("{\"events\":[{\"n\":3},{\"n\":4}],\"closed\":false}", queue.poll(3, 0));
+        assertEquals("{\"events\":[],\"closed\":false}", queue.poll(3, 10));
+        assertEquals(5L, queue.stats().get("delivered"));
+        assertEquals(0L, queue.stats().get("queuedBytes"));
+    }
+
+    @Test
+    void producerWaitsWhileFullByCount() throws Exception {
+        EventQueue queue = new EventQueue(2, 1024 * 1024);
+        CountDownLatch done = new CountDownLatch(1);
+        producer(queue, 0, 3, done);
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS), "third put waits for room");
+        assertEquals(2, queue.stats().get("queued"));
+
+        assertEquals("{\"events\":[{\"n\":0}],\"closed\":false}", queue.poll(1, 0));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("{\"events\":[{\"n\":1},{\"n\":2}],\"closed\":false}", queue.poll(10, 0));
+        assertTrue((long) queue.stats().get("producerWaitMillis") > 0);
+    }
+
+    @Test
+    void byteBoundAdmitsOversizedEventOnlyWhenEmpty() throws Exception {
+        String big = "{\"data\":\"" + "x".repeat(100) + "\"}";
+        EventQueue queue = new EventQueue(100, 50);
+        queue.put(big);
+        assertEquals(1, queue.stats().get("queued"));
+
+        CountDownLatch done = new CountDownLatch(1);
+        producer(queue, 0, 1, done);
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS), "no room next to the oversized event");
+        queue.poll(1, 0);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closeReleasesWaitingProducerAndDrainsBeforeReportingClosed() throws Exception {
+        EventQueue queue = new EventQueue(1, 1024 * 1024);
+        queue.put(event(0));
+        CountDownLatch done = new CountDownLatch(1);
+        producer(queue, 1, 1, done);
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+
+        queue.close();
+        assertTrue(done.await(5, TimeUnit.SECONDS), "waiting producer gives up");
+        assertEquals("{\"events\":[{\"n\":0}],\"closed\":true}", queue.poll(10, 1000));
+        queue.put(event(2));
+        assertEquals("{\"events\":[],\"closed\":true}", queue.poll(10, 1000));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the event server's client framing, over a socket in a temporary directory.
+ */
+class EventServerTest {
+
+    @TempDir
+    Path dir;
+
+    private static ByteBuffer frame(byte type, byte[] body) {
+        ByteBuffer frame = ByteBuffer.allocate(5 + body.length);
+        frame.putInt(1 + body.length).put(type).put(body).flip();
+        return frame;
+    }
+
+    /** Reads until {@code buffer} is full or the server closes (or resets) the connection; false on close. */
+    private static boolean read(SocketChannel channel, Selector selector, ByteBuffer buffer) throws Exception {
+        while (buffer.hasRemaining()) {
+            assertTrue(selector.select(5000) > 0, "server answered in time");
+            selector.selectedKeys().clear();
+            try {
+                if (channel.read(buffer) < 0) {
+                    return false;
+                }
+            } catch (SocketException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void truncatedCreditFrameClosesTheClient() throws Exception {
+        EventServer server = new EventServer(dir.resolve("events.sock"), 1024 * 1024);
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+             Selector selector = Selector.open()) {
+            channel.connect(UnixDomainSocketAddress.of(server.getSocketPath()));
+            channel.write(frame(EventServer.FRAME_SUBSCRIBE, "{\"credits\":1}".getBytes(StandardCharsets.UTF_8)));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+
+            ByteBuffer header = ByteBuffer.allocate(5);
+            assertTrue(read(channel, selector, header));
+            assertEquals(EventServer.FRAME_SUBSCRIBED, header.get(4));
+            assertTrue(read(channel, selector, ByteBuffer.allocate(header.getInt(0) - 1)));
+
+            // A CREDIT frame with two bytes instead of a u32
+            channel.write(frame(EventServer.FRAME_CREDIT, new byte[] {0, 1}));
+            assertFalse(read(channel, selector, ByteBuffer.allocate(1)), "server closed the connection");
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (!((List<?>) server.stats().get("subscribers")).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(List.of(), server.stats().get("subscribers"));
+        } finally {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the windowed follower's ordering window, driven with synthetic headers,
+ * bodies and range results.
+ */
+class FollowerWindowTest {
+
+    private static final Point X = new Point(10, "x");
+    private static final Point A = new Point(20, "a");
+    private static final Point B = new Point(30, "b");
+    private static final Point C = new Point(40, "c");
+    private static final Point D = new Point(35, "d");
+
+    /** Records every effect of the window as a readable string. */
+    private static final class Recorder implements FollowerWindow.Io<String> {
+        final List<String> requests = new ArrayList<>();
+        final List<String> delivered = new ArrayList<>();
+        int resumes;
+        String failure;
+
+        @Override
+        public void requestRange(Point from, Point to) {
+            requests.add(from.getHash() + ".." + to.getHash());
+        }
+
+        @Override
+        public void resumeChainSync() {
+            resumes++;
+        }
+
+        @Override
+        public void deliver(String body) {
+            delivered.add(body);
+        }
+
+        @Override
+        public void rollback(Point point) {
+            delivered.add("rollback:" + point.getHash());
+        }
+
+        @Override
+        public void fail(String reason) {
+            failure = reason;
+        }
+    }
+
+    /** Leaves range a..c in flight after x has been delivered. */
+    private static FollowerWindow<String> inFlightAtoC(Recorder io) {
+        FollowerWindow<String> window = new FollowerWindow<>(100, io);
+        window.onHeader(X);
+        window.onHeader(A);
+        window.onHeader(B);
+        window.onHeader(C);
+        window.onBody("x", "x");
+        window.onRangeDone();
+        assertEquals(List.of("x..x", "a..c"), io.requests);
+        return window;
+    }
+
+    @Test
+    void noBlocksThenRollbackIntoRangeKeepsBodiesUpToRollbackPoint() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = inFlightAtoC(io);
+
+        window.onRangeDone();           // NoBlocks: the node switched forks inside a..c
+        assertEquals(List.of("x..x", "a..c"), io.requests, "retry waits for chain-sync");
+
+        window.onRollback(B);
+        assertEquals(List.of("x..x", "a..c", "a..b"), io.requests);
+
+        window.onBody("a", "a");
+        window.onBody("b", "b");
+        window.onRangeDone();
+        assertEquals(List.of("x", "a", "b", "rollback:b"), io.delivered);
+        assertNull(io.failure);
+    }
+
+    @Test
+    void rollbackBeforeNoBlocksRetriesWithNextHeader() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = inFlightAtoC(io);
+
+        window.onRollback(B);
+        window.onRangeDone();           // NoBlocks for a..c
+        window.onHeader(D);             // first header of the new fork
+        assertEquals(List.of("x..x", "a..c", "a..d"), io.requests);
+
+        window.onBody("a", "a");
+        window.onBody("b", "b");
+        window.onBody("d", "d");
+        window.onRangeDone();
+        assertEquals(List.of("x", "a", "b", "rollback:b", "d"), io.delivered);
+    }
+
+    @Test
+    void bodiesPastRollbackPointAreDroppedEvenIfTheyArrive() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = inFlightAtoC(io);
+
+        window.onRollback(B);
+        window.onBody("a", "a");
+        window.onBody("b", "b");
+        window.onBody("c", "c");
+        window.onRangeDone();
+        assertEquals(List.of("x", "a", "b", "rollback:b"), io.delivered);
+        assertEquals(0, window.outstanding());
+    }
+
+    @Test
+    void shortRangeResumesPausedChainSync() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = new FollowerWindow<>(2, io);
+        assertTrue(window.onHeader(A));
+        assertFalse(window.onHeader(B), "window full");
+
+        window.onRangeDone();           // NoBlocks for a..a
+        assertEquals(1, io.resumes, "chain-sync must run to report the rollback");
+    }
+
+    @Test
+    void repeatedShortRangesFailInsteadOfSkipping() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = new FollowerWindow<>(100, io);
+        window.onHeader(A);
+        for (int i = 0; i < FollowerWindow.MAX_SHORT_RANGES; i++) {
+            window.onRangeDone();
+            assertNull(io.failure);
+            window.onHeader(new Point(100 + i, "n" + i));
+        }
+        window.onRangeDone();
+        assertNotNull(io.failure);
+        assertTrue(io.delivered.isEmpty());
+    }
+
+    @Test
+    void disconnectRequestsMissingBodiesAgain() {
+        Recorder io = new Recorder();
+        FollowerWindow<String> window = inFlightAtoC(io);
+
+        window.onBody("a", "a");
+        window.onDisconnected();
+        window.onConnected();
+        assertEquals(List.of("x..x", "a..c", "b..c"), io.requests);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the overflow spool: delivery order across memory and disk, the disk cap and
+ * segment cleanup.
+ */
+class OverflowSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    private static String event(int n) {
+        return "{\"n\":" + n + "}";
+    }
+
+    private static void awaitDelivered(List<String> delivered, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (delivered.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, delivered.size(), "delivered events");
+    }
+
+    private long spoolFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".spool")).count();
+        }
+    }
+
+    @Test
+    void deliversInOrderWithSlowConsumerAndSmallCap() throws Exception {
+        // A cap of a few events makes the producer wait at the cap while the disk drains
+        int count = 300;
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        OverflowSpool spool = new OverflowSpool(dir, "order", 1, 64, json -> {
+            delivered.add(json);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < count; i++) {
+            spool.put(event(i));
+        }
+        awaitDelivered(delivered, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(event(i), delivered.get(i), "out of order at " + i);
+        }
+        assertTrue((long) spool.stats().get("spooledTotal") > 0, "events went through disk");
+        spool.close();
+        assertEquals(0, spoolFiles());
+    }
+
+    @Test
+    void spoolsBehindBlockedConsumerWithoutBlockingProducer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        OverflowSpool spool = new OverflowSpool(dir, "blocked", 4, 1024 * 1024, json -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(json);
+        });
+        for (int i = 0; i < 1000; i++) {
+            spool.put(event(i));
+        }
+        assertTrue(spoolFiles() > 0);
+        assertEquals(0L, spool.stats().get("producerWaitMillis"));
+
+        release.countDown();
+        awaitDelivered(delivered, 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(event(i), delivered.get(i));
+        }
+        spool.close();
+        assertEquals(0, spoolFiles());
+    }
+
+    @Test
+    void segmentsAreDeletedOnceDelivered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        OverflowSpool spool = new OverflowSpool(dir, "deliver", 1, 1024 * 1024, json -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(json);
+        });
+        for (int i = 0; i < 100; i++) {
+            spool.put(event(i));
+        }
+        assertTrue(spoolFiles() > 0);
+
+        release.countDown();
+        awaitDelivered(delivered, 100);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (spoolFiles() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, spoolFiles(), "delivered segments are deleted before close");
+        assertEquals(100L, spool.stats().get("delivered"));
+        spool.close();
+    }
+}
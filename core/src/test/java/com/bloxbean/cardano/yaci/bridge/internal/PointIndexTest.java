@@ -0,0 +1,86 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for out-of-order inserts into the point index (block n at slot 10 * n).
+ */
+class PointIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static String hash(long n) {
+        return String.format("%064x", n + 1);
+    }
+
+    @Test
+    void olderRangesAreInsertedInSlotOrder() throws Exception {
+        PointIndex index = PointIndex.open(dir.resolve("points.idx"));
+        try {
+            // A later range first, then an earlier one and a block in the gap
+            for (long n = 2000; n < 3000; n++) {
+                index.append(10 * n, n, hash(n));
+            }
+            for (long n = 0; n < 1000; n++) {
+                index.append(10 * n, n, hash(n));
+            }
+            index.append(10 * 1500, 1500, hash(1500));
+            index.append(10 * 2000, 2000, hash(2000));
+
+            assertEquals(2001, index.size());
+            assertEquals(hash(999), index.lookupBySlot(10 * 999, PointIndex.MODE_EXACT).get("hash"));
+            assertEquals(1500L, index.lookupBySlot(10 * 1200, PointIndex.MODE_AT_OR_AFTER).get("blockNumber"));
+            assertEquals(1500L, index.lookupByBlockNumber(1999, PointIndex.MODE_AT_OR_BEFORE).get("blockNumber"));
+            assertEquals(hash(2999), index.lookupByBlockNumber(2999, PointIndex.MODE_EXACT).get("hash"));
+
+            // The same answers once the held-aside records are merged into the file
+            index.mergePending();
+            assertEquals(2001, index.size());
+            assertEquals(hash(999), index.lookupBySlot(10 * 999, PointIndex.MODE_EXACT).get("hash"));
+            assertEquals(1500L, index.lookupBySlot(10 * 1200, PointIndex.MODE_AT_OR_AFTER).get("blockNumber"));
+            assertEquals(1500L, index.lookupByBlockNumber(1999, PointIndex.MODE_AT_OR_BEFORE).get("blockNumber"));
+            for (long n = 0; n < 1000; n++) {
+                assertEquals(n, index.lookupBySlot(10 * n, PointIndex.MODE_EXACT).get("blockNumber"));
+            }
+        } finally {
+            PointIndex.closeIndex(dir.resolve("points.idx"));
+        }
+    }
+
+    @Test
+    void pendingRecordsSurviveReopenAndRollback() throws Exception {
+        Path file = dir.resolve("reopen.idx");
+        PointIndex index = PointIndex.open(file);
+        for (long n = 10; n < 20; n++) {
+            index.append(10 * n, n, hash(n));
+        }
+        for (long n = 0; n < 10; n += 2) {
+            index.append(10 * n, n, hash(n));
+        }
+        // Replaces a record that is still held aside
+        index.append(10 * 4, 4, hash(40));
+        assertEquals(hash(40), index.lookupByBlockNumber(4, PointIndex.MODE_EXACT).get("hash"));
+        assertEquals(2L, index.lookupBySlot(25, PointIndex.MODE_AT_OR_BEFORE).get("blockNumber"));
+        PointIndex.closeIndex(file);
+
+        index = PointIndex.open(file);
+        try {
+            assertEquals(15, index.size());
+            assertEquals(hash(40), index.lookupBySlot(40, PointIndex.MODE_EXACT).get("hash"));
+            index.append(10 * 5, 5, hash(5));
+            index.rollbackTo(10 * 12);
+            assertEquals(9, index.size());
+            assertEquals(5L, index.lookupBySlot(55, PointIndex.MODE_AT_OR_BEFORE).get("blockNumber"));
+            assertEquals(12L, index.lookupBySlot(10 * 12 + 1, PointIndex.MODE_AT_OR_BEFORE).get("blockNumber"));
+            assertNull(index.lookupBySlot(10 * 12 + 1, PointIndex.MODE_AT_OR_AFTER));
+        } finally {
+            PointIndex.closeIndex(file);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.RangeDoneEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for range merging and in-order delivery, with synthetic blocks (block n at slot
+ * 10 * n) fed as block-fetch would serve them.
+ */
+class RangeBatchTest {
+
+    private static String hash(long n) {
+        return String.format("%064x", n + 1);
+    }
+
+    private static RangeBatch.Range range(int index, long fromBlock, long toBlock) {
+        return new RangeBatch.Range(index, new Point(10 * fromBlock, hash(fromBlock)),
+                new Point(10 * toBlock, hash(toBlock)));
+    }
+
+    private static BlockEvent block(long n) {
+        return new BlockEvent("Babbage", 10 * n, hash(n), n, "8201", List.of());
+    }
+
+    /** Serves every merged fetch in turn and records each event as "b<n><ranges>" or "done<i>:<count>". */
+    private static List<String> serveAll(RangeBatch batch, List<List<String>> perBlock) {
+        List<String> out = new ArrayList<>();
+        RangeBatch.Fetch fetch;
+        while ((fetch = batch.nextFetch()) != null) {
+            for (long n = fetch.from.getSlot() / 10; n <= fetch.to.getSlot() / 10; n++) {
+                List<String> step = new ArrayList<>();
+                for (SyncEvent event : batch.onBlock(block(n))) {
+                    step.add(describe(event));
+                }
+                perBlock.add(step);
+                out.addAll(step);
+            }
+            batch.onFetchDone();
+            for (SyncEvent event : batch.drain()) {
+                out.add(describe(event));
+            }
+        }
+        return out;
+    }
+
+    private static String describe(SyncEvent event) {
+        if (event instanceof RangeDoneEvent) {
+            RangeDoneEvent done = (RangeDoneEvent) event;
+            return "done" + done.getRangeIndex() + ":" + done.getBlocks();
+        }
+        BlockEvent block = (BlockEvent) event;
+        return "b" + block.getBlockNumber() + block.getRanges();
+    }
+
+    @Test
+    void overlappingRangesAreMergedIntoOneFetch() {
+        RangeBatch batch = new RangeBatch(List.of(range(0, 0, 3), range(1, 2, 5), range(2, 9, 9)), 0);
+        assertEquals(2, batch.fetchCount());
+    }
+
+    @Test
+    void headRangeIsStreamedAndLaterInputsWaitTheirTurn() {
+        // Input 0 (blocks 4..6) is served by the same fetch as input 1 (blocks 1..5), which starts earlier
+        RangeBatch batch = new RangeBatch(List.of(range(0, 4, 6), range(1, 1, 5)), 0);
+        List<List<String>> perBlock = new ArrayList<>();
+        List<String> events = serveAll(batch, perBlock);
+
+        assertEquals(List.of("b4[0, 1]", "b5[0, 1]", "b6[0]", "done0:3", "b1[1]", "b2[1]", "b3[1]", "done1:5"),
+                events);
+        // Blocks 1..3 belong only to input 1 and are held back; block 4 goes out as soon as it arrives
+        assertEquals(List.of(), perBlock.get(0));
+        assertEquals(List.of("b4[0, 1]"), perBlock.get(3));
+    }
+
+    @Test
+    void inputClosesAsSoonAsTheFetchMovesPastIt() {
+        RangeBatch batch = new RangeBatch(List.of(range(0, 0, 1), range(1, 2, 3)), 10);
+        assertEquals(1, batch.fetchCount());
+        List<List<String>> perBlock = new ArrayList<>();
+        List<String> events = serveAll(batch, perBlock);
+
+        assertEquals(List.of("b0[0]", "b1[0]", "done0:2", "b2[1]", "b3[1]", "done1:2"), events);
+        assertEquals(List.of("done0:2", "b2[1]"), perBlock.get(2));
+    }
+
+    @Test
+    void gapBlocksAreDropped() {
+        RangeBatch batch = new RangeBatch(List.of(range(0, 0, 0), range(1, 3, 3)), 30);
+        assertEquals(1, batch.fetchCount());
+        List<String> events = serveAll(batch, new ArrayList<>());
+        assertEquals(List.of("b0[0]", "done0:1", "b3[1]", "done1:1"), events);
+    }
+
+    @Test
+    void fetchesAreIssuedInInputOrder() {
+        RangeBatch batch = new RangeBatch(List.of(range(0, 7, 8), range(1, 0, 1)), 0);
+        assertEquals(2, batch.fetchCount());
+        List<String> events = serveAll(batch, new ArrayList<>());
+        assertEquals(List.of("b7[0]", "b8[0]", "done0:2", "b0[1]", "b1[1]", "done1:2"), events);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the records a publisher writes, read back from the ring file.
+ */
+class RingPublisherTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void oversizedEventIsPublishedAsSkippedRecord() throws Exception {
+        Path file = dir.resolve("events.ring");
+        RingPublisher publisher = new RingPublisher(file, RingPublisher.MIN_CAPACITY, lag -> { });
+        byte[] small = "{\"n\":0}".getBytes(StandardCharsets.UTF_8);
+        try {
+            publisher.publish(small);
+            publisher.publish(new byte[(int) RingPublisher.MIN_CAPACITY]);
+            publisher.publish(small);
+            assertEquals(3L, publisher.stats().get("sequence"));
+            assertEquals(1L, publisher.stats().get("skipped"));
+        } finally {
+            publisher.close();
+        }
+
+        ByteBuffer ring = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        // Records start after the 4096-byte header: 16-byte record header plus JSON padded to 8
+        int first = 4096;
+        int skipped = first + 24;
+        int third = skipped + 16;
+        assertEquals(small.length, ring.getInt(first));
+        assertEquals(0L, ring.getLong(first + 8));
+        assertEquals(0, ring.getInt(skipped));
+        assertEquals(RingPublisher.FLAG_SKIPPED, ring.getInt(skipped + 4));
+        assertEquals(1L, ring.getLong(skipped + 8));
+        assertEquals(0, ring.getInt(third + 4));
+        assertEquals(2L, ring.getLong(third + 8));
+    }
+}
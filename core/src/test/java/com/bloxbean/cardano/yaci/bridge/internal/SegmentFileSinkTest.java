@@ -0,0 +1,95 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.SegmentClosedEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SinkErrorEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the segment file sink: rotation and how write failures are reported.
+ */
+class SegmentFileSinkTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] event(long slot) {
+        return ("{\"slot\":" + slot + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void deleteTree(Path root) throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void rotatesAtSegmentSize() throws Exception {
+        List<SyncEvent> reported = new ArrayList<>();
+        SegmentFileSink sink = new SegmentFileSink(dir, "s", 20, SegmentFileSink.FORMAT_NDJSON, false, 0,
+                reported::add);
+        sink.write(event(1), 1);
+        sink.write(event(2), 2);        // 24 bytes: segment closes
+        sink.write(event(3), 3);
+        sink.close();
+
+        assertEquals(2, reported.size());
+        SegmentClosedEvent first = (SegmentClosedEvent) reported.get(0);
+        assertEquals(2, first.getEvents());
+        assertEquals(1L, first.getFirstSlot());
+        assertEquals(2L, first.getLastSlot());
+        assertEquals("{\"slot\":1}\n{\"slot\":2}\n", Files.readString(Path.of(first.getPath())));
+    }
+
+    @Test
+    void failedWriteAbandonsSegmentAndReportsItsRange() throws Exception {
+        Path sinkDir = dir.resolve("sink");
+        List<SyncEvent> reported = new ArrayList<>();
+        SegmentFileSink sink = new SegmentFileSink(sinkDir, "s", 30, SegmentFileSink.FORMAT_NDJSON, false, 0,
+                reported::add);
+        sink.write(event(1), 1);
+        sink.write(event(2), 2);
+
+        // The directory disappears under the open segment: its rename at rotation fails
+        deleteTree(sinkDir);
+        Files.writeString(sinkDir, "not a directory");
+        sink.write(event(3), 3);
+
+        assertEquals(1, reported.size());
+        SinkErrorEvent error = (SinkErrorEvent) reported.get(0);
+        assertEquals("sink_error", error.getType());
+        assertEquals(3, error.getEvents());
+        assertEquals(1L, error.getFirstSlot());
+        assertEquals(3L, error.getLastSlot());
+        assertTrue(error.getPath().endsWith("s-00000001.ndjson.part"));
+
+        // The next event starts a new segment, which cannot be created either
+        sink.write(event(4), 4);
+        assertEquals(2, reported.size());
+        SinkErrorEvent next = (SinkErrorEvent) reported.get(1);
+        assertEquals(1, next.getEvents());
+        assertEquals(4L, next.getFirstSlot());
+        assertTrue(next.getPath().endsWith("s-00000002.ndjson.part"));
+
+        // Once the directory is back, writing resumes with a fresh segment
+        Files.delete(sinkDir);
+        Files.createDirectories(sinkDir);
+        sink.write(event(5), 5);
+        sink.close();
+        assertEquals(3, reported.size());
+        SegmentClosedEvent closed = (SegmentClosedEvent) reported.get(2);
+        assertEquals(1, closed.getEvents());
+        assertEquals(5L, closed.getFirstSlot());
+        assertEquals("{\"slot\":5}\n", Files.readString(Path.of(closed.getPath())));
+    }
+}
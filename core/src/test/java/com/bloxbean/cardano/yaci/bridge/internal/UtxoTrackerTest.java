@@ -0,0 +1,124 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.TrackedUtxo;
+import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.TransactionBody;
+import com.bloxbean.cardano.yaci.core.model.TransactionInput;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import com.bloxbean.cardano.yaci.helper.model.Utxo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the UTxO tracker's apply / rollback bookkeeping, using synthetic blocks.
+ */
+class UtxoTrackerTest {
+
+    private static final String WATCHED = "addr_test1watched";
+    private static final String OTHER = "addr_test1other";
+
+    @TempDir
+    Path dir;
+
+    private static Utxo output(String txHash, int index, String address) {
+        return Utxo.builder()
+                .txHash(txHash)
+                .index(index)
+                .address(address)
+                .amounts(List.of(Amount.builder().unit("lovelace").quantity(BigInteger.valueOf(1_000_000)).build()))
+                .build();
+    }
+
+    private static Transaction tx(String txHash, List<String> spends, List<Utxo> outputs) {
+        Set<TransactionInput> inputs = spends.stream()
+                .map(key -> TransactionInput.builder()
+                        .transactionId(key.substring(0, key.indexOf('#')))
+                        .index(Integer.parseInt(key.substring(key.indexOf('#') + 1)))
+                        .build())
+                .collect(Collectors.toSet());
+        return Transaction.builder()
+                .txHash(txHash)
+                .body(TransactionBody.builder().inputs(inputs).build())
+                .utxos(outputs)
+                .build();
+    }
+
+    private static BlockEvent block(long slot, Transaction... txs) {
+        return new BlockEvent("Babbage", slot, "h" + slot, slot, null, List.of(txs));
+    }
+
+    private static Set<String> keys(UtxoTracker tracker) {
+        return tracker.utxos(null).stream().map(TrackedUtxo::key).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Test
+    void rollbackOverBlockWithChainedSpendRestoresPreviousSet() {
+        UtxoTracker tracker = new UtxoTracker(List.of(WATCHED));
+        tracker.apply(block(10, tx("a", List.of(), List.of(output("a", 0, WATCHED)))));
+        assertEquals(Set.of("a#0"), keys(tracker));
+
+        // b spends a#0 and creates b#0; c spends b#0 in the same block
+        assertNotNull(tracker.apply(block(20,
+                tx("b", List.of("a#0"), List.of(output("b", 0, WATCHED))),
+                tx("c", List.of("b#0"), List.of(output("c", 0, WATCHED), output("c", 1, OTHER))))));
+        assertEquals(Set.of("c#0"), keys(tracker));
+
+        assertNotNull(tracker.rollback(10, "h10"));
+        assertEquals(Set.of("a#0"), keys(tracker), "b#0 never existed at slot 10");
+    }
+
+    @Test
+    void outputCreatedAndSpentInOneBlockLeavesNoDelta() {
+        UtxoTracker tracker = new UtxoTracker(List.of(WATCHED));
+        assertNull(tracker.apply(block(10,
+                tx("a", List.of(), List.of(output("a", 0, WATCHED))),
+                tx("b", List.of("a#0"), List.of(output("b", 0, OTHER))))));
+        assertTrue(keys(tracker).isEmpty());
+        assertNull(tracker.rollback(5, "h5"));
+        assertTrue(keys(tracker).isEmpty());
+    }
+
+    @Test
+    void rollbackDeeperThanUndoLogFailsTracker() {
+        UtxoTracker tracker = new UtxoTracker(List.of(WATCHED));
+        tracker.apply(block(1, tx("a", List.of(), List.of(output("a", 0, WATCHED)))));
+        for (long slot = 2; slot <= UtxoTracker.MAX_UNDO + 2; slot++) {
+            tracker.apply(block(slot));
+        }
+        // Within the log
+        tracker.rollback(100, "h100");
+        assertEquals(Set.of("a#0"), keys(tracker));
+
+        assertThrows(IllegalStateException.class, () -> tracker.rollback(1, "h1"));
+        assertThrows(IllegalStateException.class, () -> tracker.utxos(null));
+        assertThrows(IllegalStateException.class, () -> tracker.snapshot(dir.resolve("utxos.snap")));
+    }
+
+    @Test
+    void snapshotKeepsUndoLogReach() throws Exception {
+        UtxoTracker tracker = new UtxoTracker(List.of(WATCHED));
+        for (long slot = 1; slot <= UtxoTracker.MAX_UNDO + 10; slot++) {
+            tracker.apply(block(slot, tx("t" + slot, List.of(), List.of(output("t" + slot, 0, WATCHED)))));
+        }
+        Path file = dir.resolve("utxos.snap");
+        tracker.snapshot(file);
+
+        UtxoTracker loaded = UtxoTracker.load(file, List.of(WATCHED));
+        assertEquals(tracker.point(), loaded.point());
+        assertEquals(keys(tracker), keys(loaded));
+
+        loaded.rollback(UtxoTracker.MAX_UNDO + 5, "h");
+        assertEquals(UtxoTracker.MAX_UNDO + 5, keys(loaded).size());
+        assertThrows(IllegalStateException.class, () -> loaded.rollback(5, "h5"));
+    }
+}
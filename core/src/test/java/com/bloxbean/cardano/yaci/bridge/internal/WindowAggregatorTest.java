@@ -0,0 +1,54 @@
+package com.bloxbean.cardano.yaci.bridge.internal;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.bridge.event.WindowEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for window rollups across rollbacks, using empty synthetic blocks in 100-slot windows.
+ */
+class WindowAggregatorTest {
+
+    private static BlockEvent block(long slot) {
+        return new BlockEvent("Babbage", slot, String.format("%064x", slot), slot, "8201", List.of());
+    }
+
+    @Test
+    void rollbackAcrossBoundaryReEmitsEmptiedWindow() {
+        WindowAggregator aggregator = new WindowAggregator(100, 0, 0);
+        aggregator.apply(block(10));
+        assertEquals(0, aggregator.apply(block(110)).get(0).getWindow());
+        aggregator.apply(block(210));
+
+        // Window 1 was emitted and is now empty; window 2 never was
+        aggregator.rollback(50);
+        List<WindowEvent> closed = aggregator.apply(block(320));
+        assertEquals(2, closed.size());
+        assertEquals(0, closed.get(0).getWindow());
+        assertEquals(1, closed.get(0).getRevision());
+        assertEquals(1, closed.get(1).getWindow());
+        assertEquals(0, closed.get(1).getBlocks());
+        assertEquals(1, closed.get(1).getRevision());
+    }
+
+    @Test
+    void rollbackDeeperThanUndoLogFailsAggregator() {
+        WindowAggregator aggregator = new WindowAggregator(100, 0, 0);
+        for (long slot = 1; slot <= UtxoTracker.MAX_UNDO + 2; slot++) {
+            aggregator.apply(block(slot));
+        }
+        // Within the log
+        aggregator.rollback(100);
+        WindowEvent open = aggregator.flush();
+        assertEquals(1, open.getWindow());
+        assertEquals(1, open.getBlocks());
+
+        assertThrows(IllegalStateException.class, () -> aggregator.rollback(1));
+        assertTrue(aggregator.apply(block(UtxoTracker.MAX_UNDO * 10L)).isEmpty());
+        assertNull(aggregator.flush());
+    }
+}
@@ -0,0 +1,47 @@
+package com.bloxbean.cardano.yaci.bridge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Offline tests for the hex checks done before CBOR segments are copied to unmanaged memory.
+ */
+class NativeBytesTest {
+
+    @Test
+    void decodesHexBytes() {
+        assertEquals((byte) 0x82, NativeBytes.hexByte("8201", 0));
+        assertEquals((byte) 0xff, NativeBytes.hexByte("a0FF", 2));
+    }
+
+    @Test
+    void rejectsInvalidHexDigits() {
+        assertThrows(IllegalArgumentException.class, () -> NativeBytes.hexByte("8g", 0));
+        assertThrows(IllegalArgumentException.class, () -> NativeBytes.hexByte("a0 1", 2));
+    }
+
+    @Test
+    void acceptsSegmentsAddingUpToTotalLength() {
+        NativeBytes.checkHexSegments(Arrays.asList("820102", null, "a0"), 4);
+        NativeBytes.checkHexSegments(Arrays.asList(null, null), 0);
+    }
+
+    @Test
+    void rejectsSegmentsNotMatchingTotalLength() {
+        List<String> segments = List.of("820102", "a0");
+        assertThrows(IllegalArgumentException.class, () -> NativeBytes.checkHexSegments(segments, 5));
+        assertThrows(IllegalArgumentException.class, () -> NativeBytes.checkHexSegments(segments, 3));
+        // Checked before anything is allocated
+        assertThrows(IllegalArgumentException.class, () -> NativeBytes.fromHexSegments(segments, 5));
+    }
+
+    @Test
+    void rejectsOddLengthSegments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NativeBytes.checkHexSegments(List.of("82010", "a0"), 3));
+    }
+}
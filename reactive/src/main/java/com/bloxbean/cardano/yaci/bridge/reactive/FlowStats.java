@@ -0,0 +1,37 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+/**
+ * Snapshot of a publisher's subscription counters.
+ */
+public final class FlowStats {
+    private final long received;
+    private final long delivered;
+    private final long filtered;
+    private final long pendingDemand;
+    private final long demandWaitMillis;
+
+    FlowStats(long received, long delivered, long filtered, long pendingDemand, long demandWaitMillis) {
+        this.received = received;
+        this.delivered = delivered;
+        this.filtered = filtered;
+        this.pendingDemand = pendingDemand;
+        this.demandWaitMillis = demandWaitMillis;
+    }
+
+    /** Events the session dispatched to this subscription. */
+    public long getReceived() { return received; }
+    /** Items passed to {@code onNext}. */
+    public long getDelivered() { return delivered; }
+    /** Events dropped by filters or projections returning null. */
+    public long getFiltered() { return filtered; }
+    /** Requested items not yet delivered; {@code Long.MAX_VALUE} when unbounded. */
+    public long getPendingDemand() { return pendingDemand; }
+    /** Total time the session was held back waiting for demand. */
+    public long getDemandWaitMillis() { return demandWaitMillis; }
+
+    @Override
+    public String toString() {
+        return "FlowStats{received=" + received + ", delivered=" + delivered + ", filtered=" + filtered
+                + ", pendingDemand=" + pendingDemand + ", demandWaitMillis=" + demandWaitMillis + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A session's events as a {@link Flow.Publisher}. Subscribers receive the event objects the
+ * session builds — {@code BlockEvent} with its decoded transactions, {@code HeaderEvent},
+ * {@code RollbackEvent}, ... — with no JSON step.
+ *
+ * <p>The session connects on the first {@code request(n)} and is stopped when the subscription
+ * is cancelled or the stream ends. Demand is enforced on the session's dispatching thread: with
+ * no outstanding demand it waits, so chain-sync and block-fetch stop reading from the relay.
+ *
+ * <p>{@link #filter}, {@link #map} and {@link #ofType} derive publishers over the same session;
+ * a session can only be consumed once, so only one subscriber across all of them is accepted.
+ */
+public final class SessionPublisher<T> implements Flow.Publisher<T> {
+    private final SessionSource source;
+    // Returns null for events this publisher drops
+    private final Function<SyncEvent, ? extends T> stage;
+
+    SessionPublisher(SessionSource source, Function<SyncEvent, ? extends T> stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        SessionSubscription<T> subscription = new SessionSubscription<>(source, stage, subscriber);
+        if (!source.claim(subscription)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) {}
+                @Override public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("Session " + source.session.getId()
+                    + " already has a subscriber"));
+            return;
+        }
+        subscription.subscribe();
+    }
+
+    /** Only items matching {@code predicate}; dropped items do not consume demand. */
+    public SessionPublisher<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        Function<SyncEvent, ? extends T> upstream = stage;
+        return new SessionPublisher<T>(source, event -> {
+            T item = upstream.apply(event);
+            return item != null && predicate.test(item) ? item : null;
+        });
+    }
+
+    /** Projects each item; a projection returning null drops the item. */
+    public <R> SessionPublisher<R> map(Function<? super T, ? extends R> projection) {
+        Objects.requireNonNull(projection, "projection");
+        Function<SyncEvent, ? extends T> upstream = stage;
+        return new SessionPublisher<R>(source, event -> {
+            T item = upstream.apply(event);
+            return item != null ? projection.apply(item) : null;
+        });
+    }
+
+    /** Only items of {@code type}, e.g. {@code ofType(BlockEvent.class)}. */
+    public <R> SessionPublisher<R> ofType(Class<R> type) {
+        Objects.requireNonNull(type, "type");
+        Function<SyncEvent, ? extends T> upstream = stage;
+        return new SessionPublisher<R>(source, event -> {
+            T item = upstream.apply(event);
+            return type.isInstance(item) ? type.cast(item) : null;
+        });
+    }
+
+    /** Counters of the subscription, or all zeros before anyone has subscribed. */
+    public FlowStats stats() {
+        SessionSubscription<?> subscription = source.subscription();
+        return subscription != null ? subscription.stats() : new FlowStats(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.internal.BridgeSession;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One session behind a {@link SessionPublisher} and the publishers derived from it. A session is
+ * consumed at most once, so the first subscription claims it.
+ */
+abstract class SessionSource {
+    final BridgeSession session;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+    private volatile SessionSubscription<?> subscription;
+
+    SessionSource(BridgeSession session) {
+        this.session = session;
+    }
+
+    /** Connects and starts delivering events; may block until the handshake completes. */
+    abstract void start() throws Exception;
+
+    abstract void stop();
+
+    /** True if {@code event} ends the stream; it is not delivered. */
+    boolean completes(SyncEvent event) {
+        return false;
+    }
+
+    /** The error {@code event} ends the stream with, or null if it is an ordinary event. */
+    Throwable failure(SyncEvent event) {
+        return null;
+    }
+
+    boolean claim(SessionSubscription<?> s) {
+        if (!claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscription = s;
+        return true;
+    }
+
+    SessionSubscription<?> subscription() {
+        return subscription;
+    }
+}
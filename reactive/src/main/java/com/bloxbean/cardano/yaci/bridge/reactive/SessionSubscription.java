@@ -0,0 +1,188 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Links a session's dispatcher to one subscriber. Events arrive on the session's dispatching
+ * thread, which waits here while the subscriber has no outstanding demand — chain-sync and
+ * block-fetch do not read further until {@link #request(long)} is called again.
+ */
+final class SessionSubscription<T> implements Flow.Subscription, Consumer<SyncEvent> {
+    private final SessionSource source;
+    private final Function<SyncEvent, ? extends T> stage;
+    private final Flow.Subscriber<? super T> subscriber;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition demanded = lock.newCondition();
+    // Guarded by lock; Long.MAX_VALUE means unbounded
+    private long demand;
+    private long demandWaitNanos;
+
+    private volatile boolean cancelled;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private final AtomicBoolean terminated = new AtomicBoolean(false);
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong filtered = new AtomicLong();
+
+    SessionSubscription(SessionSource source, Function<SyncEvent, ? extends T> stage,
+                        Flow.Subscriber<? super T> subscriber) {
+        this.source = source;
+        this.stage = stage;
+        this.subscriber = subscriber;
+    }
+
+    void subscribe() {
+        source.session.dispatcher().setEventConsumer(this);
+        subscriber.onSubscribe(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested demand must be > 0, was " + n));
+            return;
+        }
+        lock.lock();
+        try {
+            long sum = demand + n;
+            demand = sum < 0 ? Long.MAX_VALUE : sum;
+            demanded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (!cancelled && started.compareAndSet(false, true)) {
+            startSession();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        wakeUp();
+        stopSession();
+    }
+
+    @Override
+    public void accept(SyncEvent event) {
+        if (cancelled) return;
+        received.incrementAndGet();
+        if (source.completes(event)) {
+            complete();
+            return;
+        }
+        Throwable failure = source.failure(event);
+        if (failure != null) {
+            fail(failure);
+            return;
+        }
+
+        T item;
+        try {
+            item = stage.apply(event);
+        } catch (Throwable t) {
+            fail(t);
+            return;
+        }
+        if (item == null) {
+            filtered.incrementAndGet();
+            return;
+        }
+        if (!awaitDemand()) return;
+        synchronized (this) {
+            if (cancelled) return;
+            delivered.incrementAndGet();
+            try {
+                subscriber.onNext(item);
+            } catch (Throwable t) {
+                // A throwing subscriber is treated as having cancelled
+                cancel();
+            }
+        }
+    }
+
+    FlowStats stats() {
+        lock.lock();
+        try {
+            return new FlowStats(received.get(), delivered.get(), filtered.get(), demand,
+                    demandWaitNanos / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitDemand() {
+        lock.lock();
+        try {
+            if (demand == 0) {
+                long waitStart = System.nanoTime();
+                while (demand == 0 && !cancelled) {
+                    demanded.awaitUninterruptibly();
+                }
+                demandWaitNanos += System.nanoTime() - waitStart;
+            }
+            if (cancelled) return false;
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void startSession() {
+        Thread starter = new Thread(() -> {
+            try {
+                source.start();
+            } catch (Exception e) {
+                fail(e);
+            }
+        }, "yaci-flow-" + source.session.getId());
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    private void stopSession() {
+        if (!started.get() || !stopped.compareAndSet(false, true)) return;
+        // Never stop from the dispatching thread: the session's stop waits for that thread's work
+        Thread stopper = new Thread(source::stop, "yaci-flow-stop-" + source.session.getId());
+        stopper.setDaemon(true);
+        stopper.start();
+    }
+
+    private void complete() {
+        if (!terminated.compareAndSet(false, true)) return;
+        cancel();
+        synchronized (this) {
+            subscriber.onComplete();
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (!terminated.compareAndSet(false, true)) return;
+        cancel();
+        synchronized (this) {
+            subscriber.onError(error);
+        }
+    }
+
+    private void wakeUp() {
+        lock.lock();
+        try {
+            demanded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+import com.bloxbean.cardano.yaci.bridge.event.DisconnectEvent;
+import com.bloxbean.cardano.yaci.bridge.event.SyncEvent;
+import com.bloxbean.cardano.yaci.bridge.internal.HeaderSyncSession;
+import com.bloxbean.cardano.yaci.bridge.internal.RangeSyncSession;
+import com.bloxbean.cardano.yaci.bridge.internal.SessionRegistry;
+import com.bloxbean.cardano.yaci.bridge.internal.SyncSession;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Entry points of the JVM API: each method creates a session and returns it as a
+ * {@link SessionPublisher}. Nothing connects until the subscriber requests its first item.
+ *
+ * <pre>{@code
+ * YaciFlow.blockSync("backbone.cardano.iog.io", 3001, Constants.MAINNET_PROTOCOL_MAGIC,
+ *                 Constants.WELL_KNOWN_MAINNET_POINT, from)
+ *         .ofType(BlockEvent.class)
+ *         .filter(block -> !block.getTransactions().isEmpty())
+ *         .subscribe(subscriber);
+ * }</pre>
+ */
+public final class YaciFlow {
+
+    private YaciFlow() {}
+
+    /** Follows the chain with chain-sync from {@code from}. The stream does not complete on its own. */
+    public static SessionPublisher<SyncEvent> blockSync(String host, int port, long protocolMagic,
+                                                        Point wellKnownPoint, Point from) {
+        return blockSync(host, port, protocolMagic, wellKnownPoint, from, 1);
+    }
+
+    /**
+     * Follows the chain from {@code from}, buffering up to {@code followerWindow} headers ahead of
+     * the blocks delivered; see {@link SyncSession#setFollowerWindow(int)}.
+     */
+    public static SessionPublisher<SyncEvent> blockSync(String host, int port, long protocolMagic,
+                                                        Point wellKnownPoint, Point from, int followerWindow) {
+        SyncSession sync = new SyncSession(SessionRegistry.nextId(), host, port, protocolMagic,
+                wellKnownPoint.getSlot(), wellKnownPoint.getHash());
+        sync.setFollowerWindow(followerWindow);
+        return new SessionPublisher<>(new SessionSource(sync) {
+            @Override
+            void start() {
+                sync.start(from);
+            }
+
+            @Override
+            void stop() {
+                sync.stop();
+            }
+        }, event -> event);
+    }
+
+    /** Follows the chain from the current tip. The stream does not complete on its own. */
+    public static SessionPublisher<SyncEvent> blockSyncFromTip(String host, int port, long protocolMagic,
+                                                               Point wellKnownPoint) {
+        SyncSession sync = new SyncSession(SessionRegistry.nextId(), host, port, protocolMagic,
+                wellKnownPoint.getSlot(), wellKnownPoint.getHash());
+        return new SessionPublisher<>(new SessionSource(sync) {
+            @Override
+            void start() {
+                sync.startFromTip();
+            }
+
+            @Override
+            void stop() {
+                sync.stop();
+            }
+        }, event -> event);
+    }
+
+    /** Follows block headers only, from {@code from}. The stream does not complete on its own. */
+    public static SessionPublisher<SyncEvent> headerSync(String host, int port, long protocolMagic,
+                                                         Point wellKnownPoint, Point from) {
+        HeaderSyncSession headers = new HeaderSyncSession(SessionRegistry.nextId(), host, port, protocolMagic,
+                wellKnownPoint.getSlot(), wellKnownPoint.getHash());
+        return new SessionPublisher<>(new SessionSource(headers) {
+            @Override
+            void start() {
+                headers.start(from);
+            }
+
+            @Override
+            void stop() {
+                headers.stop();
+            }
+        }, event -> event);
+    }
+
+    /**
+     * Fetches the blocks from {@code from} to {@code to} with block-fetch. Completes after the
+     * last block; fails if the connection is lost first.
+     */
+    public static SessionPublisher<SyncEvent> rangeSync(String host, int port, long protocolMagic,
+                                                        Point from, Point to) {
+        RangeSyncSession range = new RangeSyncSession(SessionRegistry.nextId(), host, port, protocolMagic);
+        return new SessionPublisher<>(new RangeSource(range, "batch_done", "no_block_found") {
+            @Override
+            void start() {
+                range.start();
+                range.fetch(from, to);
+            }
+        }, event -> event);
+    }
+
+    /**
+     * Fetches many ranges with as few block-fetch requests as possible; see
+     * {@link RangeSyncSession#fetchMany(List, long)}. Blocks carry the indexes of the ranges they
+     * belong to, and a {@code range_done} event follows each range. Completes after the last range.
+     */
+    public static SessionPublisher<SyncEvent> rangeSync(String host, int port, long protocolMagic,
+                                                        List<RangeSyncSession.FetchRange> ranges,
+                                                        long maxGapSlots) {
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one range is required");
+        }
+        RangeSyncSession range = new RangeSyncSession(SessionRegistry.nextId(), host, port, protocolMagic);
+        return new SessionPublisher<>(new RangeSource(range, "fetch_many_done") {
+            @Override
+            void start() {
+                range.start();
+                range.fetchMany(ranges, maxGapSlots);
+            }
+        }, event -> event);
+    }
+
+    private abstract static class RangeSource extends SessionSource {
+        private final RangeSyncSession session;
+        private final List<String> endTypes;
+
+        RangeSource(RangeSyncSession session, String... endTypes) {
+            super(session);
+            this.session = session;
+            this.endTypes = List.of(endTypes);
+        }
+
+        @Override
+        void stop() {
+            session.stop();
+        }
+
+        @Override
+        boolean completes(SyncEvent event) {
+            return endTypes.contains(event.getType());
+        }
+
+        @Override
+        Throwable failure(SyncEvent event) {
+            return event instanceof DisconnectEvent
+                    ? new IOException("Connection lost before the range was fetched") : null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bloxbean.cardano.yaci.bridge.reactive;
+
+import com.bloxbean.cardano.yaci.bridge.event.BlockEvent;
+import com.bloxbean.cardano.yaci.core.common.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class YaciFlowTest {
+
+    @Test
+    void testBlockSyncOneAtATime() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        List<Long> slots = new CopyOnWriteArrayList<>();
+
+        SessionPublisher<Long> publisher = YaciFlow.blockSync(
+                        "backbone.cardano.iog.io", 3001,
+                        Constants.MAINNET_PROTOCOL_MAGIC,
+                        Constants.WELL_KNOWN_MAINNET_POINT,
+                        Constants.WELL_KNOWN_MAINNET_POINT)
+                .ofType(BlockEvent.class)
+                .map(BlockEvent::getSlot);
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(Long slot) {
+                System.out.println("Block slot=" + slot + " " + publisher.stats());
+                slots.add(slot);
+                latch.countDown();
+                if (slots.size() < 3) {
+                    subscription.request(1);
+                } else {
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                System.out.println("Error: " + t);
+                while (latch.getCount() > 0) latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                while (latch.getCount() > 0) latch.countDown();
+            }
+        });
+
+        boolean completed = latch.await(60, TimeUnit.SECONDS);
+        Thread.sleep(1000);
+
+        assertTrue(completed, "Should receive 3 blocks within 60s");
+        assertEquals(3, slots.size());
+        assertTrue(slots.get(0) < slots.get(1) && slots.get(1) < slots.get(2));
+        // Nothing is delivered beyond what was requested, even after cancel
+        assertEquals(3, publisher.stats().getDelivered());
+    }
+}
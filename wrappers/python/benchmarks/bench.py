@@ -0,0 +1,251 @@
+"""Throughput benchmarks for the Python wrapper over the native library.
+
+Recorded blocks are replayed through a BlockReplay session, so every run goes
+through the real delivery path (native encoding, ctypes callback or event
+queue, json.loads, listener dispatch, models) without a relay.
+
+    # once, against a relay: record blocks as raw CBOR
+    python3 bench.py record sample.blocks --from 123:abc... --to 456:def...
+
+    # offline, as often as needed
+    python3 bench.py run sample.blocks --repeat 20
+    python3 bench.py run sample.blocks --scenario queue/full --json
+
+Reports events/sec, µs/event and RSS growth per delivery / decoding scenario.
+"""
+
+import argparse
+import asyncio
+import json
+import os
+import resource
+import sys
+import threading
+import time
+
+sys.path.insert(0, os.path.join(os.path.dirname(os.path.abspath(__file__)), '..'))
+
+from yaci import (  # noqa: E402
+    YaciBridge, BlockSyncListener, BlockBatch, BlockInfo, NetworkType, Point, write_recording,
+)
+
+# delivery / decoding. header reads slot and hash only; full walks every
+# transaction output and amount; columnar uses BlockBatch over each poll batch
+SCENARIOS = [
+    'callback/header', 'callback/full',
+    'payload/header', 'payload/full',
+    'txstream/full',
+    'queue/header', 'queue/full', 'queue/columnar',
+]
+
+
+def rss_bytes() -> int:
+    try:
+        with open('/proc/self/statm') as f:
+            return int(f.read().split()[1]) * os.sysconf('SC_PAGE_SIZE')
+    except OSError:
+        # macOS reports the peak in bytes; good enough for growth between runs
+        return resource.getrusage(resource.RUSAGE_SELF).ru_maxrss
+
+
+def walk_block(block: BlockInfo) -> int:
+    lovelace = 0
+    for tx in block.transactions:
+        if tx.body is None:
+            continue
+        for out in tx.body.outputs:
+            for amount in out.amounts:
+                if amount.unit == 'lovelace':
+                    lovelace += amount.quantity
+    return lovelace
+
+
+def walk_tx(tx) -> int:
+    lovelace = 0
+    if tx.body is not None:
+        for out in tx.body.outputs:
+            for amount in out.amounts:
+                if amount.unit == 'lovelace':
+                    lovelace += amount.quantity
+    return lovelace
+
+
+class CountingListener(BlockSyncListener):
+    def __init__(self, decode: str):
+        self.full = decode == 'full'
+        self.events = 0
+        self.sink = 0
+        self.done = threading.Event()
+
+    def on_block(self, era, block):
+        self.events += 1
+        self.sink += walk_block(block) if self.full else len(block.hash) + block.slot
+
+    def on_block_begin(self, block):
+        self.events += 1
+
+    def on_transaction(self, index, tx):
+        self.events += 1
+        self.sink += walk_tx(tx)
+
+    def on_block_end(self, block):
+        self.events += 1
+
+    def on_replay_done(self, blocks, millis):
+        self.done.set()
+
+
+def run_listener(bridge, recording, network, delivery, decode, repeat):
+    replay = bridge.block_replay(recording, network, raw_payload=delivery == 'payload')
+    listener = CountingListener(decode)
+    replay.add_listener(listener)
+    if delivery == 'txstream':
+        replay.set_tx_streaming()
+    start = time.perf_counter()
+    replay.start(repeat)
+    try:
+        if not listener.done.wait(timeout=3600):
+            raise TimeoutError("replay did not finish")
+        return listener.events, time.perf_counter() - start
+    finally:
+        replay.stop()
+
+
+def run_queue(bridge, recording, network, decode, repeat, batch_size=256):
+    replay = bridge.block_replay(recording, network)
+    replay.set_event_queue(max_events=4 * batch_size)
+
+    async def consume():
+        events = 0
+        sink = 0
+        pending = []
+        async with replay.events(batch_size=batch_size) as stream:
+            async for event in stream:
+                if isinstance(event, BlockInfo):
+                    events += 1
+                    if decode == 'full':
+                        sink += walk_block(event)
+                    elif decode == 'columnar':
+                        pending.append(event)
+                        if len(pending) >= batch_size:
+                            sink += sum(BlockBatch(pending).output_counts())
+                            pending.clear()
+                    else:
+                        sink += len(event.hash) + event.slot
+                elif event.get('type') == 'replay_done':
+                    break
+        if pending:
+            sink += sum(BlockBatch(pending).output_counts())
+        return events
+
+    start = time.perf_counter()
+    replay.start(repeat)
+    try:
+        events = asyncio.run(consume())
+        return events, time.perf_counter() - start
+    finally:
+        replay.stop()
+
+
+def run_scenario(bridge, recording, network, scenario, repeat):
+    delivery, decode = scenario.split('/')
+    rss_before = rss_bytes()
+    if delivery == 'queue':
+        events, elapsed = run_queue(bridge, recording, network, decode, repeat)
+    else:
+        events, elapsed = run_listener(bridge, recording, network, delivery, decode, repeat)
+    return {
+        'scenario': scenario,
+        'events': events,
+        'seconds': round(elapsed, 3),
+        'events_per_sec': round(events / elapsed, 1) if elapsed > 0 else 0,
+        'us_per_event': round(elapsed * 1e6 / events, 2) if events else 0,
+        'rss_growth_mb': round((rss_bytes() - rss_before) / (1024 * 1024), 1),
+    }
+
+
+def parse_point(text: str) -> Point:
+    slot, _, block_hash = text.partition(':')
+    return Point(slot=int(slot), hash=block_hash)
+
+
+def cmd_record(args):
+    bridge = YaciBridge()
+    blocks = []
+    done = threading.Event()
+
+    class Recorder(BlockSyncListener):
+        def on_block(self, era, block):
+            blocks.append(block.block_cbor_bytes)
+
+        def on_batch_done(self):
+            done.set()
+
+    range_sync = bridge.block_range_sync(args.host, args.port, NetworkType[args.network.upper()],
+                                         raw_payload=True)
+    range_sync.add_listener(Recorder())
+    try:
+        range_sync.start()
+        range_sync.fetch(parse_point(args.from_point), parse_point(args.to_point))
+        if not done.wait(timeout=args.timeout):
+            raise TimeoutError("range fetch did not finish")
+    finally:
+        range_sync.stop()
+        bridge.close()
+    count = write_recording(args.output, blocks)
+    print(f"Recorded {count} blocks to {args.output}")
+
+
+def cmd_run(args):
+    scenarios = args.scenario or SCENARIOS
+    for s in scenarios:
+        if s not in SCENARIOS:
+            raise SystemExit(f"Unknown scenario {s}; choose from {', '.join(SCENARIOS)}")
+    network = NetworkType[args.network.upper()]
+    bridge = YaciBridge()
+    results = []
+    try:
+        # Warm up the isolate, thread attachments and caches once
+        run_scenario(bridge, args.recording, network, scenarios[0], 1)
+        for scenario in scenarios:
+            results.append(run_scenario(bridge, args.recording, network, scenario, args.repeat))
+    finally:
+        bridge.close()
+
+    if args.json:
+        print(json.dumps(results, indent=2))
+        return
+    print(f"{'scenario':<18}{'events':>10}{'events/s':>12}{'µs/event':>11}{'RSS +MB':>9}")
+    for r in results:
+        print(f"{r['scenario']:<18}{r['events']:>10}{r['events_per_sec']:>12.0f}"
+              f"{r['us_per_event']:>11.2f}{r['rss_growth_mb']:>9.1f}")
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    sub = parser.add_subparsers(dest='command', required=True)
+
+    rec = sub.add_parser('record', help='Record blocks from a relay as raw CBOR')
+    rec.add_argument('output')
+    rec.add_argument('--from', dest='from_point', required=True, help='SLOT:HASH (inclusive)')
+    rec.add_argument('--to', dest='to_point', required=True, help='SLOT:HASH (inclusive)')
+    rec.add_argument('--host', default=os.environ.get('CARDANO_NODE_HOST', 'backbone.cardano.iog.io'))
+    rec.add_argument('--port', type=int, default=int(os.environ.get('CARDANO_NODE_PORT', '3001')))
+    rec.add_argument('--network', default='mainnet')
+    rec.add_argument('--timeout', type=float, default=300)
+    rec.set_defaults(func=cmd_record)
+
+    run = sub.add_parser('run', help='Replay a recording through each scenario')
+    run.add_argument('recording')
+    run.add_argument('--repeat', type=int, default=10, help='Replay the recording this many times per scenario')
+    run.add_argument('--scenario', action='append', help=f"One of {', '.join(SCENARIOS)} (repeatable)")
+    run.add_argument('--network', default='mainnet')
+    run.add_argument('--json', action='store_true', help='Print results as JSON')
+    run.set_defaults(func=cmd_run)
+
+    args = parser.parse_args()
+    args.func(args)
+
+
+if __name__ == '__main__':
+    main()
@@ -74,3 +74,337 @@ def test_block_range_fetch(bridge):
             print(f"  Block #{b.block_number} at slot {b.slot}")
     finally:
         range_sync.stop()
+
+
+class FetchManyListener(BlockSyncListener):
+    """Test listener that records fetch_many blocks and range completions."""
+
+    def __init__(self):
+        self.blocks = []
+        self.ranges_done = []
+        self.done_event = threading.Event()
+
+    def on_block(self, era, block):
+        self.blocks.append(block)
+
+    def on_range_done(self, range_index, blocks):
+        self.ranges_done.append((range_index, blocks))
+
+    def on_fetch_many_done(self):
+        self.done_event.set()
+
+
+def test_block_range_fetch_many(bridge):
+    """Overlapping ranges are merged into one fetch and delivered in input order."""
+    listener = FetchManyListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(listener)
+    try:
+        range_sync.start()
+        fetches = range_sync.fetch_many([(FROM_POINT, TO_POINT), (FROM_POINT, FROM_POINT)])
+        assert fetches == 1
+
+        assert listener.done_event.wait(timeout=30), "Timed out waiting for fetch_many"
+        assert [idx for idx, _ in listener.ranges_done] == [0, 1]
+        assert listener.ranges_done[1][1] == 1
+
+        # Each block is delivered once; the shared first block is tagged with both inputs
+        hashes = [b.hash for b in listener.blocks]
+        assert len(hashes) == len(set(hashes))
+        assert listener.blocks[0].hash == FROM_POINT.hash
+        assert listener.blocks[0].ranges == [0, 1]
+        assert all(b.ranges == [0] for b in listener.blocks[1:])
+    finally:
+        range_sync.stop()
+
+
+class ChunkedListener(RangeListener):
+    """Range listener that also records progress events."""
+
+    def __init__(self):
+        super().__init__()
+        self.progress = []
+
+    def on_range_progress(self, progress):
+        self.progress.append(progress)
+
+
+def test_block_range_fetch_chunked(bridge, tmp_path):
+    """A chunked fetch over an indexed range delivers the same blocks with progress."""
+    index_path = tmp_path / "points.idx"
+    plain = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(plain)
+    range_sync.set_point_index(index_path)
+    try:
+        range_sync.start()
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert plain.done_event.wait(timeout=30), "Timed out waiting for range fetch"
+    finally:
+        range_sync.stop()
+
+    listener = ChunkedListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(listener)
+    try:
+        range_sync.start()
+        range_sync.fetch_chunked(FROM_POINT, TO_POINT, point_index=index_path,
+                                 initial_chunk_blocks=2, target_chunk_ms=1,
+                                 progress_every_ms=1)
+        assert listener.done_event.wait(timeout=30), "Timed out waiting for chunked fetch"
+        assert listener.batch_started_count == 1
+        assert [b.hash for b in listener.blocks] == [b.hash for b in plain.blocks]
+
+        final = listener.progress[-1]
+        assert final['done'] and not final['cancelled']
+        assert final['blocks'] == len(plain.blocks)
+        assert final['totalBlocks'] == len(plain.blocks)
+        assert final['percent'] == 100.0
+        assert final['chunks'] > 1
+        assert not range_sync.cancel_fetch()
+    finally:
+        range_sync.stop()
+
+
+def test_decode_stored_raw_cbor(bridge):
+    """Blocks kept as raw CBOR decode back to the same model the session delivered."""
+    listener = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK, raw_payload=True)
+    range_sync.add_listener(listener)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert listener.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()
+
+    assert listener.blocks
+    decoded = bridge.decode_blocks([b.block_cbor_bytes for b in listener.blocks])
+    for original, block in zip(listener.blocks, decoded):
+        assert block is not None
+        assert block.hash == original.hash
+        assert block.slot == original.slot
+        assert len(block.transactions) == len(original.transactions)
+
+    txs = [tx for b in listener.blocks for tx in b.transactions if tx.body is not None]
+    if txs:
+        body = bridge.decode_tx(txs[0].body.cbor_bytes)
+        assert body.tx_hash == txs[0].body.tx_hash
+
+    assert bridge.decode_txs([b'\x00']) == [None]
+
+
+def test_utxo_tracker(bridge, tmp_path):
+    """A tracked range yields per-address deltas instead of blocks, and can be snapshotted."""
+    listener = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(listener)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert listener.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()
+
+    watched = {u.address for b in listener.blocks for tx in b.transactions for u in tx.utxos}
+    if not watched:
+        pytest.skip("No outputs in test range")
+    watched = sorted(watched)[:5]
+
+    class DeltaListener(RangeListener):
+        def __init__(self):
+            super().__init__()
+            self.deltas = []
+
+        def on_utxo_delta(self, delta):
+            self.deltas.append(delta)
+
+    tracked = DeltaListener()
+    snapshot = tmp_path / "utxos.snap"
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(tracked)
+    range_sync.set_utxo_tracker(watched, snapshot_path=snapshot)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert tracked.done_event.wait(timeout=30), "Range fetch did not complete"
+        assert not tracked.blocks
+        assert tracked.deltas
+        assert all(a.address in watched for d in tracked.deltas for a in d.addresses)
+        current = range_sync.utxos()
+        assert all(u.address in watched for u in current)
+        point = range_sync.snapshot_utxos(snapshot)
+        assert point is not None
+    finally:
+        range_sync.stop()
+
+    resume = bridge.utxo_snapshot_point(snapshot)
+    assert resume is not None and resume.slot == point.slot
+
+
+def test_tx_streaming(bridge):
+    """Streamed blocks arrive as begin / one event per tx / end, matching full delivery."""
+    full = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(full)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert full.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()
+
+    class StreamListener(RangeListener):
+        def __init__(self):
+            super().__init__()
+            self.sequence = []
+
+        def on_block_begin(self, block):
+            self.sequence.append(('begin', block.hash, block.tx_count))
+
+        def on_transaction(self, index, tx):
+            self.sequence.append(('tx', index, tx.tx_hash))
+
+        def on_block_end(self, block):
+            self.sequence.append(('end', block.hash, block.tx_count))
+
+    streamed = StreamListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(streamed)
+    range_sync.set_tx_streaming()
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert streamed.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()
+
+    assert not streamed.blocks
+    expected = []
+    for block in full.blocks:
+        expected.append(('begin', block.hash, len(block.transactions)))
+        expected += [('tx', i, tx.tx_hash) for i, tx in enumerate(block.transactions)]
+        expected.append(('end', block.hash, len(block.transactions)))
+    assert streamed.sequence == expected
+
+
+def test_window_aggregation(bridge):
+    """Windows roll up exactly the blocks a full fetch delivers."""
+    full = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(full)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert full.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()
+
+    class WindowListener(RangeListener):
+        def __init__(self):
+            super().__init__()
+            self.windows = {}
+
+        def on_window(self, window):
+            self.windows[window.window] = window
+
+    agg = WindowListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(agg)
+    range_sync.set_window_aggregation(window_slots=60)
+    range_sync.start()
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert agg.done_event.wait(timeout=30), "Range fetch did not complete"
+    finally:
+        range_sync.stop()  # flushes the open window as partial
+
+    assert not agg.blocks
+    windows = agg.windows.values()
+    assert sum(w.blocks for w in windows) == len(full.blocks)
+    assert sum(w.tx_count for w in windows) == sum(len(b.transactions) for b in full.blocks)
+    assert all(w.end_slot - w.start_slot == 59 for w in windows)
+
+
+def test_ring_publisher(bridge, tmp_path):
+    """Events published into the ring are read back by an independent reader."""
+    from yaci import RingReader
+
+    ring_path = tmp_path / "events.ring"
+    listener = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(listener)
+    range_sync.set_ring_publisher(ring_path, capacity=64 * 1024 * 1024)
+    range_sync.start()
+    reader = RingReader(ring_path, consumer=3, start='oldest')
+    try:
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        events = []
+        for event in reader.events(timeout=30):
+            events.append(event)
+            if event['type'] == 'batch_done':
+                break
+        stats = range_sync.ring_stats()
+        assert any(c['slot'] == 3 and not c['overrun'] for c in stats['consumers'])
+    finally:
+        range_sync.stop()
+        reader.close()
+
+    assert not listener.blocks  # the publishing session's listeners only see lag / disconnects
+    blocks = [e for e in events if e['type'] == 'block']
+    assert blocks
+    assert blocks == sorted(blocks, key=lambda b: b['slot'])
+    assert reader.dropped == 0
+
+
+def test_event_server(bridge, tmp_path):
+    """Subscribers receive events over the socket and can resume after a block."""
+    from yaci import EventClient
+
+    socket_path = tmp_path / "events.sock"
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.set_event_server(socket_path)
+    range_sync.start()
+    try:
+        with EventClient(socket_path, credits=8) as client:
+            range_sync.fetch(FROM_POINT, TO_POINT)
+            events = []
+            for _, event in client.events(timeout=30):
+                events.append(event)
+                if event['type'] == 'batch_done':
+                    break
+        blocks = [e for e in events if e['type'] == 'block']
+        assert len(blocks) >= 2
+        assert client.dropped == 0
+
+        first = Point(slot=blocks[0]['slot'], hash=blocks[0]['hash'])
+        with EventClient(socket_path, resume_from=first) as late:
+            assert late.resumed
+            _, event = next(late.events(timeout=10))
+        assert event['hash'] == blocks[1]['hash']
+        assert isinstance(range_sync.event_server_stats()['subscribers'], list)
+    finally:
+        range_sync.stop()
+
+
+def test_flight_recording(bridge, tmp_path):
+    """A flight recording around a range fetch is written when stopped."""
+    path = tmp_path / "pipeline.jfr"
+    started = bridge.start_flight_recording(path)
+    assert started['path'] == str(path)
+    with pytest.raises(Exception):
+        bridge.start_flight_recording(tmp_path / "second.jfr")
+
+    listener = RangeListener()
+    range_sync = bridge.block_range_sync(NODE_HOST, NODE_PORT, NETWORK)
+    range_sync.add_listener(listener)
+    try:
+        range_sync.start()
+        range_sync.fetch(FROM_POINT, TO_POINT)
+        assert listener.done_event.wait(timeout=30), "Timed out waiting for range fetch"
+    finally:
+        range_sync.stop()
+
+    assert bridge.stop_flight_recording() == str(path)
+    assert path.stat().st_size > 0
+    assert bridge.stop_flight_recording() is None
@@ -103,3 +103,143 @@ def test_block_sync_from_tip(bridge):
         print(f"Blocks received from tip: {len(listener.blocks)}")
     finally:
         sync.stop()
+
+
+def test_block_sync_point_index(bridge, tmp_path):
+    """Blocks synced with a point index can be looked up by slot and height."""
+    listener = BlockEventCollector()
+    sync = bridge.block_sync(NODE_HOST, NODE_PORT, NETWORK)
+    sync.add_listener(listener)
+    index_path = tmp_path / "mainnet.pidx"
+    sync.set_point_index(index_path)
+
+    try:
+        sync.start(KNOWN_POINT)
+        assert listener.event.wait(timeout=30), "Timed out waiting for blocks"
+    finally:
+        sync.stop()
+
+    index = bridge.point_index(index_path)
+    try:
+        first, second = listener.blocks[0], listener.blocks[1]
+
+        by_height = index.lookup_by_block_number(second.block_number)
+        assert by_height is not None
+        assert (by_height.slot, by_height.hash) == (second.slot, second.hash)
+
+        # Nearest lookups between two indexed blocks
+        if second.slot - first.slot > 1:
+            assert index.lookup_by_slot(first.slot + 1, 'before').hash == first.hash
+            assert index.lookup_by_slot(first.slot + 1, 'after').hash == second.hash
+            assert index.lookup_by_slot(first.slot + 1) is None
+
+        assert index.lookup_by_slot(KNOWN_POINT.slot - 1) is None
+    finally:
+        index.close()
+
+
+def test_block_sync_stream(bridge):
+    """Blocks arrive through async for, with a small queue holding the session back."""
+    import asyncio
+
+    async def collect():
+        blocks = []
+        async with bridge.block_sync_stream(NODE_HOST, NODE_PORT, NETWORK, KNOWN_POINT,
+                                            max_events=4, batch_size=2) as events:
+            async for event in events:
+                if isinstance(event, BlockInfo):
+                    blocks.append(event)
+                    await asyncio.sleep(0.2)  # slow consumer
+                    if len(blocks) >= 6:
+                        break
+        return blocks
+
+    blocks = asyncio.run(asyncio.wait_for(collect(), timeout=60))
+    assert len(blocks) == 6
+    assert [b.slot for b in blocks] == sorted(b.slot for b in blocks)
+    assert len({b.hash for b in blocks}) == 6
+
+
+class ReconnectCollector(BlockSyncListener):
+    def __init__(self):
+        self.blocks = []
+        self.reconnects = []
+        self.attempts = []
+        self.disconnects = 0
+        self.event = threading.Event()
+
+    def on_block(self, era, block):
+        self.blocks.append(block)
+
+    def on_reconnecting(self, reason, attempt, point):
+        self.attempts.append((reason, attempt, len(self.reconnects)))
+
+    def on_reconnected(self, reason, millis, point):
+        self.reconnects.append((reason, millis, point))
+        self.event.set()
+
+    def on_disconnect(self):
+        self.disconnects += 1
+
+
+def test_block_sync_watchdog_reconnect(bridge):
+    """At the tip, blocks are ~20s apart, so a short stall timeout reconnects in place."""
+    listener = ReconnectCollector()
+    sync = bridge.block_sync(NODE_HOST, NODE_PORT, NETWORK)
+    sync.add_listener(listener)
+    sync.set_watchdog(stall_timeout_ms=5000, resume_points=4)
+    try:
+        sync.start_from_tip()
+        assert listener.event.wait(timeout=60), "Timed out waiting for a reconnect"
+        time.sleep(2)
+    finally:
+        sync.stop()
+
+    reason, millis, point = listener.reconnects[0]
+    assert reason == 'stall'
+    assert millis >= 0
+    assert listener.disconnects == 0
+    # on_reconnecting came first, before any reconnect had completed
+    assert listener.attempts[0] == ('stall', 1, 0)
+    numbers = [b.block_number for b in listener.blocks]
+    assert numbers == sorted(set(numbers))
+    if numbers:
+        assert numbers == list(range(numbers[0], numbers[0] + len(numbers))), "no missing blocks"
+
+
+class SlowCollector(BlockSyncListener):
+    """Stalls on the first block, then collects blocks as they are handled."""
+
+    def __init__(self, stall_seconds, count):
+        self.blocks = []
+        self.stall_seconds = stall_seconds
+        self.count = count
+        self.event = threading.Event()
+
+    def on_block(self, era, block):
+        if not self.blocks:
+            time.sleep(self.stall_seconds)
+        self.blocks.append(block)
+        if len(self.blocks) >= self.count:
+            self.event.set()
+
+
+def test_block_sync_spool(bridge, tmp_path):
+    """A stalled listener overflows to disk while the session keeps reading; order is kept."""
+    sync = bridge.block_sync(NODE_HOST, NODE_PORT, NETWORK)
+    listener = SlowCollector(stall_seconds=3, count=200)
+    sync.add_listener(listener)
+    sync.set_spool(tmp_path / "spool", memory_events=8)
+    try:
+        sync.start(KNOWN_POINT)
+        assert listener.event.wait(timeout=90), "Timed out waiting for spooled blocks"
+        stats = sync.spool_stats()
+    finally:
+        sync.stop()
+
+    assert stats['spooledTotal'] > 0
+    assert stats['peakDiskBytes'] <= stats['maxDiskBytes']
+    numbers = [b.block_number for b in listener.blocks]
+    assert numbers == list(range(numbers[0], numbers[0] + len(numbers)))
+    assert list((tmp_path / "spool").iterdir()) == []
+
@@ -0,0 +1,77 @@
+"""Tests for the lazy wire models — no native library or relay needed."""
+
+from yaci import BlockInfo, BlockBatch, TransactionInfo, Amount
+
+BLOCK = {
+    "type": "block",
+    "era": "BABBAGE",
+    "slot": 100,
+    "hash": "aa",
+    "blockNumber": 7,
+    "transactions": [
+        {
+            "txHash": "t1",
+            "body": {
+                "fee": "170000",
+                "outputs": [
+                    {"address": "addr1", "amounts": [
+                        {"unit": "lovelace", "quantity": 2000000},
+                        {"unit": "ab.cd", "policyId": "ab", "assetName": "cd", "quantity": "5"},
+                    ]},
+                    {"address": "addr2", "amounts": [{"unit": "lovelace", "quantity": 1000000}]},
+                ],
+            },
+        },
+        {"txHash": "t2", "invalid": True, "body": {"fee": 200000, "outputs": []}},
+    ],
+}
+
+
+def test_scalars_do_not_build_transactions():
+    """Reading header fields leaves the transactions undecoded."""
+    block = BlockInfo._from_dict(BLOCK)
+    assert (block.era, block.slot, block.hash, block.block_number) == ("BABBAGE", 100, "aa", 7)
+    assert block.tx_count == 2
+    assert block._c is None
+
+
+def test_nested_fields_decode_on_access():
+    block = BlockInfo._from_dict(BLOCK)
+    tx = block.transactions[0]
+    assert block.transactions[0] is tx  # decoded once, then cached
+    assert tx.body.fee == 170000
+    out = tx.body.outputs[0]
+    assert out.address == "addr1"
+    assert out.amounts[1] == Amount(unit="ab.cd", policy_id="ab", asset_name="cd", quantity=5)
+    assert block.transactions[1].invalid
+    assert block.transactions[1].body.mint == []
+
+
+def test_payload_bytes_attach_to_bodies():
+    block = BlockInfo._from_dict(BLOCK, {"blockCbor": b"\x82", "txBodyCbor": [b"\x01", b"\x02"]})
+    assert block.block_cbor_bytes == b"\x82"
+    assert [tx.body.cbor_bytes for tx in block.transactions] == [b"\x01", b"\x02"]
+
+
+def test_constructor_and_assignment():
+    tx = TransactionInfo(tx_hash="t", slot=5)
+    assert tx.tx_hash == "t" and tx.slot == 5 and tx.utxos == []
+    tx.invalid = True
+    assert tx.invalid
+    try:
+        tx.unknown = 1
+        assert False, "models are slotted"
+    except AttributeError:
+        pass
+
+
+def test_block_batch_columns():
+    batch = BlockBatch([BlockInfo._from_dict(BLOCK), None, dict(BLOCK, slot=200, hash="bb", transactions=[])])
+    assert len(batch) == 2
+    assert batch.slots() == [100, 200]
+    assert batch.hashes() == ["aa", "bb"]
+    assert batch.tx_counts() == [2, 0]
+    assert batch.output_counts() == [2, 0]
+    assert batch.fees() == [370000, 0]
+    assert list(batch.outputs()) == [(0, "addr1", 2000000), (0, "addr2", 1000000)]
+    assert batch[1].slot == 200
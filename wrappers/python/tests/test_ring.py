@@ -0,0 +1,87 @@
+"""Tests for RingReader against a hand-written ring file — no native library or relay needed."""
+
+import json
+import struct
+
+import pytest
+
+from yaci.ring import RingReader, RingOverrun
+
+_HEADER_SIZE = 4096
+_CAPACITY = 64 * 1024
+
+
+def _ring(path, seqs, skipped=()):
+    """Write a ring holding one {"n": seq} event per sequence number, as the publisher lays it out.
+
+    Sequence numbers in skipped are written as skipped records without JSON.
+    """
+    records = bytearray()
+    for seq in seqs:
+        if seq in skipped:
+            records += struct.pack('<iiQ', 0, 1, seq)
+            continue
+        data = json.dumps({"type": "block", "n": seq}).encode()
+        record = struct.pack('<iiQ', len(data), 0, seq) + data
+        records += record + b'\0' * (-len(record) % 8)
+    buf = bytearray(_HEADER_SIZE + _CAPACITY)
+    struct.pack_into('<II', buf, 0, 0x59524E47, 2)
+    struct.pack_into('<QQQ', buf, 8, _CAPACITY, len(records), 0)
+    buf[_HEADER_SIZE:_HEADER_SIZE + len(records)] = records
+    path.write_bytes(bytes(buf))
+    return path
+
+
+def _ns(events):
+    return [e['n'] for e in events]
+
+
+def test_overrun_returns_events_read_before_the_gap(tmp_path):
+    """Events before a sequence gap are returned, then the gap raises, then reading resumes."""
+    reader = RingReader(_ring(tmp_path / "r.ring", [0, 1, 5, 6]), consumer=0, start='oldest')
+    try:
+        assert _ns(reader.read()) == [0, 1]
+        with pytest.raises(RingOverrun):
+            reader.read()
+        assert reader.dropped == 3
+        assert _ns(reader.read()) == [5, 6]
+        assert reader.read() == []
+    finally:
+        reader.close()
+
+
+def test_overrun_reported_to_on_lag(tmp_path):
+    lags = []
+    reader = RingReader(_ring(tmp_path / "r.ring", [0, 1, 5, 6]), consumer=1, start='oldest',
+                        on_lag=lags.append)
+    try:
+        assert _ns(reader.read()) == [0, 1, 5, 6]
+        assert lags == [3]
+        assert reader.dropped == 3
+    finally:
+        reader.close()
+
+
+def test_skipped_event_is_reported_as_lost(tmp_path):
+    """An event too large for the ring raises like an overrun, then reading resumes after it."""
+    reader = RingReader(_ring(tmp_path / "r.ring", [0, 1, 2, 3], skipped={1}), consumer=2, start='oldest')
+    try:
+        assert _ns(reader.read()) == [0]
+        with pytest.raises(RingOverrun):
+            reader.read()
+        assert reader.dropped == 1
+        assert _ns(reader.read()) == [2, 3]
+    finally:
+        reader.close()
+
+
+def test_skipped_event_reported_to_on_lag(tmp_path):
+    lags = []
+    reader = RingReader(_ring(tmp_path / "r.ring", [0, 1, 2], skipped={2}), consumer=3, start='oldest',
+                        on_lag=lags.append)
+    try:
+        assert _ns(reader.read()) == [0, 1]
+        assert lags == [1]
+        assert reader.read() == []
+    finally:
+        reader.close()
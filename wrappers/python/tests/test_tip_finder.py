@@ -43,3 +43,38 @@ def test_find_tip_preprod():
         tip = bridge.find_tip(host, port, NetworkType.PREPROD)
         assert tip.slot > 0
         assert tip.block > 0
+
+
+def test_find_tip_from_worker_threads(bridge):
+    """Each worker thread gets its own isolate attachment and can query in parallel."""
+    from concurrent.futures import ThreadPoolExecutor
+
+    def query(_):
+        try:
+            return bridge.find_tip(NODE_HOST, NODE_PORT, NETWORK, timeout_ms=30000)
+        finally:
+            bridge._lib.detach_current_thread()
+
+    with ThreadPoolExecutor(max_workers=4) as pool:
+        tips = list(pool.map(query, range(4)))
+
+    assert len(tips) == 4
+    assert all(tip.slot > 0 for tip in tips)
+
+
+def test_find_tip_pooled(bridge):
+    """The second query reuses the first query's connection and skips the handshake."""
+    bridge.configure_connection_pool(max_idle=2, idle_timeout_ms=30000)
+    try:
+        first = bridge.find_tip(NODE_HOST, NODE_PORT, NETWORK, timeout_ms=30000)
+        second = bridge.find_tip(NODE_HOST, NODE_PORT, NETWORK, timeout_ms=30000)
+        stats = bridge.connection_pool_stats()
+    finally:
+        bridge.configure_connection_pool(max_idle=0)
+
+    assert first.slot > 0
+    assert second.slot >= first.slot
+    assert stats['misses'] == 1
+    assert stats['hits'] == 1
+    assert stats['handshakeMillisSaved'] == stats['handshakeMillis']
+    assert bridge.connection_pool_stats()['idle'] == 0
@@ -5,15 +5,23 @@ from yaci.bridge import YaciBridge
 from yaci.tip_finder import TipFinder
 from yaci.block_sync import BlockSync
 from yaci.block_range_sync import BlockRangeSync
+from yaci.header_sync import HeaderSync
+from yaci.point_index import PointIndex
 from yaci.genesis_block_finder import GenesisBlockFinder
 from yaci.peer_discovery import PeerDiscovery
 from yaci.listener import BlockSyncListener
+from yaci.ring import RingReader, RingOverrun
+from yaci.server import EventClient, EventGap
+from yaci.stream import EventStream
+from yaci.replay import BlockReplay, write_recording
 from yaci.models import (
-    Point, Tip, GenesisBlock, NodeClientConfig,
+    Point, Tip, IndexedPoint, GenesisBlock, NodeClientConfig,
     NetworkType, WELL_KNOWN_POINTS,
     PeerAddress,
     Amount, TransactionInput, TransactionOutput, Utxo,
-    TransactionBody, TransactionInfo, BlockInfo,
+    TransactionBody, TransactionInfo, BlockInfo, BlockBatch, BlockHeaderInfo,
+    TrackedUtxo, AddressDelta, UtxoDelta, BlockBoundary,
+    WindowAggregate, EPOCH_PARAMS,
 )
 
 __all__ = [
@@ -23,11 +31,21 @@ __all__ = [
     'TipFinder',
     'BlockSync',
     'BlockRangeSync',
+    'HeaderSync',
+    'PointIndex',
+    'RingReader',
+    'RingOverrun',
+    'EventClient',
+    'EventGap',
+    'EventStream',
+    'BlockReplay',
+    'write_recording',
     'GenesisBlockFinder',
     'PeerDiscovery',
     'BlockSyncListener',
     'Point',
     'Tip',
+    'IndexedPoint',
     'GenesisBlock',
     'NodeClientConfig',
     'NetworkType',
@@ -40,4 +58,12 @@ __all__ = [
     'TransactionBody',
     'TransactionInfo',
     'BlockInfo',
+    'BlockBatch',
+    'BlockHeaderInfo',
+    'TrackedUtxo',
+    'AddressDelta',
+    'UtxoDelta',
+    'BlockBoundary',
+    'WindowAggregate',
+    'EPOCH_PARAMS',
 ]
@@ -1,14 +1,51 @@
 """Low-level ctypes FFI wrapper around libyaci shared library."""
 
 import ctypes
+import json
 import os
 import sys
+import threading
 from ctypes import c_int, c_long, c_char_p, c_void_p, POINTER, byref
 
 
 # C function pointer type: void callback(int sessionId, const char* eventJson)
 EVENT_CALLBACK = ctypes.CFUNCTYPE(None, c_int, c_void_p)
 
+# C function pointer type with raw CBOR side-channel:
+# void callback(int sessionId, const char* eventJson, const char* payload, long payloadLength)
+EVENT_PAYLOAD_CALLBACK = ctypes.CFUNCTYPE(None, c_int, c_void_p, c_void_p, c_long)
+
+
+class _AttachedThread:
+    """IsolateThread handle owned by one OS thread.
+
+    Stored in a threading.local, so it is released when the owning thread
+    exits; the detach then runs on that same thread, as GraalVM requires.
+    Only created for threads the wrapper attached itself; bridge-owned
+    threads running a listener callback borrow their handle instead.
+    """
+
+    __slots__ = ('_ffi', 'handle', '_ident')
+
+    def __init__(self, ffi, handle):
+        self._ffi = ffi
+        self.handle = handle
+        self._ident = threading.get_ident()
+
+    def detach(self):
+        ffi = self._ffi
+        if self.handle and ffi is not None and ffi._thread \
+                and threading.get_ident() == self._ident:
+            ffi._detach(self.handle)
+        self.handle = None
+        self._ffi = None
+
+    def __del__(self):
+        try:
+            self.detach()
+        except Exception:
+            pass
+
 
 class YaciLib:
     """Low-level FFI wrapper around libyaci shared library."""
@@ -23,6 +60,7 @@ class YaciLib:
     YACI_ERROR_SESSION_NOT_FOUND = -6
     YACI_ERROR_SESSION_ALREADY_STARTED = -7
     YACI_ERROR_SESSION_NOT_STARTED = -8
+    YACI_ERROR_NOT_FOUND = -9
 
     def __init__(self, lib_path=None):
         if lib_path is None:
@@ -42,6 +80,10 @@ class YaciLib:
         self._lib = ctypes.CDLL(lib_file)
         self._isolate = None
         self._thread = None
+        self._owner_ident = threading.get_ident()
+        self._local = threading.local()
+        self._attached_lock = threading.Lock()
+        self._attached_count = 0
         self._setup_functions()
 
         # Create GraalVM isolate
@@ -67,6 +109,12 @@ class YaciLib:
         lib.graal_detach_thread.argtypes = [c_void_p]
         lib.graal_detach_thread.restype = c_int
 
+        lib.yaci_attach_thread.argtypes = [c_void_p]
+        lib.yaci_attach_thread.restype = c_void_p
+
+        lib.yaci_detach_thread.argtypes = [c_void_p]
+        lib.yaci_detach_thread.restype = c_int
+
         # YaciBridge lifecycle
         lib.yaci_version.argtypes = [c_void_p]
         lib.yaci_version.restype = c_int
@@ -142,18 +190,167 @@ class YaciLib:
         lib.yaci_block_sync_start_from_tip.argtypes = [c_void_p, c_int]
         lib.yaci_block_sync_start_from_tip.restype = c_int
 
+        lib.yaci_block_sync_start_with_catch_up.argtypes = [
+            c_void_p, c_int, c_long, c_char_p, c_long, c_long
+        ]
+        lib.yaci_block_sync_start_with_catch_up.restype = c_int
+
         lib.yaci_block_sync_set_callback.argtypes = [c_void_p, c_int, EVENT_CALLBACK]
         lib.yaci_block_sync_set_callback.restype = c_int
 
+        lib.yaci_block_sync_set_payload_callback.argtypes = [
+            c_void_p, c_int, EVENT_PAYLOAD_CALLBACK
+        ]
+        lib.yaci_block_sync_set_payload_callback.restype = c_int
+
         lib.yaci_block_sync_set_keep_alive_interval.argtypes = [c_void_p, c_int, c_long]
         lib.yaci_block_sync_set_keep_alive_interval.restype = c_int
 
+        lib.yaci_block_sync_set_follower_window.argtypes = [c_void_p, c_int, c_int]
+        lib.yaci_block_sync_set_follower_window.restype = c_int
+
+        lib.yaci_block_sync_set_watchdog.argtypes = [c_void_p, c_int, c_long, c_int]
+        lib.yaci_block_sync_set_watchdog.restype = c_int
+
         lib.yaci_block_sync_stop.argtypes = [c_void_p, c_int]
         lib.yaci_block_sync_stop.restype = c_int
 
         lib.yaci_block_sync_destroy.argtypes = [c_void_p, c_int]
         lib.yaci_block_sync_destroy.restype = c_int
 
+        # HeaderSync API
+        lib.yaci_header_sync_create.argtypes = [
+            c_void_p, c_char_p, c_int, c_long, c_long, c_char_p
+        ]
+        lib.yaci_header_sync_create.restype = c_int
+
+        lib.yaci_header_sync_start.argtypes = [
+            c_void_p, c_int, c_long, c_char_p
+        ]
+        lib.yaci_header_sync_start.restype = c_int
+
+        lib.yaci_header_sync_start_from_tip.argtypes = [c_void_p, c_int, c_long]
+        lib.yaci_header_sync_start_from_tip.restype = c_int
+
+        lib.yaci_header_sync_set_callback.argtypes = [c_void_p, c_int, EVENT_CALLBACK]
+        lib.yaci_header_sync_set_callback.restype = c_int
+
+        lib.yaci_header_sync_set_keep_alive_interval.argtypes = [c_void_p, c_int, c_long]
+        lib.yaci_header_sync_set_keep_alive_interval.restype = c_int
+
+        lib.yaci_header_sync_stop.argtypes = [c_void_p, c_int]
+        lib.yaci_header_sync_stop.restype = c_int
+
+        lib.yaci_header_sync_destroy.argtypes = [c_void_p, c_int]
+        lib.yaci_header_sync_destroy.restype = c_int
+
+        # Session API (any session type)
+        lib.yaci_session_set_file_sink.argtypes = [
+            c_void_p,   # thread
+            c_int,      # sessionId
+            c_char_p,   # directory
+            c_long,     # maxSegmentBytes
+            c_int,      # format (0=ndjson, 1=binary)
+            c_int,      # compress (0/1)
+            c_int,      # fsyncEvery
+        ]
+        lib.yaci_session_set_file_sink.restype = c_int
+
+        lib.yaci_session_set_point_index.argtypes = [c_void_p, c_int, c_char_p]
+        lib.yaci_session_set_point_index.restype = c_int
+
+        lib.yaci_session_set_parallel_encoding.argtypes = [c_void_p, c_int, c_int]
+        lib.yaci_session_set_parallel_encoding.restype = c_int
+
+        lib.yaci_session_set_ring_publisher.argtypes = [c_void_p, c_int, c_char_p, c_long]
+        lib.yaci_session_set_ring_publisher.restype = c_int
+
+        lib.yaci_session_ring_stats.argtypes = [c_void_p, c_int]
+        lib.yaci_session_ring_stats.restype = c_int
+
+        lib.yaci_session_set_event_server.argtypes = [c_void_p, c_int, c_char_p, c_long]
+        lib.yaci_session_set_event_server.restype = c_int
+
+        lib.yaci_session_event_server_stats.argtypes = [c_void_p, c_int]
+        lib.yaci_session_event_server_stats.restype = c_int
+
+        lib.yaci_session_set_event_queue.argtypes = [c_void_p, c_int, c_int, c_long]
+        lib.yaci_session_set_event_queue.restype = c_int
+
+        lib.yaci_session_poll_batch.argtypes = [c_void_p, c_int, c_int, c_long]
+        lib.yaci_session_poll_batch.restype = c_int
+
+        lib.yaci_session_event_queue_stats.argtypes = [c_void_p, c_int]
+        lib.yaci_session_event_queue_stats.restype = c_int
+
+        lib.yaci_session_set_spool.argtypes = [c_void_p, c_int, c_char_p, c_int, c_long]
+        lib.yaci_session_set_spool.restype = c_int
+
+
+        lib.yaci_session_spool_stats.argtypes = [c_void_p, c_int]
+        lib.yaci_session_spool_stats.restype = c_int
+
+        lib.yaci_session_set_window_aggregation.argtypes = [c_void_p, c_int, c_long, c_long, c_long]
+        lib.yaci_session_set_window_aggregation.restype = c_int
+
+        lib.yaci_session_set_tx_streaming.argtypes = [c_void_p, c_int, c_int]
+        lib.yaci_session_set_tx_streaming.restype = c_int
+
+        lib.yaci_session_set_event_cache.argtypes = [c_void_p, c_int, c_long]
+        lib.yaci_session_set_event_cache.restype = c_int
+
+        lib.yaci_event_cache_stats.argtypes = [c_void_p, c_long]
+        lib.yaci_event_cache_stats.restype = c_int
+
+        lib.yaci_session_set_utxo_tracker.argtypes = [c_void_p, c_int, c_char_p, c_char_p]
+        lib.yaci_session_set_utxo_tracker.restype = c_int
+
+        lib.yaci_utxo_tracker_utxos.argtypes = [c_void_p, c_int, c_char_p]
+        lib.yaci_utxo_tracker_utxos.restype = c_int
+
+        lib.yaci_utxo_tracker_snapshot.argtypes = [c_void_p, c_int, c_char_p]
+        lib.yaci_utxo_tracker_snapshot.restype = c_int
+
+        lib.yaci_utxo_snapshot_point.argtypes = [c_void_p, c_char_p]
+        lib.yaci_utxo_snapshot_point.restype = c_int
+
+        # Decode API
+        lib.yaci_block_decode.argtypes = [c_void_p, c_char_p, c_long, c_int]
+        lib.yaci_block_decode.restype = c_int
+
+        lib.yaci_tx_decode.argtypes = [c_void_p, c_char_p, c_long, c_int]
+        lib.yaci_tx_decode.restype = c_int
+
+        lib.yaci_block_decode_batch.argtypes = [c_void_p, c_char_p, POINTER(ctypes.c_int64), c_int, c_int]
+        lib.yaci_block_decode_batch.restype = c_int
+
+        lib.yaci_tx_decode_batch.argtypes = [c_void_p, c_char_p, POINTER(ctypes.c_int64), c_int, c_int]
+        lib.yaci_tx_decode_batch.restype = c_int
+
+        # Point index API
+        lib.yaci_point_lookup_by_slot.argtypes = [c_void_p, c_char_p, c_long, c_int]
+        lib.yaci_point_lookup_by_slot.restype = c_int
+
+        lib.yaci_point_lookup_by_block_number.argtypes = [c_void_p, c_char_p, c_long, c_int]
+        lib.yaci_point_lookup_by_block_number.restype = c_int
+
+        lib.yaci_point_index_close.argtypes = [c_void_p, c_char_p]
+        lib.yaci_point_index_close.restype = c_int
+
+        # Flight recorder API
+        lib.yaci_flight_recording_start.argtypes = [c_void_p, c_char_p, c_int]
+        lib.yaci_flight_recording_start.restype = c_int
+
+        lib.yaci_flight_recording_stop.argtypes = [c_void_p]
+        lib.yaci_flight_recording_stop.restype = c_int
+
+        # Connection pool API
+        lib.yaci_connection_pool_configure.argtypes = [c_void_p, c_int, c_long, c_long]
+        lib.yaci_connection_pool_configure.restype = c_int
+
+        lib.yaci_connection_pool_stats.argtypes = [c_void_p]
+        lib.yaci_connection_pool_stats.restype = c_int
+
         # BlockRangeSync API
         lib.yaci_block_range_sync_create.argtypes = [
             c_void_p, c_char_p, c_int, c_long
@@ -168,30 +365,254 @@ class YaciLib:
         ]
         lib.yaci_block_range_sync_fetch.restype = c_int
 
+        lib.yaci_block_range_sync_fetch_many.argtypes = [c_void_p, c_int, c_char_p, c_long]
+        lib.yaci_block_range_sync_fetch_many.restype = c_int
+
+        lib.yaci_block_range_sync_fetch_chunked.argtypes = [
+            c_void_p, c_int, c_long, c_char_p, c_long, c_char_p,
+            c_char_p, c_long, c_long, c_long
+        ]
+        lib.yaci_block_range_sync_fetch_chunked.restype = c_int
+
+        lib.yaci_block_range_sync_cancel.argtypes = [c_void_p, c_int]
+        lib.yaci_block_range_sync_cancel.restype = c_int
+
         lib.yaci_block_range_sync_set_callback.argtypes = [c_void_p, c_int, EVENT_CALLBACK]
         lib.yaci_block_range_sync_set_callback.restype = c_int
 
+        lib.yaci_block_range_sync_set_payload_callback.argtypes = [
+            c_void_p, c_int, EVENT_PAYLOAD_CALLBACK
+        ]
+        lib.yaci_block_range_sync_set_payload_callback.restype = c_int
+
         lib.yaci_block_range_sync_stop.argtypes = [c_void_p, c_int]
         lib.yaci_block_range_sync_stop.restype = c_int
 
         lib.yaci_block_range_sync_destroy.argtypes = [c_void_p, c_int]
         lib.yaci_block_range_sync_destroy.restype = c_int
 
+        # Replay API
+        lib.yaci_replay_create.argtypes = [c_void_p, c_char_p, c_long]
+        lib.yaci_replay_create.restype = c_int
+
+        lib.yaci_replay_start.argtypes = [c_void_p, c_int, c_int]
+        lib.yaci_replay_start.restype = c_int
+
+        lib.yaci_replay_set_callback.argtypes = [c_void_p, c_int, EVENT_CALLBACK]
+        lib.yaci_replay_set_callback.restype = c_int
+
+        lib.yaci_replay_set_payload_callback.argtypes = [c_void_p, c_int, EVENT_PAYLOAD_CALLBACK]
+        lib.yaci_replay_set_payload_callback.restype = c_int
+
+        lib.yaci_replay_stop.argtypes = [c_void_p, c_int]
+        lib.yaci_replay_stop.restype = c_int
+
+        lib.yaci_replay_destroy.argtypes = [c_void_p, c_int]
+        lib.yaci_replay_destroy.restype = c_int
+
+    @property
+    def thread(self):
+        """IsolateThread for the calling OS thread.
+
+        The thread that created the isolate uses the handle returned by
+        graal_create_isolate. Any other thread is attached on first use and
+        keeps its own handle, so native calls from several Python threads run
+        in parallel instead of sharing one attachment.
+        """
+        if threading.get_ident() == self._owner_ident:
+            return self._thread
+        local = self._local
+        attached = getattr(local, 'attached', None)
+        if (attached is None or not attached.handle) and getattr(local, 'callback_depth', 0):
+            # A bridge-owned (Java) thread calling back into the bridge from a
+            # listener: borrow its existing IsolateThread, never detach it.
+            borrowed = getattr(local, 'borrowed', None)
+            if borrowed is None:
+                borrowed = self.attach_thread()
+                local.borrowed = borrowed
+            return borrowed
+        if attached is None or not attached.handle:
+            if not self._thread:
+                raise RuntimeError("GraalVM isolate is closed")
+            attached = _AttachedThread(self, self._attach())
+            local.attached = attached
+        return attached.handle
+
+    def event_callback(self, fn):
+        """Wrap fn(session_id, event_ptr) as an EVENT_CALLBACK.
+
+        Native calls made from fn run on the calling thread's existing
+        attachment, which the wrapper never detaches.
+        """
+        return EVENT_CALLBACK(self._in_callback(fn))
+
+    def payload_callback(self, fn):
+        """Wrap fn(session_id, event_ptr, payload_ptr, payload_len) as an EVENT_PAYLOAD_CALLBACK."""
+        return EVENT_PAYLOAD_CALLBACK(self._in_callback(fn))
+
+    def _in_callback(self, fn):
+        local = self._local
+
+        def trampoline(*args):
+            depth = getattr(local, 'callback_depth', 0)
+            local.callback_depth = depth + 1
+            try:
+                fn(*args)
+            finally:
+                local.callback_depth = depth
+                if not depth:
+                    local.borrowed = None
+        return trampoline
+
+    def detach_current_thread(self):
+        """Release the calling thread's attachment, if any.
+
+        Threads are detached automatically when they exit; call this to
+        release the attachment earlier (e.g. before a long-lived worker idles).
+        """
+        attached = getattr(self._local, 'attached', None)
+        if attached is not None:
+            attached.detach()
+            self._local.attached = None
+
+    def set_file_sink(self, session_id, directory, max_segment_bytes, fmt,
+                      compress, fsync_every):
+        """Configure a rotating file sink on a (not yet started) session of any type."""
+        formats = {'ndjson': 0, 'binary': 1}
+        if fmt not in formats:
+            raise ValueError(f"Unknown sink format: {fmt} (expected 'ndjson' or 'binary')")
+        rc = self._lib.yaci_session_set_file_sink(
+            self.thread, session_id, self._encode(os.fspath(directory)),
+            max_segment_bytes, formats[fmt], 1 if compress else 0, fsync_every,
+        )
+        self._check(rc)
+
+    def set_point_index(self, session_id, path):
+        """Maintain a point index file on a (not yet started) session of any type."""
+        rc = self._lib.yaci_session_set_point_index(
+            self.thread, session_id, self._encode(os.fspath(path)),
+        )
+        self._check(rc)
+
+    def set_parallel_encoding(self, session_id, max_in_flight):
+        """Encode a (not yet started) session's events on the native worker pool."""
+        rc = self._lib.yaci_session_set_parallel_encoding(self.thread, session_id, max_in_flight)
+        self._check(rc)
+
+    def set_ring_publisher(self, session_id, path, capacity):
+        """Publish a (not yet started) session's events into a shared-memory ring file."""
+        rc = self._lib.yaci_session_set_ring_publisher(
+            self.thread, session_id, self._encode(os.fspath(path)), capacity,
+        )
+        self._check(rc)
+
+    def ring_stats(self, session_id):
+        return self._check(self._lib.yaci_session_ring_stats(self.thread, session_id))
+
+    def set_event_server(self, session_id, path, backlog_bytes):
+        """Serve a (not yet started) session's events over a Unix domain socket."""
+        rc = self._lib.yaci_session_set_event_server(
+            self.thread, session_id, self._encode(os.fspath(path)), backlog_bytes,
+        )
+        self._check(rc)
+
+    def event_server_stats(self, session_id):
+        return self._check(self._lib.yaci_session_event_server_stats(self.thread, session_id))
+
+    def set_event_queue(self, session_id, max_events, max_bytes):
+        """Queue a (not yet started) session's events for poll_batch() instead of calling back."""
+        rc = self._lib.yaci_session_set_event_queue(self.thread, session_id, max_events, max_bytes)
+        self._check(rc)
+
+    def poll_batch(self, session_id, max_events, timeout_ms):
+        """Take up to max_events queued events; blocks up to timeout_ms for the first one."""
+        return self._check(self._lib.yaci_session_poll_batch(self.thread, session_id, max_events, timeout_ms))
+
+    def event_queue_stats(self, session_id):
+        return self._check(self._lib.yaci_session_event_queue_stats(self.thread, session_id))
+
+    def set_spool(self, session_id, directory, memory_events, max_disk_bytes):
+        """Deliver a (not yet started) session's events from a spooling delivery thread."""
+        rc = self._lib.yaci_session_set_spool(
+            self.thread, session_id, self._encode(os.fspath(directory)), memory_events, max_disk_bytes,
+        )
+        self._check(rc)
+
+    def spool_stats(self, session_id):
+        return self._check(self._lib.yaci_session_spool_stats(self.thread, session_id))
+
+    def set_window_aggregation(self, session_id, window_slots, first_slot, first_window):
+        """Replace a (not yet started) session's blocks with per-window rollups."""
+        rc = self._lib.yaci_session_set_window_aggregation(
+            self.thread, session_id, window_slots, first_slot, first_window,
+        )
+        self._check(rc)
+
+    def set_tx_streaming(self, session_id, enabled):
+        """Deliver a (not yet started) session's blocks transaction by transaction."""
+        rc = self._lib.yaci_session_set_tx_streaming(self.thread, session_id, 1 if enabled else 0)
+        self._check(rc)
+
+    def set_event_cache(self, session_id, max_bytes):
+        """Share the network's encoded-event cache with a (not yet started) session."""
+        rc = self._lib.yaci_session_set_event_cache(self.thread, session_id, max_bytes)
+        self._check(rc)
+
+    def set_utxo_tracker(self, session_id, addresses, snapshot_path):
+        """Track watched-address UTxOs on a (not yet started) session; returns the resume point JSON."""
+        rc = self._lib.yaci_session_set_utxo_tracker(
+            self.thread, session_id, self._encode(json.dumps(list(addresses))),
+            self._encode(os.fspath(snapshot_path)) if snapshot_path is not None else None,
+        )
+        return self._check(rc)
+
+    def tracked_utxos(self, session_id, address):
+        rc = self._lib.yaci_utxo_tracker_utxos(self.thread, session_id, self._encode(address))
+        return self._check(rc)
+
+    def snapshot_utxos(self, session_id, path):
+        rc = self._lib.yaci_utxo_tracker_snapshot(self.thread, session_id, self._encode(os.fspath(path)))
+        return self._check(rc)
+
+    def decode(self, cbor, blocks, raw_payload):
+        """Decode one block (blocks=True) or transaction body CBOR; returns the result JSON."""
+        fn = self._lib.yaci_block_decode if blocks else self._lib.yaci_tx_decode
+        data = bytes(cbor)
+        return self._check(fn(self.thread, data, len(data), 1 if raw_payload else 0))
+
+    def decode_batch(self, payloads, blocks, raw_payload):
+        """Decode many payloads in one call on the bridge's worker pool; returns a JSON array."""
+        chunks = [bytes(p) for p in payloads]
+        lengths = (ctypes.c_int64 * len(chunks))(*(len(c) for c in chunks))
+        fn = self._lib.yaci_block_decode_batch if blocks else self._lib.yaci_tx_decode_batch
+        rc = fn(self.thread, b''.join(chunks), lengths, len(chunks), 1 if raw_payload else 0)
+        return self._check(rc)
+
     def attach_thread(self):
         """Attach current OS thread to the GraalVM isolate. Returns IsolateThread handle."""
-        thread = c_void_p()
-        rc = self._lib.graal_attach_thread(self._isolate, byref(thread))
-        if rc != 0:
-            raise RuntimeError(f"Failed to attach thread to GraalVM isolate: {rc}")
-        return thread
+        thread = self._lib.yaci_attach_thread(self._isolate)
+        if not thread:
+            raise RuntimeError("Failed to attach thread to GraalVM isolate")
+        return c_void_p(thread)
 
     def detach_thread(self, thread):
         """Detach current OS thread from the GraalVM isolate."""
-        self._lib.graal_detach_thread(thread)
+        self._lib.yaci_detach_thread(thread)
+
+    def _attach(self):
+        thread = self.attach_thread()
+        with self._attached_lock:
+            self._attached_count += 1
+        return thread
+
+    def _detach(self, thread):
+        self.detach_thread(thread)
+        with self._attached_lock:
+            self._attached_count -= 1
 
     def _get_result(self, thread=None):
         """Get the last result string and free it."""
-        t = thread or self._thread
+        t = thread or self.thread
         ptr = self._lib.yaci_get_result(t)
         if not ptr:
             return None
@@ -201,7 +622,7 @@ class YaciLib:
 
     def _get_error(self, thread=None):
         """Get the last error string and free it."""
-        t = thread or self._thread
+        t = thread or self.thread
         ptr = self._lib.yaci_get_last_error(t)
         if not ptr:
             return None
@@ -225,8 +646,14 @@ class YaciLib:
         return s
 
     def close(self):
-        """Tear down the GraalVM isolate."""
+        """Tear down the GraalVM isolate.
+
+        Tear-down waits for every other attached thread to detach, so worker
+        threads (e.g. a ThreadPoolExecutor) must exit or call
+        detach_current_thread() before the bridge is closed.
+        """
         if self._thread:
+            self.detach_current_thread()
             self._lib.graal_tear_down_isolate(self._thread)
             self._thread = None
 
@@ -241,8 +668,32 @@ class YaciLib:
 
     def version(self):
         """Get bridge version string."""
-        rc = self._lib.yaci_version(self._thread)
-        return self._check(rc)
+        thread = self.thread
+        rc = self._lib.yaci_version(thread)
+        return self._check(rc, thread)
+
+
+def read_payload(event, payload_ptr):
+    """Copy the raw CBOR segments of a payload-callback block or tx event out of native memory.
+
+    Must be called inside the callback — the native buffer is freed once it returns.
+    Returns a dict with 'blockCbor' (bytes, None for tx events) and 'txBodyCbor'
+    (list of bytes or None), or None if the event carries no payload layout.
+    """
+    layout = event.get('payload')
+    if layout is None or not payload_ptr:
+        return None
+
+    def segment(seg):
+        offset, length = seg
+        if length == 0:
+            return None
+        return ctypes.string_at(payload_ptr + offset, length)
+
+    return {
+        'blockCbor': segment(layout['blockCbor']) if 'blockCbor' in layout else None,
+        'txBodyCbor': [segment(seg) for seg in layout.get('txBodyCbor', [])],
+    }
 
 
 class YaciError(Exception):
@@ -2,10 +2,15 @@
 
 import ctypes
 import json
-from typing import Union
-from yaci._ffi import YaciLib, EVENT_CALLBACK
+import os
+from typing import Optional, Sequence, Tuple, Union
+from yaci._ffi import YaciLib, read_payload
 from yaci.listener import BlockSyncListener
-from yaci.models import Point, NetworkType, BlockInfo
+from yaci.stream import EventStream
+from yaci.models import (
+    Point, NetworkType, BlockInfo, TransactionInfo, BlockBoundary, TrackedUtxo, UtxoDelta,
+    WindowAggregate, EPOCH_PARAMS,
+)
 
 
 class BlockRangeSync:
@@ -21,7 +26,8 @@ class BlockRangeSync:
     """
 
     def __init__(self, lib: YaciLib, host: str, port: int,
-                 network: Union[NetworkType, int]):
+                 network: Union[NetworkType, int], *,
+                 raw_payload: bool = False):
         self._lib = lib
         self._host = host
         self._port = port
@@ -29,6 +35,18 @@ class BlockRangeSync:
         self._session_id = None
         self._listeners = []
         self._callback_ref = None  # prevent GC of ctypes callback
+        # Deliver block/tx CBOR as raw bytes (block_cbor_bytes) instead of hex strings
+        self._raw_payload = raw_payload
+        self._file_sink = None
+        self._point_index = None
+        self._ring = None
+        self._event_server = None
+        self._event_queue = None
+        self._parallel_encoding = 0
+        self._event_cache_bytes = 0
+        self._utxo_tracker = None
+        self._tx_streaming = False
+        self._window_aggregation = None
 
     def add_listener(self, listener: BlockSyncListener):
         """Register a listener for block events."""
@@ -38,12 +56,115 @@ class BlockRangeSync:
         """Remove a registered listener."""
         self._listeners.remove(listener)
 
+    def set_file_sink(self, directory, *, max_segment_bytes: int = 256 * 1024 * 1024,
+                      format: str = 'ndjson', compress: bool = False,
+                      fsync_every: int = 1000):
+        """Write events straight to rotating segment files from the native side.
+
+        Must be called before start(). Listeners then only receive
+        on_segment_closed(), on_sink_error() and on_disconnect() instead of
+        every event.
+
+        Args:
+            directory: Directory for segment files (created if missing)
+            max_segment_bytes: Rotate after this many uncompressed bytes
+            format: 'ndjson' or 'binary' (4-byte big-endian length + JSON)
+            compress: gzip each segment
+            fsync_every: fsync after this many events (segments are always
+                         fsynced when closed)
+        """
+        self._file_sink = (directory, max_segment_bytes, format, compress, fsync_every)
+
+    def set_parallel_encoding(self, max_in_flight: int = 64):
+        """Encode events on a native worker pool. See BlockSync.set_parallel_encoding()."""
+        self._parallel_encoding = max_in_flight
+
+    def set_event_cache(self, max_bytes: int = 256 * 1024 * 1024):
+        """Reuse encoded block events seen before. See BlockSync.set_event_cache()."""
+        self._event_cache_bytes = max_bytes
+
+    def set_window_aggregation(self, window_slots: Optional[int] = None, *,
+                               epochs: bool = False,
+                               epoch_params: Optional[Tuple[int, int, int]] = None):
+        """Receive per-window rollups instead of blocks. See BlockSync.set_window_aggregation()."""
+        if epochs:
+            params = epoch_params or EPOCH_PARAMS.get(self._protocol_magic)
+            if params is None:
+                raise ValueError("epoch_params is required for custom networks")
+            self._window_aggregation = tuple(params)
+        elif window_slots:
+            self._window_aggregation = (window_slots, 0, 0)
+        else:
+            raise ValueError("window_slots or epochs=True is required")
+
+    def set_tx_streaming(self, enabled: bool = True):
+        """Deliver blocks transaction by transaction. See BlockSync.set_tx_streaming()."""
+        self._tx_streaming = enabled
+
+    def set_utxo_tracker(self, addresses, snapshot_path=None):
+        """Track watched-address UTxOs. See BlockSync.set_utxo_tracker()."""
+        self._utxo_tracker = (list(addresses), snapshot_path)
+
+    def utxos(self, address: Optional[str] = None) -> list[TrackedUtxo]:
+        """Current UTxOs of one watched address, or of all of them."""
+        return [TrackedUtxo._from_dict(d)
+                for d in json.loads(self._lib.tracked_utxos(self._session_id, address))]
+
+    def snapshot_utxos(self, path) -> Optional[Point]:
+        """Save the UTxO tracker state now; returns the point it was taken at."""
+        d = json.loads(self._lib.snapshot_utxos(self._session_id, path))
+        return Point(slot=d['slot'], hash=d['hash']) if d else None
+
+    def set_ring_publisher(self, path, capacity: int = 256 * 1024 * 1024):
+        """Publish events into a shared-memory ring. See BlockSync.set_ring_publisher()."""
+        self._ring = (path, capacity)
+
+    def ring_stats(self) -> dict:
+        """Ring positions and each attached reader's pid, position, lag and drops."""
+        return json.loads(self._lib.ring_stats(self._session_id))
+
+    def set_event_server(self, path, backlog_bytes: int = 64 * 1024 * 1024):
+        """Serve events over a Unix domain socket. See BlockSync.set_event_server()."""
+        self._event_server = (path, backlog_bytes)
+
+    def event_server_stats(self) -> dict:
+        """Backlog size and each subscriber's cursor, credits, lag and gaps."""
+        return json.loads(self._lib.event_server_stats(self._session_id))
+
+    def set_event_queue(self, max_events: int = 1024, max_bytes: int = 64 * 1024 * 1024):
+        """Queue events for events() instead of calling listeners. See BlockSync.set_event_queue()."""
+        self._event_queue = (max_events, max_bytes)
+
+    def events(self, batch_size: int = 256, poll_timeout_ms: int = 200) -> EventStream:
+        """Async iterator over the queued events: async for event in session.events()."""
+        if self._event_queue is None:
+            raise RuntimeError("set_event_queue() must be called before start()")
+        return EventStream(self, batch_size, poll_timeout_ms)
+
+    def event_queue_stats(self) -> dict:
+        """Queued events and bytes, events delivered and time the session spent waiting."""
+        return json.loads(self._lib.event_queue_stats(self._session_id))
+
+    def set_point_index(self, path):
+        """Maintain a slot / block-number index at path. See BlockSync.set_point_index()."""
+        self._point_index = path
+
     def start(self):
         """Create and start the native session, registering the callback."""
         self._create_session()
+        self._apply_file_sink()
+        self._apply_point_index()
+        self._apply_ring_publisher()
+        self._apply_event_server()
+        self._apply_event_queue()
+        self._apply_parallel_encoding()
+        self._apply_event_cache()
+        self._apply_utxo_tracker()
+        self._apply_tx_streaming()
+        self._apply_window_aggregation()
         self._register_callback()
         ffi = self._lib
-        rc = ffi._lib.yaci_block_range_sync_start(ffi._thread, self._session_id)
+        rc = ffi._lib.yaci_block_range_sync_start(ffi.thread, self._session_id)
         ffi._check(rc)
 
     def fetch(self, from_point: Point, to_point: Point):
@@ -58,25 +179,125 @@ class BlockRangeSync:
 
         ffi = self._lib
         rc = ffi._lib.yaci_block_range_sync_fetch(
-            ffi._thread,
+            ffi.thread,
+            self._session_id,
+            from_point.slot,
+            ffi._encode(from_point.hash),
+            to_point.slot,
+            ffi._encode(to_point.hash),
+        )
+        ffi._check(rc)
+
+    def fetch_many(self, ranges: Sequence[Tuple[Point, Point]], *,
+                   max_gap_slots: int = 0) -> int:
+        """Request many block ranges in one call.
+
+        Ranges are sorted and merged natively: overlapping ranges, and ranges
+        at most max_gap_slots apart, share one block-fetch request. Blocks
+        still arrive in input order with block.ranges listing the input
+        indexes they satisfy (a block shared by several inputs is delivered
+        once). on_range_done() closes each input and on_fetch_many_done()
+        the whole request, or on_fetch_cancelled() if the connection drops
+        first. Fails while a fetch() is still awaiting its
+        on_batch_done() or on_no_block_found().
+
+        Args:
+            ranges: (from_point, to_point) pairs, both inclusive
+            max_gap_slots: Merge ranges separated by at most this many slots;
+                           blocks in the gap are fetched but not delivered
+
+        Returns:
+            Number of block-fetch requests the ranges were merged into
+        """
+        if self._session_id is None:
+            raise RuntimeError("Session not started. Call start() first.")
+
+        payload = json.dumps([
+            {"from": {"slot": f.slot, "hash": f.hash},
+             "to": {"slot": t.slot, "hash": t.hash}}
+            for f, t in ranges
+        ])
+        ffi = self._lib
+        rc = ffi._lib.yaci_block_range_sync_fetch_many(
+            ffi.thread,
+            self._session_id,
+            ffi._encode(payload),
+            max_gap_slots,
+        )
+        return int(ffi._check(rc))
+
+    def fetch_chunked(self, from_point: Point, to_point: Point, *,
+                      point_index=None, initial_chunk_blocks: int = 0,
+                      target_chunk_ms: int = 0, progress_every_ms: int = 0):
+        """Request a large range as a series of adaptively sized block fetches.
+
+        Each chunk after the first is sized to take about target_chunk_ms at
+        the block rate just measured. on_range_progress() reports blocks,
+        bytes, percent, rates and ETA every progress_every_ms and once when
+        the fetch ends, which is then closed by on_batch_done() or, after
+        cancel_fetch() or on_no_block_found() for a chunk boundary no longer
+        on the chain, on_fetch_cancelled().
+
+        Block-fetch needs real points at both ends of a request, so chunk
+        boundaries are looked up in a point index covering the range (e.g.
+        one written by another session's set_point_index()). Without one the
+        range is fetched in a single request, still with progress and cancel.
+
+        Args:
+            from_point: Start point (inclusive)
+            to_point: End point (inclusive)
+            point_index: Path of a point index covering the range, or None
+            initial_chunk_blocks: Size of the first chunk (0 = 500 blocks)
+            target_chunk_ms: Target time per chunk (0 = 2000 ms)
+            progress_every_ms: Progress event interval (0 = 1000 ms)
+        """
+        if self._session_id is None:
+            raise RuntimeError("Session not started. Call start() first.")
+
+        ffi = self._lib
+        rc = ffi._lib.yaci_block_range_sync_fetch_chunked(
+            ffi.thread,
             self._session_id,
             from_point.slot,
             ffi._encode(from_point.hash),
             to_point.slot,
             ffi._encode(to_point.hash),
+            ffi._encode(os.fspath(point_index)) if point_index is not None else None,
+            initial_chunk_blocks,
+            target_chunk_ms,
+            progress_every_ms,
         )
         ffi._check(rc)
 
+    def cancel_fetch(self) -> bool:
+        """Cancel the fetch_chunked() request in progress.
+
+        The chunk in flight finishes on the wire but its remaining blocks are
+        not delivered; no further chunks are requested and the session stays
+        connected for the next fetch.
+
+        Returns:
+            False if no chunked fetch was in progress
+        """
+        if self._session_id is None:
+            return False
+        ffi = self._lib
+        rc = ffi._lib.yaci_block_range_sync_cancel(ffi.thread, self._session_id)
+        if rc == ffi.YACI_ERROR_NOT_FOUND:
+            return False
+        ffi._check(rc)
+        return True
+
     def stop(self):
         """Stop the session and clean up resources."""
         if self._session_id is not None:
             ffi = self._lib
             try:
-                ffi._lib.yaci_block_range_sync_stop(ffi._thread, self._session_id)
+                ffi._lib.yaci_block_range_sync_stop(ffi.thread, self._session_id)
             except Exception:
                 pass
             try:
-                ffi._lib.yaci_block_range_sync_destroy(ffi._thread, self._session_id)
+                ffi._lib.yaci_block_range_sync_destroy(ffi.thread, self._session_id)
             except Exception:
                 pass
             self._session_id = None
@@ -85,7 +306,7 @@ class BlockRangeSync:
     def _create_session(self):
         ffi = self._lib
         rc = ffi._lib.yaci_block_range_sync_create(
-            ffi._thread,
+            ffi.thread,
             ffi._encode(self._host),
             self._port,
             self._protocol_magic,
@@ -93,6 +314,46 @@ class BlockRangeSync:
         result = ffi._check(rc)
         self._session_id = int(result)
 
+    def _apply_parallel_encoding(self):
+        if self._parallel_encoding > 0:
+            self._lib.set_parallel_encoding(self._session_id, self._parallel_encoding)
+
+    def _apply_window_aggregation(self):
+        if self._window_aggregation is not None:
+            self._lib.set_window_aggregation(self._session_id, *self._window_aggregation)
+
+    def _apply_tx_streaming(self):
+        if self._tx_streaming:
+            self._lib.set_tx_streaming(self._session_id, True)
+
+    def _apply_utxo_tracker(self):
+        if self._utxo_tracker is not None:
+            self._lib.set_utxo_tracker(self._session_id, *self._utxo_tracker)
+
+    def _apply_event_cache(self):
+        if self._event_cache_bytes > 0:
+            self._lib.set_event_cache(self._session_id, self._event_cache_bytes)
+
+    def _apply_ring_publisher(self):
+        if self._ring is not None:
+            self._lib.set_ring_publisher(self._session_id, *self._ring)
+
+    def _apply_event_server(self):
+        if self._event_server is not None:
+            self._lib.set_event_server(self._session_id, *self._event_server)
+
+    def _apply_event_queue(self):
+        if self._event_queue is not None:
+            self._lib.set_event_queue(self._session_id, *self._event_queue)
+
+    def _apply_point_index(self):
+        if self._point_index is not None:
+            self._lib.set_point_index(self._session_id, self._point_index)
+
+    def _apply_file_sink(self):
+        if self._file_sink is not None:
+            self._lib.set_file_sink(self._session_id, *self._file_sink)
+
     def _make_callback(self):
         """Create a ctypes callback that dispatches events to listeners."""
         def _on_event(session_id, event_ptr):
@@ -102,18 +363,35 @@ class BlockRangeSync:
                 self._dispatch(event)
             except Exception as e:
                 print(f"[yaci] Callback error: {e}", flush=True)
-        return EVENT_CALLBACK(_on_event)
+        return self._lib.event_callback(_on_event)
+
+    def _make_payload_callback(self):
+        """Create a ctypes callback that receives block CBOR as raw bytes."""
+        def _on_event(session_id, event_ptr, payload_ptr, payload_len):
+            try:
+                raw = ctypes.string_at(event_ptr)
+                event = json.loads(raw.decode('utf-8'))
+                self._dispatch(event, read_payload(event, payload_ptr))
+            except Exception as e:
+                print(f"[yaci] Callback error: {e}", flush=True)
+        return self._lib.payload_callback(_on_event)
 
     def _register_callback(self):
         """Register the push-based callback with the native session."""
-        self._callback_ref = self._make_callback()
         ffi = self._lib
-        rc = ffi._lib.yaci_block_range_sync_set_callback(
-            ffi._thread, self._session_id, self._callback_ref
-        )
+        if self._raw_payload:
+            self._callback_ref = self._make_payload_callback()
+            rc = ffi._lib.yaci_block_range_sync_set_payload_callback(
+                ffi.thread, self._session_id, self._callback_ref
+            )
+        else:
+            self._callback_ref = self._make_callback()
+            rc = ffi._lib.yaci_block_range_sync_set_callback(
+                ffi.thread, self._session_id, self._callback_ref
+            )
         ffi._check(rc)
 
-    def _dispatch(self, event: dict):
+    def _dispatch(self, event: dict, payload: Optional[dict] = None):
         event_type = event.get('type')
         if event_type == 'timeout':
             return
@@ -121,7 +399,7 @@ class BlockRangeSync:
         for listener in self._listeners:
             try:
                 if event_type == 'block':
-                    block = BlockInfo._from_dict(event)
+                    block = BlockInfo._from_dict(event, payload)
                     listener.on_block(block.era, block)
                 elif event_type == 'rollback':
                     listener.on_rollback(event.get('point'))
@@ -135,5 +413,34 @@ class BlockRangeSync:
                     listener.on_no_block_found(
                         event.get('from'), event.get('to')
                     )
+                elif event_type == 'range_done':
+                    listener.on_range_done(
+                        event.get('rangeIndex'), event.get('blocks', 0)
+                    )
+                elif event_type == 'fetch_many_done':
+                    listener.on_fetch_many_done()
+                elif event_type == 'range_progress':
+                    listener.on_range_progress(event)
+                elif event_type == 'fetch_cancelled':
+                    listener.on_fetch_cancelled()
+                elif event_type == 'block_begin':
+                    listener.on_block_begin(BlockBoundary._from_dict(event))
+                elif event_type == 'tx':
+                    tx = TransactionInfo._from_dict(event.get('transaction'))
+                    if payload is not None and tx.body is not None:
+                        tx.body.cbor_bytes = payload['txBodyCbor'][0]
+                    listener.on_transaction(event.get('index', 0), tx)
+                elif event_type == 'block_end':
+                    listener.on_block_end(BlockBoundary._from_dict(event))
+                elif event_type == 'window':
+                    listener.on_window(WindowAggregate._from_dict(event))
+                elif event_type == 'utxo_delta':
+                    listener.on_utxo_delta(UtxoDelta._from_dict(event))
+                elif event_type == 'ring_lag':
+                    listener.on_ring_lag(event)
+                elif event_type == 'segment_closed':
+                    listener.on_segment_closed(event)
+                elif event_type == 'sink_error':
+                    listener.on_sink_error(event)
             except Exception:
                 pass
@@ -2,10 +2,14 @@
 
 import ctypes
 import json
-from typing import Optional, Union
-from yaci._ffi import YaciLib, EVENT_CALLBACK
+from typing import Optional, Tuple, Union
+from yaci._ffi import YaciLib, read_payload
 from yaci.listener import BlockSyncListener
-from yaci.models import Point, WELL_KNOWN_POINTS, NetworkType, BlockInfo
+from yaci.stream import EventStream
+from yaci.models import (
+    Point, WELL_KNOWN_POINTS, NetworkType, BlockInfo, TransactionInfo,
+    BlockBoundary, TrackedUtxo, UtxoDelta, WindowAggregate, EPOCH_PARAMS,
+)
 
 
 class BlockSync:
@@ -22,7 +26,9 @@ class BlockSync:
     def __init__(self, lib: YaciLib, host: str, port: int,
                  network: Union[NetworkType, int], *,
                  well_known_point: Optional[Point] = None,
-                 keep_alive_interval_ms: int = 5000):
+                 keep_alive_interval_ms: int = 5000,
+                 raw_payload: bool = False,
+                 follower_window: int = 1):
         self._lib = lib
         self._host = host
         self._port = port
@@ -30,6 +36,22 @@ class BlockSync:
         self._listeners = []
         self._callback_ref = None  # prevent GC of ctypes callback
         self._keep_alive_interval_ms = keep_alive_interval_ms
+        # Deliver block/tx CBOR as raw bytes (block_cbor_bytes) instead of hex strings
+        self._raw_payload = raw_payload
+        # > 1: headers are buffered ahead of delivery and bodies are fetched in batched ranges
+        self._follower_window = follower_window
+        self._file_sink = None
+        self._point_index = None
+        self._ring = None
+        self._event_server = None
+        self._event_queue = None
+        self._parallel_encoding = 0
+        self._event_cache_bytes = 0
+        self._utxo_tracker = None
+        self._tx_streaming = False
+        self._window_aggregation = None
+        self._watchdog = None
+        self._spool = None
 
         if isinstance(network, NetworkType):
             self._protocol_magic = int(network)
@@ -51,6 +73,196 @@ class BlockSync:
         """Remove a registered listener."""
         self._listeners.remove(listener)
 
+    def set_file_sink(self, directory, *, max_segment_bytes: int = 256 * 1024 * 1024,
+                      format: str = 'ndjson', compress: bool = False,
+                      fsync_every: int = 1000):
+        """Write events straight to rotating segment files from the native side.
+
+        Must be called before start(). Listeners then only receive
+        on_segment_closed(), on_sink_error() and on_disconnect() instead of
+        every event.
+
+        Args:
+            directory: Directory for segment files (created if missing)
+            max_segment_bytes: Rotate after this many uncompressed bytes
+            format: 'ndjson' or 'binary' (4-byte big-endian length + JSON)
+            compress: gzip each segment
+            fsync_every: fsync after this many events (segments are always
+                         fsynced when closed)
+        """
+        self._file_sink = (directory, max_segment_bytes, format, compress, fsync_every)
+
+    def set_parallel_encoding(self, max_in_flight: int = 64):
+        """Encode events on a native worker pool, up to max_in_flight at a time.
+
+        Must be called before start(). Delivery order is unchanged; callbacks
+        then run on a per-session delivery thread instead of the network
+        thread. Helps during backfills with large blocks on many-core hosts.
+        0 (default) encodes synchronously.
+        """
+        self._parallel_encoding = max_in_flight
+
+    def set_event_cache(self, max_bytes: int = 256 * 1024 * 1024):
+        """Reuse encoded block events seen before (reconnects, forks, overlapping ranges).
+
+        Must be called before start(). The cache lives off-heap, is shared by
+        all sessions of the same network and is bounded by max_bytes. See
+        bridge.event_cache_stats() for hit/miss counters.
+        """
+        self._event_cache_bytes = max_bytes
+
+    def set_window_aggregation(self, window_slots: Optional[int] = None, *,
+                               epochs: bool = False,
+                               epoch_params: Optional[Tuple[int, int, int]] = None):
+        """Receive per-window rollups instead of blocks.
+
+        Must be called before start(). Listeners then get on_window() once
+        per window instead of on_block(). Give either window_slots for plain
+        slot buckets, or epochs=True for epoch windows (Shelley era onwards;
+        custom networks pass epoch_params=(epoch_length, first_shelley_slot,
+        first_shelley_epoch)).
+        """
+        if epochs:
+            params = epoch_params or EPOCH_PARAMS.get(self._protocol_magic)
+            if params is None:
+                raise ValueError("epoch_params is required for custom networks")
+            self._window_aggregation = tuple(params)
+        elif window_slots:
+            self._window_aggregation = (window_slots, 0, 0)
+        else:
+            raise ValueError("window_slots or epochs=True is required")
+
+    def set_tx_streaming(self, enabled: bool = True):
+        """Deliver blocks transaction by transaction to bound peak memory.
+
+        Must be called before start(). Listeners then get on_block_begin(),
+        on_transaction() for each transaction and on_block_end() instead of
+        on_block(); the block CBOR itself is not delivered. Each transaction
+        is encoded and freed before the next, so the largest buffer in flight
+        is one transaction, not one block.
+        """
+        self._tx_streaming = enabled
+
+    def set_utxo_tracker(self, addresses, snapshot_path=None):
+        """Track the UTxOs of watched addresses inside the bridge.
+
+        Must be called before start(). Listeners then get on_utxo_delta() with
+        per-address changes instead of on_block(); rollbacks are undone in
+        the bridge. With snapshot_path, state is loaded from that file if it
+        exists and saved there when the session stops, so a restart can
+        resume from bridge.utxo_snapshot_point(snapshot_path).
+
+        Args:
+            addresses: Bech32 addresses to watch
+            snapshot_path: Optional snapshot file
+        """
+        self._utxo_tracker = (list(addresses), snapshot_path)
+
+    def utxos(self, address: Optional[str] = None) -> list[TrackedUtxo]:
+        """Current UTxOs of one watched address, or of all of them."""
+        return [TrackedUtxo._from_dict(d)
+                for d in json.loads(self._lib.tracked_utxos(self._session_id, address))]
+
+    def snapshot_utxos(self, path) -> Optional[Point]:
+        """Save the UTxO tracker state now; returns the point it was taken at."""
+        d = json.loads(self._lib.snapshot_utxos(self._session_id, path))
+        return Point(slot=d['slot'], hash=d['hash']) if d else None
+
+    def set_ring_publisher(self, path, capacity: int = 256 * 1024 * 1024):
+        """Publish events into a shared-memory ring for other processes.
+
+        Must be called before start(). Events are encoded once and written to
+        the ring file at path (e.g. under /dev/shm). Worker processes read them
+        with yaci.ring.RingReader, each with its own cursor. Listeners here only
+        receive on_disconnect() and on_ring_lag() for readers that fall more
+        than capacity bytes behind. See ring_stats() for per-reader lag.
+        """
+        self._ring = (path, capacity)
+
+    def ring_stats(self) -> dict:
+        """Ring positions and each attached reader's pid, position, lag and drops."""
+        return json.loads(self._lib.ring_stats(self._session_id))
+
+    def set_event_server(self, path, backlog_bytes: int = 64 * 1024 * 1024):
+        """Serve events to local processes over a Unix domain socket.
+
+        Must be called before start(). Events are encoded once and sent to
+        every subscriber connected to path, each under its own credit-based
+        flow control; see yaci.server.EventClient for the framing. Subscribers
+        can resume after a block still held in the last backlog_bytes of
+        events. Listeners here only receive on_disconnect().
+        """
+        self._event_server = (path, backlog_bytes)
+
+    def event_server_stats(self) -> dict:
+        """Backlog size and each subscriber's cursor, credits, lag and gaps."""
+        return json.loads(self._lib.event_server_stats(self._session_id))
+
+    def set_event_queue(self, max_events: int = 1024, max_bytes: int = 64 * 1024 * 1024):
+        """Queue events in the bridge for events() instead of calling listeners.
+
+        Must be called before start(). The queue holds at most max_events
+        events and max_bytes of event JSON; when it is full the session stops
+        reading from the relay until the consumer catches up. Stopping the
+        session discards events still queued.
+        """
+        self._event_queue = (max_events, max_bytes)
+
+    def events(self, batch_size: int = 256, poll_timeout_ms: int = 200) -> EventStream:
+        """Async iterator over the queued events: async for event in sync.events()."""
+        if self._event_queue is None:
+            raise RuntimeError("set_event_queue() must be called before start()")
+        return EventStream(self, batch_size, poll_timeout_ms)
+
+    def event_queue_stats(self) -> dict:
+        """Queued events and bytes, events delivered and time the session spent waiting."""
+        return json.loads(self._lib.event_queue_stats(self._session_id))
+
+    def set_watchdog(self, stall_timeout_ms: int = 120000, resume_points: int = 8):
+        """Reconnect in place when following stalls or the connection drops.
+
+        Must be called before start(). A stall is no chain-sync progress for
+        stall_timeout_ms (or a failed keep-alive). The connection is replaced
+        without tearing the session down, intersecting on the last
+        resume_points delivered blocks, and listeners get on_reconnected()
+        instead of on_disconnect(). Delivery continues after the last block
+        delivered, so none is repeated or skipped; if the relay rolled those
+        blocks back meanwhile, on_rollback() follows as usual.
+
+        Quiet periods at the tip longer than stall_timeout_ms also trigger a
+        (harmless) reconnect, so keep it well above the block interval.
+        """
+        self._watchdog = (stall_timeout_ms, resume_points)
+
+    def set_spool(self, directory, *, memory_events: int = 1024,
+                  max_disk_bytes: int = 1024 * 1024 * 1024):
+        """Keep the relay connection streaming while listeners are slow.
+
+        Must be called before start(). Listeners are then called from a native
+        delivery thread instead of the network thread. Up to memory_events
+        events wait in memory; the rest overflow into spool files in directory
+        and are delivered in order once listeners catch up. The session only
+        waits for listeners when the spool files reach max_disk_bytes. CBOR
+        stays hex in spooled events, even with raw_payload.
+
+        Spool files are deleted once listeners have returned for all their
+        events. Events are delivered once and never redelivered, so a listener
+        that fails must resume from its own last stored point.
+        """
+        self._spool = (directory, memory_events, max_disk_bytes)
+
+    def spool_stats(self) -> dict:
+        """Events delivered so far, events waiting in memory and on disk,
+        disk bytes (current, peak, cap) and time the session waited on a full spool."""
+        return json.loads(self._lib.spool_stats(self._session_id))
+
+    def set_point_index(self, path):
+        """Maintain a slot / block-number index of this session's blocks at path.
+
+        Must be called before start(). Query it with bridge.point_index(path).
+        """
+        self._point_index = path
+
     def start(self, from_point: Point):
         """Start syncing from a specific point.
 
@@ -60,12 +272,10 @@ class BlockSync:
         Args:
             from_point: The chain point to start syncing from
         """
-        self._create_session()
-        self._set_keep_alive_interval()
-        self._register_callback()
+        self._configure_session()
         ffi = self._lib
         rc = ffi._lib.yaci_block_sync_start(
-            ffi._thread,
+            ffi.thread,
             self._session_id,
             from_point.slot,
             ffi._encode(from_point.hash),
@@ -78,13 +288,38 @@ class BlockSync:
         Creates the native session, registers the callback, and starts sync
         from tip. Events are delivered synchronously on the Yaci network thread.
         """
-        self._create_session()
-        self._set_keep_alive_interval()
-        self._register_callback()
+        self._configure_session()
         ffi = self._lib
         rc = ffi._lib.yaci_block_sync_start_from_tip(
-            ffi._thread,
+            ffi.thread,
+            self._session_id,
+        )
+        ffi._check(rc)
+
+    def start_with_catch_up(self, from_point: Point, *, timeout_ms: int = 30000,
+                            progress_every: int = 1000):
+        """Backfill from a point to the current tip, then keep following.
+
+        Blocks up to the tip found at start are fetched as one block-fetch
+        range, which is much faster than chain-sync when far behind. Once the
+        range is done the session switches to chain-sync from the last fetched
+        block; no blocks are skipped or repeated at the switch.
+
+        Args:
+            from_point: The chain point to start after
+            timeout_ms: Timeout for the initial tip lookup
+            progress_every: Call on_catch_up_progress() every N backfilled
+                            blocks (0 to only report phase changes)
+        """
+        self._configure_session()
+        ffi = self._lib
+        rc = ffi._lib.yaci_block_sync_start_with_catch_up(
+            ffi.thread,
             self._session_id,
+            from_point.slot,
+            ffi._encode(from_point.hash),
+            timeout_ms,
+            progress_every,
         )
         ffi._check(rc)
 
@@ -93,20 +328,39 @@ class BlockSync:
         if self._session_id is not None:
             ffi = self._lib
             try:
-                ffi._lib.yaci_block_sync_stop(ffi._thread, self._session_id)
+                ffi._lib.yaci_block_sync_stop(ffi.thread, self._session_id)
             except Exception:
                 pass
             try:
-                ffi._lib.yaci_block_sync_destroy(ffi._thread, self._session_id)
+                ffi._lib.yaci_block_sync_destroy(ffi.thread, self._session_id)
             except Exception:
                 pass
             self._session_id = None
             self._callback_ref = None
 
+    def _configure_session(self):
+        """Create the native session and apply every setting made before start()."""
+        self._create_session()
+        self._apply_file_sink()
+        self._apply_point_index()
+        self._apply_ring_publisher()
+        self._apply_event_server()
+        self._apply_event_queue()
+        self._apply_spool()
+        self._apply_parallel_encoding()
+        self._apply_event_cache()
+        self._apply_utxo_tracker()
+        self._apply_tx_streaming()
+        self._apply_window_aggregation()
+        self._set_keep_alive_interval()
+        self._apply_follower_window()
+        self._apply_watchdog()
+        self._register_callback()
+
     def _create_session(self):
         ffi = self._lib
         rc = ffi._lib.yaci_block_sync_create(
-            ffi._thread,
+            ffi.thread,
             ffi._encode(self._host),
             self._port,
             self._protocol_magic,
@@ -119,10 +373,70 @@ class BlockSync:
     def _set_keep_alive_interval(self):
         ffi = self._lib
         rc = ffi._lib.yaci_block_sync_set_keep_alive_interval(
-            ffi._thread, self._session_id, self._keep_alive_interval_ms
+            ffi.thread, self._session_id, self._keep_alive_interval_ms
         )
         ffi._check(rc)
 
+    def _apply_follower_window(self):
+        if self._follower_window > 1:
+            ffi = self._lib
+            rc = ffi._lib.yaci_block_sync_set_follower_window(
+                ffi.thread, self._session_id, self._follower_window
+            )
+            ffi._check(rc)
+
+    def _apply_watchdog(self):
+        if self._watchdog is not None:
+            ffi = self._lib
+            rc = ffi._lib.yaci_block_sync_set_watchdog(
+                ffi.thread, self._session_id, *self._watchdog
+            )
+            ffi._check(rc)
+
+    def _apply_parallel_encoding(self):
+        if self._parallel_encoding > 0:
+            self._lib.set_parallel_encoding(self._session_id, self._parallel_encoding)
+
+    def _apply_window_aggregation(self):
+        if self._window_aggregation is not None:
+            self._lib.set_window_aggregation(self._session_id, *self._window_aggregation)
+
+    def _apply_tx_streaming(self):
+        if self._tx_streaming:
+            self._lib.set_tx_streaming(self._session_id, True)
+
+    def _apply_utxo_tracker(self):
+        if self._utxo_tracker is not None:
+            self._lib.set_utxo_tracker(self._session_id, *self._utxo_tracker)
+
+    def _apply_event_cache(self):
+        if self._event_cache_bytes > 0:
+            self._lib.set_event_cache(self._session_id, self._event_cache_bytes)
+
+    def _apply_ring_publisher(self):
+        if self._ring is not None:
+            self._lib.set_ring_publisher(self._session_id, *self._ring)
+
+    def _apply_event_server(self):
+        if self._event_server is not None:
+            self._lib.set_event_server(self._session_id, *self._event_server)
+
+    def _apply_spool(self):
+        if self._spool is not None:
+            self._lib.set_spool(self._session_id, *self._spool)
+
+    def _apply_event_queue(self):
+        if self._event_queue is not None:
+            self._lib.set_event_queue(self._session_id, *self._event_queue)
+
+    def _apply_point_index(self):
+        if self._point_index is not None:
+            self._lib.set_point_index(self._session_id, self._point_index)
+
+    def _apply_file_sink(self):
+        if self._file_sink is not None:
+            self._lib.set_file_sink(self._session_id, *self._file_sink)
+
     def _make_callback(self):
         """Create a ctypes callback that dispatches events to listeners."""
         def _on_event(session_id, event_ptr):
@@ -132,18 +446,35 @@ class BlockSync:
                 self._dispatch(event)
             except Exception as e:
                 print(f"[yaci] Callback error: {e}", flush=True)
-        return EVENT_CALLBACK(_on_event)
+        return self._lib.event_callback(_on_event)
+
+    def _make_payload_callback(self):
+        """Create a ctypes callback that receives block CBOR as raw bytes."""
+        def _on_event(session_id, event_ptr, payload_ptr, payload_len):
+            try:
+                raw = ctypes.string_at(event_ptr)
+                event = json.loads(raw.decode('utf-8'))
+                self._dispatch(event, read_payload(event, payload_ptr))
+            except Exception as e:
+                print(f"[yaci] Callback error: {e}", flush=True)
+        return self._lib.payload_callback(_on_event)
 
     def _register_callback(self):
         """Register the push-based callback with the native session."""
-        self._callback_ref = self._make_callback()
         ffi = self._lib
-        rc = ffi._lib.yaci_block_sync_set_callback(
-            ffi._thread, self._session_id, self._callback_ref
-        )
+        if self._raw_payload:
+            self._callback_ref = self._make_payload_callback()
+            rc = ffi._lib.yaci_block_sync_set_payload_callback(
+                ffi.thread, self._session_id, self._callback_ref
+            )
+        else:
+            self._callback_ref = self._make_callback()
+            rc = ffi._lib.yaci_block_sync_set_callback(
+                ffi.thread, self._session_id, self._callback_ref
+            )
         ffi._check(rc)
 
-    def _dispatch(self, event: dict):
+    def _dispatch(self, event: dict, payload: Optional[dict] = None):
         event_type = event.get('type')
         if event_type == 'timeout':
             return
@@ -151,7 +482,7 @@ class BlockSync:
         for listener in self._listeners:
             try:
                 if event_type == 'block':
-                    block = BlockInfo._from_dict(event)
+                    block = BlockInfo._from_dict(event, payload)
                     listener.on_block(block.era, block)
                 elif event_type == 'rollback':
                     listener.on_rollback(event.get('point'))
@@ -165,5 +496,36 @@ class BlockSync:
                     listener.on_no_block_found(
                         event.get('from'), event.get('to')
                     )
+                elif event_type == 'catch_up_progress':
+                    listener.on_catch_up_progress(event)
+                elif event_type == 'reconnecting':
+                    listener.on_reconnecting(
+                        event.get('reason'), event.get('attempt', 1),
+                        Point(slot=event['slot'], hash=event['hash'])
+                    )
+                elif event_type == 'reconnected':
+                    listener.on_reconnected(
+                        event.get('reason'), event.get('millis', 0),
+                        Point(slot=event['slot'], hash=event['hash'])
+                    )
+                elif event_type == 'block_begin':
+                    listener.on_block_begin(BlockBoundary._from_dict(event))
+                elif event_type == 'tx':
+                    tx = TransactionInfo._from_dict(event.get('transaction'))
+                    if payload is not None and tx.body is not None:
+                        tx.body.cbor_bytes = payload['txBodyCbor'][0]
+                    listener.on_transaction(event.get('index', 0), tx)
+                elif event_type == 'block_end':
+                    listener.on_block_end(BlockBoundary._from_dict(event))
+                elif event_type == 'window':
+                    listener.on_window(WindowAggregate._from_dict(event))
+                elif event_type == 'utxo_delta':
+                    listener.on_utxo_delta(UtxoDelta._from_dict(event))
+                elif event_type == 'ring_lag':
+                    listener.on_ring_lag(event)
+                elif event_type == 'segment_closed':
+                    listener.on_segment_closed(event)
+                elif event_type == 'sink_error':
+                    listener.on_sink_error(event)
             except Exception as e:
                 print(f"[yaci] Listener error in {event_type}: {e}", flush=True)
@@ -1,14 +1,21 @@
 """YaciBridge — high-level Python API for Yaci native bridge."""
 
-from typing import Optional, Union
+import json
+import os
+from typing import Iterable, Optional, Union
 from yaci._ffi import YaciLib
 from yaci.tip_finder import TipFinder
 from yaci.block_sync import BlockSync
 from yaci.block_range_sync import BlockRangeSync
+from yaci.header_sync import HeaderSync
+from yaci.stream import EventStream
+from yaci.replay import BlockReplay
+from yaci.point_index import PointIndex
 from yaci.genesis_block_finder import GenesisBlockFinder
 from yaci.peer_discovery import PeerDiscovery as _PeerDiscovery
 from yaci.models import (
     NetworkType, Tip, PeerAddress, Point, GenesisBlock, NodeClientConfig,
+    BlockInfo, TransactionBody,
 )
 
 
@@ -85,7 +92,9 @@ class YaciBridge:
     def block_sync(self, host: str, port: int,
                    network: Union[NetworkType, int], *,
                    well_known_point: Optional[Point] = None,
-                   keep_alive_interval_ms: int = 5000) -> BlockSync:
+                   keep_alive_interval_ms: int = 5000,
+                   raw_payload: bool = False,
+                   follower_window: int = 1) -> BlockSync:
         """Create a BlockSync instance for long-running chain sync.
 
         Args:
@@ -94,13 +103,169 @@ class YaciBridge:
             network: Network type or int protocol magic for custom networks
             well_known_point: Required for custom networks (int protocol magic)
             keep_alive_interval_ms: Keep-alive message interval in ms (default 5000)
+            raw_payload: Deliver block and tx body CBOR as raw bytes
+                         (block.block_cbor_bytes, tx.body.cbor_bytes) instead of
+                         hex strings inside the event JSON
+            follower_window: Max headers buffered ahead of delivered blocks;
+                             bodies are then fetched in batched ranges.
+                             1 (default) fetches one block per header.
 
         Returns:
             BlockSync instance — call add_listener(), then start()
         """
         return BlockSync(self._lib, host, port, network,
                          well_known_point=well_known_point,
-                         keep_alive_interval_ms=keep_alive_interval_ms)
+                         keep_alive_interval_ms=keep_alive_interval_ms,
+                         raw_payload=raw_payload,
+                         follower_window=follower_window)
+
+    def block_sync_stream(self, host: str, port: int,
+                          network: Union[NetworkType, int],
+                          from_point: Optional[Point] = None, *,
+                          max_events: int = 1024,
+                          max_bytes: int = 64 * 1024 * 1024,
+                          batch_size: int = 256,
+                          well_known_point: Optional[Point] = None,
+                          keep_alive_interval_ms: int = 5000,
+                          follower_window: int = 1) -> EventStream:
+        """Start a BlockSync and iterate its events with async for.
+
+            async with bridge.block_sync_stream(host, port, network, point) as events:
+                async for event in events:
+                    if isinstance(event, BlockInfo):
+                        ...
+
+        Args:
+            from_point: The chain point to start syncing from (None = current tip)
+            max_events: Bridge-side queue bound in events
+            max_bytes: Bridge-side queue bound in bytes of event JSON
+            batch_size: Max events taken from the queue per poll
+
+        Returns:
+            EventStream — closing it (or leaving async with) stops the session
+        """
+        sync = BlockSync(self._lib, host, port, network,
+                         well_known_point=well_known_point,
+                         keep_alive_interval_ms=keep_alive_interval_ms,
+                         follower_window=follower_window)
+        sync.set_event_queue(max_events, max_bytes)
+        if from_point is not None:
+            sync.start(from_point)
+        else:
+            sync.start_from_tip()
+        return EventStream(sync, batch_size, owns_session=True)
+
+    def header_sync(self, host: str, port: int,
+                    network: Union[NetworkType, int], *,
+                    well_known_point: Optional[Point] = None,
+                    keep_alive_interval_ms: int = 5000) -> HeaderSync:
+        """Create a HeaderSync instance for header-only chain follow.
+
+        Uses chain-sync alone — no block bodies are fetched or decoded.
+
+        Args:
+            host: Cardano node hostname
+            port: Cardano node port
+            network: Network type or int protocol magic for custom networks
+            well_known_point: Required for custom networks (int protocol magic)
+            keep_alive_interval_ms: Keep-alive message interval in ms (default 5000)
+
+        Returns:
+            HeaderSync instance — call add_listener(), then start() or start_from_tip()
+        """
+        return HeaderSync(self._lib, host, port, network,
+                          well_known_point=well_known_point,
+                          keep_alive_interval_ms=keep_alive_interval_ms)
+
+    def block_replay(self, path, network: Union[NetworkType, int] = NetworkType.MAINNET, *,
+                     raw_payload: bool = False) -> BlockReplay:
+        """Create a BlockReplay that delivers recorded block CBOR without a relay.
+
+        Args:
+            path: Recording written by yaci.replay.write_recording()
+            network: Network the blocks belong to (keys the shared event cache)
+            raw_payload: Deliver CBOR as raw bytes, as for block_sync()
+
+        Returns:
+            BlockReplay instance — call add_listener(), then start()
+        """
+        return BlockReplay(self._lib, path, network, raw_payload=raw_payload)
+
+    def event_cache_stats(self, network: Union[NetworkType, int]) -> Optional[dict]:
+        """Counters of the shared encoded-event cache for a network.
+
+        Returns:
+            Dict with entries, bytes, maxBytes, hits, misses, evictions —
+            or None if no session of that network enabled the cache
+        """
+        ffi = self._lib
+        rc = ffi._lib.yaci_event_cache_stats(ffi.thread, int(network))
+        if rc == ffi.YACI_ERROR_NOT_FOUND:
+            return None
+        return json.loads(ffi._check(rc))
+
+    def utxo_snapshot_point(self, path) -> Optional[Point]:
+        """The point a UTxO tracker snapshot was taken at, to resume syncing from.
+
+        Returns:
+            Point, or None if the file does not exist or holds no point yet
+        """
+        ffi = self._lib
+        rc = ffi._lib.yaci_utxo_snapshot_point(ffi.thread, ffi._encode(os.fspath(path)))
+        if rc == ffi.YACI_ERROR_NOT_FOUND:
+            return None
+        d = json.loads(ffi._check(rc))
+        return Point(slot=d['slot'], hash=d['hash'])
+
+    def decode_block(self, cbor: bytes, raw_payload: bool = False) -> BlockInfo:
+        """Decode block CBOR kept from raw_payload delivery (BlockInfo.block_cbor_bytes).
+
+        Args:
+            cbor: Raw block CBOR
+            raw_payload: Leave CBOR hex out of the result, as raw_payload sessions do;
+                         the input bytes are attached as block_cbor_bytes instead
+
+        Returns:
+            BlockInfo with transactions, as a session would have delivered it
+        """
+        block = BlockInfo._from_dict(json.loads(self._lib.decode(cbor, True, raw_payload)))
+        if raw_payload:
+            block.block_cbor_bytes = bytes(cbor)
+        return block
+
+    def decode_tx(self, cbor: bytes, raw_payload: bool = False) -> TransactionBody:
+        """Decode transaction body CBOR kept from raw_payload delivery (TransactionBody.cbor_bytes)."""
+        body = TransactionBody._from_dict(json.loads(self._lib.decode(cbor, False, raw_payload)))
+        if raw_payload:
+            body.cbor_bytes = bytes(cbor)
+        return body
+
+    def decode_blocks(self, payloads: Iterable[bytes],
+                      raw_payload: bool = False) -> list[Optional[BlockInfo]]:
+        """Decode many blocks in one call, in parallel on the bridge's worker pool.
+
+        Returns:
+            One entry per payload, in order; None where a payload failed to decode
+        """
+        results = json.loads(self._lib.decode_batch(payloads, True, raw_payload))
+        return [None if 'error' in d else BlockInfo._from_dict(d) for d in results]
+
+    def decode_txs(self, payloads: Iterable[bytes],
+                   raw_payload: bool = False) -> list[Optional[TransactionBody]]:
+        """Decode many transaction bodies in one call. See decode_blocks()."""
+        results = json.loads(self._lib.decode_batch(payloads, False, raw_payload))
+        return [None if 'error' in d else TransactionBody._from_dict(d) for d in results]
+
+    def point_index(self, path) -> PointIndex:
+        """Open a point index written by a session's set_point_index().
+
+        Args:
+            path: Index file path
+
+        Returns:
+            PointIndex for slot / block-number lookups
+        """
+        return PointIndex(self._lib, path)
 
     def discover_peers(self, host: str, port: int, network: Union[NetworkType, int],
                        request_amount: int = 10,
@@ -121,18 +286,78 @@ class YaciBridge:
         return pd.discover(request_amount, timeout_ms)
 
     def block_range_sync(self, host: str, port: int,
-                         network: Union[NetworkType, int]) -> BlockRangeSync:
+                         network: Union[NetworkType, int], *,
+                         raw_payload: bool = False) -> BlockRangeSync:
         """Create a BlockRangeSync instance for bounded block range fetch.
 
         Args:
             host: Cardano node hostname
             port: Cardano node port
             network: Network type or int protocol magic for custom networks
+            raw_payload: Deliver block and tx body CBOR as raw bytes instead of hex
 
         Returns:
             BlockRangeSync instance — call add_listener(), start(), then fetch()
         """
-        return BlockRangeSync(self._lib, host, port, network)
+        return BlockRangeSync(self._lib, host, port, network, raw_payload=raw_payload)
+
+    def start_flight_recording(self, path, jvm_events: bool = False) -> dict:
+        """Record the library's per-block pipeline events with JDK Flight Recorder.
+
+        Events: yaci.BlockReceived, yaci.Decode, yaci.Serialize, yaci.NativeCopy,
+        yaci.Callback and yaci.Rollback, each with session id, slot, payload size and
+        duration. Open the file with `jfr print` or JDK Mission Control.
+
+        Args:
+            path: File the recording is written to when it stops
+            jvm_events: Also record the JDK's default events (GC, threads, allocation)
+
+        Returns:
+            Dict with path, startMillis (wall clock) and startNanos (monotonic) for
+            lining the recording up with host-side traces
+        """
+        ffi = self._lib
+        rc = ffi._lib.yaci_flight_recording_start(ffi.thread, ffi._encode(os.fspath(path)),
+                                                  1 if jvm_events else 0)
+        return json.loads(ffi._check(rc))
+
+    def stop_flight_recording(self) -> Optional[str]:
+        """Stop the recording and write its file.
+
+        Returns:
+            The file written, or None if no recording was running
+        """
+        ffi = self._lib
+        rc = ffi._lib.yaci_flight_recording_stop(ffi.thread)
+        if rc == ffi.YACI_ERROR_NOT_FOUND:
+            return None
+        return ffi._check(rc)
+
+    def configure_connection_pool(self, max_idle: int = 4, idle_timeout_ms: int = 60000,
+                                  keep_alive_interval_ms: int = 5000):
+        """Reuse handshaken relay connections for find_tip() calls without node_config.
+
+        Most of a one-shot tip query is the TCP connect and Ouroboros handshake. With the
+        pool on, a query borrows an idle connection to the same host, port and network and
+        sends a single chain-sync request on it. Idle connections are kept open with
+        keep-alives and closed after idle_timeout_ms, or oldest first beyond max_idle.
+
+        Args:
+            max_idle: Idle connections kept across all relays; 0 disables the pool
+            idle_timeout_ms: Close connections unused for this long (0 = never)
+            keep_alive_interval_ms: Keep-alive interval for idle connections
+        """
+        ffi = self._lib
+        rc = ffi._lib.yaci_connection_pool_configure(ffi.thread, max_idle, idle_timeout_ms,
+                                                     keep_alive_interval_ms)
+        ffi._check(rc)
+
+    def connection_pool_stats(self) -> dict:
+        """Pool counters: enabled, maxIdle, idle, hits, misses, evictions, handshakes,
+        handshakeMillis (spent connecting) and handshakeMillisSaved (by reused connections)."""
+        ffi = self._lib
+        rc = ffi._lib.yaci_connection_pool_stats(ffi.thread)
+        return json.loads(ffi._check(rc))
 
     def close(self):
         """Shut down the bridge and release resources."""
@@ -33,7 +33,7 @@ class GenesisBlockFinder:
         """
         ffi = self._lib
         rc = ffi._lib.yaci_genesis_block_find(
-            ffi._thread,
+            ffi.thread,
             ffi._encode(self._host),
             self._port,
             self._protocol_magic,
@@ -0,0 +1,248 @@
+"""HeaderSync wrapper — header-only chain follow with listener dispatch."""
+
+import ctypes
+import json
+from typing import Optional, Union
+from yaci._ffi import YaciLib
+from yaci.listener import BlockSyncListener
+from yaci.stream import EventStream
+from yaci.models import Point, WELL_KNOWN_POINTS, NetworkType, BlockHeaderInfo
+
+
+class HeaderSync:
+    """Long-running chain-sync that delivers only block headers (no block-fetch).
+
+    Much cheaper than BlockSync when only slot, hash, block number and era
+    are needed (tip tracking, slot -> hash indexing).
+
+    Usage:
+        sync = bridge.header_sync("host", 3001, NetworkType.MAINNET)
+        sync.add_listener(MyListener())   # implement on_header / on_rollback
+        sync.start_from_tip()
+        # ... headers stream to listener ...
+        sync.stop()
+    """
+
+    def __init__(self, lib: YaciLib, host: str, port: int,
+                 network: Union[NetworkType, int], *,
+                 well_known_point: Optional[Point] = None,
+                 keep_alive_interval_ms: int = 5000):
+        self._lib = lib
+        self._host = host
+        self._port = port
+        self._session_id = None
+        self._listeners = []
+        self._callback_ref = None  # prevent GC of ctypes callback
+        self._keep_alive_interval_ms = keep_alive_interval_ms
+        self._file_sink = None
+        self._point_index = None
+        self._ring = None
+        self._event_server = None
+        self._event_queue = None
+        self._parallel_encoding = 0
+
+        if isinstance(network, NetworkType):
+            self._protocol_magic = int(network)
+            wk = well_known_point or WELL_KNOWN_POINTS[network]
+        else:
+            self._protocol_magic = int(network)
+            if well_known_point is None:
+                raise ValueError("well_known_point is required for custom networks")
+            wk = well_known_point
+
+        self._wk_slot = wk.slot
+        self._wk_hash = wk.hash
+
+    def add_listener(self, listener: BlockSyncListener):
+        """Register a listener for header events."""
+        self._listeners.append(listener)
+
+    def remove_listener(self, listener: BlockSyncListener):
+        """Remove a registered listener."""
+        self._listeners.remove(listener)
+
+    def set_file_sink(self, directory, *, max_segment_bytes: int = 256 * 1024 * 1024,
+                      format: str = 'ndjson', compress: bool = False,
+                      fsync_every: int = 1000):
+        """Write header events straight to rotating segment files. See BlockSync.set_file_sink()."""
+        self._file_sink = (directory, max_segment_bytes, format, compress, fsync_every)
+
+    def set_parallel_encoding(self, max_in_flight: int = 64):
+        """Encode events on a native worker pool. See BlockSync.set_parallel_encoding()."""
+        self._parallel_encoding = max_in_flight
+
+    def set_ring_publisher(self, path, capacity: int = 256 * 1024 * 1024):
+        """Publish events into a shared-memory ring. See BlockSync.set_ring_publisher()."""
+        self._ring = (path, capacity)
+
+    def ring_stats(self) -> dict:
+        """Ring positions and each attached reader's pid, position, lag and drops."""
+        return json.loads(self._lib.ring_stats(self._session_id))
+
+    def set_event_server(self, path, backlog_bytes: int = 64 * 1024 * 1024):
+        """Serve events over a Unix domain socket. See BlockSync.set_event_server()."""
+        self._event_server = (path, backlog_bytes)
+
+    def event_server_stats(self) -> dict:
+        """Backlog size and each subscriber's cursor, credits, lag and gaps."""
+        return json.loads(self._lib.event_server_stats(self._session_id))
+
+    def set_event_queue(self, max_events: int = 1024, max_bytes: int = 64 * 1024 * 1024):
+        """Queue events for events() instead of calling listeners. See BlockSync.set_event_queue()."""
+        self._event_queue = (max_events, max_bytes)
+
+    def events(self, batch_size: int = 256, poll_timeout_ms: int = 200) -> EventStream:
+        """Async iterator over the queued events: async for event in session.events()."""
+        if self._event_queue is None:
+            raise RuntimeError("set_event_queue() must be called before start()")
+        return EventStream(self, batch_size, poll_timeout_ms)
+
+    def event_queue_stats(self) -> dict:
+        """Queued events and bytes, events delivered and time the session spent waiting."""
+        return json.loads(self._lib.event_queue_stats(self._session_id))
+
+    def set_point_index(self, path):
+        """Maintain a slot / block-number index at path. See BlockSync.set_point_index()."""
+        self._point_index = path
+
+    def start(self, from_point: Point):
+        """Start following headers after a specific point.
+
+        Args:
+            from_point: The chain point to start from
+        """
+        self._configure_session()
+        ffi = self._lib
+        rc = ffi._lib.yaci_header_sync_start(
+            ffi.thread,
+            self._session_id,
+            from_point.slot,
+            ffi._encode(from_point.hash),
+        )
+        ffi._check(rc)
+
+    def start_from_tip(self, timeout_ms: int = 30000):
+        """Start following headers from the current chain tip.
+
+        Args:
+            timeout_ms: Timeout for the initial tip lookup
+        """
+        self._configure_session()
+        ffi = self._lib
+        rc = ffi._lib.yaci_header_sync_start_from_tip(
+            ffi.thread,
+            self._session_id,
+            timeout_ms,
+        )
+        ffi._check(rc)
+
+    def stop(self):
+        """Stop syncing and clean up resources."""
+        if self._session_id is not None:
+            ffi = self._lib
+            try:
+                ffi._lib.yaci_header_sync_stop(ffi.thread, self._session_id)
+            except Exception:
+                pass
+            try:
+                ffi._lib.yaci_header_sync_destroy(ffi.thread, self._session_id)
+            except Exception:
+                pass
+            self._session_id = None
+            self._callback_ref = None
+
+    def _configure_session(self):
+        """Create the native session and apply every setting made before start()."""
+        self._create_session()
+        self._apply_file_sink()
+        self._apply_point_index()
+        self._apply_ring_publisher()
+        self._apply_event_server()
+        self._apply_event_queue()
+        self._apply_parallel_encoding()
+        self._set_keep_alive_interval()
+        self._register_callback()
+
+    def _create_session(self):
+        ffi = self._lib
+        rc = ffi._lib.yaci_header_sync_create(
+            ffi.thread,
+            ffi._encode(self._host),
+            self._port,
+            self._protocol_magic,
+            self._wk_slot,
+            ffi._encode(self._wk_hash),
+        )
+        result = ffi._check(rc)
+        self._session_id = int(result)
+
+    def _apply_parallel_encoding(self):
+        if self._parallel_encoding > 0:
+            self._lib.set_parallel_encoding(self._session_id, self._parallel_encoding)
+
+    def _apply_ring_publisher(self):
+        if self._ring is not None:
+            self._lib.set_ring_publisher(self._session_id, *self._ring)
+
+    def _apply_event_server(self):
+        if self._event_server is not None:
+            self._lib.set_event_server(self._session_id, *self._event_server)
+
+    def _apply_event_queue(self):
+        if self._event_queue is not None:
+            self._lib.set_event_queue(self._session_id, *self._event_queue)
+
+    def _apply_point_index(self):
+        if self._point_index is not None:
+            self._lib.set_point_index(self._session_id, self._point_index)
+
+    def _apply_file_sink(self):
+        if self._file_sink is not None:
+            self._lib.set_file_sink(self._session_id, *self._file_sink)
+
+    def _set_keep_alive_interval(self):
+        ffi = self._lib
+        rc = ffi._lib.yaci_header_sync_set_keep_alive_interval(
+            ffi.thread, self._session_id, self._keep_alive_interval_ms
+        )
+        ffi._check(rc)
+
+    def _make_callback(self):
+        """Create a ctypes callback that dispatches events to listeners."""
+        def _on_event(session_id, event_ptr):
+            try:
+                raw = ctypes.string_at(event_ptr)
+                event = json.loads(raw.decode('utf-8'))
+                self._dispatch(event)
+            except Exception as e:
+                print(f"[yaci] Callback error: {e}", flush=True)
+        return self._lib.event_callback(_on_event)
+
+    def _register_callback(self):
+        """Register the push-based callback with the native session."""
+        self._callback_ref = self._make_callback()
+        ffi = self._lib
+        rc = ffi._lib.yaci_header_sync_set_callback(
+            ffi.thread, self._session_id, self._callback_ref
+        )
+        ffi._check(rc)
+
+    def _dispatch(self, event: dict):
+        event_type = event.get('type')
+
+        for listener in self._listeners:
+            try:
+                if event_type == 'header':
+                    listener.on_header(BlockHeaderInfo._from_dict(event))
+                elif event_type == 'rollback':
+                    listener.on_rollback(event.get('point'))
+                elif event_type == 'disconnect':
+                    listener.on_disconnect()
+                elif event_type == 'ring_lag':
+                    listener.on_ring_lag(event)
+                elif event_type == 'segment_closed':
+                    listener.on_segment_closed(event)
+                elif event_type == 'sink_error':
+                    listener.on_sink_error(event)
+            except Exception as e:
+                print(f"[yaci] Listener error in {event_type}: {e}", flush=True)
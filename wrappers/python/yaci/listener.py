@@ -1,6 +1,6 @@
 """Listener base classes for Yaci event callbacks."""
 
-from yaci.models import BlockInfo
+from yaci.models import Point, BlockInfo, BlockHeaderInfo, BlockBoundary, TransactionInfo, UtxoDelta, WindowAggregate
 
 
 class BlockSyncListener:
@@ -19,6 +19,30 @@ class BlockSyncListener:
         """
         pass
 
+    def on_block_begin(self, block: BlockBoundary):
+        """Called at the start of each block when set_tx_streaming() is on.
+
+        on_transaction() follows once per transaction, then on_block_end().
+        These replace on_block() for the session.
+        """
+        pass
+
+    def on_transaction(self, index: int, tx: TransactionInfo):
+        """Called for each transaction of a streamed block, in block order."""
+        pass
+
+    def on_block_end(self, block: BlockBoundary):
+        """Called after the last transaction of a streamed block."""
+        pass
+
+    def on_header(self, header: BlockHeaderInfo):
+        """Called for each header received by a HeaderSync session.
+
+        Args:
+            header: BlockHeaderInfo with slot, hash, blockNumber, prevHash, bodySize, issuerVkeyHash
+        """
+        pass
+
     def on_rollback(self, point: dict):
         """Called when the chain rolls back to a previous point.
 
@@ -42,3 +66,116 @@ class BlockSyncListener:
     def on_no_block_found(self, from_point: dict = None, to_point: dict = None):
         """Called when no blocks were found in a requested range."""
         pass
+
+    def on_catch_up_progress(self, progress: dict):
+        """Called with catch-up progress from BlockSync.start_with_catch_up().
+
+        Args:
+            progress: Dict with keys: phase ('started', 'backfill', 'handoff',
+                      'following'), blocksFetched, slot, blockNumber, tipSlot,
+                      tipBlockNumber
+        """
+        pass
+
+    def on_reconnecting(self, reason: str, attempt: int, point: Point):
+        """Called when BlockSync.set_watchdog() starts replacing a connection.
+
+        Args:
+            reason: 'stall', 'keep_alive' or 'disconnect'
+            attempt: 1 for the first attempt, counting up while attempts fail
+            point: Newest point chain-sync will try to intersect on
+        """
+        pass
+
+    def on_reconnected(self, reason: str, millis: int, point: Point):
+        """Called when BlockSync.set_watchdog() replaced a stalled or dropped connection.
+
+        Args:
+            reason: 'stall', 'keep_alive' or 'disconnect'
+            millis: Time from detecting the problem to the new intersection
+            point: Intersection the session resumed from
+        """
+        pass
+
+    def on_range_done(self, range_index: int, blocks: int):
+        """Called when every block of one fetch_many() input range has been delivered.
+
+        Args:
+            range_index: Index of the range in the fetch_many() input
+            blocks: Number of blocks that fell in the range
+        """
+        pass
+
+    def on_fetch_many_done(self):
+        """Called when all ranges of a fetch_many() request have been delivered."""
+        pass
+
+    def on_range_progress(self, progress: dict):
+        """Called with progress of a BlockRangeSync.fetch_chunked() request.
+
+        Args:
+            progress: Dict with keys: blocks, bytes, slot, fromSlot, toSlot,
+                      totalBlocks (-1 if unknown), percent, blocksPerSec,
+                      bytesPerSec, etaMillis (-1 if unknown), chunks,
+                      chunkBlocks, done, cancelled
+        """
+        pass
+
+    def on_fetch_cancelled(self):
+        """Called when a fetch_chunked() request stopped after cancel_fetch().
+
+        Also closes a fetch_many() or fetch_chunked() request that was cut
+        short by a disconnect, just before on_disconnect().
+        """
+        pass
+
+    def on_replay_done(self, blocks: int, millis: int):
+        """Called after a BlockReplay dispatched its last recorded block.
+
+        Args:
+            blocks: Blocks dispatched, over all repeats
+            millis: Native time from the first block to the last
+        """
+        pass
+
+    def on_utxo_delta(self, delta: UtxoDelta):
+        """Called with watched-address UTxO changes when set_utxo_tracker() is on.
+
+        Replaces on_block() for the session; rollbacks arrive as a delta with
+        rollback=True before on_rollback().
+        """
+        pass
+
+    def on_window(self, window: WindowAggregate):
+        """Called once per closed window when set_window_aggregation() is on.
+
+        Replaces on_block() for the session.
+        """
+        pass
+
+    def on_ring_lag(self, lag: dict):
+        """Called on the publishing session when a ring reader was overrun.
+
+        Args:
+            lag: Dict with consumer (slot), position, tailPosition and lostBytes
+        """
+        pass
+
+    def on_segment_closed(self, segment: dict):
+        """Called when a file sink segment has been closed and fsynced.
+
+        Args:
+            segment: Dict with keys: path, events, bytes, firstSlot, lastSlot
+        """
+        pass
+
+    def on_sink_error(self, error: dict):
+        """Called when a file sink segment could not be written and was abandoned.
+
+        The segment stays on disk as .part; its events are not in any closed
+        segment and can be fetched again by slot range.
+
+        Args:
+            error: Dict with keys: message, path, events, firstSlot, lastSlot
+        """
+        pass
@@ -4,7 +4,7 @@ from __future__ import annotations
 
 from dataclasses import dataclass, field
 from enum import IntEnum
-from typing import Optional
+from typing import Iterator, Optional
 
 
 @dataclass
@@ -32,6 +32,14 @@ class NetworkType(IntEnum):
     PREVIEW = 2
 
 
+# Epoch geometry from the Shelley hard fork on: (epoch length in slots, first Shelley slot, first Shelley epoch)
+EPOCH_PARAMS = {
+    NetworkType.MAINNET: (432000, 4492800, 208),
+    NetworkType.PREPROD: (432000, 86400, 4),
+    NetworkType.PREVIEW: (86400, 0, 0),
+}
+
+
 @dataclass
 class Point:
     """A point on the Cardano blockchain identified by slot and block hash."""
@@ -47,6 +55,18 @@ class Tip:
     block: int
 
 
+@dataclass
+class IndexedPoint:
+    """A chain point returned by a PointIndex lookup."""
+    slot: int
+    hash: str
+    block_number: int
+
+    @property
+    def point(self) -> Point:
+        return Point(slot=self.slot, hash=self.hash)
+
+
 @dataclass
 class GenesisBlock:
     """Genesis block info returned by GenesisBlockFinder."""
@@ -97,235 +117,427 @@ WELL_KNOWN_POINTS = {
 }
 
 
-# ---------------------------------------------------------------------------
-# Typed transaction models — constructed from the JSON wire format
-# ---------------------------------------------------------------------------
-
 @dataclass
-class Amount:
-    """A native asset amount (ADA or multi-asset)."""
-    unit: str = ""
-    policy_id: Optional[str] = None
-    asset_name: Optional[str] = None
-    quantity: int = 0
+class BlockHeaderInfo:
+    """A block header delivered by HeaderSync (no body or transactions)."""
+    era: str = ""
+    slot: int = 0
+    hash: str = ""
+    block_number: int = 0
+    prev_hash: Optional[str] = None
+    body_size: int = 0
+    issuer_vkey_hash: Optional[str] = None
 
     @classmethod
-    def _from_dict(cls, d: dict) -> Amount:
+    def _from_dict(cls, d: dict) -> BlockHeaderInfo:
         if d is None:
             return cls()
-        qty = d.get("quantity", 0)
-        # BigInteger serializes as a number in JSON
-        if isinstance(qty, str):
-            qty = int(qty)
         return cls(
-            unit=d.get("unit", ""),
-            policy_id=d.get("policyId"),
-            asset_name=d.get("assetName"),
-            quantity=int(qty) if qty is not None else 0,
+            era=d.get("era", ""),
+            slot=d.get("slot", 0),
+            hash=d.get("hash", ""),
+            block_number=d.get("blockNumber", 0),
+            prev_hash=d.get("prevHash"),
+            body_size=d.get("bodySize", 0),
+            issuer_vkey_hash=d.get("issuerVkeyHash"),
         )
 
 
-@dataclass
-class TransactionInput:
+# ---------------------------------------------------------------------------
+# Typed transaction models — lazy views over the JSON wire format
+# ---------------------------------------------------------------------------
+
+class _Field:
+    """A model attribute read from the wire dict on access.
+
+    Scalars are read straight from the dict. Fields with a converter (nested
+    models, lists, ints sent as strings) are converted on first access and
+    cached, so a listener that only reads block.slot never builds the
+    transactions. Assigned values override the wire value.
+    """
+    __slots__ = ('name', 'key', 'default', 'convert')
+
+    def __init__(self, key, default=None, convert=None):
+        self.key = key
+        self.default = default      # value, or a factory such as list
+        self.convert = convert      # callable, or the name of a model method
+
+    def __set_name__(self, owner, name):
+        self.name = name
+
+    def __get__(self, obj, owner=None):
+        if obj is None:
+            return self
+        cache = obj._c
+        if cache is not None and self.name in cache:
+            return cache[self.name]
+        value = obj._d.get(self.key) if self.key is not None else None
+        if value is None:
+            if not callable(self.default):
+                return self.default
+            value = self.default()
+        elif self.convert is None:
+            return value
+        elif isinstance(self.convert, str):
+            value = getattr(obj, self.convert)(value)
+        else:
+            value = self.convert(value)
+        if cache is None:
+            cache = obj._c = {}
+        cache[self.name] = value
+        return value
+
+    def __set__(self, obj, value):
+        if obj._c is None:
+            obj._c = {}
+        obj._c[self.name] = value
+
+
+class _LazyModel:
+    """Base of the wire models: a slotted wrapper around the decoded JSON dict."""
+    __slots__ = ('_d', '_c')
+    _fields: tuple = ()
+
+    def __init_subclass__(cls, **kwargs):
+        super().__init_subclass__(**kwargs)
+        cls._fields = tuple(name for name, attr in cls.__dict__.items() if isinstance(attr, _Field))
+
+    def __init__(self, *args, **kwargs):
+        if len(args) > len(self._fields):
+            raise TypeError(f"{type(self).__name__} takes at most {len(self._fields)} positional arguments")
+        self._d = {}
+        self._c = None
+        for name, value in zip(self._fields, args):
+            setattr(self, name, value)
+        for name, value in kwargs.items():
+            if name not in self._fields:
+                raise TypeError(f"{type(self).__name__} has no field {name!r}")
+            setattr(self, name, value)
+
+    @classmethod
+    def _from_dict(cls, d: Optional[dict]):
+        model = cls.__new__(cls)
+        model._d = d if d is not None else {}
+        model._c = None
+        return model
+
+    def __eq__(self, other):
+        if type(other) is not type(self):
+            return NotImplemented
+        return all(getattr(self, f) == getattr(other, f) for f in self._fields)
+
+    def __repr__(self):
+        fields = ', '.join(f'{f}={getattr(self, f)!r}' for f in self._fields)
+        return f'{type(self).__name__}({fields})'
+
+
+def _models(cls):
+    return lambda items: [cls._from_dict(i) for i in items]
+
+
+class Amount(_LazyModel):
+    """A native asset amount (ADA or multi-asset)."""
+    __slots__ = ()
+    unit: str = _Field('unit', "")
+    policy_id: Optional[str] = _Field('policyId')
+    asset_name: Optional[str] = _Field('assetName')
+    quantity: int = _Field('quantity', 0, int)  # BigInteger may arrive as a string
+
+
+class TransactionInput(_LazyModel):
     """A transaction input reference."""
-    transaction_id: str = ""
-    index: int = 0
+    __slots__ = ()
+    transaction_id: str = _Field('transactionId', "")
+    index: int = _Field('index', 0)
+
+
+class TransactionOutput(_LazyModel):
+    """A transaction output."""
+    __slots__ = ()
+    address: str = _Field('address', "")
+    amounts: list[Amount] = _Field('amounts', list, _models(Amount))
+    datum_hash: Optional[str] = _Field('datumHash')
+    inline_datum: Optional[str] = _Field('inlineDatum')
+    script_ref: Optional[str] = _Field('scriptRef')
+
+
+class Utxo(_LazyModel):
+    """A resolved UTXO (transaction output with reference back to its tx)."""
+    __slots__ = ()
+    tx_hash: str = _Field('txHash', "")
+    index: int = _Field('index', 0)
+    address: str = _Field('address', "")
+    amounts: list[Amount] = _Field('amounts', list, _models(Amount))
+    datum_hash: Optional[str] = _Field('datumHash')
+    inline_datum: Optional[str] = _Field('inlineDatum')
+    script_ref: Optional[str] = _Field('scriptRef')
+
+
+class TransactionBody(_LazyModel):
+    """The body of a Cardano transaction."""
+    __slots__ = ()
+    tx_hash: str = _Field('txHash', "")
+    cbor: Optional[str] = _Field('cbor')
+    cbor_bytes: Optional[bytes] = _Field(None)  # raw CBOR, set when delivered via the payload side-channel
+    inputs: list[TransactionInput] = _Field('inputs', list, _models(TransactionInput))
+    outputs: list[TransactionOutput] = _Field('outputs', list, _models(TransactionOutput))
+    fee: int = _Field('fee', 0, int)
+    ttl: int = _Field('ttl', 0)
+    validity_interval_start: int = _Field('validityIntervalStart', 0)
+    mint: list[Amount] = _Field('mint', list, _models(Amount))
+    collateral_inputs: list[TransactionInput] = _Field('collateralInputs', list, _models(TransactionInput))
+    required_signers: list[str] = _Field('requiredSigners', list, list)
+    collateral_return: Optional[TransactionOutput] = _Field('collateralReturn', None, TransactionOutput._from_dict)
+    total_collateral: Optional[int] = _Field('totalCollateral', None, int)
+    reference_inputs: list[TransactionInput] = _Field('referenceInputs', list, _models(TransactionInput))
+    auxiliary_data_hash: Optional[str] = _Field('auxiliaryDataHash')
+    script_data_hash: Optional[str] = _Field('scriptDataHash')
+    network_id: int = _Field('netowrkId', 0)  # Note: typo matches Java getter
+    current_treasury_value: Optional[int] = _Field('currentTreasuryValue', None, int)
+    donation: Optional[int] = _Field('donation', None, int)
+    update: Optional[dict] = _Field('update')
+    # Complex polymorphic structures kept as raw dicts/lists
+    certificates: Optional[list] = _Field('certificates')
+    withdrawals: Optional[dict] = _Field('withdrawals')
+    voting_procedures: Optional[dict] = _Field('votingProcedures')
+    proposal_procedures: Optional[list] = _Field('proposalProcedures')
+
+
+class TransactionInfo(_LazyModel):
+    """A full Cardano transaction with body, UTXOs, witnesses, and metadata."""
+    __slots__ = ()
+    tx_hash: str = _Field('txHash', "")
+    block_number: int = _Field('blockNumber', 0)
+    slot: int = _Field('slot', 0)
+    invalid: bool = _Field('invalid', False)
+    body: Optional[TransactionBody] = _Field('body', None, TransactionBody._from_dict)
+    utxos: list[Utxo] = _Field('utxos', list, _models(Utxo))
+    collateral_return_utxo: Optional[Utxo] = _Field('collateralReturnUtxo', None, Utxo._from_dict)
+    witnesses: Optional[dict] = _Field('witnesses')
+    aux_data: Optional[dict] = _Field('auxData')
+
+
+class BlockInfo(_LazyModel):
+    """A Cardano block with typed transaction data.
+
+    Transactions (and their outputs and assets) are only decoded when first
+    accessed. tx_count reads the count without decoding them.
+    """
+    __slots__ = ('_p',)
+    era: str = _Field('era', "")
+    slot: int = _Field('slot', 0)
+    hash: str = _Field('hash', "")
+    block_number: int = _Field('blockNumber', 0)
+    block_cbor: Optional[str] = _Field('blockCbor')
+    block_cbor_bytes: Optional[bytes] = _Field(None)  # raw CBOR, set when delivered via the payload side-channel
+    transactions: list[TransactionInfo] = _Field('transactions', list, '_transactions')
+    ranges: Optional[list[int]] = _Field('ranges')  # input range indexes, set for BlockRangeSync.fetch_many()
+
+    def __init__(self, *args, **kwargs):
+        self._p = None
+        super().__init__(*args, **kwargs)
 
     @classmethod
-    def _from_dict(cls, d: dict) -> TransactionInput:
-        if d is None:
-            return cls()
-        return cls(
-            transaction_id=d.get("transactionId", ""),
-            index=d.get("index", 0),
-        )
+    def _from_dict(cls, d: Optional[dict], payload: Optional[dict] = None) -> BlockInfo:
+        block = super()._from_dict(d)
+        block._p = payload
+        if payload is not None:
+            block._c = {'block_cbor_bytes': payload.get('blockCbor')}
+        return block
+
+    @property
+    def tx_count(self) -> int:
+        cache = self._c
+        if cache is not None and 'transactions' in cache:
+            return len(cache['transactions'])
+        return len(self._d.get('transactions') or ())
+
+    def _transactions(self, items: list) -> list[TransactionInfo]:
+        txs = [TransactionInfo._from_dict(tx) for tx in items]
+        if self._p is not None:
+            for tx, tx_cbor in zip(txs, self._p['txBodyCbor']):
+                if tx.body is not None:
+                    tx.body.cbor_bytes = tx_cbor
+        return txs
+
+
+class BlockBatch:
+    """Column-wise access to many delivered blocks without building per-block models.
+
+    Accepts BlockInfo objects or raw block event dicts (e.g. from
+    RingReader.read() or EventClient), reading the wire dicts directly:
+
+        batch = BlockBatch(blocks)
+        total_outputs = sum(batch.output_counts())
+        for i, address, lovelace in batch.outputs():
+            ...
+    """
+    __slots__ = ('_blocks',)
+
+    def __init__(self, blocks):
+        self._blocks = [b._d if isinstance(b, BlockInfo) else b for b in blocks if b is not None]
+
+    def __len__(self) -> int:
+        return len(self._blocks)
+
+    def __getitem__(self, i) -> BlockInfo:
+        return BlockInfo._from_dict(self._blocks[i])
+
+    def column(self, key: str, default=None) -> list:
+        """Values of one top-level wire field (e.g. 'slot', 'blockNumber'), one per block."""
+        return [d.get(key, default) for d in self._blocks]
+
+    def slots(self) -> list[int]:
+        return self.column('slot', 0)
+
+    def hashes(self) -> list[str]:
+        return self.column('hash', "")
+
+    def block_numbers(self) -> list[int]:
+        return self.column('blockNumber', 0)
+
+    def tx_counts(self) -> list[int]:
+        return [len(d.get('transactions') or ()) for d in self._blocks]
+
+    def output_counts(self) -> list[int]:
+        return [sum(len((tx.get('body') or {}).get('outputs') or ()) for tx in d.get('transactions') or ())
+                for d in self._blocks]
+
+    def fees(self) -> list[int]:
+        """Total fees per block, in lovelace."""
+        return [sum(int((tx.get('body') or {}).get('fee') or 0) for tx in d.get('transactions') or ())
+                for d in self._blocks]
+
+    def outputs(self) -> Iterator[tuple[int, str, int]]:
+        """(block index, address, lovelace) for every transaction output."""
+        for i, d in enumerate(self._blocks):
+            for tx in d.get('transactions') or ():
+                for out in (tx.get('body') or {}).get('outputs') or ():
+                    lovelace = 0
+                    for amount in out.get('amounts') or ():
+                        if amount.get('unit') == 'lovelace':
+                            lovelace += int(amount.get('quantity') or 0)
+                    yield i, out.get('address', ""), lovelace
 
 
 @dataclass
-class TransactionOutput:
-    """A transaction output."""
-    address: str = ""
-    amounts: list[Amount] = field(default_factory=list)
-    datum_hash: Optional[str] = None
-    inline_datum: Optional[str] = None
-    script_ref: Optional[str] = None
+class BlockBoundary:
+    """Start or end of a block in transaction streaming mode (see set_tx_streaming())."""
+    era: str = ""  # set on block_begin only
+    slot: int = 0
+    hash: str = ""
+    block_number: int = 0
+    tx_count: int = 0
 
     @classmethod
-    def _from_dict(cls, d: dict) -> TransactionOutput:
-        if d is None:
-            return cls()
+    def _from_dict(cls, d: dict) -> BlockBoundary:
         return cls(
-            address=d.get("address", ""),
-            amounts=[Amount._from_dict(a) for a in d.get("amounts", [])],
-            datum_hash=d.get("datumHash"),
-            inline_datum=d.get("inlineDatum"),
-            script_ref=d.get("scriptRef"),
+            era=d.get("era", ""),
+            slot=d.get("slot", 0),
+            hash=d.get("hash", ""),
+            block_number=d.get("blockNumber", 0),
+            tx_count=d.get("txCount", 0),
         )
 
 
 @dataclass
-class Utxo:
-    """A resolved UTXO (transaction output with reference back to its tx)."""
-    tx_hash: str = ""
-    index: int = 0
-    address: str = ""
-    amounts: list[Amount] = field(default_factory=list)
-    datum_hash: Optional[str] = None
-    inline_datum: Optional[str] = None
-    script_ref: Optional[str] = None
+class WindowAggregate:
+    """Rollup of one slot window or epoch (see set_window_aggregation()).
+
+    A window re-emitted after a rollback reached into it has a higher
+    revision and replaces the earlier one. partial marks the open window
+    flushed when the session stops.
+    """
+    window: int = 0
+    start_slot: int = 0
+    end_slot: int = 0
+    revision: int = 0
+    partial: bool = False
+    blocks: int = 0
+    tx_count: int = 0
+    fees: int = 0
+    output_lovelace: int = 0
+    block_bytes: int = 0
+    scripts: int = 0
+    active_addresses: int = 0
 
     @classmethod
-    def _from_dict(cls, d: dict) -> Utxo:
-        if d is None:
-            return cls()
+    def _from_dict(cls, d: dict) -> WindowAggregate:
         return cls(
-            tx_hash=d.get("txHash", ""),
-            index=d.get("index", 0),
-            address=d.get("address", ""),
-            amounts=[Amount._from_dict(a) for a in d.get("amounts", [])],
-            datum_hash=d.get("datumHash"),
-            inline_datum=d.get("inlineDatum"),
-            script_ref=d.get("scriptRef"),
+            window=d.get("window", 0),
+            start_slot=d.get("startSlot", 0),
+            end_slot=d.get("endSlot", 0),
+            revision=d.get("revision", 0),
+            partial=d.get("partial", False),
+            blocks=d.get("blocks", 0),
+            tx_count=d.get("txCount", 0),
+            fees=d.get("fees", 0),
+            output_lovelace=d.get("outputLovelace", 0),
+            block_bytes=d.get("blockBytes", 0),
+            scripts=d.get("scripts", 0),
+            active_addresses=d.get("activeAddresses", 0),
         )
 
 
 @dataclass
-class TransactionBody:
-    """The body of a Cardano transaction."""
+class TrackedUtxo:
+    """An unspent output of a watched address (see set_utxo_tracker())."""
     tx_hash: str = ""
-    cbor: Optional[str] = None
-    inputs: list[TransactionInput] = field(default_factory=list)
-    outputs: list[TransactionOutput] = field(default_factory=list)
-    fee: int = 0
-    ttl: int = 0
-    validity_interval_start: int = 0
-    mint: list[Amount] = field(default_factory=list)
-    collateral_inputs: list[TransactionInput] = field(default_factory=list)
-    required_signers: list[str] = field(default_factory=list)
-    collateral_return: Optional[TransactionOutput] = None
-    total_collateral: Optional[int] = None
-    reference_inputs: list[TransactionInput] = field(default_factory=list)
-    auxiliary_data_hash: Optional[str] = None
-    script_data_hash: Optional[str] = None
-    network_id: int = 0
-    current_treasury_value: Optional[int] = None
-    donation: Optional[int] = None
-    update: Optional[dict] = None
-    # Complex polymorphic structures kept as raw dicts/lists
-    certificates: Optional[list] = None
-    withdrawals: Optional[dict] = None
-    voting_procedures: Optional[dict] = None
-    proposal_procedures: Optional[list] = None
+    index: int = 0
+    address: str = ""
+    lovelace: int = 0
+    assets: dict[str, int] = field(default_factory=dict)  # unit -> quantity
 
     @classmethod
-    def _from_dict(cls, d: dict) -> TransactionBody:
-        if d is None:
-            return cls()
-
-        fee = d.get("fee", 0)
-        if isinstance(fee, str):
-            fee = int(fee)
-
-        total_col = d.get("totalCollateral")
-        if total_col is not None:
-            total_col = int(total_col)
-
-        treasury = d.get("currentTreasuryValue")
-        if treasury is not None:
-            treasury = int(treasury)
-
-        donation = d.get("donation")
-        if donation is not None:
-            donation = int(donation)
-
-        col_return = d.get("collateralReturn")
-
+    def _from_dict(cls, d: dict) -> TrackedUtxo:
         return cls(
             tx_hash=d.get("txHash", ""),
-            cbor=d.get("cbor"),
-            inputs=[TransactionInput._from_dict(i) for i in d.get("inputs", [])],
-            outputs=[TransactionOutput._from_dict(o) for o in d.get("outputs", [])],
-            fee=int(fee) if fee is not None else 0,
-            ttl=d.get("ttl", 0),
-            validity_interval_start=d.get("validityIntervalStart", 0),
-            mint=[Amount._from_dict(m) for m in d.get("mint", [])],
-            collateral_inputs=[
-                TransactionInput._from_dict(i) for i in d.get("collateralInputs", [])
-            ],
-            required_signers=list(d.get("requiredSigners", [])),
-            collateral_return=TransactionOutput._from_dict(col_return) if col_return else None,
-            total_collateral=total_col,
-            reference_inputs=[
-                TransactionInput._from_dict(i) for i in d.get("referenceInputs", [])
-            ],
-            auxiliary_data_hash=d.get("auxiliaryDataHash"),
-            script_data_hash=d.get("scriptDataHash"),
-            network_id=d.get("netowrkId", 0),  # Note: typo matches Java getter
-            current_treasury_value=treasury,
-            donation=donation,
-            update=d.get("update"),
-            certificates=d.get("certificates"),
-            withdrawals=d.get("withdrawals"),
-            voting_procedures=d.get("votingProcedures"),
-            proposal_procedures=d.get("proposalProcedures"),
+            index=d.get("index", 0),
+            address=d.get("address", ""),
+            lovelace=d.get("lovelace", 0),
+            assets={unit: int(qty) for unit, qty in (d.get("assets") or {}).items()},
         )
 
 
 @dataclass
-class TransactionInfo:
-    """A full Cardano transaction with body, UTXOs, witnesses, and metadata."""
-    tx_hash: str = ""
-    block_number: int = 0
-    slot: int = 0
-    invalid: bool = False
-    body: Optional[TransactionBody] = None
-    utxos: list[Utxo] = field(default_factory=list)
-    collateral_return_utxo: Optional[Utxo] = None
-    witnesses: Optional[dict] = None
-    aux_data: Optional[dict] = None
+class AddressDelta:
+    """Net change of one watched address in a block (or a rollback)."""
+    address: str = ""
+    lovelace: int = 0
+    assets: dict[str, int] = field(default_factory=dict)
+    created: list[TrackedUtxo] = field(default_factory=list)
+    spent: list[TrackedUtxo] = field(default_factory=list)
 
     @classmethod
-    def _from_dict(cls, d: dict) -> TransactionInfo:
-        if d is None:
-            return cls()
-
-        body = d.get("body")
-        col_utxo = d.get("collateralReturnUtxo")
-
+    def _from_dict(cls, d: dict) -> AddressDelta:
         return cls(
-            tx_hash=d.get("txHash", ""),
-            block_number=d.get("blockNumber", 0),
-            slot=d.get("slot", 0),
-            invalid=d.get("invalid", False),
-            body=TransactionBody._from_dict(body) if body else None,
-            utxos=[Utxo._from_dict(u) for u in d.get("utxos", [])],
-            collateral_return_utxo=Utxo._from_dict(col_utxo) if col_utxo else None,
-            witnesses=d.get("witnesses"),
-            aux_data=d.get("auxData"),
+            address=d.get("address", ""),
+            lovelace=d.get("lovelace", 0),
+            assets={unit: int(qty) for unit, qty in (d.get("assets") or {}).items()},
+            created=[TrackedUtxo._from_dict(u) for u in d.get("created", [])],
+            spent=[TrackedUtxo._from_dict(u) for u in d.get("spent", [])],
         )
 
 
 @dataclass
-class BlockInfo:
-    """A Cardano block with typed transaction data."""
-    era: str = ""
+class UtxoDelta:
+    """Watched-address UTxO changes of one block, or reverted by a rollback.
+
+    For a rollback, slot/block_hash are the rollback point, created holds
+    outputs restored and spent holds outputs removed.
+    """
     slot: int = 0
-    hash: str = ""
     block_number: int = 0
-    block_cbor: Optional[str] = None
-    transactions: list[TransactionInfo] = field(default_factory=list)
+    block_hash: str = ""
+    rollback: bool = False
+    addresses: list[AddressDelta] = field(default_factory=list)
 
     @classmethod
-    def _from_dict(cls, d: dict) -> BlockInfo:
-        if d is None:
-            return cls()
+    def _from_dict(cls, d: dict) -> UtxoDelta:
         return cls(
-            era=d.get("era", ""),
             slot=d.get("slot", 0),
-            hash=d.get("hash", ""),
             block_number=d.get("blockNumber", 0),
-            block_cbor=d.get("blockCbor"),
-            transactions=[
-                TransactionInfo._from_dict(tx) for tx in d.get("transactions", [])
-            ],
+            block_hash=d.get("blockHash", ""),
+            rollback=d.get("rollback", False),
+            addresses=[AddressDelta._from_dict(a) for a in d.get("addresses", [])],
         )
@@ -28,7 +28,7 @@ class PeerDiscovery:
         """
         ffi = self._lib
         rc = ffi._lib.yaci_peer_discovery(
-            ffi._thread,
+            ffi.thread,
             ffi._encode(self._host),
             self._port,
             self._protocol_magic,
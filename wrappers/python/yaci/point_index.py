@@ -0,0 +1,61 @@
+"""PointIndex wrapper — slot / block-number to point lookups."""
+
+import json
+import os
+from typing import Optional
+from yaci._ffi import YaciLib, YaciError
+from yaci.models import IndexedPoint
+
+
+class PointIndex:
+    """Lookups against an index file written by a session's set_point_index().
+
+    Usage:
+        sync.set_point_index("/data/mainnet.pidx")
+        sync.start(point)
+        ...
+        index = bridge.point_index("/data/mainnet.pidx")
+        p = index.lookup_by_block_number(9_000_000)
+        range_sync.fetch(p.point, index.lookup_by_block_number(9_000_100).point)
+    """
+
+    _MODES = {'exact': 0, 'before': 1, 'after': 2}
+
+    def __init__(self, lib: YaciLib, path):
+        self._lib = lib
+        self._path = os.fspath(path)
+
+    def lookup_by_slot(self, slot: int, mode: str = 'exact') -> Optional[IndexedPoint]:
+        """Find the indexed block at a slot.
+
+        Args:
+            slot: Slot number
+            mode: 'exact', 'before' (nearest at or before) or 'after' (nearest at or after)
+
+        Returns:
+            IndexedPoint, or None if no indexed block matches
+        """
+        return self._lookup(self._lib._lib.yaci_point_lookup_by_slot, slot, mode)
+
+    def lookup_by_block_number(self, block_number: int,
+                               mode: str = 'exact') -> Optional[IndexedPoint]:
+        """Find the indexed block at a height. See lookup_by_slot() for modes."""
+        return self._lookup(self._lib._lib.yaci_point_lookup_by_block_number, block_number, mode)
+
+    def close(self):
+        """Flush and unmap the index. Stop sessions writing to it first."""
+        ffi = self._lib
+        rc = ffi._lib.yaci_point_index_close(ffi.thread, ffi._encode(self._path))
+        if rc != ffi.YACI_ERROR_NOT_FOUND:
+            ffi._check(rc)
+
+    def _lookup(self, fn, key: int, mode: str) -> Optional[IndexedPoint]:
+        if mode not in self._MODES:
+            raise ValueError(f"Unknown lookup mode: {mode} (expected 'exact', 'before' or 'after')")
+        ffi = self._lib
+        rc = fn(ffi.thread, ffi._encode(self._path), key, self._MODES[mode])
+        if rc == ffi.YACI_ERROR_NOT_FOUND:
+            return None
+        result = ffi._check(rc)
+        d = json.loads(result)
+        return IndexedPoint(slot=d['slot'], hash=d['hash'], block_number=d['blockNumber'])
@@ -0,0 +1,198 @@
+"""RingReader — consume a session's events from a shared-memory ring in another process.
+
+Pure Python: reader processes do not load libyaci or open a relay connection.
+"""
+
+import json
+import mmap
+import os
+import struct
+import time
+from typing import Callable, Iterator, Optional
+
+_MAGIC = 0x59524E47  # "YRNG"
+_VERSION = 2
+_HEADER_SIZE = 4096
+_RECORD_HEADER = 16
+_WRAP = -1
+_FLAG_SKIPPED = 1
+
+_OFF_CAPACITY = 8
+_OFF_WRITE = 16
+_OFF_TAIL = 24
+_OFF_CLOSED = 48
+_OFF_GENERATION = 56
+_OFF_CONSUMERS = 64
+_CONSUMER_SIZE = 32
+MAX_CONSUMERS = 64
+
+
+class RingOverrun(Exception):
+    """Raised by RingReader when on_lag is not set and the reader lost events.
+
+    Events the publisher skipped because they did not fit the ring are lost the same way.
+    """
+
+
+class RingReader:
+    """Reads events published by a session's set_ring_publisher() with its own cursor.
+
+    Each reader process takes one consumer slot (0-63); the publisher reports
+    readers that fall more than the ring's capacity behind (ring_lag events
+    and ring_stats()). A reader that is overrun skips to the oldest event
+    still in the ring and its lost events are counted in dropped. Events too
+    large for the ring are published as skipped and counted the same way.
+
+    Usage:
+        reader = RingReader("/dev/shm/mainnet.ring", consumer=worker_index)
+        for event in reader.events():
+            if event['type'] == 'block':
+                ...
+    """
+
+    def __init__(self, path, consumer: int, start: str = 'latest',
+                 on_lag: Optional[Callable[[int], None]] = None):
+        """Attach to a ring file.
+
+        Args:
+            path: Ring file written by the publishing session
+            consumer: Consumer slot, unique per reader (0-63)
+            start: 'latest' (only new events) or 'oldest' (everything still in the ring)
+            on_lag: Called with the number of events lost whenever this reader is overrun
+                    or reaches an event the publisher skipped; if None, events() raises
+                    RingOverrun instead
+        """
+        if not 0 <= consumer < MAX_CONSUMERS:
+            raise ValueError(f"consumer must be in [0, {MAX_CONSUMERS})")
+        if start not in ('latest', 'oldest'):
+            raise ValueError("start must be 'latest' or 'oldest'")
+        self._path = os.fspath(path)
+        self._slot = _OFF_CONSUMERS + consumer * _CONSUMER_SIZE
+        self._on_lag = on_lag
+        self._mm = None
+        self.dropped = 0
+        self._map()
+        self._pos = self._u64(_OFF_TAIL if start == 'oldest' else _OFF_WRITE)
+        self._next_seq = None
+        struct.pack_into('<QQQQ', self._mm, self._slot, os.getpid(), self._pos, _now_ms(), 0)
+
+    def _map(self):
+        with open(self._path, 'r+b') as f:
+            self._mm = mmap.mmap(f.fileno(), 0)
+        if struct.unpack_from('<I', self._mm, 0)[0] != _MAGIC or \
+                struct.unpack_from('<I', self._mm, 4)[0] != _VERSION:
+            raise ValueError(f"Not a yaci ring file: {self._path}")
+        self._capacity = self._u64(_OFF_CAPACITY)
+        self._generation = self._u64(_OFF_GENERATION)
+
+    def _u64(self, offset):
+        return struct.unpack_from('<Q', self._mm, offset)[0]
+
+    @property
+    def closed(self) -> bool:
+        """True once the publisher stopped and every published event has been read."""
+        return self._u64(_OFF_CLOSED) == 1 and self._pos >= self._u64(_OFF_WRITE)
+
+    def read(self, max_events: int = 1000) -> list[dict]:
+        """Return up to max_events new events without blocking.
+
+        Without on_lag, an overrun or a skipped event raises RingOverrun from
+        the first call that has nothing read before the gap; events read before it are returned
+        first, and reading continues after the gap on the following call.
+        """
+        if self._u64(_OFF_GENERATION) != self._generation:
+            # The publisher restarted: remap (capacity may differ) and read the new ring from the start
+            self._mm.close()
+            self._map()
+            self._pos = 0
+            self._next_seq = None
+
+        events = []
+        mm = self._mm
+        cap = self._capacity
+        while len(events) < max_events:
+            if self._pos >= self._u64(_OFF_WRITE):
+                break
+            if self._pos < self._u64(_OFF_TAIL):
+                self._overrun()
+                continue
+            offset = self._pos % cap
+            base = _HEADER_SIZE + offset
+            length = struct.unpack_from('<i', mm, base)[0]
+            if length == _WRAP:
+                self._pos += cap - offset
+                continue
+            flags = struct.unpack_from('<i', mm, base + 4)[0]
+            seq = struct.unpack_from('<Q', mm, base + 8)[0]
+            data = mm[base + _RECORD_HEADER:base + _RECORD_HEADER + length]
+            if self._pos < self._u64(_OFF_TAIL):
+                # Overwritten while copying
+                self._overrun()
+                continue
+            skipped = flags & _FLAG_SKIPPED
+            gap = seq - self._next_seq if self._next_seq is not None and seq > self._next_seq else 0
+            if gap or skipped:
+                if self._on_lag is None and events:
+                    # Hand over what was read; the next call raises before reading past the gap
+                    break
+                # Move past the gap before reporting, so it is reported once even if _lost() raises
+                self._next_seq = seq + 1 if skipped else seq
+                if skipped:
+                    self._pos += (_RECORD_HEADER + length + 7) & ~7
+                self._lost(gap + (1 if skipped else 0))
+                if skipped:
+                    continue
+            self._next_seq = seq + 1
+            self._pos += (_RECORD_HEADER + length + 7) & ~7
+            events.append(json.loads(data))
+        struct.pack_into('<QQ', mm, self._slot + 8, self._pos, _now_ms())
+        return events
+
+    def events(self, poll_interval: float = 0.005,
+               timeout: Optional[float] = None) -> Iterator[dict]:
+        """Yield events as they are published until the publisher closes the ring.
+
+        Args:
+            poll_interval: Sleep between polls when the ring is empty, in seconds
+            timeout: Stop after this many seconds without a new event (None = never)
+        """
+        idle_since = time.monotonic()
+        while True:
+            batch = self.read()
+            if batch:
+                idle_since = time.monotonic()
+                yield from batch
+                continue
+            if self.closed:
+                return
+            if timeout is not None and time.monotonic() - idle_since > timeout:
+                return
+            time.sleep(poll_interval)
+
+    def close(self):
+        """Release the consumer slot and unmap the ring."""
+        if self._mm is not None:
+            struct.pack_into('<Q', self._mm, self._slot, 0)
+            self._mm.close()
+            self._mm = None
+
+    def __enter__(self):
+        return self
+
+    def __exit__(self, *args):
+        self.close()
+
+    def _overrun(self):
+        # Resume at the oldest record still in the ring; the sequence gap gives the loss
+        self._pos = self._u64(_OFF_TAIL)
+
+    def _lost(self, count):
+        self.dropped += count
+        struct.pack_into('<Q', self._mm, self._slot + 24, self.dropped)
+        if self._on_lag is None:
+            raise RingOverrun(f"Reader lost {count} events (overrun or too large for the ring)")
+        self._on_lag(count)
+
+
+def _now_ms():
+    return int(time.time() * 1000)
@@ -0,0 +1,129 @@
+"""EventClient — subscribe to a session's events served over a Unix domain socket.
+
+Pure Python: client processes do not load libyaci or open a relay connection.
+The framing is simple enough to reimplement in any language:
+
+    frame  = u32 length (big-endian, counts type + body) | u8 type | body
+    client: SUBSCRIBE (1) JSON {"credits": n, "resumeFrom": {"slot", "hash"}}
+            CREDIT    (2) u32 additional events
+    server: SUBSCRIBED (16) JSON {"fromSeq", "resumed"}
+            EVENT      (17) u64 sequence | event JSON
+            GAP        (18) u64 number of events this subscriber missed
+"""
+
+import json
+import socket
+import struct
+from typing import Callable, Iterator, Optional
+
+from yaci.models import Point
+
+FRAME_SUBSCRIBE = 1
+FRAME_CREDIT = 2
+FRAME_SUBSCRIBED = 16
+FRAME_EVENT = 17
+FRAME_GAP = 18
+
+
+class EventGap(Exception):
+    """Raised by EventClient when on_gap is not set and the subscriber missed events."""
+
+
+class EventClient:
+    """Reads events served by a session's set_event_server().
+
+    The server sends at most as many events as the client has granted
+    credits for; events() grants a new window each time half of the previous
+    one has been consumed. A client that falls more than the server's backlog
+    behind skips to the oldest retained event and the loss is counted in
+    dropped.
+
+    Usage:
+        with EventClient("/tmp/mainnet.sock", resume_from=last_point) as client:
+            for seq, event in client.events():
+                ...
+    """
+
+    def __init__(self, path, credits: int = 256, resume_from: Optional[Point] = None,
+                 on_gap: Optional[Callable[[int], None]] = None):
+        """Connect and subscribe.
+
+        Args:
+            path: Socket path given to set_event_server()
+            credits: Flow-control window, in events
+            resume_from: Continue after this block if the server still holds it;
+                         check resumed to see whether it did
+            on_gap: Called with the number of events missed; if None, events() raises EventGap
+        """
+        if credits < 1:
+            raise ValueError("credits must be >= 1")
+        self._window = credits
+        self._on_gap = on_gap
+        self._sock = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+        self._sock.connect(str(path))
+        self.dropped = 0
+
+        request = {'credits': credits}
+        if resume_from is not None:
+            request['resumeFrom'] = {'slot': resume_from.slot, 'hash': resume_from.hash}
+        self._send(FRAME_SUBSCRIBE, json.dumps(request).encode('utf-8'))
+        frame_type, body = self._recv()
+        if frame_type != FRAME_SUBSCRIBED:
+            raise ConnectionError(f"Unexpected frame type {frame_type}")
+        reply = json.loads(body)
+        self.from_seq = reply['fromSeq']
+        self.resumed = reply['resumed']
+        self._outstanding = credits
+
+    def events(self, timeout: Optional[float] = None) -> Iterator[tuple[int, dict]]:
+        """Yield (sequence, event) pairs until the server closes the connection.
+
+        Args:
+            timeout: Stop after this many seconds without a frame (None = never)
+        """
+        self._sock.settimeout(timeout)
+        while True:
+            try:
+                frame_type, body = self._recv()
+            except (socket.timeout, ConnectionError):
+                return
+            if frame_type == FRAME_GAP:
+                missed = struct.unpack('>Q', body)[0]
+                self.dropped += missed
+                if self._on_gap is None:
+                    raise EventGap(f"Subscriber fell behind and missed {missed} events")
+                self._on_gap(missed)
+                continue
+            if frame_type != FRAME_EVENT:
+                continue
+            self._outstanding -= 1
+            if self._outstanding <= self._window // 2:
+                self._send(FRAME_CREDIT, struct.pack('>I', self._window - self._outstanding))
+                self._outstanding = self._window
+            yield struct.unpack_from('>Q', body)[0], json.loads(body[8:])
+
+    def close(self):
+        self._sock.close()
+
+    def __enter__(self):
+        return self
+
+    def __exit__(self, *args):
+        self.close()
+
+    def _send(self, frame_type, body):
+        self._sock.sendall(struct.pack('>IB', len(body) + 1, frame_type) + body)
+
+    def _recv(self):
+        header = self._recv_exact(5)
+        length, frame_type = struct.unpack('>IB', header)
+        return frame_type, self._recv_exact(length - 1)
+
+    def _recv_exact(self, n):
+        buf = bytearray()
+        while len(buf) < n:
+            chunk = self._sock.recv(n - len(buf))
+            if not chunk:
+                raise ConnectionError("Server closed the connection")
+            buf += chunk
+        return bytes(buf)
@@ -0,0 +1,88 @@
+"""EventStream — consume a session's events with ``async for`` instead of listeners."""
+
+import asyncio
+import json
+from collections import deque
+from concurrent.futures import ThreadPoolExecutor
+from typing import Union
+
+from yaci._ffi import YaciError, YaciLib
+from yaci.models import BlockInfo, BlockHeaderInfo
+
+
+class EventStream:
+    """Async iterator over a session's queued events (see set_event_queue()).
+
+    Events are polled from the bridge's bounded queue in batches on a
+    worker thread, so the event loop never blocks on the native call. The
+    next batch is only polled once the previous one has been consumed: a
+    slow consumer leaves the queue full, which stops the session reading
+    from the relay. Block events are yielded as BlockInfo, header events as
+    BlockHeaderInfo and everything else as the event dict.
+
+    The stream ends when the session stops and every queued event has been
+    yielded. Closing a stream created by YaciBridge.block_sync_stream() also
+    stops its session.
+    """
+
+    def __init__(self, session, batch_size: int = 256, poll_timeout_ms: int = 200,
+                 owns_session: bool = False):
+        if batch_size < 1:
+            raise ValueError("batch_size must be >= 1")
+        self._session = session
+        self._batch_size = batch_size
+        self._poll_timeout_ms = poll_timeout_ms
+        self._owns_session = owns_session
+        self._buffer = deque()
+        self._done = False
+        # One long-lived thread keeps its isolate attachment across polls
+        self._executor = ThreadPoolExecutor(max_workers=1, thread_name_prefix='yaci-stream')
+
+    def __aiter__(self):
+        return self
+
+    async def __anext__(self) -> Union[BlockInfo, BlockHeaderInfo, dict]:
+        loop = asyncio.get_running_loop()
+        while not self._buffer:
+            if self._done:
+                raise StopAsyncIteration
+            batch = await loop.run_in_executor(self._executor, self._poll)
+            self._done = batch['closed']
+            self._buffer.extend(batch['events'])
+        return _typed(self._buffer.popleft())
+
+    async def aclose(self):
+        """Stop iterating; stops the session too if this stream owns it."""
+        self._done = True
+        self._buffer.clear()
+        loop = asyncio.get_running_loop()
+        if self._owns_session:
+            await loop.run_in_executor(self._executor, self._session.stop)
+        self._executor.shutdown(wait=False)
+
+    async def __aenter__(self):
+        return self
+
+    async def __aexit__(self, *args):
+        await self.aclose()
+
+    def _poll(self) -> dict:
+        session_id = self._session._session_id
+        if session_id is None:
+            return {'events': [], 'closed': True}
+        try:
+            return json.loads(self._session._lib.poll_batch(
+                session_id, self._batch_size, self._poll_timeout_ms))
+        except YaciError as e:
+            if e.code == YaciLib.YACI_ERROR_SESSION_NOT_FOUND:
+                return {'events': [], 'closed': True}
+            raise
+
+
+def _typed(event: dict):
+    event_type = event.get('type')
+    if event_type == 'block':
+        return BlockInfo._from_dict(event)
+    if event_type == 'header':
+        return BlockHeaderInfo._from_dict(event)
+    return event
@@ -44,7 +44,7 @@ class TipFinder:
         if self._node_config is not None:
             cfg = self._node_config
             rc = ffi._lib.yaci_tip_find_with_config(
-                ffi._thread,
+                ffi.thread,
                 ffi._encode(self._host),
                 self._port,
                 self._protocol_magic,
@@ -59,7 +59,7 @@ class TipFinder:
             )
         else:
             rc = ffi._lib.yaci_tip_find(
-                ffi._thread,
+                ffi.thread,
                 ffi._encode(self._host),
                 self._port,
                 self._protocol_magic,